@@ -86,6 +86,9 @@ dependencies {
     testImplementation("org.robolectric:robolectric:4.11.1")
     // Let JUnit4 run on JUnit Platform
     testRuntimeOnly("org.junit.vintage:junit-vintage-engine:5.10.2")
+    // Microbenchmarks under src/test (run their main() from the IDE)
+    testImplementation("org.openjdk.jmh:jmh-core:1.37")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 
     // ------------------------------------------------------------------
     // ANDROID INSTRUMENTATION TESTS (Espresso + Intents)
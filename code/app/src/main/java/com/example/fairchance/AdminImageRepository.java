@@ -26,7 +26,7 @@ public class AdminImageRepository {
 
     private static final String TAG = "AdminImageRepository";
 
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final FirebaseFirestore db = FirestoreConfig.getFirestore();
     private final FirebaseStorage storage = FirebaseStorage.getInstance();
 
     public interface ImageListCallback {
@@ -15,15 +15,18 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.models.NotificationLog;
 import com.example.fairchance.ui.adapters.NotificationLogAdapter;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.text.DateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 
 /**
  * Admin screen for viewing and filtering notification logs.
+ * <p>
+ * The event filter matches the start of the event name, case-insensitively,
+ * on the server so the filtered list pages like the unfiltered one.
  */
 public class AdminNotificationLogsActivity extends AppCompatActivity
         implements NotificationLogAdapter.OnLogClickListener {
@@ -31,13 +34,18 @@ public class AdminNotificationLogsActivity extends AppCompatActivity
     private NotificationLogRepository logRepository;
     private NotificationLogAdapter adapter;
 
-    private final List<NotificationLog> allLogs = new ArrayList<>();
+    private DocumentSnapshot lastVisible = null;
+    private int loadGeneration = 0;
 
     private TextView tvStartDate, tvEndDate, tvEmptyState;
     private EditText etFilterEvent;
     private Date startDateFilter = null;
     private Date endDateFilter = null;
 
+    /** Pause after the last keystroke before the event filter is applied. */
+    private static final long FILTER_DEBOUNCE_MS = 300L;
+    private final Runnable filterRunnable = this::reloadLogs;
+
     private final DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM);
 
     /**
@@ -58,6 +66,7 @@ public class AdminNotificationLogsActivity extends AppCompatActivity
         RecyclerView rvLogs = findViewById(R.id.rvNotificationLogs);
         rvLogs.setLayoutManager(new LinearLayoutManager(this));
         adapter = new NotificationLogAdapter(this);
+        adapter.setOnLoadMoreListener(this::loadNextPage);
         rvLogs.setAdapter(adapter);
 
         tvEmptyState = findViewById(R.id.tvEmptyState);
@@ -76,28 +85,69 @@ public class AdminNotificationLogsActivity extends AppCompatActivity
             tvStartDate.setText("Start date");
             tvEndDate.setText("End date");
             etFilterEvent.setText("");
-            applyFilters();
+            etFilterEvent.removeCallbacks(filterRunnable);
+            reloadLogs();
         });
 
-        etFilterEvent.addTextChangedListener(new SimpleTextWatcher(this::applyFilters));
+        etFilterEvent.addTextChangedListener(new SimpleTextWatcher(() -> {
+            etFilterEvent.removeCallbacks(filterRunnable);
+            etFilterEvent.postDelayed(filterRunnable, FILTER_DEBOUNCE_MS);
+        }));
+
+        reloadLogs();
+    }
+
+    /**
+     * Stops a pending debounced filter reload.
+     */
+    @Override
+    protected void onDestroy() {
+        if (etFilterEvent != null) {
+            etFilterEvent.removeCallbacks(filterRunnable);
+        }
+        super.onDestroy();
+    }
 
-        loadLogs();
+    /**
+     * Clears the list and fetches the first page of logs for the current filters.
+     */
+    private void reloadLogs() {
+        loadGeneration++;
+        lastVisible = null;
+        adapter.setLogs(null);
+        adapter.setHasMore(false);
+        loadNextPage();
     }
 
     /**
-     * Fetches all logs and applies current filters.
+     * Fetches the next page of logs and appends it to the list.
      */
-    private void loadLogs() {
-        logRepository.fetchAllLogs(new NotificationLogRepository.LogListCallback() {
+    private void loadNextPage() {
+        final int generation = loadGeneration;
+        String eventName = etFilterEvent.getText() != null
+                ? etFilterEvent.getText().toString().trim()
+                : "";
+
+        adapter.setLoading(true);
+        logRepository.fetchLogsFiltered(startDateFilter, endDateFilter, eventName, lastVisible,
+                NotificationLogRepository.DEFAULT_PAGE_SIZE,
+                new NotificationLogRepository.LogPageCallback() {
             @Override
-            public void onSuccess(List<NotificationLog> logs) {
-                allLogs.clear();
-                allLogs.addAll(logs);
-                applyFilters();
+            public void onSuccess(List<NotificationLog> logs, DocumentSnapshot last, boolean hasMore) {
+                if (generation != loadGeneration) return;
+                if (last != null) {
+                    lastVisible = last;
+                }
+                adapter.appendLogs(logs);
+                adapter.setHasMore(hasMore);
+                adapter.setLoading(false);
+                tvEmptyState.setVisibility(adapter.getItemCount() == 0 ? View.VISIBLE : View.GONE);
             }
 
             @Override
             public void onError(String message) {
+                if (generation != loadGeneration) return;
+                adapter.setLoading(false);
                 Toast.makeText(
                         AdminNotificationLogsActivity.this,
                         "Failed to load logs: " + message,
@@ -126,7 +176,7 @@ public class AdminNotificationLogsActivity extends AppCompatActivity
                         endDateFilter = calendar.getTime();
                         tvEndDate.setText(dateFormat.format(chosen));
                     }
-                    applyFilters();
+                    reloadLogs();
                 },
                 calendar.get(Calendar.YEAR),
                 calendar.get(Calendar.MONTH),
@@ -136,46 +186,6 @@ public class AdminNotificationLogsActivity extends AppCompatActivity
         dialog.show();
     }
 
-    /**
-     * Filters logs by date range and event query, then updates the list.
-     */
-    private void applyFilters() {
-        String eventQuery = etFilterEvent.getText() != null
-                ? etFilterEvent.getText().toString().trim().toLowerCase()
-                : "";
-
-        List<NotificationLog> filtered = new ArrayList<>();
-
-        for (NotificationLog log : allLogs) {
-            Date ts = log.getTimestamp();
-
-            if (startDateFilter != null && (ts == null || ts.before(startDateFilter))) {
-                continue;
-            }
-            if (endDateFilter != null && (ts == null || ts.after(endDateFilter))) {
-                continue;
-            }
-
-            if (!eventQuery.isEmpty()) {
-                String eventName = log.getEventName() != null
-                        ? log.getEventName().toLowerCase()
-                        : "";
-                String eventId = log.getEventId() != null
-                        ? log.getEventId().toLowerCase()
-                        : "";
-
-                if (!eventName.contains(eventQuery) && !eventId.contains(eventQuery)) {
-                    continue;
-                }
-            }
-
-            filtered.add(log);
-        }
-
-        adapter.setLogs(filtered);
-        tvEmptyState.setVisibility(filtered.isEmpty() ? View.VISIBLE : View.GONE);
-    }
-
     /**
      * Opens details for the clicked log.
      */
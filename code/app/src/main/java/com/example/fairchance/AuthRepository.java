@@ -4,22 +4,27 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 
+import com.example.fairchance.models.AdminUserItem;
 import com.example.fairchance.models.User;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.AuthResult;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.example.fairchance.EventRepository;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -32,6 +37,8 @@ public class AuthRepository {
     private static final String TAG = "AuthRepository";
     private final FirebaseAuth auth;
     private final FirebaseFirestore db;
+    private final RoleCache roleCache;
+    private final FcmTokenSync fcmTokenSync;
 
     //region Callback Interfaces
 
@@ -111,50 +118,21 @@ public class AuthRepository {
     }
 
     /**
-     * Lightweight user summary for admin views when listing users.
-     * Contains only the fields required for user management UIs.
+     * Callback for one page of the admin user directory.
      */
-    public static class AdminUserSummary {
-        private final String userId;
-        private final String name;
-        private final String email;
-        private final String role;
-
+    public interface UserPageCallback {
         /**
-         * Constructs a new user summary for admin use.
+         * Called when a page of users has been fetched.
          *
-         * @param userId the user's UID in Firebase Authentication / Firestore
-         * @param name   the user's display name
-         * @param email  the user's email address
-         * @param role   the user's role (e.g., {@code "organizer"}, {@code "admin"}, {@code "entrant"})
+         * @param users        active users on this page, in name order
+         * @param lastDocument last document read, used as the cursor for the next page
+         *                     (may be {@code null} when the page is empty)
+         * @param hasMore      {@code true} if the query may have more results
          */
-        public AdminUserSummary(String userId, String name, String email, String role) {
-            this.userId = userId;
-            this.name = name;
-            this.email = email;
-            this.role = role;
-        }
-
-        public String getUserId() { return userId; }
-        public String getName() { return name; }
-        public String getEmail() { return email; }
-        public String getRole() { return role; }
-    }
+        void onSuccess(List<AdminUserItem> users, DocumentSnapshot lastDocument, boolean hasMore);
 
-    /**
-     * Callback for retrieving a list of users, typically for admin tools
-     * that need to inspect multiple full {@link User} profiles.
-     */
-    public interface AdminUsersCallback {
         /**
-         * Called when the list of users is successfully fetched.
-         *
-         * @param users list of {@link AdminUserSummary} for each user
-         */
-        void onSuccess(List<AdminUserSummary> users);
-
-        /**
-         * Called when fetching the user list fails.
+         * Called when fetching the page fails.
          *
          * @param message human-readable error message
          */
@@ -164,7 +142,7 @@ public class AuthRepository {
 
     /**
      * Callback for retrieving a list of full {@link User} profiles.
-     * (Currently not used in most admin views, which prefer {@link AdminUserSummary}.)
+     * (Currently not used by the admin views, which page through {@link #fetchUserPage}.)
      */
     public interface UserListCallback {
         /**
@@ -188,7 +166,9 @@ public class AuthRepository {
      */
     public AuthRepository() {
         this.auth = FirebaseAuth.getInstance();
-        this.db = FirebaseFirestore.getInstance();
+        this.db = FirestoreConfig.getFirestore();
+        this.roleCache = RoleCache.getInstance();
+        this.fcmTokenSync = FcmTokenSync.getInstance();
     }
 
     /**
@@ -230,8 +210,14 @@ public class AuthRepository {
     }
 
     /**
-     * Fetches just the {@code role} field for the currently logged-in user.
+     * Returns the {@code role} of the currently logged-in user.
      * Used for determining which dashboard to display.
+     * <p>
+     * A role cached on this device is returned right away without a network
+     * round trip, and the user document is re-read in the background:
+     * {@code onRoleFetched} is called a second time if the role changed, and
+     * {@code onError} if the profile is gone or has no role, as when nothing
+     * was cached. Without a cached role the user document is read as before.
      *
      * @param callback callback to receive the role string on success or an error message
      */
@@ -242,13 +228,22 @@ public class AuthRepository {
             return;
         }
 
-        db.collection("users").document(user.getUid()).get()
+        String uid = user.getUid();
+        String cached = roleCache.get(uid);
+        if (cached != null) {
+            callback.onRoleFetched(cached);
+            refreshRole(uid, cached, callback);
+            return;
+        }
+
+        db.collection("users").document(uid).get()
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         DocumentSnapshot document = task.getResult();
                         if (document != null && document.exists()) {
                             String role = document.getString("role");
                             if (role != null) {
+                                roleCache.put(uid, role);
                                 callback.onRoleFetched(role);
                             } else {
                                 callback.onError("Role field is missing in user document.");
@@ -264,37 +259,114 @@ public class AuthRepository {
     }
 
     /**
-     * Updates the current user's profile data in their Firestore document.
+     * Returns the current user's role from the on-device cache without any
+     * network access, or {@code null} if nothing usable is cached.
+     */
+    public String getCachedUserRole() {
+        FirebaseUser user = auth.getCurrentUser();
+        return user != null ? roleCache.get(user.getUid()) : null;
+    }
+
+    /**
+     * Re-reads a cached role in the background and stores the result.
+     * Reports the new role only if it differs from the one already served.
+     * A deleted profile, or one without a role, clears the cache and is
+     * reported through {@code onError}, so the caller signs the user out.
+     * A failed read keeps the cached role.
      *
-     * @param newName           updated name
-     * @param newEmail          updated email
-     * @param newPhone          updated phone number
-     * @param notificationPrefs updated notification preferences map
-     * @param callback          callback notified of success or failure
+     * @param uid      ID of the signed-in user
+     * @param served   role already handed to the callback
+     * @param callback callback to notify of a changed role
      */
-    public void updateUserProfile(String newName, String newEmail, String newPhone,
-                                  Map<String, Object> notificationPrefs, TaskCallback callback) {
+    private void refreshRole(String uid, String served, RoleCallback callback) {
+        db.collection("users").document(uid).get()
+                .addOnSuccessListener(document -> {
+                    if (!document.exists()) {
+                        Log.w(TAG, "User profile " + uid + " is gone, dropping cached role");
+                        roleCache.clear();
+                        callback.onError("User profile document not found.");
+                        return;
+                    }
+                    String role = document.getString("role");
+                    if (role == null) {
+                        roleCache.clear();
+                        callback.onError("Role field is missing in user document.");
+                        return;
+                    }
+                    roleCache.put(uid, role);
+                    if (!role.equals(served)) {
+                        Log.d(TAG, "Role changed from " + served + " to " + role);
+                        callback.onRoleFetched(role);
+                    }
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Background role refresh failed", e));
+    }
+
+    /**
+     * Writes profile edits coalesced by {@link ProfileUpdateQueue} in one
+     * update. Dotted keys (e.g. {@code notificationPreferences.lotteryResults})
+     * are field paths, and a changed name also updates {@code nameLower}.
+     * {@link ProfileUpdateQueue#FIELD_NOTIFICATIONS_ENABLED} is written as the
+     * device's FCM token, or as {@code null} to stop push notifications
+     * (US 01.04.03 Criterion 2).
+     * <p>
+     * An update never creates the document, so edits replayed after the
+     * account was deleted cannot bring it back. If the document is gone the
+     * task succeeds anyway, which makes the queue drop the edits instead of
+     * retrying them.
+     *
+     * @param uid    ID of the user the edits belong to; must be signed in
+     * @param fields queued field changes
+     * @return a task completing when the write is acknowledged
+     */
+    Task<Void> writeProfileFields(String uid, Map<String, Object> fields) {
         FirebaseUser fUser = auth.getCurrentUser();
-        if (fUser == null) {
-            callback.onError("No user is logged in.");
-            return;
+        if (fUser == null || !fUser.getUid().equals(uid)) {
+            return Tasks.forException(new IllegalStateException("Profile edits belong to a user who is not signed in."));
         }
 
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("name", newName);
-        updates.put("email", newEmail);
-        updates.put("phone", newPhone);
-        updates.put("notificationPreferences", notificationPrefs);
-
-        db.collection("users").document(fUser.getUid())
-                .update(updates)
-                .addOnSuccessListener(aVoid -> callback.onSuccess())
-                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+        Object notificationsEnabled = fields.get(ProfileUpdateQueue.FIELD_NOTIFICATIONS_ENABLED);
+        Task<String> token = Boolean.TRUE.equals(notificationsEnabled)
+                ? FirebaseMessaging.getInstance().getToken()
+                : Tasks.forResult(null);
+
+        return token.onSuccessTask(Runnable::run, fcmToken -> {
+            Map<String, Object> data = new HashMap<>(fields);
+            data.remove(ProfileUpdateQueue.FIELD_NOTIFICATIONS_ENABLED);
+            Object name = fields.get(ProfileUpdateQueue.FIELD_NAME);
+            if (name instanceof String) {
+                data.put("nameLower", nameSearchKey((String) name));
+            }
+            if (notificationsEnabled != null) {
+                data.put("fcmToken", fcmToken);
+            }
+
+            return db.collection("users").document(uid)
+                    .update(data)
+                    .continueWithTask(Runnable::run, task -> {
+                        if (task.isSuccessful()) {
+                            if (notificationsEnabled != null) fcmTokenSync.recordWritten(uid, fcmToken);
+                            Log.d(TAG, "Profile fields written: " + fields.keySet());
+                            return task;
+                        }
+                        Exception e = task.getException();
+                        if (e instanceof FirebaseFirestoreException
+                                && ((FirebaseFirestoreException) e).getCode()
+                                == FirebaseFirestoreException.Code.NOT_FOUND) {
+                            Log.w(TAG, "User document " + uid + " is gone, dropping profile edits");
+                            return Tasks.forResult(null);
+                        }
+                        Log.w(TAG, "Error writing profile fields", e);
+                        return task;
+                    });
+        });
     }
 
     /**
-     * Deletes the current user's Firestore document and their Authentication record.
-     * This is an irreversible action.
+     * Deletes the current user's data and their Authentication record.
+     * This is an irreversible action. The data is removed by
+     * {@link #runUserDeletionCascade}, which needs the user to still be signed
+     * in, so the Authentication record is deleted last.
      *
      * @param callback callback notified of success or failure
      */
@@ -305,9 +377,13 @@ public class AuthRepository {
             return;
         }
         String userId = fUser.getUid();
+        // Queued edits target a document that is about to be deleted
+        ProfileUpdateQueue.getInstance().discard();
 
-        db.collection("users").document(userId).delete()
+        runUserDeletionCascade(userId)
                 .addOnSuccessListener(aVoid -> {
+                    roleCache.clear();
+                    fcmTokenSync.clear();
                     fUser.delete()
                             .addOnSuccessListener(aVoid2 -> callback.onSuccess())
                             .addOnFailureListener(e -> callback.onError(e.getMessage()));
@@ -317,75 +393,25 @@ public class AuthRepository {
 
     /**
      * Saves the user's FCM registration token to their Firestore document.
+     * The write is skipped when {@link FcmTokenSync} shows the same token was
+     * already stored for this user, and retried with backoff if it fails.
      *
      * @param token the FCM token, or {@code null} to remove it
+     * @return a task completing when the token is stored (already complete if
+     * no user is signed in or nothing changed)
      */
-    public void saveFcmToken(String token) {
+    public Task<Void> saveFcmToken(String token) {
         FirebaseUser fUser = auth.getCurrentUser();
         if (fUser == null) {
             Log.d(TAG, "No user logged in, skipping FCM token save.");
-            return;
+            return Tasks.forResult(null);
         }
 
-        db.collection("users").document(fUser.getUid())
-                .update("fcmToken", token)
-                .addOnSuccessListener(aVoid -> Log.d(TAG, "FCM Token saved to Firestore."))
+        return fcmTokenSync.save(fUser.getUid(), token)
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "FCM Token up to date in Firestore."))
                 .addOnFailureListener(e -> Log.e(TAG, "Error saving FCM Token", e));
     }
 
-    /**
-     * Saves the user's FCM token and reports the result through a {@link TaskCallback}.
-     *
-     * @param token    the FCM token, or {@code null} to remove it
-     * @param callback callback notified of success or failure
-     */
-    private void saveFcmToken(String token, TaskCallback callback) {
-        FirebaseUser fUser = auth.getCurrentUser();
-        if (fUser == null) {
-            callback.onError("No user logged in.");
-            return;
-        }
-
-        db.collection("users").document(fUser.getUid())
-                .update("fcmToken", token)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "FCM Token update successful: " +
-                            (token == null ? "removed" : "set"));
-                    callback.onSuccess();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error saving FCM Token with callback", e);
-                    callback.onError(e.getMessage());
-                });
-    }
-
-    /**
-     * Updates the user's overall notification status by deleting or setting the FCM token.
-     * Fulfills US 01.04.03 Criterion 2: mechanism to stop push notifications.
-     *
-     * @param enableNotifications {@code true} to fetch and save a token, {@code false} to clear it
-     * @param callback            notified of success or failure
-     */
-    public void updateNotificationStatus(boolean enableNotifications, TaskCallback callback) {
-        if (!enableNotifications) {
-            // User opts out - clear token
-            saveFcmToken(null, callback);
-            return;
-        }
-
-        // User opts in - fetch new token and save
-        FirebaseMessaging.getInstance().getToken()
-                .addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        callback.onError("Fetching FCM registration token failed: " +
-                                (task.getException() != null ? task.getException().getMessage() : "unknown error"));
-                        return;
-                    }
-                    String token = task.getResult();
-                    saveFcmToken(token, callback);
-                });
-    }
-
     /**
      * Logs in a user with email and password (for Organizer or Admin) and
      * verifies that the user's role in Firestore matches the expected role.
@@ -415,6 +441,7 @@ public class AuthRepository {
 
                                             if (expectedRole.equals(actualRole)) {
                                                 Log.d(TAG, "Role match. Login successful.");
+                                                roleCache.put(user.getUid(), actualRole);
                                                 callback.onSuccess(user);
                                             } else {
                                                 Log.w(TAG, "Role mismatch. Expected: " + expectedRole +
@@ -529,6 +556,7 @@ public class AuthRepository {
         userData.put("email", email);
         userData.put("role", role);
         userData.put("name", firstName + " " + lastName);
+        userData.put("nameLower", nameSearchKey(firstName + " " + lastName));
         userData.put("phone", phone);
         userData.put("notificationPreferences", notificationPrefs);
         userData.put("fcmToken", null);
@@ -537,6 +565,7 @@ public class AuthRepository {
                 .set(userData)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "User document created for " + user.getUid());
+                    roleCache.put(user.getUid(), role);
                     callback.onSuccess(user);
                 })
                 .addOnFailureListener(e -> {
@@ -546,125 +575,148 @@ public class AuthRepository {
     }
 
     /**
-     * Fetches a lightweight list of all user profiles for the Admin UI.
-     * Each entry is represented as an {@link AdminUserSummary}.
+     * Returns the key stored in a user's {@code nameLower} field: the trimmed,
+     * lower-cased display name. Name search runs as a prefix range over it.
      *
-     * @param callback callback receiving the list of {@link AdminUserSummary} or an error
+     * @param name display name or search text (may be {@code null})
+     * @return the normalized key, never {@code null}
      */
-    public void fetchAllUsers(AdminUsersCallback callback) {
-        db.collection("users")
+    public static String nameSearchKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fetches one page of the admin user directory. The role filter and the
+     * name prefix run on the server over the {@code nameLower} index, so the
+     * cost of a page does not depend on how many users exist. Deactivated
+     * accounts are skipped on the client; pages can therefore hold fewer than
+     * {@code limit} users while {@code hasMore} is still {@code true}.
+     *
+     * @param role        role to list (e.g. {@code "organizer"}), or {@code null} for all roles
+     * @param namePrefix  text the name must start with; empty for no name filter
+     * @param startAfter  cursor returned by the previous page, or {@code null} for the first page
+     * @param limit       maximum number of documents to read
+     * @param callback    callback receiving the page or an error
+     */
+    public void fetchUserPage(String role, String namePrefix, DocumentSnapshot startAfter,
+                              int limit, UserPageCallback callback) {
+        Query query = db.collection("users");
+        if (role != null) {
+            query = query.whereEqualTo("role", role);
+        }
+        query = query.orderBy("nameLower");
+
+        String prefix = nameSearchKey(namePrefix);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        } else if (!prefix.isEmpty()) {
+            query = query.startAt(prefix);
+        }
+        if (!prefix.isEmpty()) {
+            query = query.endAt(prefix + "\uf8ff");
+        }
+
+        query.limit(limit)
                 .get()
                 .addOnSuccessListener((QuerySnapshot snapshots) -> {
-                    List<AdminUserSummary> result = new ArrayList<>();
-                    for (DocumentSnapshot doc : snapshots) {
-                        String id = doc.getId();
-                        String name = doc.getString("name");
-                        String email = doc.getString("email");
-                        String role = doc.getString("role");
-                        result.add(new AdminUserSummary(id, name, email, role));
+                    List<DocumentSnapshot> docs = snapshots.getDocuments();
+                    List<AdminUserItem> result = new ArrayList<>(docs.size());
+                    for (DocumentSnapshot doc : docs) {
+                        Boolean isActive = doc.getBoolean("isActive");
+                        Boolean roleActive = doc.getBoolean("roleActive");
+                        if (isActive != null && !isActive) continue;
+                        if (roleActive != null && !roleActive) continue;
+
+                        result.add(new AdminUserItem(doc.getId(),
+                                doc.getString("name"),
+                                doc.getString("email"),
+                                doc.getString("role"),
+                                doc.getTimestamp("timeCreated")));
                     }
-                    callback.onSuccess(result);
+                    DocumentSnapshot last = docs.isEmpty() ? null : docs.get(docs.size() - 1);
+                    callback.onSuccess(result, last, docs.size() == limit);
                 })
-                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching user page", e);
+                    callback.onError(e.getMessage());
+                });
     }
 
     /**
-     * Deletes a specific user's Firestore profile document (not the Auth record),
-     * and logs the removal to the {@code adminRemovalLogs} collection.
+     * Deletes a specific user's Firestore data (not the Auth record) through
+     * {@link #runUserDeletionCascade}. The job records the removal in the
+     * {@code adminRemovalLogs} collection.
      *
      * @param userId   ID of the user to remove
      * @param callback callback for success / error
      */
     public void deleteUserProfileById(String userId, TaskCallback callback) {
-        FirebaseUser admin = auth.getCurrentUser();
-        String adminId = admin != null ? admin.getUid() : "unknown";
-
-        db.collection("users").document(userId).delete()
-                .addOnSuccessListener(aVoid -> {
-                    logUserRemoval(userId, adminId);
-                    callback.onSuccess();
-                })
+        runUserDeletionCascade(userId)
+                .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onError(e.getMessage()));
     }
 
     /**
-     * Logs that an admin removed a user profile to the
-     * {@code adminRemovalLogs} collection.
+     * Runs the {@code deleteUserCascade} Cloud Function, which walks the user's
+     * {@code eventHistory} to remove their entries from every event's
+     * waitingList, selected, cancelled and confirmedAttendees rosters in
+     * chunked batches, then deletes the user document and everything under it
+     * and writes one summary to {@code adminRemovalLogs}. The job checkpoints
+     * its progress, so calling this again after a failure resumes where it
+     * stopped.
      *
-     * @param removedUserId ID of the user that was removed
-     * @param adminId       ID of the admin who performed the removal
+     * @param userId ID of the user whose data is removed
+     * @return a task completing when the job has finished
      */
-    private void logUserRemoval(String removedUserId, String adminId) {
-        Map<String, Object> log = new HashMap<>();
-        log.put("removedUserId", removedUserId);
-        log.put("removedByAdminId", adminId);
-        log.put("timestamp", FieldValue.serverTimestamp());
-
-        db.collection("adminRemovalLogs").add(log)
-                .addOnSuccessListener(ref ->
-                        Log.d(TAG, "Removal logged with id: " + ref.getId()))
-                .addOnFailureListener(e ->
-                        Log.w(TAG, "Failed to log removal", e));
+    private Task<Void> runUserDeletionCascade(String userId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("userId", userId);
+
+        return FirebaseFunctions.getInstance().getHttpsCallable("deleteUserCascade").call(data)
+                .continueWith(Runnable::run, task -> {
+                    if (!task.isSuccessful()) {
+                        Log.e(TAG, "User deletion cascade failed for " + userId, task.getException());
+                        throw task.getException();
+                    }
+                    Log.d(TAG, "User data removed: " + userId);
+                    return null;
+                });
     }
 
     /**
      * Deactivates an organizer user (soft delete) instead of removing the document.
-     * Sets flags on the user document, records metadata, and logs the action to
-     * {@code organizerDeactivationLogs}.
+     * Runs the {@code deactivateOrganizerCascade} Cloud Function, which sets the
+     * flags on the user document, deactivates every event they own, cancels those
+     * events' pending selected entrants and writes one summary to
+     * {@code organizerDeactivationLogs}. The job checkpoints its progress, so
+     * calling this again after a failure resumes where it stopped.
      *
      * @param organizerId ID of the organizer to deactivate
      * @param reason      human-readable reason for deactivation
      * @param callback    callback notified of success or failure (may be {@code null})
      */
     public void deactivateOrganizer(String organizerId, String reason, TaskCallback callback) {
-        FirebaseUser admin = auth.getCurrentUser();
-        String adminId = admin != null ? admin.getUid() : "unknown";
-
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("isActive", false);
-        updates.put("roleActive", false);
-        updates.put("deactivatedAt", FieldValue.serverTimestamp());
-        updates.put("deactivatedByAdminId", adminId);
-        updates.put("deactivationReason", reason);
-
-        db.collection("users").document(organizerId)
-                .update(updates)
-                .addOnSuccessListener(aVoid -> {
-                    logOrganizerDeactivation(organizerId, adminId, reason);
+        Map<String, Object> data = new HashMap<>();
+        data.put("organizerId", organizerId);
+        data.put("reason", reason);
+
+        FirebaseFunctions.getInstance().getHttpsCallable("deactivateOrganizerCascade").call(data)
+                .addOnSuccessListener(result -> {
+                    Log.d(TAG, "Organizer deactivated: " + organizerId);
                     if (callback != null) callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error deactivating organizer " + organizerId, e);
                     if (callback != null) callback.onError(e.getMessage());
                 });
     }
 
-    /**
-     * Logs an admin action that deactivated an organizer to the
-     * {@code organizerDeactivationLogs} collection.
-     *
-     * @param organizerId ID of the organizer whose account was deactivated
-     * @param adminId     ID of the admin who performed the deactivation
-     * @param reason      reason for deactivation
-     */
-    private void logOrganizerDeactivation(String organizerId, String adminId, String reason) {
-        Map<String, Object> log = new HashMap<>();
-        log.put("organizerId", organizerId);
-        log.put("adminId", adminId);
-        log.put("reason", reason);
-        log.put("timestamp", FieldValue.serverTimestamp());
-
-        db.collection("organizerDeactivationLogs")
-                .add(log)
-                .addOnSuccessListener(ref ->
-                        Log.d(TAG, "Organizer deactivation logged: " + ref.getId()))
-                .addOnFailureListener(e ->
-                        Log.w(TAG, "Failed to log organizer deactivation", e));
-    }
-
     /**
      * Signs out the current user from Firebase Authentication.
      */
     public void signOut() {
+        roleCache.clear();
+        ProfileUpdateQueue.getInstance().discard();
         auth.signOut();
     }
 }
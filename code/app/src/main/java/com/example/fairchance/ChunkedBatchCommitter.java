@@ -0,0 +1,174 @@
+package com.example.fairchance;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Splits a list of items into fixed-size chunks and commits each chunk through a
+ * {@link ChunkWriter}, running at most a bounded number of commits at once.
+ * A chunk whose commit fails is retried up to a fixed number of attempts, after an
+ * exponentially growing, jittered delay so parallel chunks do not retry in
+ * lockstep against a struggling backend; items in chunks that still fail are
+ * counted instead of aborting the whole run.
+ *
+ * @param <T> type of item written per chunk (e.g. a user ID)
+ */
+class ChunkedBatchCommitter<T> {
+
+    /**
+     * Writes one chunk, typically as a single Firestore {@code WriteBatch}.
+     * Writes must be idempotent, since a chunk may be committed more than once.
+     */
+    interface ChunkWriter<T> {
+        Task<Void> write(List<T> chunk);
+    }
+
+    /**
+     * Runs a retry after a delay; replaceable in tests.
+     */
+    interface Scheduler {
+        void postDelayed(Runnable task, long delayMs);
+    }
+
+    /** Delay before the first retry of a chunk; doubles with each further attempt. */
+    static final long BASE_BACKOFF_MS = 500L;
+
+    /** Upper bound on the delay between two attempts. */
+    static final long MAX_BACKOFF_MS = 8_000L;
+
+    /** Schedules retries on the main thread, where the writers build their batches. */
+    private static final Scheduler MAIN_THREAD =
+            (task, delayMs) -> new Handler(Looper.getMainLooper()).postDelayed(task, delayMs);
+
+    /**
+     * Outcome of {@link #commitAll}: how many items were committed and how many
+     * were in chunks that failed every attempt.
+     */
+    static final class Result {
+        final int committed;
+        final int failed;
+
+        Result(int committed, int failed) {
+            this.committed = committed;
+            this.failed = failed;
+        }
+    }
+
+    private final int chunkSize;
+    private final int maxParallel;
+    private final int maxAttempts;
+    private final ChunkWriter<T> writer;
+    private final Scheduler scheduler;
+
+    ChunkedBatchCommitter(int chunkSize, int maxParallel, int maxAttempts, ChunkWriter<T> writer) {
+        this(chunkSize, maxParallel, maxAttempts, writer, MAIN_THREAD);
+    }
+
+    ChunkedBatchCommitter(int chunkSize, int maxParallel, int maxAttempts, ChunkWriter<T> writer,
+                          Scheduler scheduler) {
+        if (chunkSize <= 0 || maxParallel <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("chunkSize, maxParallel and maxAttempts must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.maxParallel = maxParallel;
+        this.maxAttempts = maxAttempts;
+        this.writer = writer;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the delay before retrying a chunk that has failed
+     * {@code failedAttempts} times: a random point in the upper half of
+     * {@code BASE_BACKOFF_MS * 2^(failedAttempts - 1)}, capped at
+     * {@link #MAX_BACKOFF_MS}.
+     *
+     * @param random a value in [0, 1)
+     */
+    static long backoffDelayMs(int failedAttempts, double random) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(failedAttempts - 1, 16));
+        long half = ceiling / 2;
+        return half + (long) (random * (ceiling - half));
+    }
+
+    /**
+     * Commits all items chunk by chunk.
+     *
+     * @param items items to write
+     * @return a task that always succeeds with the committed and failed counts
+     */
+    Task<Result> commitAll(List<T> items) {
+        TaskCompletionSource<Result> source = new TaskCompletionSource<>();
+        if (items == null || items.isEmpty()) {
+            source.setResult(new Result(0, 0));
+            return source.getTask();
+        }
+
+        Deque<List<T>> chunks = new ArrayDeque<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(new ArrayList<>(items.subList(i, Math.min(i + chunkSize, items.size()))));
+        }
+
+        Run run = new Run(chunks, source);
+        int workers = Math.min(maxParallel, chunks.size());
+        for (int i = 0; i < workers; i++) {
+            run.next();
+        }
+        return source.getTask();
+    }
+
+    /** State for one {@link #commitAll} call. */
+    private final class Run {
+        private final Deque<List<T>> pending;
+        private final TaskCompletionSource<Result> source;
+        private int inFlight = 0;
+        private int committed = 0;
+        private int failed = 0;
+
+        Run(Deque<List<T>> pending, TaskCompletionSource<Result> source) {
+            this.pending = pending;
+            this.source = source;
+        }
+
+        void next() {
+            List<T> chunk;
+            synchronized (this) {
+                chunk = pending.poll();
+                if (chunk == null) {
+                    if (inFlight == 0) {
+                        source.trySetResult(new Result(committed, failed));
+                    }
+                    return;
+                }
+                inFlight++;
+            }
+            attempt(chunk, 1);
+        }
+
+        private void attempt(List<T> chunk, int attemptNumber) {
+            writer.write(chunk).addOnCompleteListener(Runnable::run, task -> {
+                if (!task.isSuccessful() && attemptNumber < maxAttempts) {
+                    scheduler.postDelayed(() -> attempt(chunk, attemptNumber + 1),
+                            backoffDelayMs(attemptNumber, Math.random()));
+                    return;
+                }
+                synchronized (this) {
+                    if (task.isSuccessful()) {
+                        committed += chunk.size();
+                    } else {
+                        failed += chunk.size();
+                    }
+                    inFlight--;
+                }
+                next();
+            });
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.fairchance;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.Query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The optional unified roster layout: one {@code events/{eventId}/entrants/{uid}}
+ * document per entrant whose {@code status} field says where the entrant is,
+ * instead of separate {@code waitingList}, {@code selected}, {@code cancelled}
+ * and {@code confirmedAttendees} subcollections.
+ * <p>
+ * An event uses this layout when its {@code unifiedRoster} field is
+ * {@code true}. New events are created with the legacy layout; the field is
+ * set by {@code functions/tools/migrate-unified-roster.js}. Every transition
+ * is then a single write to the entrant document; the
+ * {@code mirrorEntrantHistory} Cloud Function keeps
+ * {@code users/{uid}/eventHistory} in step. The legacy roster names are still
+ * used as views: {@link #query} turns one into a status filter, so screens and
+ * {@link RosterStore} work on both layouts.
+ */
+public final class EntrantRoster {
+
+    public static final String COLLECTION = "entrants";
+    public static final String FIELD_STATUS = "status";
+    /** Event field that switches an event to this layout. */
+    public static final String FIELD_UNIFIED_ROSTER = "unifiedRoster";
+
+    public static final String STATUS_WAITING = "waiting";
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_ACCEPTED = "accepted";
+    public static final String STATUS_DECLINED = "declined";
+    public static final String STATUS_CANCELLED = "cancelled";
+
+    /**
+     * How long a resolved layout is trusted. An event's layout only changes
+     * when it is migrated, so a process picks up a migration within this time.
+     */
+    static final long LAYOUT_TTL_MS = 10 * 60 * 1000L;
+
+    /** Layout per event, with the time it was read. */
+    private static final Map<String, Layout> unifiedByEvent = new ConcurrentHashMap<>();
+
+    private static final class Layout {
+        final boolean unified;
+        final long resolvedAt;
+
+        Layout(boolean unified, long resolvedAt) {
+            this.unified = unified;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    private EntrantRoster() {
+    }
+
+    /**
+     * Returns the entrant statuses that make up a legacy roster view: everyone
+     * ever sampled for {@code selected}, only accepted entrants for
+     * {@code confirmedAttendees}, and so on.
+     *
+     * @param roster one of the {@link RosterStore} roster names
+     */
+    static List<String> statusesFor(String roster) {
+        switch (roster) {
+            case RosterStore.WAITING_LIST:
+                return Collections.singletonList(STATUS_WAITING);
+            case RosterStore.SELECTED:
+                return Arrays.asList(STATUS_PENDING, STATUS_ACCEPTED, STATUS_DECLINED, STATUS_CANCELLED);
+            case RosterStore.CANCELLED:
+                return Collections.singletonList(STATUS_CANCELLED);
+            case RosterStore.CONFIRMED_ATTENDEES:
+                return Collections.singletonList(STATUS_ACCEPTED);
+            default:
+                throw new IllegalArgumentException("Unknown roster: " + roster);
+        }
+    }
+
+    /**
+     * Maps an entrant status to the status shown in the user's event history.
+     */
+    static String historyStatus(String status) {
+        if (status == null) return "Waiting";
+        switch (status) {
+            case STATUS_PENDING:
+                return "Selected";
+            case STATUS_ACCEPTED:
+                return "Confirmed";
+            case STATUS_DECLINED:
+                return "Declined";
+            case STATUS_CANCELLED:
+                return "Cancelled";
+            default:
+                return "Waiting";
+        }
+    }
+
+    /**
+     * Returns the query for a roster view of an event in the given layout.
+     *
+     * @param eventRef the event document
+     * @param roster   one of the {@link RosterStore} roster names
+     * @param unified  whether the event uses the unified layout
+     */
+    static Query query(DocumentReference eventRef, String roster, boolean unified) {
+        if (!unified) {
+            return eventRef.collection(roster);
+        }
+        List<String> statuses = statusesFor(roster);
+        return statuses.size() == 1
+                ? eventRef.collection(COLLECTION).whereEqualTo(FIELD_STATUS, statuses.get(0))
+                : eventRef.collection(COLLECTION).whereIn(FIELD_STATUS, statuses);
+    }
+
+    /**
+     * Resolves whether an event uses the unified layout, reading the event
+     * document at most once per {@link #LAYOUT_TTL_MS}.
+     */
+    static Task<Boolean> isUnified(DocumentReference eventRef) {
+        Boolean known = cachedLayout(eventRef.getId(), System.currentTimeMillis());
+        if (known != null) {
+            return Tasks.forResult(known);
+        }
+        return eventRef.get().continueWith(Runnable::run, task -> {
+            boolean unified = Boolean.TRUE.equals(task.getResult().getBoolean(FIELD_UNIFIED_ROSTER));
+            remember(eventRef.getId(), unified);
+            return unified;
+        });
+    }
+
+    /**
+     * Records an event's layout seen on a freshly read event document.
+     */
+    static void remember(String eventId, boolean unified) {
+        remember(eventId, unified, System.currentTimeMillis());
+    }
+
+    static void remember(String eventId, boolean unified, long nowMs) {
+        unifiedByEvent.put(eventId, new Layout(unified, nowMs));
+    }
+
+    /**
+     * Drops an event's layout, e.g. once the event is deleted.
+     */
+    static void forget(String eventId) {
+        unifiedByEvent.remove(eventId);
+    }
+
+    /**
+     * Returns the layout recorded for an event, or {@code null} if none was
+     * recorded or it is older than {@link #LAYOUT_TTL_MS}.
+     */
+    static Boolean cachedLayout(String eventId, long nowMs) {
+        Layout layout = unifiedByEvent.get(eventId);
+        if (layout == null) return null;
+        if (nowMs - layout.resolvedAt >= LAYOUT_TTL_MS) {
+            unifiedByEvent.remove(eventId, layout);
+            return null;
+        }
+        return layout.unified;
+    }
+}
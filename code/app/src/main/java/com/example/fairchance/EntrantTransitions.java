@@ -0,0 +1,166 @@
+package com.example.fairchance;
+
+import com.example.fairchance.models.EntrantTransition;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of entrant status changes, kept in
+ * {@code events/{eventId}/transitions}.
+ * <p>
+ * Every status change in {@link EventRepository} adds one entry in the same
+ * batch or transaction as the change itself, so the log never disagrees with
+ * the rosters. Changes made by one user read the entrant's current status in
+ * a transaction, so {@code from} is always the real status and a change that
+ * changes nothing logs nothing. Batch writes that cannot read first, such as
+ * a draw, use a document ID derived from the user and the operation, so
+ * committing the same operation again overwrites its entry instead of adding
+ * one. Statuses use the {@link EntrantRoster} vocabulary on both roster
+ * layouts, with {@link #NONE} for "not on any roster".
+ * <p>
+ * The {@code applyEntrantTransition} Cloud Function folds each new entry into
+ * two views: per-status counts in {@code events/{eventId}/views/statusCounts}
+ * (a baseline plus sharded deltas under {@link #SHARDS}) and a per-user
+ * timeline in {@code users/{uid}/timeline/{eventId}}. Reporting reads those
+ * instead of scanning rosters. Entries carry {@code pendingAt} until applied;
+ * {@code sweepEntrantTransitions} re-applies any the trigger missed.
+ * {@code compactEntrantTransitions} later deletes applied entries past their
+ * retention period; the timeline keeps their content.
+ */
+public final class EntrantTransitions {
+
+    public static final String COLLECTION = "transitions";
+    public static final String VIEWS = "views";
+    public static final String STATUS_COUNTS = "statusCounts";
+    /** Subcollection of the counts view holding the sharded deltas. */
+    public static final String SHARDS = "shards";
+    public static final String TIMELINE = "timeline";
+
+    /** Status of a user who is not on the event's rosters. */
+    public static final String NONE = "none";
+
+    public static final String REASON_JOIN = "join";
+    public static final String REASON_LEAVE = "leave";
+    public static final String REASON_DRAW = "draw";
+    public static final String REASON_REPLACEMENT = "replacement";
+    public static final String REASON_ACCEPT = "accept";
+    public static final String REASON_DECLINE = "decline";
+    public static final String REASON_ORGANIZER_TIMEOUT = "organizer_timeout";
+
+    private EntrantTransitions() {
+    }
+
+    /**
+     * Builds a log entry. The commit time is added as a server timestamp by
+     * the {@code append} methods.
+     *
+     * @param actorId the signed-in user making the change, or {@code null}
+     * @param drawId  the lottery draw behind the change, or {@code null}
+     */
+    static Map<String, Object> entry(String userId, String from, String to, String reason,
+                                     String actorId, String drawId) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(EventRepository.FIELD_USER_ID, userId);
+        entry.put("from", from);
+        entry.put("to", to);
+        entry.put("reason", reason);
+        entry.put("actorId", actorId);
+        if (drawId != null) {
+            entry.put("drawId", drawId);
+        }
+        return entry;
+    }
+
+    /**
+     * Adds a log entry under {@code {userId}_{opId}} to a batch that performs
+     * the change, so writing the same operation twice leaves one entry.
+     *
+     * @param opId identifies the operation, e.g. the draw ID
+     */
+    static void append(WriteBatch batch, DocumentReference eventRef, Map<String, Object> entry, String opId) {
+        batch.set(eventRef.collection(COLLECTION).document(documentId(entry, opId)), stamped(entry));
+    }
+
+    static String documentId(Map<String, Object> entry, String opId) {
+        return entry.get(EventRepository.FIELD_USER_ID) + "_" + opId;
+    }
+
+    /**
+     * Adds a log entry to a transaction that performs the change.
+     */
+    static void append(Transaction transaction, DocumentReference eventRef, Map<String, Object> entry) {
+        transaction.set(eventRef.collection(COLLECTION).document(), stamped(entry));
+    }
+
+    private static Map<String, Object> stamped(Map<String, Object> entry) {
+        Map<String, Object> stamped = new HashMap<>(entry);
+        stamped.put("at", FieldValue.serverTimestamp());
+        stamped.put("pendingAt", FieldValue.serverTimestamp());
+        return stamped;
+    }
+
+    /**
+     * Turns the {@code entries} array of a timeline document into
+     * transitions, oldest first. Entries without a time sort last.
+     */
+    static List<EntrantTransition> parseTimeline(Object entries) {
+        List<EntrantTransition> timeline = new ArrayList<>();
+        if (!(entries instanceof List)) return timeline;
+        for (Object raw : (List<?>) entries) {
+            if (!(raw instanceof Map)) continue;
+            Map<?, ?> entry = (Map<?, ?>) raw;
+            Object at = entry.get("at");
+            Date date = at instanceof Timestamp ? ((Timestamp) at).toDate()
+                    : at instanceof Date ? (Date) at : null;
+            timeline.add(new EntrantTransition(asString(entry.get("from")),
+                    asString(entry.get("to")), asString(entry.get("reason")), date));
+        }
+        Collections.sort(timeline, (a, b) -> {
+            if (a.getAt() == null) return b.getAt() == null ? 0 : 1;
+            if (b.getAt() == null) return -1;
+            return a.getAt().compareTo(b.getAt());
+        });
+        return timeline;
+    }
+
+    /**
+     * Reads the counts map of a {@code statusCounts} view; absent statuses are 0.
+     */
+    static Map<String, Long> parseCounts(Object counts) {
+        return sumCounts(Collections.singletonList(counts));
+    }
+
+    /**
+     * Adds up the counts maps of a {@code statusCounts} view and its shards.
+     * A shard holds deltas and may be negative, so only the totals are
+     * clamped at 0.
+     */
+    static Map<String, Long> sumCounts(List<?> countMaps) {
+        Map<String, Long> summed = new HashMap<>();
+        for (Object counts : countMaps) {
+            if (!(counts instanceof Map)) continue;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) counts).entrySet()) {
+                if (entry.getValue() instanceof Number) {
+                    summed.merge(String.valueOf(entry.getKey()),
+                            ((Number) entry.getValue()).longValue(), Long::sum);
+                }
+            }
+        }
+        summed.replaceAll((status, count) -> Math.max(0L, count));
+        return summed;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
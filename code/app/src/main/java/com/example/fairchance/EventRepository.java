@@ -4,24 +4,37 @@ import android.util.Log;
 import android.net.Uri;
 import androidx.annotation.NonNull;
 
+import com.example.fairchance.models.CancellationResult;
+import com.example.fairchance.models.CompactRoster;
+import com.example.fairchance.models.EntrantTransition;
 import com.example.fairchance.models.Event;
 import com.example.fairchance.models.EventHistoryItem;
+import com.example.fairchance.models.EventParticipation;
 import com.example.fairchance.models.Invitation;
 
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.AggregateSource;
 import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
 import com.google.firebase.firestore.GeoPoint;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
@@ -29,6 +42,8 @@ import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.functions.HttpsCallableResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +57,39 @@ import java.util.Map;
 public class EventRepository {
 
     private static final String TAG = "EventRepository";
+
+    /**
+     * Field holding the entrant's user ID on every waitingList, selected,
+     * cancelled, confirmedAttendees and entrants entry (the document ID is the same
+     * value), so a user's entries can be found with collection-group queries.
+     */
+    public static final String FIELD_USER_ID = "userId";
+
+    /** Rosters searched by {@link #getUserParticipation}. */
+    private static final String[] PARTICIPATION_ROSTERS = {
+            RosterStore.WAITING_LIST, RosterStore.SELECTED,
+            RosterStore.CANCELLED, RosterStore.CONFIRMED_ATTENDEES, EntrantRoster.COLLECTION};
+
+    /** Selected entries read per page when cancelling pending entrants. */
+    private static final int CANCEL_PAGE_SIZE = 300;
+    /** Entrants per transaction when cancelling; each entrant costs up to four writes. */
+    private static final int CANCEL_CHUNK_SIZE = 120;
+    /** Maximum number of cancellation transactions committed at the same time. */
+    private static final int CANCEL_MAX_PARALLEL_COMMITS = 3;
+    /** Attempts per cancellation transaction before its entrants are counted as failed. */
+    private static final int CANCEL_MAX_ATTEMPTS = 3;
+    /** Winners per batch when committing a draw; each costs up to four writes. */
+    private static final int DRAW_CHUNK_SIZE = 120;
+    /** Waiting list entries per batch when persisting the standby order; one write each. */
+    private static final int STANDBY_CHUNK_SIZE = 400;
+    /** Waiting list entries read per page by weighted and stratified draws. */
+    private static final int DRAW_PAGE_SIZE = 500;
+    /** Times a replacement draw re-queries the standby head after losing a race. */
+    private static final int STANDBY_MAX_ATTEMPTS = 3;
+    /** Entrant IDs stored per input document of a lottery draw record. */
+    private static final int LOTTERY_INPUT_IDS_PER_DOC = 5000;
+    /** Input documents per batch; keeps each batch request well under 10 MiB. */
+    private static final int LOTTERY_INPUT_DOCS_PER_BATCH = 10;
     private final FirebaseFirestore db;
     private final FirebaseStorage storage = FirebaseStorage.getInstance();
     private final FirebaseAuth auth;
@@ -164,18 +212,78 @@ public class EventRepository {
     }
 
     /**
-     * Callback for retrieving a list of {@link Invitation} entries.
+     * Callback for retrieving a user's roster entries across events.
+     */
+    public interface ParticipationCallback {
+        /**
+         * Called when every roster has been searched.
+         *
+         * @param entries one entry per roster the user is on, in no particular order
+         */
+        void onSuccess(List<EventParticipation> entries);
+
+        /**
+         * Called when any of the queries fails.
+         *
+         * @param message human-readable error message
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Callback for retrieving an event's per-status entrant counts.
+     */
+    public interface StatusCountsCallback {
+        /**
+         * Called with the counts, or {@code null} when the event has no counts
+         * view yet.
+         *
+         * @param counts entrants per {@link EntrantRoster} status; absent statuses are 0
+         */
+        void onSuccess(Map<String, Long> counts);
+
+        /**
+         * Called when the view cannot be read.
+         *
+         * @param message human-readable error message
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Callback for retrieving one user's steps through one event.
+     */
+    public interface TimelineCallback {
+        /**
+         * Called with the user's transitions, oldest first; empty if none.
+         *
+         * @param timeline the transitions
+         */
+        void onSuccess(List<EntrantTransition> timeline);
+
+        /**
+         * Called when the timeline cannot be read.
+         *
+         * @param message human-readable error message
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Callback for the live stream of the current user's pending invitations.
      */
-    public interface InvitationListCallback {
+    public interface InvitationStreamCallback {
         /**
-         * Called when the invitation list is successfully fetched.
+         * Called with the current invitations: first from the local cache when
+         * it has any, then whenever they change or finish syncing with the server.
          *
-         * @param historyItems list of {@link Invitation} objects
+         * @param invitations pending invitations, ordered by event date descending
+         * @param fromCache   {@code true} while the list may still miss server changes
          */
-        void onSuccess(List<Invitation> historyItems);
+        void onInvitations(List<Invitation> invitations, boolean fromCache);
 
         /**
-         * Called when fetching the invitations fails.
+         * Called when listening fails.
          *
          * @param message human-readable error message
          */
@@ -241,6 +349,47 @@ public class EventRepository {
         void onError(String message);
     }
 
+    /**
+     * Callback for observing a server-side event deletion.
+     */
+    public interface DeletionProgressCallback {
+        /**
+         * Called whenever the deletion job reports progress.
+         *
+         * @param phase          current phase ({@code collecting}, {@code history},
+         *                       {@code subcollections}, {@code storage}, {@code done})
+         * @param entrantCount   number of entrants found on the event's rosters
+         * @param historyDeleted number of user history entries removed so far
+         */
+        void onProgress(String phase, long entrantCount, long historyDeleted);
+
+        /**
+         * Called when progress cannot be observed.
+         *
+         * @param message human-readable error message
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Callback for bulk cancellation of pending entrants.
+     */
+    public interface CancelPendingCallback {
+        /**
+         * Called once every page has been processed.
+         *
+         * @param result counts of cancelled, already cancelled and failed entrants
+         */
+        void onSuccess(CancellationResult result);
+
+        /**
+         * Called when the selected list cannot be read.
+         *
+         * @param message human-readable error message
+         */
+        void onError(String message);
+    }
+
     //endregion
 
     /**
@@ -248,7 +397,7 @@ public class EventRepository {
      * instances and setting references to the main collections.
      */
     public EventRepository() {
-        this.db = FirebaseFirestore.getInstance();
+        this.db = FirestoreConfig.getFirestore();
         this.auth = FirebaseAuth.getInstance();
         this.eventsRef = db.collection("events");
         this.usersRef = db.collection("users");
@@ -257,45 +406,34 @@ public class EventRepository {
     /**
      * Creates a new event document in the {@code events} collection and
      * attaches metadata such as eventId, createdAt, and creator info.
+     * The organizer's display name is stamped onto the event as
+     * {@code organizerName} so event cards never need a separate lookup.
      *
      * @param event    the {@link Event} object to create
      * @param callback callback notified of success or failure
      */
     public void createEvent(Event event, EventTaskCallback callback) {
-        FirebaseUser user = auth.getCurrentUser();
-
-        eventsRef.add(event)
-                .addOnSuccessListener(documentReference -> {
-                    String eventId = documentReference.getId();
-                    Map<String, Object> updates = new HashMap<>();
-                    updates.put("eventId", eventId);
-                    updates.put("createdAt", com.google.firebase.Timestamp.now());
+        String organizerId = event.getOrganizerId();
+        if (organizerId == null || organizerId.isEmpty()
+                || (event.getOrganizerName() != null && !event.getOrganizerName().isEmpty())) {
+            createEventInternal(event, callback);
+            return;
+        }
 
-                    if (user != null) {
-                        String uploaderName = user.getDisplayName();
-                        if (uploaderName == null || uploaderName.isEmpty()) {
-                            uploaderName = user.getEmail();
-                        }
-                        updates.put("createdById", user.getUid());
-                        if (uploaderName != null && !uploaderName.isEmpty()) {
-                            updates.put("createdByName", uploaderName);
-                        }
-                    }
+        getOrganizerName(organizerId, new OrganizerNameCallback() {
+            @Override
+            public void onSuccess(String organizerName) {
+                event.setOrganizerName(organizerName);
+                createEventInternal(event, callback);
+            }
 
-                    documentReference.set(updates, SetOptions.merge())
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Event created with ID: " + eventId);
-                                callback.onSuccess();
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error updating event with metadata", e);
-                                callback.onError(e.getMessage());
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error creating event", e);
-                    callback.onError(e.getMessage());
-                });
+            @Override
+            public void onError(String message) {
+                // The name is only a display convenience; create the event without it
+                Log.w(TAG, "Could not resolve organizer name: " + message);
+                createEventInternal(event, callback);
+            }
+        });
     }
 
     /**
@@ -325,6 +463,54 @@ public class EventRepository {
                 });
     }
 
+    /**
+     * Retrieves a single {@link Event}, answering from the local cache first and
+     * then from the server. {@code onSuccess} is called once with the cached copy
+     * (if any) and again with the server copy only if it differs, so screens can
+     * paint immediately on repeat launches.
+     *
+     * @param eventId  ID of the event to fetch
+     * @param callback callback receiving the {@link Event} (up to twice) or an error
+     */
+    public void getEventCacheFirst(String eventId, EventCallback callback) {
+        DocumentReference eventDoc = eventsRef.document(eventId);
+        eventDoc.get(Source.CACHE)
+                .addOnCompleteListener(cacheTask -> {
+                    DocumentSnapshot cached = cacheTask.isSuccessful() ? cacheTask.getResult() : null;
+                    boolean hadCached = cached != null && cached.exists();
+                    if (hadCached) {
+                        Event event = cached.toObject(Event.class);
+                        if (event != null) {
+                            event.setEventId(cached.getId());
+                            callback.onSuccess(event);
+                        }
+                    }
+
+                    eventDoc.get(Source.SERVER)
+                            .addOnSuccessListener(serverDoc -> {
+                                if (!serverDoc.exists()) {
+                                    if (!hadCached) callback.onError("Event not found.");
+                                    return;
+                                }
+                                if (hadCached && serverDoc.getData() != null
+                                        && serverDoc.getData().equals(cached.getData())) {
+                                    return;
+                                }
+                                Event event = serverDoc.toObject(Event.class);
+                                if (event != null) {
+                                    event.setEventId(serverDoc.getId());
+                                    callback.onSuccess(event);
+                                } else if (!hadCached) {
+                                    callback.onError("Failed to parse event object.");
+                                }
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error refreshing event from server", e);
+                                if (!hadCached) callback.onError(e.getMessage());
+                            });
+                });
+    }
+
     /**
      * Subscribes to real-time updates for all events whose registration window
      * is currently open, and returns a {@link ListenerRegistration} to remove
@@ -395,18 +581,47 @@ public class EventRepository {
     }
 
     /**
-     * One-time fetch of the number of users currently on an event's waiting list.
+     * One-time fetch of the number of users currently on an event's waiting list,
+     * for display. Reads the precomputed {@code statusCounts} view when the event
+     * has one and only counts the roster itself otherwise. The view trails the
+     * roster by a moment, so capacity checks use {@link #countWaitingList}.
      *
      * @param eventId  ID of the event
      * @param callback callback receiving the count or an error
      */
     public void getWaitingListCount(String eventId, WaitlistCountCallback callback) {
-        eventsRef.document(eventId).collection("waitingList")
-                .get()
+        getStatusCounts(eventId, new StatusCountsCallback() {
+            @Override
+            public void onSuccess(Map<String, Long> counts) {
+                if (counts != null) {
+                    Long waiting = counts.get(EntrantRoster.STATUS_WAITING);
+                    callback.onSuccess(waiting != null ? waiting.intValue() : 0);
+                } else {
+                    countWaitingList(eventId, callback);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                countWaitingList(eventId, callback);
+            }
+        });
+    }
+
+    /**
+     * Counts the waiting list on the server with an aggregation query, which
+     * reads no roster documents and is never behind the roster.
+     */
+    private void countWaitingList(String eventId, WaitlistCountCallback callback) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        EntrantRoster.isUnified(eventRef)
+                .onSuccessTask(Runnable::run, unified -> EntrantRoster
+                        .query(eventRef, RosterStore.WAITING_LIST, unified)
+                        .count()
+                        .get(AggregateSource.SERVER))
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
-                        int count = task.getResult().size();
-                        callback.onSuccess(count);
+                        callback.onSuccess((int) task.getResult().getCount());
                     } else {
                         Log.e(TAG, "Error getting waitlist count: ", task.getException());
                         callback.onError(task.getException().getMessage());
@@ -414,25 +629,73 @@ public class EventRepository {
                 });
     }
 
+    /**
+     * One-time fetch of one of an event's rosters, in either roster layout.
+     * Document IDs are user IDs in both.
+     *
+     * @param eventId ID of the event
+     * @param roster  {@link RosterStore#WAITING_LIST}, {@link RosterStore#SELECTED},
+     *                {@link RosterStore#CANCELLED} or {@link RosterStore#CONFIRMED_ATTENDEES}
+     * @return a task with the roster documents
+     */
+    public Task<QuerySnapshot> fetchRoster(String eventId, String roster) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        return EntrantRoster.isUnified(eventRef)
+                .onSuccessTask(Runnable::run, unified -> EntrantRoster.query(eventRef, roster, unified).get());
+    }
+
+    /**
+     * Marks a cancelled entrant as replaced, which hides them from the
+     * replacement pool.
+     *
+     * @param eventId ID of the event
+     * @param userId  ID of the cancelled entrant
+     * @return a task completing when the flag is written
+     */
+    public Task<Void> markReplacementDrawn(String eventId, String userId) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        return EntrantRoster.isUnified(eventRef).onSuccessTask(Runnable::run, unified ->
+                eventRef.collection(unified ? EntrantRoster.COLLECTION : RosterStore.SELECTED)
+                        .document(userId)
+                        .update("replacementDrawn", true));
+    }
+
     /**
      * Subscribes to real-time updates of the waiting list size for a given event.
+     * Shares the waiting list listener held by {@link RosterStore}.
      *
      * @param eventId  ID of the event
      * @param callback callback receiving the updated count or an error
      * @return the {@link ListenerRegistration} for this real-time listener
      */
     public ListenerRegistration listenToWaitingListCount(String eventId, WaitlistCountCallback callback) {
-        return eventsRef.document(eventId).collection("waitingList")
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        Log.e(TAG, "Error listening to waitlist count", error);
-                        callback.onError(error.getMessage());
-                        return;
-                    }
-                    if (value != null) {
-                        callback.onSuccess(value.size());
-                    }
-                });
+        return listenToRoster(eventId, RosterStore.WAITING_LIST, new RosterStore.RosterListener() {
+            @Override
+            public void onRoster(CompactRoster roster) {
+                callback.onSuccess(roster.size());
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        });
+    }
+
+    /**
+     * Subscribes to one of an event's rosters through the shared {@link RosterStore},
+     * so every screen showing the same roster uses a single snapshot listener.
+     * Must be called on the main thread.
+     *
+     * @param eventId       ID of the event
+     * @param subcollection {@link RosterStore#WAITING_LIST}, {@link RosterStore#SELECTED}
+     *                      or {@link RosterStore#CANCELLED}
+     * @param listener      receives the decoded roster on every change
+     * @return the {@link ListenerRegistration} releasing this subscription
+     */
+    public ListenerRegistration listenToRoster(String eventId, String subcollection,
+                                               RosterStore.RosterListener listener) {
+        return RosterStore.getInstance().subscribe(eventId, subcollection, listener);
     }
 
     /**
@@ -447,7 +710,7 @@ public class EventRepository {
         long limit = event.getWaitingListLimit();
 
         if (limit > 0) {
-            getWaitingListCount(eventId, new WaitlistCountCallback() {
+            countWaitingList(eventId, new WaitlistCountCallback() {
                 @Override
                 public void onSuccess(int count) {
                     if (count >= limit) {
@@ -480,7 +743,7 @@ public class EventRepository {
         long limit = event.getWaitingListLimit();
 
         if (limit > 0) {
-            getWaitingListCount(eventId, new WaitlistCountCallback() {
+            countWaitingList(eventId, new WaitlistCountCallback() {
                 @Override
                 public void onSuccess(int count) {
                     if (count >= limit) {
@@ -514,17 +777,28 @@ public class EventRepository {
         }
         String userId = user.getUid();
 
-        WriteBatch batch = db.batch();
-
-        DocumentReference waitingListRef = eventsRef.document(eventId)
-                .collection("waitingList").document(userId);
-        batch.delete(waitingListRef);
-
-        DocumentReference eventHistoryRef = usersRef.document(userId)
-                .collection("eventHistory").document(eventId);
-        batch.delete(eventHistoryRef);
-
-        batch.commit()
+        DocumentReference eventRef = eventsRef.document(eventId);
+        EntrantRoster.isUnified(eventRef).onSuccessTask(Runnable::run, unified -> db.runTransaction(transaction -> {
+                    // Only a waiting entrant leaves; leaving twice or after the draw logs nothing
+                    DocumentReference rosterRef = unified
+                            ? entrantRef(eventId, userId)
+                            : eventRef.collection("waitingList").document(userId);
+                    DocumentSnapshot current = transaction.get(rosterRef);
+                    String status = current.getString(EntrantRoster.FIELD_STATUS);
+                    if (!current.exists()
+                            || (unified && status != null && !EntrantRoster.STATUS_WAITING.equals(status))) {
+                        return null;
+                    }
+                    // On the unified roster mirrorEntrantHistory removes the history entry
+                    transaction.delete(rosterRef);
+                    if (!unified) {
+                        transaction.delete(usersRef.document(userId).collection("eventHistory").document(eventId));
+                    }
+                    EntrantTransitions.append(transaction, eventRef, EntrantTransitions.entry(userId,
+                            EntrantRoster.STATUS_WAITING, EntrantTransitions.NONE,
+                            EntrantTransitions.REASON_LEAVE, userId, null));
+                    return null;
+                }))
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "User " + userId + " successfully left waiting list for " + eventId);
                     callback.onSuccess();
@@ -620,6 +894,100 @@ public class EventRepository {
                 .addOnFailureListener(e -> callback.onError(e.getMessage()));
     }
 
+    /**
+     * Finds every roster entry of a user across all events with one indexed
+     * collection-group query per roster ({@code userId ==}), instead of reading
+     * {@code users/{uid}/eventHistory}, which can drift from the rosters, or
+     * scanning every event. Intended for admin and account-deletion tooling.
+     *
+     * @param userId   ID of the user
+     * @param callback callback receiving the entries or an error
+     */
+    public void getUserParticipation(String userId, ParticipationCallback callback) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (String roster : PARTICIPATION_ROSTERS) {
+            queries.add(db.collectionGroup(roster).whereEqualTo(FIELD_USER_ID, userId).get());
+        }
+
+        Tasks.whenAllComplete(queries).addOnCompleteListener(Runnable::run, done -> {
+            List<EventParticipation> entries = new ArrayList<>();
+            for (int i = 0; i < queries.size(); i++) {
+                Task<QuerySnapshot> query = queries.get(i);
+                if (!query.isSuccessful()) {
+                    Exception e = query.getException();
+                    Log.e(TAG, "Participation query failed for " + PARTICIPATION_ROSTERS[i], e);
+                    callback.onError(e != null ? e.getMessage() : "Participation query failed");
+                    return;
+                }
+                String roster = PARTICIPATION_ROSTERS[i];
+                for (DocumentSnapshot doc : query.getResult().getDocuments()) {
+                    DocumentReference eventRef = doc.getReference().getParent().getParent();
+                    if (eventRef == null) continue;
+                    com.google.firebase.Timestamp since = doc.getTimestamp(RosterStore.timestampField(roster));
+                    entries.add(new EventParticipation(eventRef.getId(), roster,
+                            doc.getString("status"), since != null ? since.toDate() : null));
+                }
+            }
+            callback.onSuccess(entries);
+        });
+    }
+
+    /**
+     * One-time read of an event's entrant counts per status, kept up to date
+     * from the transition log by the {@code applyEntrantTransition} Cloud
+     * Function. The counts may trail the rosters by a few seconds, so they are
+     * for display only. The view holds a baseline and its shards the changes
+     * since; this adds them up.
+     *
+     * @param eventId  ID of the event
+     * @param callback callback receiving the counts, or {@code null} if the event has no view yet
+     */
+    public void getStatusCounts(String eventId, StatusCountsCallback callback) {
+        DocumentReference countsRef = eventsRef.document(eventId)
+                .collection(EntrantTransitions.VIEWS).document(EntrantTransitions.STATUS_COUNTS);
+        Task<DocumentSnapshot> view = countsRef.get();
+        Task<QuerySnapshot> shards = countsRef.collection(EntrantTransitions.SHARDS).get();
+        Tasks.whenAllSuccess(view, shards)
+                .addOnSuccessListener(results -> {
+                    DocumentSnapshot doc = view.getResult();
+                    if (!doc.exists()) {
+                        callback.onSuccess(null);
+                        return;
+                    }
+                    List<Object> countMaps = new ArrayList<>();
+                    countMaps.add(doc.get("counts"));
+                    for (DocumentSnapshot shard : shards.getResult()) {
+                        countMaps.add(shard.get("counts"));
+                    }
+                    callback.onSuccess(EntrantTransitions.sumCounts(countMaps));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to read status counts for " + eventId, e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * One-time read of how a user moved through an event's rosters (joined,
+     * drawn, declined, ...), from the timeline view built out of the
+     * transition log.
+     *
+     * @param eventId  ID of the event
+     * @param userId   ID of the user
+     * @param callback callback receiving the transitions or an error
+     */
+    public void getEntrantTimeline(String eventId, String userId, TimelineCallback callback) {
+        usersRef.document(userId)
+                .collection(EntrantTransitions.TIMELINE).document(eventId)
+                .get()
+                .addOnSuccessListener(doc -> callback.onSuccess(
+                        EntrantTransitions.parseTimeline(doc.get("entries"))))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to read timeline of " + userId + " for " + eventId, e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
     /**
      * Subscribes to real-time updates for the current user's event history,
      * ordered by event date descending.
@@ -689,36 +1057,64 @@ public class EventRepository {
     }
 
     /**
-     * Fetches the current user's pending invitations, i.e., event history
+     * Subscribes to the current user's pending invitations, i.e., event history
      * entries with status "Selected", ordered by event date descending.
+     * <p>
+     * The listener answers from the local cache first, so the list shows
+     * without waiting for the network, and on re-attach the server only sends
+     * what changed since. Only changed documents are deserialized; unchanged
+     * invitations keep their previous instances. Metadata is included so the
+     * callback learns when a cached list has been confirmed by the server;
+     * snapshots that only flip pending-write state are not reported.
      *
-     * @param callback callback receiving a list of {@link Invitation} or an error
+     * @param callback callback receiving the invitations or an error
+     * @return the {@link ListenerRegistration} for this real-time listener
      */
-    public void getPendingInvitations(InvitationListCallback callback) {
+    public ListenerRegistration listenToPendingInvitations(InvitationStreamCallback callback) {
         FirebaseUser user = auth.getCurrentUser();
         if (user == null) {
             callback.onError("No user is signed in.");
-            return;
+            return () -> {};
         }
         String userId = user.getUid();
+        Map<String, Invitation> byId = new HashMap<>();
+        Boolean[] lastFromCache = {null};
 
-        usersRef.document(userId).collection("eventHistory")
+        return usersRef.document(userId).collection("eventHistory")
                 .whereEqualTo("status", "Selected")
                 .orderBy("eventDate", Query.Direction.DESCENDING)
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        List<Invitation> invitationList = new ArrayList<>();
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            Invitation item = document.toObject(Invitation.class);
-                            item.setEventId(document.getId());
-                            invitationList.add(item);
+                .addSnapshotListener(MetadataChanges.INCLUDE, (snapshot, error) -> {
+                    if (error != null) {
+                        Log.e(TAG, "Error listening to pending invitations: ", error);
+                        callback.onError(error.getMessage());
+                        return;
+                    }
+                    if (snapshot == null) return;
+
+                    boolean fromCache = snapshot.getMetadata().isFromCache();
+                    List<DocumentChange> changes = snapshot.getDocumentChanges();
+                    if (changes.isEmpty() && lastFromCache[0] != null && lastFromCache[0] == fromCache) {
+                        return;
+                    }
+                    lastFromCache[0] = fromCache;
+
+                    for (DocumentChange change : changes) {
+                        String eventId = change.getDocument().getId();
+                        if (change.getType() == DocumentChange.Type.REMOVED) {
+                            byId.remove(eventId);
+                        } else {
+                            Invitation item = change.getDocument().toObject(Invitation.class);
+                            item.setEventId(eventId);
+                            byId.put(eventId, item);
                         }
-                        callback.onSuccess(invitationList);
-                    } else {
-                        Log.e(TAG, "Error getting pending invitations: ", task.getException());
-                        callback.onError(task.getException().getMessage());
                     }
+
+                    List<Invitation> invitations = new ArrayList<>();
+                    for (DocumentSnapshot document : snapshot.getDocuments()) {
+                        Invitation item = byId.get(document.getId());
+                        if (item != null) invitations.add(item);
+                    }
+                    callback.onInvitations(invitations, fromCache);
                 });
     }
 
@@ -726,64 +1122,184 @@ public class EventRepository {
      * Samples a set of attendees for the given event by moving users from the
      * waiting list to the selected list and updating user history.
      * This version reports how many users were selected.
+     * <p>
+     * The draw is run by {@link LotteryEngine} with a fresh seed. The seed, the
+     * canonical inputs and the result are recorded under
+     * {@code events/{eventId}/lotteryDraws} before any entrant is moved, so the
+     * draw can be replayed and verified later.
+     * <p>
+     * The shuffled order of the entrants left on the waiting list is persisted as
+     * their {@code drawOrder} rank, so later replacements can take the next
+     * standby entrant with {@link #drawReplacement} instead of re-shuffling.
+     * <p>
+     * Events whose {@code drawMode} is {@link Event#DRAW_MODE_WEIGHTED} or
+     * {@link Event#DRAW_MODE_STRATIFIED} are drawn with the matching
+     * {@link SamplingStrategy} instead. They are recorded the same way, under the
+     * strategy's own algorithm id and with each entrant's weight and stratum.
      *
      * @param eventId  ID of the event
      * @param count    maximum number of entrants to sample
      * @param callback callback receiving the number selected or an error
      */
     public void sampleAttendees(String eventId, int count, SampleAttendeesCallback callback) {
-        eventsRef.document(eventId).collection("selected").get()
-                .addOnSuccessListener(selSnap -> {
+        sampleAttendees(eventId, count, true, callback);
+    }
+
+    /**
+     * Runs a draw. {@code recordLosses} is false for replacement draws, which
+     * fill one declined place rather than decide who wins the event, so the
+     * entrants they pass over are not counted as having lost a draw.
+     */
+    private void sampleAttendees(String eventId, int count, boolean recordLosses,
+                                 SampleAttendeesCallback callback) {
+        eventsRef.document(eventId).get()
+                .addOnSuccessListener(eventSnap -> {
+                    String drawMode = eventSnap.getString("drawMode");
+                    boolean unified = Boolean.TRUE.equals(eventSnap.getBoolean(EntrantRoster.FIELD_UNIFIED_ROSTER));
+                    EntrantRoster.remember(eventId, unified);
+                    long seed = LotteryEngine.newSeed();
+                    if (Event.DRAW_MODE_WEIGHTED.equals(drawMode)) {
+                        sampleWithStrategy(eventId, unified, new WeightedSamplingStrategy(seed, count),
+                                seed, count, recordLosses, callback);
+                    } else if (Event.DRAW_MODE_STRATIFIED.equals(drawMode)) {
+                        sampleWithStrategy(eventId, unified, new StratifiedSamplingStrategy(seed, count),
+                                seed, count, recordLosses, callback);
+                    } else {
+                        sampleUniform(eventId, unified, count, recordLosses, callback);
+                    }
+                })
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Loads the IDs of everyone already in {@code selected} for an event, or of
+     * every sampled entrant on the unified roster, so a draw never offers them
+     * again.
+     */
+    private Task<java.util.Set<String>> fetchSelectedIds(String eventId, boolean unified) {
+        return EntrantRoster.query(eventsRef.document(eventId), RosterStore.SELECTED, unified).get()
+                .continueWith(task -> {
                     java.util.Set<String> already = new java.util.HashSet<>();
-                    for (QueryDocumentSnapshot d : selSnap) {
+                    for (QueryDocumentSnapshot d : task.getResult()) {
                         already.add(d.getId());
                     }
+                    return already;
+                });
+    }
 
-                    eventsRef.document(eventId).collection("waitingList").get()
-                            .addOnSuccessListener(waitSnap -> {
-                                java.util.List<String> pool = new java.util.ArrayList<>();
-                                for (QueryDocumentSnapshot d : waitSnap) {
-                                    String uid = d.getId();
-                                    if (!already.contains(uid)) {
-                                        pool.add(uid);
-                                    }
-                                }
+    /**
+     * Draws with a {@link SamplingStrategy}, streaming the waiting list in pages.
+     * Each entrant is offered with a weight from its {@code lostDraws} count and a
+     * stratum from its {@code location}. Entrants not drawn are ranked as standby
+     * in a shuffle seeded with {@link LotteryEngine#standbySeed} of the draw's seed.
+     * The draw is recorded under {@code lotteryDraws} like a uniform one, with the
+     * strategy's algorithm id and each entrant's weight and stratum.
+     */
+    private void sampleWithStrategy(String eventId, boolean unified, SamplingStrategy strategy,
+                                    long seed, int count, boolean recordLosses,
+                                    SampleAttendeesCallback callback) {
+        fetchSelectedIds(eventId, unified)
+                .addOnSuccessListener(already -> streamWaitingList(eventId, unified, null, already,
+                        strategy, seed, count, new ArrayList<>(), recordLosses, callback))
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
 
-                                if (pool.isEmpty()) {
-                                    callback.onError("No entrants to sample.");
-                                    return;
-                                }
+    private void streamWaitingList(String eventId,
+                                   boolean unified,
+                                   DocumentSnapshot startAfter,
+                                   java.util.Set<String> already,
+                                   SamplingStrategy strategy,
+                                   long seed,
+                                   int count,
+                                   List<SamplingStrategy.Entrant> offered,
+                                   boolean recordLosses,
+                                   SampleAttendeesCallback callback) {
+        Query page = EntrantRoster.query(eventsRef.document(eventId), RosterStore.WAITING_LIST, unified)
+                .orderBy(FieldPath.documentId())
+                .limit(DRAW_PAGE_SIZE);
+        if (startAfter != null) {
+            page = page.startAfter(startAfter);
+        }
 
-                                java.util.Collections.shuffle(pool);
-                                int take = Math.min(count, pool.size());
+        page.get()
+                .addOnSuccessListener(snapshot -> {
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        String uid = doc.getId();
+                        if (already.contains(uid)) continue;
+
+                        Long lostDraws = doc.getLong("lostDraws");
+                        GeoPoint location = doc.getGeoPoint("location");
+                        String region = location != null
+                                ? StratifiedSamplingStrategy.regionKey(location.getLatitude(), location.getLongitude())
+                                : StratifiedSamplingStrategy.UNKNOWN_REGION;
+                        SamplingStrategy.Entrant entrant = new SamplingStrategy.Entrant(uid,
+                                WeightedSamplingStrategy.weightForLostDraws(lostDraws != null ? lostDraws : 0),
+                                region);
+                        strategy.offer(entrant);
+                        offered.add(entrant);
+                    }
 
-                                WriteBatch batch = db.batch();
-                                com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
+                    if (snapshot.size() == DRAW_PAGE_SIZE) {
+                        DocumentSnapshot last = snapshot.getDocuments().get(snapshot.size() - 1);
+                        streamWaitingList(eventId, unified, last, already, strategy, seed, count,
+                                offered, recordLosses, callback);
+                        return;
+                    }
 
-                                for (int i = 0; i < take; i++) {
-                                    String uid = pool.get(i);
+                    List<String> drawn = strategy.drawn();
+                    if (drawn.isEmpty()) {
+                        callback.onError("No entrants to sample.");
+                        return;
+                    }
+                    java.util.Set<String> drawnSet = new java.util.HashSet<>(drawn);
+                    List<String> rest = new ArrayList<>();
+                    for (SamplingStrategy.Entrant entrant : offered) {
+                        if (!drawnSet.contains(entrant.userId)) rest.add(entrant.userId);
+                    }
+                    long standbySeed = LotteryEngine.standbySeed(seed);
+                    List<String> order = new ArrayList<>(drawn);
+                    order.addAll(LotteryEngine.shuffle(standbySeed, rest));
 
-                                    DocumentReference selRef = eventsRef.document(eventId)
-                                            .collection("selected").document(uid);
-                                    Map<String, Object> selData = new HashMap<>();
-                                    selData.put("status", "pending");
-                                    selData.put("sampledAt", now);
-                                    batch.set(selRef, selData);
+                    recordStrategyDraw(eventId, strategy, seed, count, offered, drawn, standbySeed)
+                            .addOnSuccessListener(drawId -> commitDraw(eventId, unified, drawId, order,
+                                    drawn.size(), recordLosses, callback))
+                            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+                })
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
 
-                                    DocumentReference histRef = usersRef.document(uid)
-                                            .collection("eventHistory").document(eventId);
-                                    Map<String, Object> hist = new HashMap<>();
-                                    hist.put("status", "Selected");
-                                    hist.put("updatedAt", now);
-                                    batch.set(histRef, hist, SetOptions.merge());
+    /**
+     * Uniform draw through {@link LotteryEngine}, recorded for replay.
+     */
+    private void sampleUniform(String eventId, boolean unified, int count, boolean recordLosses,
+                               SampleAttendeesCallback callback) {
+        fetchSelectedIds(eventId, unified)
+                .addOnSuccessListener(already -> {
+                    EntrantRoster.query(eventsRef.document(eventId), RosterStore.WAITING_LIST, unified).get()
+                            .addOnSuccessListener(waitSnap -> {
+                                java.util.List<String> pool = new java.util.ArrayList<>();
+                                for (QueryDocumentSnapshot d : waitSnap) {
+                                    String uid = d.getId();
+                                    if (!already.contains(uid)) {
+                                        pool.add(uid);
+                                    }
+                                }
 
-                                    DocumentReference waitRef = eventsRef.document(eventId)
-                                            .collection("waitingList").document(uid);
-                                    batch.delete(waitRef);
+                                if (pool.isEmpty()) {
+                                    callback.onError("No entrants to sample.");
+                                    return;
                                 }
 
-                                batch.commit()
-                                        .addOnSuccessListener(a -> callback.onSuccess(take))
+                                long seed = LotteryEngine.newSeed();
+                                List<String> canonical = LotteryEngine.canonicalOrder(pool);
+                                List<String> order = LotteryEngine.drawFromCanonical(
+                                        seed, canonical, canonical.size());
+                                int take = Math.min(count, order.size());
+
+                                recordLotteryDraw(eventId, seed, canonical, order.subList(0, take))
+                                        .addOnSuccessListener(drawId ->
+                                                commitDraw(eventId, unified, drawId, order, take,
+                                                        recordLosses, callback))
                                         .addOnFailureListener(e -> callback.onError(e.getMessage()));
                             })
                             .addOnFailureListener(e -> callback.onError(e.getMessage()));
@@ -814,8 +1330,11 @@ public class EventRepository {
 
     /**
      * Records a user's response to an invitation (accepted/declined) and updates
-     * both the user's event history and the event's selected/confirmed collections.
-     * If declined, automatically draws a replacement entrant.
+     * both the user's event history and the event's selected/confirmed collections,
+     * or only the entrant's status on events with the unified roster.
+     * If declined, automatically draws a replacement entrant. The entrant's
+     * status is read in the same transaction, so only a pending invitation is
+     * answered; giving the same answer again is a no-op.
      *
      * @param eventId  ID of the event
      * @param accepted {@code true} if the user accepts; {@code false} otherwise
@@ -829,31 +1348,60 @@ public class EventRepository {
         }
         String userId = user.getUid();
 
-        WriteBatch batch = db.batch();
-
-        DocumentReference eventHistoryRef = usersRef.document(userId)
-                .collection("eventHistory").document(eventId);
-        String newStatus = accepted ? "Confirmed" : "Declined";
-        batch.update(eventHistoryRef, "status", newStatus);
-
-        DocumentReference selectedRef = eventsRef.document(eventId)
-                .collection("selected").document(userId);
-        String newSelectedStatus = accepted ? "accepted" : "declined";
-        batch.update(selectedRef, "status", newSelectedStatus);
-
-        if (accepted) {
-            DocumentReference confirmedRef = eventsRef.document(eventId)
-                    .collection("confirmedAttendees").document(userId);
-            Map<String, Object> confirmedData = new HashMap<>();
-            confirmedData.put("confirmedAt", com.google.firebase.Timestamp.now());
-            batch.set(confirmedRef, confirmedData);
-        }
+        DocumentReference eventRef = eventsRef.document(eventId);
+        String to = accepted ? EntrantRoster.STATUS_ACCEPTED : EntrantRoster.STATUS_DECLINED;
+        EntrantRoster.isUnified(eventRef).onSuccessTask(Runnable::run, unified -> db.runTransaction(transaction -> {
+                    DocumentReference rosterRef = unified
+                            ? entrantRef(eventId, userId)
+                            : eventRef.collection("selected").document(userId);
+                    DocumentSnapshot current = transaction.get(rosterRef);
+                    String from = current.exists()
+                            ? normalizedSelectedStatus(current.getString(EntrantRoster.FIELD_STATUS)) : null;
+                    // Only an open invitation is answered; the caller sees what it found
+                    if (!EntrantRoster.STATUS_PENDING.equals(from)) {
+                        return from != null ? from : EntrantTransitions.NONE;
+                    }
+                    EntrantTransitions.append(transaction, eventRef, EntrantTransitions.entry(userId,
+                            from, to,
+                            accepted ? EntrantTransitions.REASON_ACCEPT : EntrantTransitions.REASON_DECLINE,
+                            userId, null));
+                    if (unified) {
+                        Map<String, Object> entrantUpdate = new HashMap<>();
+                        entrantUpdate.put(EntrantRoster.FIELD_STATUS, to);
+                        entrantUpdate.put(accepted ? "confirmedAt" : "respondedAt",
+                                com.google.firebase.Timestamp.now());
+                        transaction.update(rosterRef, entrantUpdate);
+                        return from;
+                    }
 
-        batch.commit()
-                .addOnSuccessListener(aVoid -> {
+                    DocumentReference eventHistoryRef = usersRef.document(userId)
+                            .collection("eventHistory").document(eventId);
+                    transaction.update(eventHistoryRef, "status", accepted ? "Confirmed" : "Declined");
+                    transaction.update(rosterRef, "status", to);
+
+                    if (accepted) {
+                        DocumentReference confirmedRef = eventRef
+                                .collection("confirmedAttendees").document(userId);
+                        Map<String, Object> confirmedData = new HashMap<>();
+                        confirmedData.put(FIELD_USER_ID, userId);
+                        confirmedData.put("confirmedAt", com.google.firebase.Timestamp.now());
+                        transaction.set(confirmedRef, confirmedData);
+                    }
+                    return from;
+                }))
+                .addOnSuccessListener(found -> {
+                    if (!EntrantRoster.STATUS_PENDING.equals(found)) {
+                        // Answering the same way twice is harmless; anything else is too late
+                        if (to.equals(found)) {
+                            callback.onSuccess();
+                        } else {
+                            callback.onError("This invitation is no longer open.");
+                        }
+                        return;
+                    }
                     Log.d(TAG, "User " + userId + " responded to invitation for " + eventId);
                     if (!accepted) {
-                        sampleAttendees(eventId, 1, new SampleAttendeesCallback() {
+                        drawFromStandby(eventId, STANDBY_MAX_ATTEMPTS, new SampleAttendeesCallback() {
                             @Override
                             public void onSuccess(int selectedCount) {
                                 callback.onSuccess();
@@ -875,57 +1423,41 @@ public class EventRepository {
     }
 
     /**
-     * Cancels all entrants currently in the {@code selected} collection with status
-     * {@code "pending"} for the given event, moves them into {@code cancelled}
+     * Maps a {@code selected} or entrant status to the {@link EntrantRoster}
+     * vocabulary; legacy {@code selected}/{@code notified} invitations are pending.
+     */
+    private static String normalizedSelectedStatus(String status) {
+        if (status == null || "selected".equals(status) || "notified".equals(status)) {
+            return EntrantRoster.STATUS_PENDING;
+        }
+        return status;
+    }
+
+    /**
+     * Cancels all entrants currently in the {@code selected} collection with a
+     * pending invitation ({@code "pending"}, {@code "selected"} or {@code "notified"})
+     * for the given event, moves them into {@code cancelled}
      * (for organizer visibility), and updates user history status to {@code "Cancelled"}.
      * Fulfills US 02.06.04.
+     * On events with the unified roster each entrant is one status update instead.
+     * <p>
+     * The selected list is read in pages and written in chunked transactions, with
+     * a few in flight at once. Each transaction re-checks that its entrants are
+     * still pending, so entrants who answered meanwhile are left alone and running
+     * this again after a partial failure is safe: entrants cancelled earlier are
+     * reported as already cancelled.
      *
      * @param eventId  ID of the event
-     * @param callback callback notified of success or failure
+     * @param callback callback receiving the counts, or an error if a page cannot be read
      */
-    public void cancelPendingEntrants(String eventId, EventTaskCallback callback) {
-        eventsRef.document(eventId).collection("selected")
-                .whereEqualTo("status", "pending")
-                .get()
-                .addOnSuccessListener(snapshot -> {
-                    if (snapshot.isEmpty()) {
-                        callback.onSuccess();
-                        return;
-                    }
-
-                    WriteBatch batch = db.batch();
-                    com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
-
-                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
-                        String userId = doc.getId();
-
-                        // Update status in 'selected'
-                        batch.update(doc.getReference(), "status", "cancelled");
-                        batch.update(doc.getReference(), "cancelledAt", now);
-
-                        // Add to 'cancelled' collection
-                        DocumentReference cancelledRef = eventsRef.document(eventId)
-                                .collection("cancelled").document(userId);
-                        Map<String, Object> cancelledData = new HashMap<>();
-                        cancelledData.put("cancelledAt", now);
-                        cancelledData.put("reason", "organizer_timeout");
-                        batch.set(cancelledRef, cancelledData);
-
-                        // Update user history
-                        DocumentReference histRef = usersRef.document(userId)
-                                .collection("eventHistory").document(eventId);
-                        batch.update(histRef, "status", "Cancelled");
-                    }
-
-                    batch.commit()
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Cancelled " + snapshot.size() + " pending entrants.");
-                                callback.onSuccess();
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to batch cancel entrants", e);
-                                callback.onError(e.getMessage());
-                            });
+    public void cancelPendingEntrants(String eventId, CancelPendingCallback callback) {
+        EntrantRoster.isUnified(eventsRef.document(eventId))
+                .addOnSuccessListener(unified -> {
+                    ChunkedBatchCommitter<String> committer = new ChunkedBatchCommitter<>(
+                            CANCEL_CHUNK_SIZE, CANCEL_MAX_PARALLEL_COMMITS, CANCEL_MAX_ATTEMPTS,
+                            chunk -> commitCancellationChunk(eventId, unified, chunk));
+                    cancelPendingPage(eventId, unified, null, new CancellationResult(0, 0, 0),
+                            committer, callback);
                 })
                 .addOnFailureListener(e -> callback.onError(e.getMessage()));
     }
@@ -1005,6 +1537,10 @@ public class EventRepository {
     /**
      * Resolves the organizer's display name using several fallback fields
      * ({@code fullName}, {@code name}, {@code email}, then organizerId).
+     * Names are served from the process-wide {@link OrganizerNameCache}; concurrent
+     * lookups for the same organizer share one read. Events created after
+     * {@code organizerName} was denormalized carry the name already, so list
+     * screens should prefer {@link Event#getOrganizerName()} when it is set.
      *
      * @param organizerId ID of the organizer
      * @param callback    callback receiving the resolved name or an error
@@ -1014,21 +1550,54 @@ public class EventRepository {
             callback.onSuccess("Unknown");
             return;
         }
-        usersRef.document(organizerId).get()
-                .addOnSuccessListener(doc -> {
-                    if (doc.exists()) {
-                        String name = doc.getString("fullName");
-                        if (name == null || name.isEmpty()) name = doc.getString("name");
-                        if (name == null || name.isEmpty()) name = doc.getString("email");
-                        if (name == null || name.isEmpty()) name = organizerId;
-                        callback.onSuccess(name);
-                    } else {
-                        callback.onSuccess(organizerId);
-                    }
-                })
+        OrganizerNameCache.getInstance(this::loadOrganizerName).get(organizerId)
+                .addOnSuccessListener(callback::onSuccess)
                 .addOnFailureListener(e -> callback.onError(e.getMessage()));
     }
 
+    /**
+     * Reads an organizer's name, trying the local Firestore cache before the server.
+     * A cache hit is answered at once and then refreshed from the server in the
+     * background, so a renamed organizer shows up on the next lookup instead of
+     * the cached copy being served indefinitely. A refresh of an expired name
+     * reads the server only.
+     */
+    private Task<String> loadOrganizerName(String organizerId, boolean refresh) {
+        TaskCompletionSource<String> source = new TaskCompletionSource<>();
+        DocumentReference organizerDoc = usersRef.document(organizerId);
+        if (refresh) {
+            organizerDoc.get(Source.SERVER)
+                    .addOnSuccessListener(doc -> source.setResult(doc.exists()
+                            ? resolveOrganizerName(doc, organizerId)
+                            : organizerId))
+                    .addOnFailureListener(source::setException);
+            return source.getTask();
+        }
+        organizerDoc.get(Source.CACHE)
+                .addOnCompleteListener(cacheTask -> {
+                    if (cacheTask.isSuccessful() && cacheTask.getResult().exists()) {
+                        source.setResult(resolveOrganizerName(cacheTask.getResult(), organizerId));
+                        organizerDoc.get(Source.SERVER)
+                                .addOnFailureListener(e -> Log.w(TAG, "Could not refresh organizer " + organizerId, e));
+                        return;
+                    }
+                    organizerDoc.get()
+                            .addOnSuccessListener(doc -> source.setResult(doc.exists()
+                                    ? resolveOrganizerName(doc, organizerId)
+                                    : organizerId))
+                            .addOnFailureListener(source::setException);
+                });
+        return source.getTask();
+    }
+
+    private static String resolveOrganizerName(DocumentSnapshot doc, String organizerId) {
+        String name = doc.getString("fullName");
+        if (name == null || name.isEmpty()) name = doc.getString("name");
+        if (name == null || name.isEmpty()) name = doc.getString("email");
+        if (name == null || name.isEmpty()) name = organizerId;
+        return name;
+    }
+
     /**
      * Invokes a Cloud Function to send notifications to users on an event's
      * waiting list.
@@ -1131,181 +1700,683 @@ public class EventRepository {
     }
 
     /**
-     * Deletes an event document and its main subcollections
-     * ({@code waitingList}, {@code selected}, {@code confirmedAttendees}).
+     * Deletes an event and everything attached to it through the
+     * {@code deleteEventCascade} Cloud Function: every subcollection listed in
+     * {@code EVENT_SUBCOLLECTIONS} in functions/index.js (both roster layouts,
+     * transitions, views, notification logs and lottery draws), each entrant's
+     * {@code eventHistory} entry, and the poster objects in Storage.
+     * Progress can be observed with {@link #listenToEventDeletionProgress}.
      *
      * @param eventId  ID of the event to delete
      * @param callback callback notified of success or failure
      */
     public void deleteEvent(String eventId, EventTaskCallback callback) {
-        DocumentReference eventDoc = eventsRef.document(eventId);
-        String[] subcollections = new String[] { "waitingList", "selected", "confirmedAttendees" };
-        deleteSubcollectionsThenEvent(eventDoc, subcollections, 0, callback);
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+
+        FirebaseFunctions.getInstance().getHttpsCallable("deleteEventCascade").call(data)
+                .addOnSuccessListener(result -> {
+                    Log.d(TAG, "Event deleted: " + eventId);
+                    EntrantRoster.forget(eventId);
+                    callback.onSuccess();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error deleting event " + eventId, e);
+                    callback.onError(e.getMessage());
+                });
     }
 
     /**
-     * Marks all events belonging to a given organizer as inactive and
-     * records deactivation metadata (admin ID and reason).
+     * Subscribes to the progress document of a running event deletion
+     * ({@code eventDeletionJobs/{eventId}}).
      *
-     * @param organizerId ID of the organizer whose events should be deactivated
-     * @param adminId     ID of the admin performing the action
-     * @param reason      human-readable reason for deactivation
-     * @param callback    callback notified of success or failure
-     */
-    public void deactivateEventsByOrganizer(@NonNull String organizerId,
-                                            @NonNull String adminId,
-                                            @NonNull String reason,
-                                            @NonNull EventTaskCallback callback) {
-        eventsRef.whereEqualTo("organizerId", organizerId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot.isEmpty()) {
-                        callback.onSuccess();
+     * @param eventId  ID of the event being deleted
+     * @param callback callback receiving each progress update or an error
+     * @return the {@link ListenerRegistration} for this real-time listener
+     */
+    public ListenerRegistration listenToEventDeletionProgress(String eventId, DeletionProgressCallback callback) {
+        return db.collection("eventDeletionJobs").document(eventId)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        Log.e(TAG, "Error listening to deletion progress", error);
+                        callback.onError(error.getMessage());
                         return;
                     }
-                    WriteBatch batch = db.batch();
-                    com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        Map<String, Object> updates = new HashMap<>();
-                        updates.put("isActive", false);
-                        updates.put("deactivatedAt", now);
-                        updates.put("deactivatedByAdminId", adminId);
-                        updates.put("deactivationReason", reason);
-                        batch.set(doc.getReference(), updates, SetOptions.merge());
+                    if (snapshot == null || !snapshot.exists()) {
+                        return;
                     }
-                    batch.commit()
-                            .addOnSuccessListener(aVoid -> callback.onSuccess())
-                            .addOnFailureListener(e -> callback.onError(e.getMessage()));
-                })
-                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+                    String phase = snapshot.getString("phase");
+                    Long entrantCount = snapshot.getLong("entrantCount");
+                    Long historyDeleted = snapshot.getLong("historyDeleted");
+                    callback.onProgress(phase != null ? phase : "pending",
+                            entrantCount != null ? entrantCount : 0,
+                            historyDeleted != null ? historyDeleted : 0);
+                });
     }
 
     /**
-     * Convenience wrapper for drawing a single replacement attendee for an event.
+     * Draws a single replacement attendee for an event. Takes the waiting list
+     * entry with the lowest {@code drawOrder} in one transaction; if no entry has
+     * a standby rank yet (no draw has run, or everyone ranked is gone), falls back
+     * to a full {@link #sampleAttendees} draw, which also ranks the rest.
      *
      * @param eventId  ID of the event
      * @param callback callback notified of success or failure
      */
     public void drawReplacement(String eventId, EventTaskCallback callback) {
-        sampleAttendees(eventId, 1, callback);
+        drawFromStandby(eventId, STANDBY_MAX_ATTEMPTS, new SampleAttendeesCallback() {
+            @Override
+            public void onSuccess(int selectedCount) {
+                callback.onSuccess();
+            }
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        });
     }
 
     // ---------- Private helpers ----------
 
-    private void joinWaitingListInternal(String eventId, Event event, EventTaskCallback callback) {
-        FirebaseUser user = auth.getCurrentUser();
-        if (user == null) {
-            callback.onError("No user is signed in.");
-            return;
+    /**
+     * Moves the first {@code take} entrants of a draw to {@code selected} and ranks
+     * the rest as standby. {@code drawId} is the draw's audit record; it also keys
+     * the recorded losses and transition entries, so committing the same draw
+     * again logs nothing new.
+     * <p>
+     * Winners are committed in chunks of {@link #DRAW_CHUNK_SIZE} through a
+     * {@link ChunkedBatchCommitter}, so a large draw stays under the batch write
+     * limit. Winners in a chunk that fails every attempt stay on the waiting list
+     * and are reported as an error once the rest of the draw is written.
+     */
+    private void commitDraw(String eventId, boolean unified, String drawId, List<String> order, int take,
+                            boolean recordLosses, SampleAttendeesCallback callback) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
+        String actorId = currentUserId();
+        String lostDrawId = recordLosses ? drawId : null;
+
+        ChunkedBatchCommitter<String> committer = new ChunkedBatchCommitter<>(
+                DRAW_CHUNK_SIZE, CANCEL_MAX_PARALLEL_COMMITS, CANCEL_MAX_ATTEMPTS, chunk -> {
+            WriteBatch batch = db.batch();
+            for (String uid : chunk) {
+                EntrantTransitions.append(batch, eventRef, EntrantTransitions.entry(uid,
+                        EntrantRoster.STATUS_WAITING, EntrantRoster.STATUS_PENDING,
+                        EntrantTransitions.REASON_DRAW, actorId, drawId), drawId);
+
+                if (unified) {
+                    Map<String, Object> entrantUpdate = new HashMap<>();
+                    entrantUpdate.put(EntrantRoster.FIELD_STATUS, EntrantRoster.STATUS_PENDING);
+                    entrantUpdate.put("sampledAt", now);
+                    entrantUpdate.put("drawOrder", FieldValue.delete());
+                    batch.update(entrantRef(eventId, uid), entrantUpdate);
+                    continue;
+                }
+
+                Map<String, Object> selData = new HashMap<>();
+                selData.put(FIELD_USER_ID, uid);
+                selData.put("status", "pending");
+                selData.put("sampledAt", now);
+                batch.set(eventRef.collection("selected").document(uid), selData);
+
+                Map<String, Object> hist = new HashMap<>();
+                hist.put("status", "Selected");
+                hist.put("updatedAt", now);
+                batch.set(usersRef.document(uid).collection("eventHistory").document(eventId),
+                        hist, SetOptions.merge());
+
+                batch.delete(eventRef.collection("waitingList").document(uid));
+            }
+            return batch.commit();
+        });
+
+        committer.commitAll(order.subList(0, take))
+                .addOnSuccessListener(winners -> eventRef.update("lastLotteryDrawId", drawId)
+                        .continueWithTask(task -> {
+                            if (!task.isSuccessful()) {
+                                Log.w(TAG, "Could not set lastLotteryDrawId of " + eventId, task.getException());
+                            }
+                            return persistStandbyOrder(eventId, unified,
+                                    order.subList(take, order.size()), lostDrawId);
+                        })
+                        .addOnSuccessListener(standby -> {
+                            if (standby.failed > 0) {
+                                Log.w(TAG, "Standby order missing for "
+                                        + standby.failed + " entrants of " + eventId);
+                            }
+                            if (winners.failed > 0) {
+                                Log.e(TAG, "Draw " + drawId + " could not move "
+                                        + winners.failed + " of " + take + " entrants");
+                                callback.onError("Selected " + winners.committed + " of " + take
+                                        + " entrants; the rest could not be saved. Please draw again.");
+                                return;
+                            }
+                            callback.onSuccess(take);
+                        })
+                        .addOnFailureListener(e -> callback.onError(e.getMessage())));
+    }
+
+    /**
+     * Writes the audit record of a uniform {@link LotteryEngine} draw.
+     *
+     * @return a task resolving to the new draw's ID
+     */
+    private Task<String> recordLotteryDraw(String eventId, long seed,
+                                           List<String> canonical, List<String> drawn) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("algorithm", LotteryEngine.ALGORITHM);
+        return recordDraw(eventId, seed, canonical, null, drawn, record);
+    }
+
+    /**
+     * Writes the audit record of a {@link SamplingStrategy} draw. The inputs are
+     * stored in the order they were offered, with each entrant's weight and
+     * stratum, since a strategy's result depends on all three. The record also
+     * holds the requested count and the seed of the standby shuffle.
+     *
+     * @return a task resolving to the new draw's ID
+     */
+    private Task<String> recordStrategyDraw(String eventId, SamplingStrategy strategy, long seed, int count,
+                                            List<SamplingStrategy.Entrant> offered, List<String> drawn,
+                                            long standbySeed) {
+        List<String> ids = new ArrayList<>(offered.size());
+        for (SamplingStrategy.Entrant entrant : offered) {
+            ids.add(entrant.userId);
         }
-        String userId = user.getUid();
+        Map<String, Object> record = new HashMap<>();
+        record.put("algorithm", strategy.algorithm());
+        record.put("requestedCount", count);
+        record.put("standbyAlgorithm", LotteryEngine.ALGORITHM);
+        record.put("standbySeed", Long.toString(standbySeed));
+        return recordDraw(eventId, seed, ids, offered, drawn, record);
+    }
+
+    /**
+     * Writes a draw's inputs in chunked {@code inputs} documents first, then the
+     * draw document itself with {@code record}'s fields added, so a draw document
+     * is only visible once all of its inputs are stored. With {@code offered}, each
+     * input document also lists the entrants' {@code weights} and {@code strata}.
+     *
+     * @return a task resolving to the new draw's ID
+     */
+    private Task<String> recordDraw(String eventId, long seed, List<String> inputIds,
+                                    List<SamplingStrategy.Entrant> offered, List<String> drawn,
+                                    Map<String, Object> record) {
+        DocumentReference drawRef = eventsRef.document(eventId).collection("lotteryDraws").document();
+        int inputDocs = (inputIds.size() + LOTTERY_INPUT_IDS_PER_DOC - 1) / LOTTERY_INPUT_IDS_PER_DOC;
+        List<Integer> docIndexes = new ArrayList<>();
+        for (int i = 0; i < inputDocs; i++) {
+            docIndexes.add(i);
+        }
+
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(
+                LOTTERY_INPUT_DOCS_PER_BATCH, CANCEL_MAX_PARALLEL_COMMITS, CANCEL_MAX_ATTEMPTS, chunk -> {
+            WriteBatch batch = db.batch();
+            for (int index : chunk) {
+                int from = index * LOTTERY_INPUT_IDS_PER_DOC;
+                int to = Math.min(from + LOTTERY_INPUT_IDS_PER_DOC, inputIds.size());
+                Map<String, Object> inputDoc = new HashMap<>();
+                inputDoc.put("index", index);
+                inputDoc.put("ids", new ArrayList<>(inputIds.subList(from, to)));
+                if (offered != null) {
+                    List<Double> weights = new ArrayList<>();
+                    List<String> strata = new ArrayList<>();
+                    for (SamplingStrategy.Entrant entrant : offered.subList(from, to)) {
+                        weights.add(entrant.weight);
+                        strata.add(entrant.stratum);
+                    }
+                    inputDoc.put("weights", weights);
+                    inputDoc.put("strata", strata);
+                }
+                batch.set(drawRef.collection("inputs").document(String.valueOf(index)), inputDoc);
+            }
+            return batch.commit();
+        });
 
-        WriteBatch batch = db.batch();
+        return committer.commitAll(docIndexes).continueWithTask(task -> {
+            if (task.getResult().failed > 0) {
+                throw new IllegalStateException("Could not record lottery inputs.");
+            }
+            FirebaseUser user = auth.getCurrentUser();
+            Map<String, Object> draw = new HashMap<>(record);
+            // Stored as text: a 64-bit seed does not survive a JavaScript number
+            draw.put("seed", Long.toString(seed));
+            draw.put("inputCount", inputIds.size());
+            draw.put("inputDigest", LotteryEngine.inputDigest(inputIds));
+            draw.put("inputDocCount", inputDocs);
+            draw.put("drawCount", drawn.size());
+            draw.put("drawn", new ArrayList<>(drawn));
+            draw.put("drawnBy", user != null ? user.getUid() : null);
+            draw.put("drawnAt", FieldValue.serverTimestamp());
+            return drawRef.set(draw);
+        }).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException();
+            }
+            return drawRef.getId();
+        });
+    }
 
-        DocumentReference waitingListRef = eventsRef.document(eventId)
-                .collection("waitingList").document(userId);
+    /**
+     * Writes each standby entrant's {@code drawOrder} rank. With a
+     * {@code lostDrawId} the entries are also tagged as having lost that draw;
+     * the {@code countLostDraws} Cloud Functions count each draw once per
+     * entrant, on the entry and on the user, so retried chunks are harmless.
+     * <p>
+     * Ranks are written with {@code update()}, so an entrant who left the
+     * waiting list after the draw read it is not recreated. A chunk that fails
+     * with {@code NOT_FOUND} is written again one entrant at a time, skipping
+     * the ones that are gone; they are not counted as failures.
+     */
+    private Task<ChunkedBatchCommitter.Result> persistStandbyOrder(String eventId, boolean unified,
+                                                                   List<String> standby,
+                                                                   String lostDrawId) {
+        Map<String, Integer> rankByUser = new HashMap<>();
+        for (int i = 0; i < standby.size(); i++) {
+            rankByUser.put(standby.get(i), i);
+        }
+        ChunkedBatchCommitter<String> committer = new ChunkedBatchCommitter<>(
+                STANDBY_CHUNK_SIZE, CANCEL_MAX_PARALLEL_COMMITS, CANCEL_MAX_ATTEMPTS, chunk -> {
+            WriteBatch batch = db.batch();
+            for (String uid : chunk) {
+                batch.update(standbyRef(eventId, unified, uid), standbyData(uid, rankByUser.get(uid), lostDrawId));
+            }
+            return batch.commit().continueWithTask(task -> {
+                if (task.isSuccessful() || !isNotFound(task.getException())) {
+                    return task;
+                }
+                List<Task<Void>> writes = new ArrayList<>();
+                for (String uid : chunk) {
+                    writes.add(standbyRef(eventId, unified, uid)
+                            .update(standbyData(uid, rankByUser.get(uid), lostDrawId))
+                            .continueWithTask(write -> write.isSuccessful() || isNotFound(write.getException())
+                                    ? Tasks.forResult(null)
+                                    : write));
+                }
+                return Tasks.whenAll(writes);
+            });
+        });
+        return committer.commitAll(standby);
+    }
 
-        Map<String, Object> waitingListData = new HashMap<>();
-        waitingListData.put("joinedAt", com.google.firebase.Timestamp.now());
-        batch.set(waitingListRef, waitingListData);
+    private DocumentReference standbyRef(String eventId, boolean unified, String userId) {
+        return unified
+                ? entrantRef(eventId, userId)
+                : eventsRef.document(eventId).collection("waitingList").document(userId);
+    }
 
-        DocumentReference eventHistoryRef = usersRef.document(userId)
-                .collection("eventHistory").document(eventId);
+    private static Map<String, Object> standbyData(String userId, int rank, String lostDrawId) {
+        Map<String, Object> standbyData = new HashMap<>();
+        standbyData.put(FIELD_USER_ID, userId);
+        standbyData.put("drawOrder", rank);
+        if (lostDrawId != null) {
+            standbyData.put("lostDrawId", lostDrawId);
+        }
+        return standbyData;
+    }
 
-        Map<String, Object> eventHistoryData = new HashMap<>();
-        eventHistoryData.put("eventName", event.getName());
-        eventHistoryData.put("eventDate", event.getEventDate());
-        eventHistoryData.put("status", "Waiting");
-        batch.set(eventHistoryRef, eventHistoryData);
+    private static boolean isNotFound(Exception e) {
+        return e instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) e).getCode() == FirebaseFirestoreException.Code.NOT_FOUND;
+    }
 
-        batch.commit()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "User " + userId + " successfully joined waiting list for " + eventId);
-                    callback.onSuccess();
-                })
+    private void drawFromStandby(String eventId, int attemptsLeft, SampleAttendeesCallback callback) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        EntrantRoster.isUnified(eventRef)
+                .onSuccessTask(Runnable::run, unified -> EntrantRoster
+                        .query(eventRef, RosterStore.WAITING_LIST, unified)
+                        .orderBy("drawOrder").limit(1).get()
+                        .continueWith(Runnable::run, task -> {
+                            QuerySnapshot snapshot = task.getResult();
+                            if (snapshot.isEmpty()) {
+                                sampleAttendees(eventId, 1, false, callback);
+                            } else if (unified) {
+                                drawUnifiedStandby(eventId, snapshot.getDocuments().get(0).getReference(),
+                                        attemptsLeft, callback);
+                            } else {
+                                drawLegacyStandby(eventId, snapshot.getDocuments().get(0).getReference(),
+                                        attemptsLeft, callback);
+                            }
+                            return null;
+                        }))
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    private void drawUnifiedStandby(String eventId, DocumentReference entrantRef, int attemptsLeft,
+                                    SampleAttendeesCallback callback) {
+        db.runTransaction(transaction -> {
+            // Another replacement may have taken this entrant since the query
+            DocumentSnapshot entrant = transaction.get(entrantRef);
+            if (!EntrantRoster.STATUS_WAITING.equals(entrant.getString(EntrantRoster.FIELD_STATUS))) {
+                return false;
+            }
+            Map<String, Object> entrantUpdate = new HashMap<>();
+            entrantUpdate.put(EntrantRoster.FIELD_STATUS, EntrantRoster.STATUS_PENDING);
+            entrantUpdate.put("sampledAt", com.google.firebase.Timestamp.now());
+            entrantUpdate.put("drawOrder", FieldValue.delete());
+            transaction.update(entrantRef, entrantUpdate);
+            EntrantTransitions.append(transaction, eventsRef.document(eventId), replacementEntry(entrantRef.getId()));
+            return true;
+        }).addOnSuccessListener(drawn -> onStandbyDrawn(eventId, drawn, attemptsLeft, callback))
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to join waiting list", e);
+                    Log.e(TAG, "Replacement draw failed", e);
                     callback.onError(e.getMessage());
                 });
     }
 
-    private void joinWaitingListWithLocationInternal(String eventId,
-                                                     Event event,
-                                                     Double lat,
-                                                     Double lng,
-                                                     EventTaskCallback callback) {
-        FirebaseUser user = auth.getCurrentUser();
-        if (user == null) {
-            callback.onError("No user is signed in.");
-            return;
-        }
-        String userId = user.getUid();
-
-        WriteBatch batch = db.batch();
-
-        DocumentReference waitingListRef = eventsRef.document(eventId)
-                .collection("waitingList").document(userId);
+    private Map<String, Object> replacementEntry(String userId) {
+        return EntrantTransitions.entry(userId, EntrantRoster.STATUS_WAITING, EntrantRoster.STATUS_PENDING,
+                EntrantTransitions.REASON_REPLACEMENT, currentUserId(), null);
+    }
 
-        Map<String, Object> waitingListData = new HashMap<>();
-        waitingListData.put("joinedAt", com.google.firebase.Timestamp.now());
-        if (lat != null && lng != null) {
-            waitingListData.put("location", new GeoPoint(lat, lng));
+    private void onStandbyDrawn(String eventId, boolean drawn, int attemptsLeft, SampleAttendeesCallback callback) {
+        if (drawn) {
+            callback.onSuccess(1);
+        } else if (attemptsLeft > 1) {
+            drawFromStandby(eventId, attemptsLeft - 1, callback);
+        } else {
+            callback.onError("Could not draw a replacement, please try again.");
         }
-        batch.set(waitingListRef, waitingListData, SetOptions.merge());
+    }
 
-        DocumentReference eventHistoryRef = usersRef.document(userId)
+    private void drawLegacyStandby(String eventId, DocumentReference waitRef, int attemptsLeft,
+                                   SampleAttendeesCallback callback) {
+        String uid = waitRef.getId();
+        DocumentReference selRef = eventsRef.document(eventId)
+                .collection("selected").document(uid);
+        DocumentReference histRef = usersRef.document(uid)
                 .collection("eventHistory").document(eventId);
 
-        Map<String, Object> eventHistoryData = new HashMap<>();
-        eventHistoryData.put("eventName", event.getName());
-        eventHistoryData.put("eventDate", event.getEventDate());
-        eventHistoryData.put("status", "Waiting");
-        batch.set(eventHistoryRef, eventHistoryData, SetOptions.merge());
-
-        batch.commit()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "User " + userId + " successfully joined waiting list (with location) for " + eventId);
-                    callback.onSuccess();
-                })
+        db.runTransaction(transaction -> {
+            // Another replacement may have taken this entrant since the query
+            if (!transaction.get(waitRef).exists()) {
+                return false;
+            }
+            com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
+
+            Map<String, Object> selData = new HashMap<>();
+            selData.put(FIELD_USER_ID, uid);
+            selData.put("status", "pending");
+            selData.put("sampledAt", now);
+            transaction.set(selRef, selData);
+
+            Map<String, Object> hist = new HashMap<>();
+            hist.put("status", "Selected");
+            hist.put("updatedAt", now);
+            transaction.set(histRef, hist, SetOptions.merge());
+
+            transaction.delete(waitRef);
+            EntrantTransitions.append(transaction, eventsRef.document(eventId), replacementEntry(uid));
+            return true;
+        }).addOnSuccessListener(drawn -> onStandbyDrawn(eventId, drawn, attemptsLeft, callback))
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to join waiting list (with location)", e);
+                    Log.e(TAG, "Replacement draw failed", e);
                     callback.onError(e.getMessage());
                 });
     }
 
-    private void deleteSubcollectionsThenEvent(DocumentReference eventDoc,
-                                               String[] subcollections,
-                                               int index,
-                                               EventTaskCallback callback) {
-        if (index >= subcollections.length) {
-            eventDoc.delete()
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Event deleted: " + eventDoc.getId());
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error deleting event document", e);
-                        callback.onError(e.getMessage());
-                    });
-            return;
+    private void cancelPendingPage(String eventId,
+                                   boolean unified,
+                                   DocumentSnapshot startAfter,
+                                   CancellationResult soFar,
+                                   ChunkedBatchCommitter<String> committer,
+                                   CancelPendingCallback callback) {
+        Query query = eventsRef.document(eventId)
+                .collection(unified ? EntrantRoster.COLLECTION : "selected")
+                .whereIn("status", Arrays.asList("pending", "selected", "notified", "cancelled"))
+                .orderBy(FieldPath.documentId())
+                .limit(CANCEL_PAGE_SIZE);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
         }
-        String sub = subcollections[index];
-        eventDoc.collection(sub).get()
+
+        query.get()
                 .addOnSuccessListener(snapshot -> {
-                    WriteBatch batch = db.batch();
+                    List<String> pendingIds = new ArrayList<>();
+                    int alreadyCancelled = 0;
                     for (DocumentSnapshot doc : snapshot.getDocuments()) {
-                        batch.delete(doc.getReference());
+                        if (isPendingInvitation(unified, doc.getString("status"))) {
+                            pendingIds.add(doc.getId());
+                        } else {
+                            alreadyCancelled++;
+                        }
+                    }
+                    int pageAlreadyCancelled = alreadyCancelled;
+
+                    committer.commitAll(pendingIds).addOnSuccessListener(chunkResult -> {
+                        CancellationResult total = soFar.plus(
+                                chunkResult.committed, pageAlreadyCancelled, chunkResult.failed);
+                        if (snapshot.size() < CANCEL_PAGE_SIZE) {
+                            Log.d(TAG, "Cancelled " + total.getCancelled() + " pending entrants ("
+                                    + total.getAlreadyCancelled() + " already cancelled, "
+                                    + total.getFailed() + " failed).");
+                            callback.onSuccess(total);
+                        } else {
+                            DocumentSnapshot last = snapshot.getDocuments().get(snapshot.size() - 1);
+                            cancelPendingPage(eventId, unified, last, total, committer, callback);
+                        }
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to read pending entrants", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Whether a roster status is an unanswered invitation: {@code pending} on the
+     * unified roster, or any status {@link #normalizedSelectedStatus} maps to
+     * pending in {@code selected}, including {@code notified}.
+     */
+    private static boolean isPendingInvitation(boolean unified, String status) {
+        return EntrantRoster.STATUS_PENDING.equals(unified ? status : normalizedSelectedStatus(status));
+    }
+
+    /**
+     * Cancels one chunk of entrants in a transaction. Each entrant is re-read
+     * first and only cancelled if still {@code pending}, so an entrant who
+     * accepted or declined after the page was read keeps their answer, and a
+     * retried chunk does not cancel anyone twice.
+     */
+    private Task<Void> commitCancellationChunk(String eventId, boolean unified, List<String> userIds) {
+        DocumentReference eventRef = eventsRef.document(eventId);
+        CollectionReference rosterRef = eventRef.collection(unified ? EntrantRoster.COLLECTION : "selected");
+        String actorId = currentUserId();
+
+        return db.runTransaction(transaction -> {
+            List<String> stillPending = new ArrayList<>();
+            for (String userId : userIds) {
+                DocumentSnapshot entrant = transaction.get(rosterRef.document(userId));
+                if (entrant.exists() && isPendingInvitation(unified, entrant.getString("status"))) {
+                    stillPending.add(userId);
+                }
+            }
+
+            com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
+            for (String userId : stillPending) {
+                EntrantTransitions.append(transaction, eventRef, EntrantTransitions.entry(userId,
+                        EntrantRoster.STATUS_PENDING, EntrantRoster.STATUS_CANCELLED,
+                        EntrantTransitions.REASON_ORGANIZER_TIMEOUT, actorId, null));
+
+                if (unified) {
+                    Map<String, Object> entrantUpdate = new HashMap<>();
+                    entrantUpdate.put(EntrantRoster.FIELD_STATUS, EntrantRoster.STATUS_CANCELLED);
+                    entrantUpdate.put("cancelledAt", now);
+                    entrantUpdate.put("reason", "organizer_timeout");
+                    transaction.update(rosterRef.document(userId), entrantUpdate);
+                    continue;
+                }
+
+                // Update status in 'selected'
+                Map<String, Object> selectedUpdate = new HashMap<>();
+                selectedUpdate.put(FIELD_USER_ID, userId);
+                selectedUpdate.put("status", "cancelled");
+                selectedUpdate.put("cancelledAt", now);
+                transaction.update(rosterRef.document(userId), selectedUpdate);
+
+                // Add to 'cancelled' collection
+                Map<String, Object> cancelledData = new HashMap<>();
+                cancelledData.put(FIELD_USER_ID, userId);
+                cancelledData.put("cancelledAt", now);
+                cancelledData.put("reason", "organizer_timeout");
+                transaction.set(eventRef.collection("cancelled").document(userId), cancelledData, SetOptions.merge());
+
+                // Update user history
+                transaction.set(usersRef.document(userId).collection("eventHistory").document(eventId),
+                        Collections.singletonMap("status", "Cancelled"), SetOptions.merge());
+            }
+            return null;
+        });
+    }
+
+    private void createEventInternal(Event event, EventTaskCallback callback) {
+        FirebaseUser user = auth.getCurrentUser();
+
+        eventsRef.add(event)
+                .addOnSuccessListener(documentReference -> {
+                    String eventId = documentReference.getId();
+                    Map<String, Object> updates = new HashMap<>();
+                    updates.put("eventId", eventId);
+                    updates.put("createdAt", com.google.firebase.Timestamp.now());
+
+                    if (user != null) {
+                        String uploaderName = user.getDisplayName();
+                        if (uploaderName == null || uploaderName.isEmpty()) {
+                            uploaderName = user.getEmail();
+                        }
+                        updates.put("createdById", user.getUid());
+                        if (uploaderName != null && !uploaderName.isEmpty()) {
+                            updates.put("createdByName", uploaderName);
+                        }
                     }
-                    batch.commit()
-                            .addOnSuccessListener(aVoid -> deleteSubcollectionsThenEvent(eventDoc, subcollections, index + 1, callback))
+
+                    documentReference.set(updates, SetOptions.merge())
+                            .addOnSuccessListener(aVoid -> {
+                                Log.d(TAG, "Event created with ID: " + eventId);
+                                callback.onSuccess();
+                            })
                             .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error deleting subcollection " + sub, e);
+                                Log.e(TAG, "Error updating event with metadata", e);
                                 callback.onError(e.getMessage());
                             });
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching subcollection " + sub, e);
+                    Log.e(TAG, "Error creating event", e);
                     callback.onError(e.getMessage());
                 });
     }
+
+    private DocumentReference entrantRef(String eventId, String userId) {
+        return eventsRef.document(eventId).collection(EntrantRoster.COLLECTION).document(userId);
+    }
+
+    private String currentUserId() {
+        FirebaseUser user = auth.getCurrentUser();
+        return user != null ? user.getUid() : null;
+    }
+
+    /**
+     * Resolves to how many draws the user has lost so far, or 0 if unknown.
+     */
+    private Task<Long> fetchLostDraws(String userId) {
+        return usersRef.document(userId).get().continueWith(task -> {
+            Long lostDraws = task.isSuccessful() ? task.getResult().getLong("lostDraws") : null;
+            return lostDraws != null ? lostDraws : 0L;
+        });
+    }
+
+    private void joinWaitingListInternal(String eventId, Event event, EventTaskCallback callback) {
+        joinWaitingListWithLocationInternal(eventId, event, null, null, callback);
+    }
+
+    private void joinWaitingListWithLocationInternal(String eventId,
+                                                     Event event,
+                                                     Double lat,
+                                                     Double lng,
+                                                     EventTaskCallback callback) {
+        FirebaseUser user = auth.getCurrentUser();
+        if (user == null) {
+            callback.onError("No user is signed in.");
+            return;
+        }
+        String userId = user.getUid();
+
+        fetchLostDraws(userId).addOnSuccessListener(lostDraws -> {
+            Map<String, Object> waitingListData = new HashMap<>();
+            waitingListData.put(FIELD_USER_ID, userId);
+            waitingListData.put("joinedAt", com.google.firebase.Timestamp.now());
+            waitingListData.put("lostDraws", lostDraws);
+            if (lat != null && lng != null) {
+                waitingListData.put("location", new GeoPoint(lat, lng));
+            }
+            joinRoster(eventId, event, userId, waitingListData, callback);
+        });
+    }
+
+    /**
+     * Puts the user on the waiting list in a transaction that reads where they
+     * are first, so joining twice logs one transition and a drawn, declined or
+     * cancelled entrant is not put back on the list. An entrant who is already
+     * waiting keeps their original {@code joinedAt}. On the unified roster this
+     * is one write ({@code mirrorEntrantHistory} adds the history entry); on
+     * the legacy layout the history entry is written alongside.
+     */
+    private void joinRoster(String eventId, Event event, String userId, Map<String, Object> waitingListData,
+                            EventTaskCallback callback) {
+        boolean unified = event.isUnifiedRoster();
+        DocumentReference eventRef = eventsRef.document(eventId);
+        DocumentReference rosterRef = unified
+                ? entrantRef(eventId, userId)
+                : eventRef.collection("waitingList").document(userId);
+        DocumentReference selectedRef = eventRef.collection("selected").document(userId);
+
+        db.runTransaction(transaction -> {
+            DocumentSnapshot current = transaction.get(rosterRef);
+            boolean waiting;
+            boolean drawn;
+            if (unified) {
+                String status = current.getString(EntrantRoster.FIELD_STATUS);
+                waiting = current.exists() && (status == null || EntrantRoster.STATUS_WAITING.equals(status));
+                drawn = current.exists() && !waiting;
+            } else {
+                waiting = current.exists();
+                drawn = !waiting && transaction.get(selectedRef).exists();
+            }
+            if (drawn) {
+                return false;
+            }
+
+            Map<String, Object> entrant = new HashMap<>(waitingListData);
+            if (unified) {
+                entrant.put(EntrantRoster.FIELD_STATUS, EntrantRoster.STATUS_WAITING);
+            }
+            if (waiting) {
+                entrant.remove("joinedAt");
+            } else {
+                EntrantTransitions.append(transaction, eventRef, EntrantTransitions.entry(userId,
+                        EntrantTransitions.NONE, EntrantRoster.STATUS_WAITING,
+                        EntrantTransitions.REASON_JOIN, userId, null));
+                if (!unified) {
+                    Map<String, Object> eventHistoryData = new HashMap<>();
+                    eventHistoryData.put("eventName", event.getName());
+                    eventHistoryData.put("eventDate", event.getEventDate());
+                    eventHistoryData.put("status", "Waiting");
+                    transaction.set(usersRef.document(userId).collection("eventHistory").document(eventId),
+                            eventHistoryData, SetOptions.merge());
+                }
+            }
+            transaction.set(rosterRef, entrant, SetOptions.merge());
+            return true;
+        }).addOnSuccessListener(joined -> {
+            if (joined) {
+                Log.d(TAG, "User " + userId + " successfully joined waiting list for " + eventId);
+                callback.onSuccess();
+            } else {
+                callback.onError("You have already been drawn for this event.");
+            }
+        }).addOnFailureListener(e -> {
+            Log.e(TAG, "Failed to join waiting list", e);
+            callback.onError(e.getMessage());
+        });
+    }
 }
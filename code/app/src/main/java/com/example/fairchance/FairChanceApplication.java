@@ -0,0 +1,21 @@
+package com.example.fairchance;
+
+import android.app.Application;
+
+/**
+ * Application entry point. Configures Firestore before any screen or service
+ * touches it, so cache settings apply to every read in the process, and
+ * attaches the on-device {@link RoleCache}, {@link FcmTokenSync} ledger and
+ * {@link ProfileUpdateQueue} journal.
+ */
+public class FairChanceApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        FirestoreConfig.getFirestore();
+        RoleCache.init(this);
+        FcmTokenSync.init(this);
+        ProfileUpdateQueue.init(this);
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.fairchance;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the device's FCM token to {@code users/{uid}.fcmToken} only when it
+ * actually changed.
+ * <p>
+ * A ledger in {@link SharedPreferences} keeps a SHA-256 digest of the last
+ * (uid, token) pair that reached Firestore. A save whose digest matches is
+ * skipped, so the token fetched on every launch costs no write. Entries expire
+ * after {@link #LEDGER_TTL_MS} so the token is re-asserted now and then in case
+ * the field was cleared server-side.
+ * <p>
+ * Failed uploads are retried with exponential backoff. Only the latest token
+ * is queued: a newer save replaces a pending retry. After
+ * {@link #MAX_ATTEMPTS} failures the token is left for the next launch, which
+ * fetches and saves it again.
+ */
+public class FcmTokenSync {
+
+    /** How long a ledger entry suppresses writes of the same token. */
+    static final long LEDGER_TTL_MS = 7L * 24 * 60 * 60 * 1000L;
+
+    /** Delay before the first retry; doubled after every failure. */
+    static final long RETRY_BASE_DELAY_MS = 2_000L;
+
+    /** Upper bound for the delay between retries. */
+    static final long RETRY_MAX_DELAY_MS = 5 * 60 * 1000L;
+
+    /** Attempts per token, including the first one. */
+    static final int MAX_ATTEMPTS = 8;
+
+    private static final String PREFS_NAME = "fcm_token_ledger";
+    private static final String KEY_DIGEST = "digest";
+    private static final String KEY_RECORDED_AT = "recordedAt";
+
+    /**
+     * Writes the token to the user document.
+     */
+    interface Writer {
+        Task<Void> write(String uid, String token);
+    }
+
+    /**
+     * Persists the ledger entry; replaceable in tests.
+     */
+    interface Store {
+        String digest();
+
+        long recordedAt();
+
+        void put(String digest, long recordedAt);
+
+        void clear();
+    }
+
+    /**
+     * Runs a retry after a delay; replaceable in tests.
+     */
+    interface Scheduler {
+        void schedule(Runnable task, long delayMs);
+    }
+
+    /**
+     * Supplies the current time; replaceable in tests.
+     */
+    interface Clock {
+        long now();
+    }
+
+    /**
+     * The token waiting to be uploaded, with its retry state.
+     */
+    private static final class Pending {
+        final String uid;
+        final String token;
+        final TaskCompletionSource<Void> result = new TaskCompletionSource<>();
+        int attempts = 0;
+
+        Pending(String uid, String token) {
+            this.uid = uid;
+            this.token = token;
+        }
+    }
+
+    private static FcmTokenSync instance;
+
+    private final Writer writer;
+    private final Store store;
+    private final Scheduler scheduler;
+    private final Clock clock;
+    private Pending pending;
+
+    /**
+     * Backs the process-wide instance with {@link SharedPreferences}. Called
+     * once from {@link FairChanceApplication}.
+     */
+    public static synchronized void init(Context context) {
+        instance = create(new PrefsStore(context.getApplicationContext()));
+    }
+
+    /**
+     * Returns the process-wide instance. Falls back to an in-memory ledger
+     * when {@link #init} has not run.
+     */
+    public static synchronized FcmTokenSync getInstance() {
+        if (instance == null) {
+            instance = create(new MemoryStore());
+        }
+        return instance;
+    }
+
+    private static FcmTokenSync create(Store store) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        return new FcmTokenSync(
+                (uid, token) -> FirestoreConfig.getFirestore()
+                        .collection("users").document(uid)
+                        .update("fcmToken", token),
+                store,
+                (task, delayMs) -> executor.schedule(task, delayMs, TimeUnit.MILLISECONDS),
+                System::currentTimeMillis);
+    }
+
+    FcmTokenSync(Writer writer, Store store, Scheduler scheduler, Clock clock) {
+        this.writer = writer;
+        this.store = store;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    /**
+     * Saves the token unless the ledger shows this exact (uid, token) pair was
+     * already written. On failure the upload is retried in the background.
+     *
+     * @param uid   ID of the signed-in user
+     * @param token the FCM token
+     * @return a task that completes once the token is stored (immediately when
+     * skipped), or fails when it was superseded or every attempt failed
+     */
+    public Task<Void> save(String uid, String token) {
+        Pending next;
+        synchronized (this) {
+            if (isPersisted(uid, token)) {
+                return Tasks.forResult(null);
+            }
+            if (pending != null && pending.uid.equals(uid) && same(pending.token, token)) {
+                return pending.result.getTask();
+            }
+            if (pending != null) {
+                pending.result.trySetException(new IllegalStateException("Superseded by a newer token"));
+            }
+            next = new Pending(uid, token);
+            pending = next;
+        }
+        attempt(next);
+        return next.result.getTask();
+    }
+
+    /**
+     * Records a token written by another code path (e.g. the notification
+     * opt-in/opt-out toggle) and drops any queued retry, so an older token is
+     * not written over it later.
+     */
+    public synchronized void recordWritten(String uid, String token) {
+        if (pending != null) {
+            pending.result.trySetException(new IllegalStateException("Superseded by a newer token"));
+            pending = null;
+        }
+        store.put(digest(uid, token), clock.now());
+    }
+
+    /**
+     * Returns whether this (uid, token) pair is recorded as written and the
+     * entry has not expired.
+     */
+    public synchronized boolean isPersisted(String uid, String token) {
+        String recorded = store.digest();
+        if (recorded == null || !recorded.equals(digest(uid, token))) return false;
+        long age = clock.now() - store.recordedAt();
+        return age >= 0 && age < LEDGER_TTL_MS;
+    }
+
+    /**
+     * Forgets the ledger, forcing the next save to write.
+     */
+    public synchronized void clear() {
+        store.clear();
+    }
+
+    /**
+     * Returns the delay before retry number {@code failures} (1 for the first
+     * retry): {@link #RETRY_BASE_DELAY_MS} doubled per failure, capped at
+     * {@link #RETRY_MAX_DELAY_MS}.
+     */
+    static long retryDelayMs(int failures) {
+        int shift = Math.min(Math.max(failures - 1, 0), 20);
+        return Math.min(RETRY_BASE_DELAY_MS << shift, RETRY_MAX_DELAY_MS);
+    }
+
+    /**
+     * Returns the hex SHA-256 of the uid and token; a {@code null} token
+     * (notifications turned off) has its own digest.
+     */
+    static String digest(String uid, String token) {
+        String input = uid + "\n" + (token == null ? "\u0000" : token);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(input.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private void attempt(Pending p) {
+        synchronized (this) {
+            if (pending != p) return;
+            p.attempts++;
+        }
+
+        Task<Void> write;
+        try {
+            write = writer.write(p.uid, p.token);
+        } catch (RuntimeException e) {
+            write = Tasks.forException(e);
+        }
+
+        write.addOnCompleteListener(Runnable::run, task -> {
+            boolean retry = false;
+            synchronized (this) {
+                if (pending != p) return;
+                if (task.isSuccessful()) {
+                    store.put(digest(p.uid, p.token), clock.now());
+                    pending = null;
+                } else if (p.attempts < MAX_ATTEMPTS) {
+                    retry = true;
+                } else {
+                    pending = null;
+                }
+            }
+
+            if (task.isSuccessful()) {
+                p.result.trySetResult(null);
+            } else if (retry) {
+                scheduler.schedule(() -> attempt(p), retryDelayMs(p.attempts));
+            } else {
+                Exception error = task.getException();
+                p.result.trySetException(error != null ? error : new Exception("FCM token upload failed"));
+            }
+        });
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static final class PrefsStore implements Store {
+        private final SharedPreferences prefs;
+
+        PrefsStore(Context context) {
+            this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public String digest() {
+            return prefs.getString(KEY_DIGEST, null);
+        }
+
+        @Override
+        public long recordedAt() {
+            return prefs.getLong(KEY_RECORDED_AT, 0L);
+        }
+
+        @Override
+        public void put(String digest, long recordedAt) {
+            prefs.edit()
+                    .putString(KEY_DIGEST, digest)
+                    .putLong(KEY_RECORDED_AT, recordedAt)
+                    .apply();
+        }
+
+        @Override
+        public void clear() {
+            prefs.edit().clear().apply();
+        }
+    }
+
+    static final class MemoryStore implements Store {
+        private String digest;
+        private long recordedAt;
+
+        @Override
+        public String digest() {
+            return digest;
+        }
+
+        @Override
+        public long recordedAt() {
+            return recordedAt;
+        }
+
+        @Override
+        public void put(String digest, long recordedAt) {
+            this.digest = digest;
+            this.recordedAt = recordedAt;
+        }
+
+        @Override
+        public void clear() {
+            digest = null;
+        }
+    }
+}
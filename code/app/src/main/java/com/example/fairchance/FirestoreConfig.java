@@ -0,0 +1,42 @@
+package com.example.fairchance;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheSettings;
+
+/**
+ * Central place where the app's Firestore client is configured.
+ * Enables the on-disk cache with a bounded size so repeat launches can paint
+ * screens from cached data before the network answers.
+ * <p>
+ * Settings can only be applied before the first read or write, which is why
+ * {@link FairChanceApplication} calls {@link #getFirestore()} on start-up.
+ */
+public final class FirestoreConfig {
+
+    /** Upper bound for the on-disk Firestore cache (bytes). */
+    public static final long CACHE_SIZE_BYTES = 50L * 1024 * 1024;
+
+    private static boolean configured = false;
+
+    private FirestoreConfig() {
+    }
+
+    /**
+     * Returns the default {@link FirebaseFirestore} instance, applying the
+     * app's cache settings the first time it is called.
+     */
+    public static synchronized FirebaseFirestore getFirestore() {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        if (!configured) {
+            FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                    .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                            .setSizeBytes(CACHE_SIZE_BYTES)
+                            .build())
+                    .build();
+            db.setFirestoreSettings(settings);
+            configured = true;
+        }
+        return db;
+    }
+}
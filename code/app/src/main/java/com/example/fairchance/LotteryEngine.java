@@ -0,0 +1,200 @@
+package com.example.fairchance;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic lottery used for event draws. A draw is a pure function of its
+ * seed and its inputs, so any past draw can be replayed and checked:
+ * <ol>
+ *     <li>the entrant IDs are put in canonical order (sorted, duplicates removed),
+ *     so the result does not depend on the order Firestore returned them in;</li>
+ *     <li>a SplitMix64 generator is seeded with the draw's seed;</li>
+ *     <li>a partial Fisher-Yates shuffle picks the first {@code k} positions.
+ *     Swapped slots are tracked in a map, so a small draw from a large list
+ *     costs O(k) once the inputs are canonical.</li>
+ * </ol>
+ * The generator and index mapping are spelled out here rather than taken from
+ * {@link java.util.Random} so the replay tool in {@code functions/lottery.js}
+ * can reproduce them exactly. Changing either requires a new {@link #ALGORITHM}.
+ */
+public final class LotteryEngine {
+
+    /** Identifies this algorithm in persisted draw records. */
+    public static final String ALGORITHM = "splitmix64-partial-fisher-yates-v1";
+
+    private LotteryEngine() {
+    }
+
+    /**
+     * Returns a fresh, unpredictable seed for a new draw.
+     */
+    public static long newSeed() {
+        return new SecureRandom().nextLong();
+    }
+
+    /** Mixed into a draw's seed to derive the seed of its standby shuffle. */
+    private static final long STANDBY_SEED_SALT = 0x5354414E44425931L; // "STANDBY1"
+
+    /**
+     * Returns the seed that orders the standby entrants of a strategy draw. It is
+     * derived from the draw's recorded seed, so that one seed replays both the
+     * draw and its standby order.
+     */
+    public static long standbySeed(long drawSeed) {
+        return new SplitMix64(drawSeed ^ STANDBY_SEED_SALT).nextLong();
+    }
+
+    /** Below this fraction of the pool, draws track swaps in a map instead of copying the pool. */
+    private static final int SPARSE_DRAW_DIVISOR = 16;
+
+    /**
+     * Returns the entrant IDs sorted and without duplicates.
+     */
+    public static List<String> canonicalOrder(Collection<String> entrantIds) {
+        String[] ids = entrantIds.toArray(new String[0]);
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (unique == 0 || !ids[i].equals(ids[unique - 1])) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.asList(Arrays.copyOf(ids, unique));
+    }
+
+    /**
+     * Draws {@code k} entrants. The returned list is in draw order, so its
+     * prefixes are the winners of smaller draws with the same seed.
+     *
+     * @param seed       seed of the draw
+     * @param entrantIds entrants taking part, in any order
+     * @param k          number of entrants to draw; capped at the number of entrants
+     * @return the drawn entrant IDs in draw order
+     */
+    public static List<String> draw(long seed, Collection<String> entrantIds, int k) {
+        return drawFromCanonical(seed, canonicalOrder(entrantIds), k);
+    }
+
+    /**
+     * Same as {@link #draw} for inputs already in canonical order, skipping the sort.
+     *
+     * @param seed      seed of the draw
+     * @param canonical entrants as returned by {@link #canonicalOrder}; not modified
+     * @param k         number of entrants to draw; capped at the number of entrants
+     * @return the drawn entrant IDs in draw order
+     */
+    public static List<String> drawFromCanonical(long seed, List<String> canonical, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        int n = canonical.size();
+        int take = Math.min(k, n);
+        SplitMix64 rng = new SplitMix64(seed);
+        String[] drawn = new String[take];
+
+        if (take < n / SPARSE_DRAW_DIVISOR) {
+            // Only the slots touched by a swap differ from the canonical list
+            Map<Integer, String> swapped = new HashMap<>();
+            for (int i = 0; i < take; i++) {
+                int j = i + rng.nextIndex(n - i);
+                String atI = swapped.containsKey(i) ? swapped.remove(i) : canonical.get(i);
+                String atJ = swapped.containsKey(j) ? swapped.get(j) : canonical.get(j);
+                drawn[i] = atJ;
+                if (j != i) {
+                    swapped.put(j, atI);
+                }
+            }
+        } else {
+            String[] pool = canonical.toArray(new String[0]);
+            for (int i = 0; i < take; i++) {
+                int j = i + rng.nextIndex(n - i);
+                String tmp = pool[i];
+                pool[i] = pool[j];
+                pool[j] = tmp;
+                drawn[i] = pool[i];
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(drawn));
+    }
+
+    /**
+     * Orders every entrant; equivalent to {@code draw(seed, entrantIds, entrantIds.size())}.
+     */
+    public static List<String> shuffle(long seed, Collection<String> entrantIds) {
+        return draw(seed, entrantIds, entrantIds.size());
+    }
+
+    /**
+     * Returns the lower-case hex SHA-256 of the canonical inputs joined by
+     * {@code '\n'}, recorded with each draw so its inputs can be checked later.
+     */
+    public static String inputDigest(Collection<String> entrantIds) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha.digest(String.join("\n", canonicalOrder(entrantIds))
+                    .getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+                        .append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * Replays a recorded draw and reports whether it produced the recorded result.
+     *
+     * @param seed       recorded seed
+     * @param entrantIds recorded inputs
+     * @param drawn      recorded result, in draw order
+     * @return {@code true} if replaying gives exactly {@code drawn}
+     */
+    public static boolean verify(long seed, Collection<String> entrantIds, List<String> drawn) {
+        return draw(seed, entrantIds, drawn.size()).equals(drawn);
+    }
+
+    /**
+     * SplitMix64 (Steele, Lea and Flood), chosen because it is a few lines of
+     * 64-bit arithmetic that can be ported exactly to other languages.
+     */
+    static final class SplitMix64 {
+        private long state;
+
+        SplitMix64(long seed) {
+            this.state = seed;
+        }
+
+        long nextLong() {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        /**
+         * Returns a uniform index in {@code [0, bound)} from the top 63 bits,
+         * rejecting values from the final partial range to avoid modulo bias.
+         */
+        int nextIndex(int bound) {
+            while (true) {
+                long r = nextLong() >>> 1;
+                long m = r % bound;
+                if (r - m + (bound - 1) >= 0) {
+                    return (int) m;
+                }
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ import com.example.fairchance.ui.fragments.OrganizerDashboardFragment;
  *     <li>Load the appropriate dashboard fragment based on the role.</li>
  *     <li>For Entrants and Organizers, manage the {@link BottomNavigationView}.</li>
  *     <li>Request notification permission on Android 13+ when needed.</li>
+ *     <li>Report its first frame to {@link StartupOrchestrator} so deferred start-up work can run.</li>
  * </ul>
  */
 public class MainActivity extends AppCompatActivity {
@@ -73,6 +74,14 @@ public class MainActivity extends AppCompatActivity {
         authRepository = new AuthRepository();
         bottomNav = findViewById(R.id.bottom_navigation);
 
+        // A runnable posted to the decor view runs after the window's first traversal,
+        // i.e. once the first frame has been drawn; deferred start-up work starts then.
+        getWindow().getDecorView().post(() -> {
+            StartupOrchestrator startup = StartupOrchestrator.getInstance();
+            startup.onFirstFrame();
+            Log.d("MainActivity", "Startup trace:\n" + startup.describeTrace());
+        });
+
         askNotificationPermission();
 
         authRepository.getUserRole(new AuthRepository.RoleCallback() {
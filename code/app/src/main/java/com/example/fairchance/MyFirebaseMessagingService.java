@@ -14,6 +14,8 @@ import androidx.core.app.NotificationCompat;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Handles FCM token updates and incoming push notifications.
  */
@@ -21,6 +23,12 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
 
     private static final String TAG = "MyFirebaseMsgService";
     private static final String CHANNEL_ID = "FAIR_CHANCE_CHANNEL";
+    private static final String GROUP_KEY_PREFIX = "FAIR_CHANCE_EVENT_";
+
+    /** Notification ids for messages that are not tied to an event. */
+    private static final AtomicInteger nextGenericId = new AtomicInteger(1);
+
+    private final AuthRepository authRepository = new AuthRepository();
 
     /**
      * Called when a new FCM token is created.
@@ -28,7 +36,7 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
     @Override
     public void onNewToken(@NonNull String token) {
         Log.d(TAG, "Refreshed token: " + token);
-        new AuthRepository().saveFcmToken(token);
+        authRepository.saveFcmToken(token);
     }
 
     /**
@@ -50,19 +58,10 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
             title = remoteMessage.getData().get("title");
             body = remoteMessage.getData().get("body");
 
-            // Update event history if needed
-            if (eventId != null && status != null) {
-                AuthRepository authRepository = new AuthRepository();
-                if (authRepository.getCurrentUser() != null) {
-                    new EventRepository().updateEventHistoryStatus(eventId, status, new EventRepository.EventTaskCallback() {
-                        @Override public void onSuccess() { }
-                        @Override public void onError(String message) { }
-                    });
-                }
-
-                if ("Selected".equalsIgnoreCase(status)) {
-                    navTarget = "NAV_TO_INVITATIONS";
-                }
+            // The status change itself is already in eventHistory (written with the
+            // draw) and reaches open screens through their listeners; only route here.
+            if (eventId != null && "Selected".equalsIgnoreCase(status)) {
+                navTarget = "NAV_TO_INVITATIONS";
             }
 
             // Prefer notification payload if provided
@@ -74,20 +73,24 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
             if (title == null) title = "FairChance Update";
             if (body == null) body = "You have a new update.";
 
-            sendNotification(title, body, navTarget);
+            sendNotification(title, body, navTarget, eventId);
         }
 
         else if (remoteMessage.getNotification() != null) {
             title = remoteMessage.getNotification().getTitle();
             body = remoteMessage.getNotification().getBody();
-            sendNotification(title, body, null);
+            sendNotification(title, body, null, null);
         }
     }
 
     /**
      * Displays a system notification that routes to MainActivity.
+     * Notifications for the same event share an id and group, so a newer update
+     * replaces the older one; different events get distinct notifications.
      */
-    private void sendNotification(String messageTitle, String messageBody, String navTarget) {
+    private void sendNotification(String messageTitle, String messageBody, String navTarget, String eventId) {
+        int notificationId = notificationIdFor(eventId);
+
         Intent intent = new Intent(this, MainActivity.class);
         intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
 
@@ -97,7 +100,7 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
 
         PendingIntent pendingIntent = PendingIntent.getActivity(
                 this,
-                0,
+                notificationId,
                 intent,
                 PendingIntent.FLAG_IMMUTABLE
         );
@@ -111,6 +114,10 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
                         .setPriority(NotificationCompat.PRIORITY_HIGH)
                         .setContentIntent(pendingIntent);
 
+        if (eventId != null) {
+            builder.setGroup(GROUP_KEY_PREFIX + eventId);
+        }
+
         NotificationManager manager = (NotificationManager)
                 getSystemService(Context.NOTIFICATION_SERVICE);
 
@@ -123,6 +130,17 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
             manager.createNotificationChannel(channel);
         }
 
-        manager.notify(0, builder.build());
+        manager.notify(notificationId, builder.build());
+    }
+
+    /**
+     * Returns a stable notification id for an event, or a fresh id for
+     * messages that are not tied to any event.
+     */
+    private static int notificationIdFor(String eventId) {
+        if (eventId == null) {
+            return -nextGenericId.getAndIncrement();
+        }
+        return eventId.hashCode() & 0x7fffffff;
     }
 }
@@ -7,41 +7,51 @@ import android.widget.TextView;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.models.NotificationLog;
+import com.example.fairchance.ui.adapters.RecipientIdAdapter;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.text.DateFormat;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Activity that shows details for a single notification log entry.
+ * Recipient IDs are loaded lazily from the log's recipients subcollection.
  */
 public class NotificationLogDetailsActivity extends AppCompatActivity {
 
+    private static final String EXTRA_LOG_ID = "extra_log_id";
     private static final String EXTRA_SENDER_NAME = "extra_sender_name";
     private static final String EXTRA_MESSAGE_TYPE = "extra_message_type";
     private static final String EXTRA_MESSAGE_BODY = "extra_message_body";
     private static final String EXTRA_EVENT_NAME = "extra_event_name";
     private static final String EXTRA_RECIPIENT_COUNT = "extra_recipient_count";
-    private static final String EXTRA_RECIPIENT_IDS = "extra_recipient_ids";
     private static final String EXTRA_TIMESTAMP = "extra_timestamp";
 
+    private static final int RECIPIENT_PAGE_SIZE = 50;
+
+    private NotificationLogRepository logRepository;
+    private RecipientIdAdapter recipientAdapter;
+    private TextView tvRecipients;
+    private String logId;
+    private long recipientCount;
+    private DocumentSnapshot lastRecipient = null;
+
     /**
      * Launches this screen to display details for the given log.
      */
     public static void start(Context context, NotificationLog log) {
         Intent intent = new Intent(context, NotificationLogDetailsActivity.class);
+        intent.putExtra(EXTRA_LOG_ID, log.getId());
         intent.putExtra(EXTRA_SENDER_NAME, log.getSenderName());
         intent.putExtra(EXTRA_MESSAGE_TYPE, log.getMessageType());
         intent.putExtra(EXTRA_MESSAGE_BODY, log.getMessageBody());
         intent.putExtra(EXTRA_EVENT_NAME, log.getEventName());
         intent.putExtra(EXTRA_RECIPIENT_COUNT, log.getRecipientCount());
-        intent.putStringArrayListExtra(
-                EXTRA_RECIPIENT_IDS,
-                log.getRecipientIds() != null
-                        ? new java.util.ArrayList<>(log.getRecipientIds())
-                        : new java.util.ArrayList<>()
-        );
         if (log.getTimestamp() != null) {
             intent.putExtra(EXTRA_TIMESTAMP, log.getTimestamp().getTime());
         }
@@ -53,20 +63,21 @@ public class NotificationLogDetailsActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_notification_log_details);
 
+        logRepository = new NotificationLogRepository();
+
         TextView tvSender = findViewById(R.id.tvDetailSender);
         TextView tvType = findViewById(R.id.tvDetailType);
         TextView tvEvent = findViewById(R.id.tvDetailEvent);
         TextView tvTimestamp = findViewById(R.id.tvDetailTimestamp);
-        TextView tvRecipients = findViewById(R.id.tvDetailRecipients);
         TextView tvBody = findViewById(R.id.tvDetailBody);
+        tvRecipients = findViewById(R.id.tvDetailRecipients);
 
+        logId = getIntent().getStringExtra(EXTRA_LOG_ID);
         String senderName = getIntent().getStringExtra(EXTRA_SENDER_NAME);
         String type = getIntent().getStringExtra(EXTRA_MESSAGE_TYPE);
         String eventName = getIntent().getStringExtra(EXTRA_EVENT_NAME);
         String body = getIntent().getStringExtra(EXTRA_MESSAGE_BODY);
-        long recipientCount = getIntent().getLongExtra(EXTRA_RECIPIENT_COUNT, 0);
-        java.util.ArrayList<String> recipientIds =
-                getIntent().getStringArrayListExtra(EXTRA_RECIPIENT_IDS);
+        recipientCount = getIntent().getLongExtra(EXTRA_RECIPIENT_COUNT, 0);
         long tsMillis = getIntent().getLongExtra(EXTRA_TIMESTAMP, -1);
 
         tvSender.setText(senderName != null ? senderName : "Unknown sender");
@@ -82,17 +93,48 @@ public class NotificationLogDetailsActivity extends AppCompatActivity {
             tvTimestamp.setText("Unknown");
         }
 
-        StringBuilder recipientsText = new StringBuilder();
-        recipientsText.append("Recipients (").append(recipientCount).append("):\n");
-        if (recipientIds != null && !recipientIds.isEmpty()) {
-            for (String id : recipientIds) {
-                recipientsText.append("- ").append(id).append("\n");
-            }
+        tvBody.setText(body != null ? body : "");
+        tvRecipients.setText("Recipients (" + recipientCount + "):");
+
+        RecyclerView rvRecipients = findViewById(R.id.rvDetailRecipients);
+        rvRecipients.setLayoutManager(new LinearLayoutManager(this));
+        recipientAdapter = new RecipientIdAdapter(this::loadNextRecipients);
+        rvRecipients.setAdapter(recipientAdapter);
+
+        if (logId != null && recipientCount > 0) {
+            loadNextRecipients();
         } else {
-            recipientsText.append("No recipient IDs stored.");
+            tvRecipients.setText("Recipients (" + recipientCount + "):\nNo recipient IDs stored.");
         }
+    }
 
-        tvRecipients.setText(recipientsText.toString());
-        tvBody.setText(body != null ? body : "");
+    /**
+     * Fetches the next page of recipient IDs and appends it to the list.
+     */
+    private void loadNextRecipients() {
+        recipientAdapter.setLoading(true);
+        logRepository.fetchRecipientsPage(logId, lastRecipient, RECIPIENT_PAGE_SIZE,
+                new NotificationLogRepository.RecipientPageCallback() {
+            @Override
+            public void onSuccess(List<String> recipientIds, DocumentSnapshot last, boolean hasMore) {
+                if (isFinishing()) return;
+                if (last != null) {
+                    lastRecipient = last;
+                }
+                recipientAdapter.appendRecipients(recipientIds);
+                recipientAdapter.setHasMore(hasMore);
+                recipientAdapter.setLoading(false);
+                if (recipientAdapter.getItemCount() == 0) {
+                    tvRecipients.setText("Recipients (" + recipientCount + "):\nNo recipient IDs stored.");
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                if (isFinishing()) return;
+                recipientAdapter.setLoading(false);
+                tvRecipients.setText("Recipients (" + recipientCount + "):\nFailed to load recipients: " + message);
+            }
+        });
     }
 }
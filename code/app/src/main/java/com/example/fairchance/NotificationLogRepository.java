@@ -3,8 +3,13 @@ package com.example.fairchance;
 import android.util.Log;
 
 import com.example.fairchance.models.NotificationLog;
+import com.example.fairchance.models.NotificationLogRollup;
+import androidx.annotation.Nullable;
+
 import com.google.android.gms.tasks.Task;
 import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
@@ -15,56 +20,127 @@ import java.util.List;
 
 /**
  * Repository for Firestore notification logs (collection: "notificationLogs").
+ * Logs are written by the send callables in functions/index.js; this class
+ * only reads them.
  */
 public class NotificationLogRepository {
 
     private static final String TAG = "NotificationLogRepo";
 
-    public interface LogWriteCallback {
-        void onSuccess();
-        void onError(String message);
-    }
+    /** Default number of logs fetched per page by the admin log browser. */
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    /** Field that held recipient IDs on log documents before the recipients subcollection. */
+    private static final String LEGACY_RECIPIENT_IDS = "recipientIds";
 
     public interface LogListCallback {
         void onSuccess(List<NotificationLog> logs);
         void onError(String message);
     }
 
+    public interface LogPageCallback {
+        /**
+         * @param logs        logs in this page, newest first
+         * @param lastVisible cursor to pass as {@code startAfter} for the next page, or null if the page is empty
+         * @param hasMore     whether another page may exist
+         */
+        void onSuccess(List<NotificationLog> logs, @Nullable DocumentSnapshot lastVisible, boolean hasMore);
+        void onError(String message);
+    }
+
+    public interface RecipientPageCallback {
+        void onSuccess(List<String> recipientIds, @Nullable DocumentSnapshot lastVisible, boolean hasMore);
+        void onError(String message);
+    }
+
+    public interface RollupListCallback {
+        void onSuccess(List<NotificationLogRollup> rollups);
+        void onError(String message);
+    }
+
     private final FirebaseFirestore db;
     private final CollectionReference logsRef;
+    private final CollectionReference rollupsRef;
 
     public NotificationLogRepository() {
-        db = FirebaseFirestore.getInstance();
+        db = FirestoreConfig.getFirestore();
         logsRef = db.collection("notificationLogs");
+        rollupsRef = db.collection("notificationLogRollups");
     }
 
     /**
-     * Writes a new notification log document.
+     * Fetches one page of recipient IDs for a log, ordered by user ID.
+     * Logs written before the recipients subcollection have an empty one; their
+     * first page falls back to the IDs embedded in the log document.
+     *
+     * @param logId      ID of the notification log
+     * @param startAfter cursor returned with the previous page, or null for the first page
+     * @param pageSize   maximum number of recipients to return
      */
-    public void logNotification(NotificationLog log, LogWriteCallback callback) {
-        if (log.getTimestamp() == null) {
-            log.setTimestamp(new Date());
-        }
-        if (log.getRecipientIds() != null) {
-            log.setRecipientCount(log.getRecipientIds().size());
+    public void fetchRecipientsPage(String logId, @Nullable DocumentSnapshot startAfter, int pageSize,
+                                    RecipientPageCallback callback) {
+        Query query = logsRef.document(logId).collection("recipients")
+                .orderBy(FieldPath.documentId());
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
         }
 
-        logsRef.add(log)
-                .addOnSuccessListener(docRef -> {
-                    log.setId(docRef.getId());
-                    docRef.update("id", docRef.getId());
-                    if (callback != null) {
-                        callback.onSuccess();
+        query.limit(pageSize).get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> docs = snapshot.getDocuments();
+                    if (docs.isEmpty() && startAfter == null) {
+                        fetchLegacyRecipients(logId, callback);
+                        return;
                     }
+                    List<String> ids = new ArrayList<>();
+                    for (DocumentSnapshot doc : docs) {
+                        ids.add(doc.getId());
+                    }
+                    DocumentSnapshot last = docs.isEmpty() ? null : docs.get(docs.size() - 1);
+                    callback.onSuccess(ids, last, docs.size() >= pageSize);
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error writing notification log", e);
-                    if (callback != null) {
-                        callback.onError(e.getMessage());
-                    }
+                    Log.e(TAG, "Failed to fetch recipients for log " + logId, e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Returns the recipient IDs embedded in a legacy log document as a single page.
+     */
+    private void fetchLegacyRecipients(String logId, RecipientPageCallback callback) {
+        logsRef.document(logId).get()
+                .addOnSuccessListener(doc -> callback.onSuccess(legacyRecipientIds(doc), null, false))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to fetch legacy recipients for log " + logId, e);
+                    callback.onError(e.getMessage());
                 });
     }
 
+    private static List<String> legacyRecipientIds(DocumentSnapshot doc) {
+        List<String> ids = new ArrayList<>();
+        Object raw = doc.get(LEGACY_RECIPIENT_IDS);
+        if (raw instanceof List) {
+            for (Object id : (List<?>) raw) {
+                if (id != null) ids.add(id.toString());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Maps a log document, taking the recipient count of legacy logs from
+     * their embedded ID list since they have no recipientCount field.
+     */
+    private static NotificationLog toLog(DocumentSnapshot doc) {
+        NotificationLog log = doc.toObject(NotificationLog.class);
+        log.setId(doc.getId());
+        if (!doc.contains("recipientCount")) {
+            log.setRecipientCount(legacyRecipientIds(doc).size());
+        }
+        return log;
+    }
+
     /**
      * Fetches all logs ordered by newest first.
      */
@@ -99,6 +175,114 @@ public class NotificationLogRepository {
         query.get().addOnCompleteListener(task -> handleListResult(task, callback));
     }
 
+    /**
+     * Fetches one page of logs ordered by newest first.
+     *
+     * @param startAfter cursor returned with the previous page, or null for the first page
+     * @param pageSize   maximum number of logs to return
+     */
+    public void fetchAllLogs(@Nullable DocumentSnapshot startAfter, int pageSize, LogPageCallback callback) {
+        fetchLogsFiltered(null, null, null, startAfter, pageSize, callback);
+    }
+
+    /**
+     * Fetches one page of logs optionally filtered by date range and event name.
+     * The name filter is a case-insensitive prefix of the event name, run on the
+     * server as a range over {@code eventNameLower} (see
+     * {@link AuthRepository#nameSearchKey}); it relies on the composite index
+     * (timestamp desc, eventNameLower) declared in firestore.indexes.json.
+     * Logs written before {@code eventNameLower} existed only match a name once
+     * {@code functions/tools/backfill-name-index.js} has run.
+     *
+     * @param from       start date (inclusive) or null
+     * @param to         end date (inclusive) or null
+     * @param eventName  text the event name must start with, or null/empty for any
+     * @param startAfter cursor returned with the previous page, or null for the first page
+     * @param pageSize   maximum number of logs to return
+     */
+    public void fetchLogsFiltered(Date from, Date to, String eventName,
+                                  @Nullable DocumentSnapshot startAfter, int pageSize,
+                                  LogPageCallback callback) {
+        Query query = logsRef;
+
+        String prefix = AuthRepository.nameSearchKey(eventName);
+        if (!prefix.isEmpty()) {
+            query = query.whereGreaterThanOrEqualTo("eventNameLower", prefix)
+                    .whereLessThanOrEqualTo("eventNameLower", prefix + "\uf8ff");
+        }
+        if (from != null) {
+            query = query.whereGreaterThanOrEqualTo("timestamp", from);
+        }
+        if (to != null) {
+            query = query.whereLessThanOrEqualTo("timestamp", to);
+        }
+
+        query = query.orderBy("timestamp", Query.Direction.DESCENDING);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+
+        query.limit(pageSize).get().addOnCompleteListener(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Failed to fetch log page", task.getException());
+                callback.onError(task.getException() != null
+                        ? task.getException().getMessage()
+                        : "Unknown error");
+                return;
+            }
+
+            QuerySnapshot snapshot = task.getResult();
+            List<NotificationLog> result = new ArrayList<>();
+            for (var doc : snapshot) {
+                result.add(toLog(doc));
+            }
+
+            List<DocumentSnapshot> docs = snapshot.getDocuments();
+            DocumentSnapshot last = docs.isEmpty() ? null : docs.get(docs.size() - 1);
+            callback.onSuccess(result, last, docs.size() >= pageSize);
+        });
+    }
+
+    /**
+     * Fetches daily per-event summaries of logs that have aged out of the
+     * retention window, newest day first. Reporting over long periods should
+     * combine these with live logs instead of reading every original log.
+     *
+     * @param from    first day (inclusive) or null
+     * @param to      last day (inclusive) or null
+     * @param eventId event ID filter or null/empty for any
+     */
+    public void fetchDailyRollups(Date from, Date to, String eventId, RollupListCallback callback) {
+        Query query = rollupsRef;
+
+        if (eventId != null && !eventId.isEmpty()) {
+            query = query.whereEqualTo("eventId", eventId);
+        }
+        if (from != null) {
+            query = query.whereGreaterThanOrEqualTo("dayStart", from);
+        }
+        if (to != null) {
+            query = query.whereLessThanOrEqualTo("dayStart", to);
+        }
+
+        query.orderBy("dayStart", Query.Direction.DESCENDING)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<NotificationLogRollup> result = new ArrayList<>();
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        NotificationLogRollup rollup = doc.toObject(NotificationLogRollup.class);
+                        if (rollup == null) continue;
+                        rollup.setId(doc.getId());
+                        result.add(rollup);
+                    }
+                    callback.onSuccess(result);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to fetch log rollups", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
     private void handleListResult(Task<QuerySnapshot> task, LogListCallback callback) {
         if (!task.isSuccessful()) {
             Log.e(TAG, "Failed to fetch logs", task.getException());
@@ -110,9 +294,7 @@ public class NotificationLogRepository {
 
         List<NotificationLog> result = new ArrayList<>();
         for (var doc : task.getResult()) {
-            NotificationLog log = doc.toObject(NotificationLog.class);
-            log.setId(doc.getId());
-            result.add(log);
+            result.add(toLog(doc));
         }
         callback.onSuccess(result);
     }
@@ -0,0 +1,129 @@
+package com.example.fairchance;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of organizer display names keyed by organizer ID.
+ * Entries expire after a fixed time-to-live and the least recently used entry
+ * is evicted once the cache is full. Concurrent lookups for the same ID share
+ * a single in-flight {@link Task}, so a list of cards by one organizer costs
+ * one read. An expired name is reloaded from the server; while that fails
+ * (e.g. offline) the last known name is still returned.
+ */
+public class OrganizerNameCache {
+
+    /** How long a resolved name stays valid. */
+    static final long TTL_MS = 10 * 60 * 1000L;
+
+    /** Maximum number of names kept in memory. */
+    static final int MAX_ENTRIES = 256;
+
+    /**
+     * Loads an organizer's name from the backing store.
+     */
+    interface Loader {
+        /**
+         * @param refresh {@code true} when an expired name is reloaded; the
+         *                loader must then skip local copies and read the server
+         */
+        Task<String> load(String organizerId, boolean refresh);
+    }
+
+    /**
+     * Supplies the current time; replaceable in tests.
+     */
+    interface Clock {
+        long now();
+    }
+
+    private static final class Entry {
+        final String name;
+        final long loadedAt;
+
+        Entry(String name, long loadedAt) {
+            this.name = name;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static OrganizerNameCache instance;
+
+    private final Loader loader;
+    private final Clock clock;
+    private final Map<String, Task<String>> inFlight = new HashMap<>();
+    private final LinkedHashMap<String, Entry> entries =
+            new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * Returns the process-wide cache, creating it with the given loader on first use.
+     */
+    static synchronized OrganizerNameCache getInstance(Loader loader) {
+        if (instance == null) {
+            instance = new OrganizerNameCache(loader, System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    OrganizerNameCache(Loader loader, Clock clock) {
+        this.loader = loader;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the organizer's name, from memory when a fresh entry exists,
+     * otherwise by joining or starting a load. A failed reload of an expired
+     * entry resolves to the expired name.
+     *
+     * @param organizerId ID of the organizer
+     * @return a task resolving to the organizer's display name
+     */
+    public synchronized Task<String> get(String organizerId) {
+        Entry entry = entries.get(organizerId);
+        if (entry != null && clock.now() - entry.loadedAt < TTL_MS) {
+            return Tasks.forResult(entry.name);
+        }
+
+        Task<String> pending = inFlight.get(organizerId);
+        if (pending != null) {
+            return pending;
+        }
+
+        Entry stale = entry;
+        TaskCompletionSource<String> result = new TaskCompletionSource<>();
+        inFlight.put(organizerId, result.getTask());
+        loader.load(organizerId, stale != null).addOnCompleteListener(Runnable::run, task -> {
+            boolean loaded = task.isSuccessful() && task.getResult() != null;
+            synchronized (OrganizerNameCache.this) {
+                inFlight.remove(organizerId);
+                if (loaded) {
+                    entries.put(organizerId, new Entry(task.getResult(), clock.now()));
+                }
+            }
+            if (loaded) {
+                result.setResult(task.getResult());
+            } else if (stale != null) {
+                result.setResult(stale.name);
+            } else {
+                result.setException(task.getException() != null
+                        ? task.getException()
+                        : new IllegalStateException("No name for organizer " + organizerId));
+            }
+        });
+        return result.getTask();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.fairchance;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Write-behind queue for the signed-in user's own profile fields.
+ * <p>
+ * Edits are applied to a local journal first and written to
+ * {@code users/{uid}} later in a single update, so a burst of edits
+ * (typing, flipping several switches) costs one round trip and the UI never
+ * waits on the network. A later edit of a field replaces an earlier one that
+ * has not been written yet. The journal is kept in {@link SharedPreferences}
+ * and an edit leaves it only once Firestore has acknowledged it, so edits made
+ * just before the process dies are written on the next start. Edits for a
+ * user document that no longer exists are dropped rather than retried.
+ * <p>
+ * Screens read {@link #pendingFields(String)} to show unsynced values on top
+ * of what Firestore returned. Failed writes stay in the journal and are
+ * retried with exponential backoff.
+ */
+public class ProfileUpdateQueue {
+
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_EMAIL = "email";
+    public static final String FIELD_PHONE = "phone";
+    public static final String FIELD_LOTTERY_RESULTS = "notificationPreferences.lotteryResults";
+    public static final String FIELD_ORGANIZER_UPDATES = "notificationPreferences.organizerUpdates";
+
+    /**
+     * Not a document field: {@code true} stores the device's FCM token,
+     * {@code false} clears it. Resolved by the writer at flush time.
+     */
+    public static final String FIELD_NOTIFICATIONS_ENABLED = "notificationsEnabled";
+
+    /** How long to wait for more edits before writing. */
+    static final long FLUSH_DELAY_MS = 1_000L;
+
+    /** Delay before the first retry; doubled after every failure. */
+    static final long RETRY_BASE_DELAY_MS = 2_000L;
+
+    /** Upper bound for the delay between retries. */
+    static final long RETRY_MAX_DELAY_MS = 5 * 60 * 1000L;
+
+    /** Failed writes retried within one process; the journal outlives the rest. */
+    static final int MAX_ATTEMPTS = 8;
+
+    private static final String PREFS_NAME = "profile_update_journal";
+    private static final String KEY_UID = "uid";
+    private static final String KEY_FIELDS = "fields";
+
+    /**
+     * Writes a set of coalesced field changes for one user.
+     */
+    interface Writer {
+        Task<Void> write(String uid, Map<String, Object> fields);
+    }
+
+    /**
+     * Persists the unsynced edits; replaceable in tests.
+     */
+    interface Journal {
+        String uid();
+
+        Map<String, Object> read();
+
+        void write(String uid, Map<String, Object> fields);
+
+        void clear();
+    }
+
+    /**
+     * Runs delayed work; replaceable in tests.
+     */
+    interface Scheduler {
+        void postDelayed(Runnable task, long delayMs);
+
+        void cancel(Runnable task);
+    }
+
+    private static ProfileUpdateQueue instance;
+
+    private final Writer writer;
+    private final Journal journal;
+    private final Scheduler scheduler;
+    private final Runnable flushTask = this::flush;
+
+    private String uid;
+    private final Map<String, Object> pending = new LinkedHashMap<>();
+    private Map<String, Object> inFlight;
+    private boolean flushRequested = false;
+    private int failures = 0;
+    private TaskCompletionSource<Void> drained;
+
+    /**
+     * Backs the process-wide queue with a {@link SharedPreferences} journal
+     * and writes whatever a previous process left in it. Called once from
+     * {@link FairChanceApplication}.
+     */
+    public static synchronized void init(Context context) {
+        instance = create(new PrefsJournal(context.getApplicationContext()));
+        instance.scheduleFlush(FLUSH_DELAY_MS);
+    }
+
+    /**
+     * Returns the process-wide queue. Falls back to an in-memory journal when
+     * {@link #init} has not run.
+     */
+    public static synchronized ProfileUpdateQueue getInstance() {
+        if (instance == null) {
+            instance = create(new MemoryJournal());
+        }
+        return instance;
+    }
+
+    private static ProfileUpdateQueue create(Journal journal) {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new ProfileUpdateQueue(
+                (uid, fields) -> new AuthRepository().writeProfileFields(uid, fields),
+                journal,
+                new Scheduler() {
+                    @Override
+                    public void postDelayed(Runnable task, long delayMs) {
+                        handler.postDelayed(task, delayMs);
+                    }
+
+                    @Override
+                    public void cancel(Runnable task) {
+                        handler.removeCallbacks(task);
+                    }
+                });
+    }
+
+    ProfileUpdateQueue(Writer writer, Journal journal, Scheduler scheduler) {
+        this.writer = writer;
+        this.journal = journal;
+        this.scheduler = scheduler;
+        this.uid = journal.uid();
+        this.pending.putAll(journal.read());
+    }
+
+    /**
+     * Records edits for a user and schedules a write. Edits still queued for
+     * a different user (e.g. after switching accounts) are dropped, since
+     * they can no longer be written.
+     *
+     * @param uid     ID of the signed-in user
+     * @param changes field changes keyed by the {@code FIELD_*} constants
+     */
+    public void enqueue(String uid, Map<String, Object> changes) {
+        if (uid == null || changes == null || changes.isEmpty()) return;
+        synchronized (this) {
+            if (!uid.equals(this.uid)) {
+                pending.clear();
+                inFlight = null;
+                this.uid = uid;
+            }
+            pending.putAll(changes);
+            journal.write(uid, pendingFields(uid));
+        }
+        scheduleFlush(FLUSH_DELAY_MS);
+    }
+
+    /**
+     * Returns the edits not yet confirmed by Firestore for this user,
+     * including those currently being written.
+     */
+    public synchronized Map<String, Object> pendingFields(String uid) {
+        if (uid == null || !uid.equals(this.uid)) return Collections.emptyMap();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (inFlight != null) fields.putAll(inFlight);
+        fields.putAll(pending);
+        return fields;
+    }
+
+    /**
+     * Returns whether any edit is still waiting to be written.
+     */
+    public synchronized boolean hasPendingChanges() {
+        return !pending.isEmpty() || inFlight != null;
+    }
+
+    /**
+     * Writes pending edits now instead of waiting for the debounce.
+     *
+     * @return a task that completes once the journal is empty, or fails when
+     * a write fails (the edits stay queued for retry)
+     */
+    public Task<Void> flush() {
+        scheduler.cancel(flushTask);
+        Map<String, Object> toWrite;
+        String writeUid;
+        Task<Void> result;
+        synchronized (this) {
+            if (pending.isEmpty() && inFlight == null) {
+                return Tasks.forResult(null);
+            }
+            if (drained == null) drained = new TaskCompletionSource<>();
+            result = drained.getTask();
+            if (inFlight != null) {
+                flushRequested = true;
+                return result;
+            }
+            toWrite = new LinkedHashMap<>(pending);
+            writeUid = uid;
+            inFlight = toWrite;
+            pending.clear();
+            flushRequested = false;
+        }
+        write(writeUid, toWrite);
+        return result;
+    }
+
+    /**
+     * Drops all unsynced edits, e.g. before the account is deleted.
+     */
+    public synchronized void discard() {
+        scheduler.cancel(flushTask);
+        pending.clear();
+        inFlight = null;
+        uid = null;
+        journal.clear();
+        if (drained != null) {
+            drained.trySetResult(null);
+            drained = null;
+        }
+    }
+
+    /**
+     * Returns the delay before retry number {@code failures}.
+     */
+    static long retryDelayMs(int failures) {
+        int shift = Math.min(Math.max(failures - 1, 0), 20);
+        return Math.min(RETRY_BASE_DELAY_MS << shift, RETRY_MAX_DELAY_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+        }
+        scheduler.cancel(flushTask);
+        scheduler.postDelayed(flushTask, delayMs);
+    }
+
+    private void write(String writeUid, Map<String, Object> fields) {
+        Task<Void> task;
+        try {
+            task = writer.write(writeUid, fields);
+        } catch (RuntimeException e) {
+            task = Tasks.forException(e);
+        }
+        task.addOnCompleteListener(Runnable::run, t -> onWriteComplete(fields, t));
+    }
+
+    private void onWriteComplete(Map<String, Object> written, Task<Void> task) {
+        TaskCompletionSource<Void> toComplete = null;
+        boolean writeAgain = false;
+        long retryDelay = -1;
+        synchronized (this) {
+            if (inFlight != written) return; // discarded meanwhile
+            inFlight = null;
+            if (task.isSuccessful()) {
+                failures = 0;
+                journal.write(uid, pending);
+                if (pending.isEmpty()) {
+                    toComplete = drained;
+                    drained = null;
+                } else {
+                    writeAgain = flushRequested;
+                }
+            } else {
+                // Edits made during the write are newer and win
+                for (Map.Entry<String, Object> entry : written.entrySet()) {
+                    pending.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                failures++;
+                toComplete = drained;
+                drained = null;
+                if (failures < MAX_ATTEMPTS) retryDelay = retryDelayMs(failures);
+            }
+        }
+
+        if (toComplete != null) {
+            if (task.isSuccessful()) {
+                toComplete.trySetResult(null);
+            } else {
+                Exception error = task.getException();
+                toComplete.trySetException(error != null ? error : new Exception("Profile update failed"));
+            }
+        }
+        if (writeAgain) {
+            flush();
+        } else if (task.isSuccessful()) {
+            scheduleFlush(FLUSH_DELAY_MS);
+        } else if (retryDelay >= 0) {
+            scheduleFlush(retryDelay);
+        }
+    }
+
+    private static final class PrefsJournal implements Journal {
+        private final SharedPreferences prefs;
+
+        PrefsJournal(Context context) {
+            this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public String uid() {
+            return prefs.getString(KEY_UID, null);
+        }
+
+        @Override
+        public Map<String, Object> read() {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            String json = prefs.getString(KEY_FIELDS, null);
+            if (json == null) return fields;
+            try {
+                JSONObject object = new JSONObject(json);
+                Iterator<String> keys = object.keys();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    fields.put(key, object.get(key));
+                }
+            } catch (JSONException e) {
+                prefs.edit().clear().apply();
+                fields.clear();
+            }
+            return fields;
+        }
+
+        @Override
+        public void write(String uid, Map<String, Object> fields) {
+            if (fields.isEmpty()) {
+                clear();
+                return;
+            }
+            prefs.edit()
+                    .putString(KEY_UID, uid)
+                    .putString(KEY_FIELDS, new JSONObject(fields).toString())
+                    .apply();
+        }
+
+        @Override
+        public void clear() {
+            prefs.edit().clear().apply();
+        }
+    }
+
+    static final class MemoryJournal implements Journal {
+        private String uid;
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        @Override
+        public String uid() {
+            return uid;
+        }
+
+        @Override
+        public Map<String, Object> read() {
+            return new LinkedHashMap<>(fields);
+        }
+
+        @Override
+        public void write(String uid, Map<String, Object> fields) {
+            this.uid = fields.isEmpty() ? null : uid;
+            this.fields.clear();
+            this.fields.putAll(fields);
+        }
+
+        @Override
+        public void clear() {
+            uid = null;
+            fields.clear();
+        }
+    }
+}
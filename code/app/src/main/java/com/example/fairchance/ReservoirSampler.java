@@ -0,0 +1,69 @@
+package com.example.fairchance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Weighted reservoir sampling without replacement (Efraimidis and Spirakis,
+ * algorithm A-Res). Each offered item gets the key {@code u^(1/w)} for a uniform
+ * {@code u}; the items with the largest keys form the sample. Keys are kept as
+ * {@code ln(u) / w}, which orders the same way without underflowing for large
+ * weights. Uses O(capacity) memory and O(log capacity) time per item.
+ */
+class ReservoirSampler {
+
+    /** An item with its sampling key. */
+    static final class Keyed implements Comparable<Keyed> {
+        final String id;
+        final double key;
+
+        Keyed(String id, double key) {
+            this.id = id;
+            this.key = key;
+        }
+
+        /** Orders by key, then by ID so equal keys still give a repeatable result. */
+        @Override
+        public int compareTo(Keyed other) {
+            int byKey = Double.compare(key, other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+
+    private final int capacity;
+    private final LotteryEngine.SplitMix64 rng;
+    private final PriorityQueue<Keyed> heap = new PriorityQueue<>();
+
+    ReservoirSampler(int capacity, LotteryEngine.SplitMix64 rng) {
+        this.capacity = capacity;
+        this.rng = rng;
+    }
+
+    /**
+     * Offers an item with the given weight; non-positive weights are ignored.
+     */
+    void offer(String id, double weight) {
+        if (capacity <= 0 || !(weight > 0)) return;
+        // u in (0, 1], so ln(u) is finite
+        double u = ((rng.nextLong() >>> 11) + 1) * 0x1.0p-53;
+        Keyed item = new Keyed(id, Math.log(u) / weight);
+
+        if (heap.size() < capacity) {
+            heap.add(item);
+        } else if (item.compareTo(heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * Returns the sampled items, largest key (first drawn) first.
+     */
+    List<Keyed> sample() {
+        List<Keyed> items = new ArrayList<>(heap);
+        Collections.sort(items, Collections.reverseOrder());
+        return items;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.fairchance;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Device-local cache of the signed-in user's role, so start-up can route to
+ * the right dashboard without waiting for {@code users/{uid}}.
+ * <p>
+ * Only one user is stored at a time. A served entry is re-checked against
+ * Firestore in the background by {@link AuthRepository#getUserRole}. Entries
+ * older than {@link #MAX_AGE_MS}, or belonging to another user, are ignored.
+ * The cache only decides which screens to show; Firestore rules still enforce
+ * access.
+ */
+public class RoleCache {
+
+    /** Age after which a cached role is no longer used for routing. */
+    static final long MAX_AGE_MS = 7L * 24 * 60 * 60 * 1000L;
+
+    private static final String PREFS_NAME = "role_cache";
+    private static final String KEY_UID = "uid";
+    private static final String KEY_ROLE = "role";
+    private static final String KEY_FETCHED_AT = "fetchedAt";
+
+    /**
+     * A cached role for one user.
+     */
+    static final class Entry {
+        final String uid;
+        final String role;
+        final long fetchedAt;
+
+        Entry(String uid, String role, long fetchedAt) {
+            this.uid = uid;
+            this.role = role;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * Persists the cached entry; replaceable in tests.
+     */
+    interface Store {
+        Entry read();
+
+        void write(Entry entry);
+
+        void clear();
+    }
+
+    /**
+     * Supplies the current time; replaceable in tests.
+     */
+    interface Clock {
+        long now();
+    }
+
+    private static RoleCache instance;
+
+    private final Store store;
+    private final Clock clock;
+
+    /**
+     * Backs the process-wide cache with {@link SharedPreferences}. Called once
+     * from {@link FairChanceApplication}.
+     */
+    public static synchronized void init(Context context) {
+        instance = new RoleCache(new PrefsStore(context.getApplicationContext()),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Returns the process-wide cache. Falls back to an in-memory store when
+     * {@link #init} has not run (e.g. in unit tests).
+     */
+    public static synchronized RoleCache getInstance() {
+        if (instance == null) {
+            instance = new RoleCache(new MemoryStore(), System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    RoleCache(Store store, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached role for a user, or {@code null} if there is no
+     * usable entry.
+     *
+     * @param uid ID of the signed-in user
+     */
+    public synchronized String get(String uid) {
+        Entry entry = store.read();
+        if (entry == null || uid == null || !uid.equals(entry.uid)) return null;
+        long age = clock.now() - entry.fetchedAt;
+        return age >= 0 && age < MAX_AGE_MS ? entry.role : null;
+    }
+
+    /**
+     * Stores a role read from Firestore, replacing any previous user's entry.
+     */
+    public synchronized void put(String uid, String role) {
+        if (uid == null || role == null) return;
+        store.write(new Entry(uid, role, clock.now()));
+    }
+
+    /**
+     * Forgets the cached role, e.g. on sign-out or account deletion.
+     */
+    public synchronized void clear() {
+        store.clear();
+    }
+
+    private static final class PrefsStore implements Store {
+        private final SharedPreferences prefs;
+
+        PrefsStore(Context context) {
+            this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public Entry read() {
+            String uid = prefs.getString(KEY_UID, null);
+            String role = prefs.getString(KEY_ROLE, null);
+            if (uid == null || role == null) return null;
+            return new Entry(uid, role, prefs.getLong(KEY_FETCHED_AT, 0L));
+        }
+
+        @Override
+        public void write(Entry entry) {
+            prefs.edit()
+                    .putString(KEY_UID, entry.uid)
+                    .putString(KEY_ROLE, entry.role)
+                    .putLong(KEY_FETCHED_AT, entry.fetchedAt)
+                    .apply();
+        }
+
+        @Override
+        public void clear() {
+            prefs.edit().clear().apply();
+        }
+    }
+
+    static final class MemoryStore implements Store {
+        private Entry entry;
+
+        @Override
+        public Entry read() {
+            return entry;
+        }
+
+        @Override
+        public void write(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void clear() {
+            entry = null;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.fairchance;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.fairchance.models.CompactRoster;
+import com.example.fairchance.models.UserIdDictionary;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide, reference-counted store of event rosters
+ * ({@code waitingList}, {@code selected}, {@code cancelled}).
+ * <p>
+ * Each (event, subcollection) pair has at most one Firestore snapshot listener,
+ * no matter how many screens show it. The listener decodes snapshots into a
+ * {@link CompactRoster} once and every subscriber receives that same instance;
+ * a new subscriber gets the latest roster immediately. When the last subscriber
+ * releases, the listener stays attached for {@link #GRACE_PERIOD_MS} so moving
+ * between organizer screens does not tear it down and re-read the roster.
+ * On events with the unified roster layout each roster is a status view of
+ * the {@code entrants} subcollection instead (see {@link EntrantRoster}).
+ * <p>
+ * All methods must be called on the main thread, and callbacks arrive there.
+ */
+public class RosterStore {
+
+    private static final String TAG = "RosterStore";
+
+    public static final String WAITING_LIST = "waitingList";
+    public static final String SELECTED = "selected";
+    public static final String CANCELLED = "cancelled";
+    public static final String CONFIRMED_ATTENDEES = "confirmedAttendees";
+
+    /** How long an unused listener stays attached before it is removed. */
+    static final long GRACE_PERIOD_MS = 30_000L;
+
+    /**
+     * Receives roster updates for one subscription.
+     */
+    public interface RosterListener {
+        void onRoster(CompactRoster roster);
+
+        void onError(String message);
+    }
+
+    /**
+     * Opens a live listener on one roster subcollection.
+     */
+    interface Source {
+        ListenerRegistration listen(String eventId, String subcollection, RosterListener sink);
+    }
+
+    /**
+     * Runs delayed work on the main thread; replaceable in tests.
+     */
+    interface Scheduler {
+        void postDelayed(Runnable task, long delayMs);
+
+        void cancel(Runnable task);
+    }
+
+    private static final class Entry {
+        final List<RosterListener> listeners = new ArrayList<>();
+        ListenerRegistration registration;
+        CompactRoster latest;
+        Runnable pendingDetach;
+        String error;
+    }
+
+    private static RosterStore instance;
+
+    private final Source source;
+    private final Scheduler scheduler;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Returns the process-wide store, backed by Firestore.
+     */
+    public static synchronized RosterStore getInstance() {
+        if (instance == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            instance = new RosterStore(new FirestoreSource(handler), new Scheduler() {
+                @Override
+                public void postDelayed(Runnable task, long delayMs) {
+                    handler.postDelayed(task, delayMs);
+                }
+
+                @Override
+                public void cancel(Runnable task) {
+                    handler.removeCallbacks(task);
+                }
+            });
+        }
+        return instance;
+    }
+
+    RosterStore(Source source, Scheduler scheduler) {
+        this.source = source;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Subscribes to a roster. The listener is called right away if the roster
+     * is already loaded, then again on every change. If the underlying listener
+     * fails, every subscriber gets {@code onError} and the next subscribe opens
+     * a fresh listener.
+     *
+     * @param eventId       ID of the event
+     * @param subcollection one of {@link #WAITING_LIST}, {@link #SELECTED}, {@link #CANCELLED}
+     * @param listener      receives roster updates
+     * @return a registration whose {@code remove()} releases this subscription
+     */
+    public ListenerRegistration subscribe(String eventId, String subcollection, RosterListener listener) {
+        String key = eventId + "/" + subcollection;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry created = new Entry();
+            entries.put(key, created);
+            created.registration = source.listen(eventId, subcollection, new RosterListener() {
+                @Override
+                public void onRoster(CompactRoster roster) {
+                    if (entries.get(key) != created) return;
+                    created.latest = roster;
+                    for (RosterListener l : new ArrayList<>(created.listeners)) {
+                        l.onRoster(roster);
+                    }
+                }
+
+                @Override
+                public void onError(String message) {
+                    if (entries.get(key) != created) return;
+                    // A failed listener never fires again; drop it so the next subscribe re-attaches
+                    entries.remove(key);
+                    created.error = message;
+                    if (created.pendingDetach != null) {
+                        scheduler.cancel(created.pendingDetach);
+                        created.pendingDetach = null;
+                    }
+                    if (created.registration != null) {
+                        created.registration.remove();
+                    }
+                    for (RosterListener l : new ArrayList<>(created.listeners)) {
+                        l.onError(message);
+                    }
+                }
+            });
+            if (created.error != null) {
+                // The source failed before handing back its registration
+                created.registration.remove();
+                listener.onError(created.error);
+                return () -> { };
+            }
+            entry = created;
+        } else if (entry.pendingDetach != null) {
+            scheduler.cancel(entry.pendingDetach);
+            entry.pendingDetach = null;
+        }
+
+        entry.listeners.add(listener);
+        if (entry.latest != null) {
+            listener.onRoster(entry.latest);
+        }
+
+        Entry subscribed = entry;
+        return new ListenerRegistration() {
+            private boolean released;
+
+            @Override
+            public void remove() {
+                if (released) return;
+                released = true;
+                release(key, subscribed, listener);
+            }
+        };
+    }
+
+    /**
+     * Returns the latest loaded roster, or {@code null} if no listener holds one.
+     */
+    public CompactRoster peek(String eventId, String subcollection) {
+        Entry entry = entries.get(eventId + "/" + subcollection);
+        return entry != null ? entry.latest : null;
+    }
+
+    int activeListenerCount() {
+        return entries.size();
+    }
+
+    private void release(String key, Entry entry, RosterListener listener) {
+        entry.listeners.remove(listener);
+        if (entry.error != null || !entry.listeners.isEmpty() || entry.pendingDetach != null) return;
+
+        entry.pendingDetach = () -> {
+            entry.pendingDetach = null;
+            if (entries.get(key) != entry || !entry.listeners.isEmpty()) return;
+            entries.remove(key);
+            entry.registration.remove();
+        };
+        scheduler.postDelayed(entry.pendingDetach, GRACE_PERIOD_MS);
+    }
+
+    /**
+     * Timestamp field that records when an entrant landed on a roster.
+     */
+    static String timestampField(String subcollection) {
+        switch (subcollection) {
+            case SELECTED:
+                return "sampledAt";
+            case CANCELLED:
+                return "cancelledAt";
+            case CONFIRMED_ATTENDEES:
+                return "confirmedAt";
+            default:
+                return "joinedAt";
+        }
+    }
+
+    /**
+     * Status assumed for roster documents without a {@code status} field.
+     */
+    static byte defaultStatus(String subcollection) {
+        switch (subcollection) {
+            case SELECTED:
+                return CompactRoster.STATUS_PENDING;
+            case CANCELLED:
+                return CompactRoster.STATUS_CANCELLED;
+            default:
+                return CompactRoster.STATUS_WAITING;
+        }
+    }
+
+    /**
+     * Listens to {@code events/{eventId}/{subcollection}}. Snapshots are decoded
+     * on a background thread so large rosters do not block the UI, then handed
+     * to the main thread.
+     */
+    private static final class FirestoreSource implements Source {
+        private final Executor decodeExecutor = Executors.newSingleThreadExecutor();
+        private final Handler mainHandler;
+
+        FirestoreSource(Handler mainHandler) {
+            this.mainHandler = mainHandler;
+        }
+
+        @Override
+        public ListenerRegistration listen(String eventId, String subcollection, RosterListener sink) {
+            DocumentReference eventRef = FirestoreConfig.getFirestore()
+                    .collection("events")
+                    .document(eventId);
+            // The roster layout is known only after the event is read once
+            LayoutAwareRegistration registration = new LayoutAwareRegistration();
+            EntrantRoster.isUnified(eventRef)
+                    .addOnSuccessListener(mainHandler::post, unified ->
+                            registration.attach(listen(eventId, subcollection,
+                                    EntrantRoster.query(eventRef, subcollection, unified), sink)))
+                    .addOnFailureListener(mainHandler::post, e -> {
+                        if (registration.removed) return;
+                        Log.e(TAG, "Could not resolve roster layout for " + eventId, e);
+                        sink.onError(e.getMessage());
+                    });
+            return registration;
+        }
+
+        private ListenerRegistration listen(String eventId, String subcollection, Query query,
+                                            RosterListener sink) {
+            String timestampField = timestampField(subcollection);
+            byte defaultStatus = defaultStatus(subcollection);
+            // Released with the listener, so IDs of entrants who left do not outlive it
+            UserIdDictionary dictionary = new UserIdDictionary();
+            return query
+                    .addSnapshotListener(decodeExecutor, (snapshot, error) -> {
+                        if (error != null) {
+                            Log.e(TAG, "Roster listener failed for " + eventId + "/" + subcollection, error);
+                            mainHandler.post(() -> sink.onError(error.getMessage()));
+                            return;
+                        }
+                        if (snapshot == null) return;
+                        CompactRoster roster = CompactRoster.fromDocuments(
+                                snapshot.getDocuments(), dictionary, timestampField, defaultStatus);
+                        mainHandler.post(() -> sink.onRoster(roster));
+                    });
+        }
+    }
+
+    /**
+     * Stands in for a snapshot listener that is attached once the event's
+     * roster layout is known; removing it before then cancels the attach.
+     */
+    private static final class LayoutAwareRegistration implements ListenerRegistration {
+        private ListenerRegistration inner;
+        private boolean removed = false;
+
+        void attach(ListenerRegistration registration) {
+            if (removed) {
+                registration.remove();
+            } else {
+                inner = registration;
+            }
+        }
+
+        @Override
+        public void remove() {
+            removed = true;
+            if (inner != null) {
+                inner.remove();
+                inner = null;
+            }
+        }
+    }
+}
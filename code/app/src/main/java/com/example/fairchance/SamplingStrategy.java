@@ -0,0 +1,46 @@
+package com.example.fairchance;
+
+import java.util.List;
+
+/**
+ * A way of drawing entrants from a waiting list. Entrants are offered one at a
+ * time as waiting-list pages stream in, so an implementation only keeps what it
+ * needs to produce its result, not the whole list.
+ * <p>
+ * Instances hold the state of a single draw and are not reused.
+ */
+public interface SamplingStrategy {
+
+    /**
+     * One waiting-list entry as seen by a strategy.
+     */
+    final class Entrant {
+        public final String userId;
+        /** Relative chance of being drawn; entries with a weight of zero or less are skipped. */
+        public final double weight;
+        /** Group the entrant belongs to for quota purposes, e.g. a region key. */
+        public final String stratum;
+
+        public Entrant(String userId, double weight, String stratum) {
+            this.userId = userId;
+            this.weight = weight;
+            this.stratum = stratum;
+        }
+    }
+
+    /**
+     * Considers one entrant for the draw.
+     */
+    void offer(Entrant entrant);
+
+    /**
+     * Returns the drawn entrant IDs in draw order once every entrant has been offered.
+     */
+    List<String> drawn();
+
+    /**
+     * Identifies how this strategy draws in persisted draw records. Changing the
+     * sampling, the generator or how quotas are split requires a new id.
+     */
+    String algorithm();
+}
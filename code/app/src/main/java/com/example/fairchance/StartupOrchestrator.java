@@ -0,0 +1,263 @@
+package com.example.fairchance;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the app's start-up work and records how long each step took.
+ * <p>
+ * Steps come in three phases:
+ * <ul>
+ *     <li>{@link #PHASE_CRITICAL}: needed before the first screen can be chosen
+ *     (e.g. resolving the user's role). They start immediately and run
+ *     concurrently; {@link #criticalStepsDone()} completes when all of them have.</li>
+ *     <li>{@link #PHASE_BACKGROUND}: independent work that starts immediately
+ *     but that routing does not wait for (e.g. fetching the FCM token).</li>
+ *     <li>{@link #PHASE_DEFERRED}: non-critical work held back until
+ *     {@link MainActivity} reports its first frame (e.g. uploading the token).</li>
+ * </ul>
+ * Every step and mark is appended to a trace that tests and debug logging can read.
+ */
+public class StartupOrchestrator {
+
+    public static final String PHASE_CRITICAL = "critical";
+    public static final String PHASE_BACKGROUND = "background";
+    public static final String PHASE_DEFERRED = "deferred";
+    public static final String PHASE_MARK = "mark";
+
+    /** Name of the mark recorded by {@link #onFirstFrame()}. */
+    public static final String MARK_FIRST_FRAME = "firstFrame";
+
+    /**
+     * One unit of start-up work.
+     */
+    public interface Step<T> {
+        Task<T> start();
+    }
+
+    /**
+     * Timing of one step, in milliseconds since {@link #begin()}.
+     */
+    public static final class Span {
+        public final String name;
+        public final String phase;
+        public final long startMs;
+        public final long endMs;
+        public final boolean successful;
+
+        Span(String name, String phase, long startMs, long endMs, boolean successful) {
+            this.name = name;
+            this.phase = phase;
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.successful = successful;
+        }
+
+        public long durationMs() {
+            return endMs - startMs;
+        }
+
+        @Override
+        public String toString() {
+            return name + " [" + phase + "] " + startMs + "-" + endMs + "ms"
+                    + (successful ? "" : " (failed)");
+        }
+    }
+
+    /**
+     * Supplies a monotonic time in milliseconds; replaceable in tests.
+     */
+    interface Clock {
+        long now();
+    }
+
+    private static final class DeferredStep {
+        final String name;
+        final Step<?> step;
+
+        DeferredStep(String name, Step<?> step) {
+            this.name = name;
+            this.step = step;
+        }
+    }
+
+    private static StartupOrchestrator instance;
+
+    private final Clock clock;
+    private final List<Span> trace = new ArrayList<>();
+    private final List<DeferredStep> deferred = new ArrayList<>();
+    private long origin;
+    private boolean firstFrameDrawn = false;
+    private int criticalRunning = 0;
+    private TaskCompletionSource<Void> criticalDone = new TaskCompletionSource<>();
+
+    /**
+     * Returns the process-wide orchestrator, shared by the splash screen and
+     * {@link MainActivity}.
+     */
+    public static synchronized StartupOrchestrator getInstance() {
+        if (instance == null) {
+            instance = new StartupOrchestrator(SystemClock::elapsedRealtime);
+        }
+        return instance;
+    }
+
+    StartupOrchestrator(Clock clock) {
+        this.clock = clock;
+        this.origin = clock.now();
+    }
+
+    /**
+     * Starts a new start-up run: clears the trace, drops deferred steps that
+     * never ran and waits for a new first frame.
+     */
+    public synchronized void begin() {
+        origin = clock.now();
+        trace.clear();
+        deferred.clear();
+        firstFrameDrawn = false;
+        criticalRunning = 0;
+        criticalDone = new TaskCompletionSource<>();
+    }
+
+    /**
+     * Starts a step the first screen depends on.
+     *
+     * @return the step's task
+     */
+    public <T> Task<T> critical(String name, Step<T> step) {
+        synchronized (this) {
+            if (criticalRunning == 0 && criticalDone.getTask().isComplete()) {
+                criticalDone = new TaskCompletionSource<>();
+            }
+            criticalRunning++;
+        }
+        Task<T> task = run(name, PHASE_CRITICAL, step);
+        task.addOnCompleteListener(Runnable::run, t -> {
+            TaskCompletionSource<Void> done = null;
+            synchronized (this) {
+                criticalRunning--;
+                if (criticalRunning == 0) done = criticalDone;
+            }
+            if (done != null) done.trySetResult(null);
+        });
+        return task;
+    }
+
+    /**
+     * Starts a step that runs alongside the critical ones but is not waited for.
+     *
+     * @return the step's task
+     */
+    public <T> Task<T> background(String name, Step<T> step) {
+        return run(name, PHASE_BACKGROUND, step);
+    }
+
+    /**
+     * Queues a step until the first frame of {@link MainActivity}; runs it
+     * right away if that frame was already drawn.
+     */
+    public void deferUntilFirstFrame(String name, Step<?> step) {
+        synchronized (this) {
+            if (!firstFrameDrawn) {
+                deferred.add(new DeferredStep(name, step));
+                return;
+            }
+        }
+        run(name, PHASE_DEFERRED, step);
+    }
+
+    /**
+     * Completes once every critical step started so far has finished,
+     * successfully or not. Completes immediately if none are running.
+     */
+    public synchronized Task<Void> criticalStepsDone() {
+        if (criticalRunning == 0) {
+            return Tasks.forResult(null);
+        }
+        return criticalDone.getTask();
+    }
+
+    /**
+     * Called by {@link MainActivity} once its first frame is on screen.
+     * Records the mark and starts all deferred steps. Later calls are ignored.
+     */
+    public void onFirstFrame() {
+        List<DeferredStep> toRun;
+        synchronized (this) {
+            if (firstFrameDrawn) return;
+            firstFrameDrawn = true;
+            toRun = new ArrayList<>(deferred);
+            deferred.clear();
+        }
+        mark(MARK_FIRST_FRAME);
+        for (DeferredStep d : toRun) {
+            run(d.name, PHASE_DEFERRED, d.step);
+        }
+    }
+
+    /**
+     * Records an instant in the trace (e.g. when the app routed).
+     */
+    public synchronized void mark(String name) {
+        long at = clock.now() - origin;
+        trace.add(new Span(name, PHASE_MARK, at, at, true));
+    }
+
+    /**
+     * Returns the steps and marks recorded so far, in completion order.
+     */
+    public synchronized List<Span> getTrace() {
+        return Collections.unmodifiableList(new ArrayList<>(trace));
+    }
+
+    /**
+     * Returns the recorded span with the given name, or {@code null}.
+     */
+    public synchronized Span findSpan(String name) {
+        for (Span span : trace) {
+            if (span.name.equals(name)) return span;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the trace as one line per span, for debug logging.
+     */
+    public synchronized String describeTrace() {
+        StringBuilder out = new StringBuilder();
+        for (Span span : trace) {
+            if (out.length() > 0) out.append('\n');
+            out.append(span);
+        }
+        return out.toString();
+    }
+
+    private <T> Task<T> run(String name, String phase, Step<T> step) {
+        long start;
+        synchronized (this) {
+            start = clock.now() - origin;
+        }
+
+        Task<T> task;
+        try {
+            task = step.start();
+        } catch (RuntimeException e) {
+            task = Tasks.forException(e);
+        }
+
+        task.addOnCompleteListener(Runnable::run, t -> {
+            synchronized (this) {
+                trace.add(new Span(name, phase, start, clock.now() - origin, t.isSuccessful()));
+            }
+        });
+        return task;
+    }
+}
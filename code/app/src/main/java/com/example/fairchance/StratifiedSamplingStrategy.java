@@ -0,0 +1,159 @@
+package com.example.fairchance;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Draws {@code k} entrants split across strata (e.g. regions) by quota. Each
+ * stratum keeps its own A-Res reservoir of up to {@code k} entrants, so weights
+ * are still honoured within a stratum. Once every entrant has been offered, seats
+ * are allocated to strata with the largest-remainder method, either in proportion
+ * to how many entrants each stratum has or to explicit shares. Seats a stratum
+ * cannot fill go to the best remaining entrants from any stratum.
+ */
+public class StratifiedSamplingStrategy implements SamplingStrategy {
+
+    /** Identifies this strategy in persisted draw records. */
+    public static final String ALGORITHM = "splitmix64-a-res-stratified-largest-remainder-v1";
+
+    /** Stratum of entrants without a location. */
+    public static final String UNKNOWN_REGION = "unknown";
+
+    /** Size of a region cell in degrees of latitude and longitude (about 111 km). */
+    static final double REGION_CELL_DEGREES = 1.0;
+
+    private final int k;
+    private final LotteryEngine.SplitMix64 rng;
+    private final Map<String, Double> shares;
+    private final Map<String, ReservoirSampler> reservoirs = new TreeMap<>();
+    private final Map<String, Long> counts = new HashMap<>();
+
+    /**
+     * Creates a strategy with quotas proportional to each stratum's entrant count.
+     */
+    public StratifiedSamplingStrategy(long seed, int k) {
+        this(seed, k, null);
+    }
+
+    /**
+     * Creates a strategy with explicit quotas.
+     *
+     * @param seed   seed of the draw
+     * @param k      number of entrants to draw
+     * @param shares relative share of seats per stratum; strata not listed only
+     *               receive seats that other strata cannot fill. {@code null}
+     *               means proportional to entrant counts.
+     */
+    public StratifiedSamplingStrategy(long seed, int k, Map<String, Double> shares) {
+        this.k = k;
+        this.rng = new LotteryEngine.SplitMix64(seed);
+        this.shares = shares;
+    }
+
+    /**
+     * Returns the region key for a location: the one-degree grid cell it falls in,
+     * or {@link #UNKNOWN_REGION} when there is no location.
+     */
+    public static String regionKey(Double lat, Double lng) {
+        if (lat == null || lng == null) {
+            return UNKNOWN_REGION;
+        }
+        long row = (long) Math.floor(lat / REGION_CELL_DEGREES);
+        long col = (long) Math.floor(lng / REGION_CELL_DEGREES);
+        return row + ":" + col;
+    }
+
+    @Override
+    public void offer(Entrant entrant) {
+        if (!(entrant.weight > 0)) return;
+        String stratum = entrant.stratum != null ? entrant.stratum : UNKNOWN_REGION;
+        ReservoirSampler reservoir = reservoirs.get(stratum);
+        if (reservoir == null) {
+            reservoir = new ReservoirSampler(k, rng);
+            reservoirs.put(stratum, reservoir);
+        }
+        reservoir.offer(entrant.userId, entrant.weight);
+        counts.merge(stratum, 1L, Long::sum);
+    }
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public List<String> drawn() {
+        Map<String, Double> basis = new LinkedHashMap<>();
+        for (String stratum : reservoirs.keySet()) {
+            double share = shares != null
+                    ? shares.getOrDefault(stratum, 0.0)
+                    : counts.get(stratum);
+            basis.put(stratum, share);
+        }
+        Map<String, Integer> quotas = allocate(k, basis);
+
+        List<ReservoirSampler.Keyed> chosen = new ArrayList<>();
+        List<ReservoirSampler.Keyed> leftovers = new ArrayList<>();
+        for (Map.Entry<String, ReservoirSampler> entry : reservoirs.entrySet()) {
+            List<ReservoirSampler.Keyed> sample = entry.getValue().sample();
+            int quota = Math.min(quotas.getOrDefault(entry.getKey(), 0), sample.size());
+            chosen.addAll(sample.subList(0, quota));
+            leftovers.addAll(sample.subList(quota, sample.size()));
+        }
+
+        int unfilled = k - chosen.size();
+        if (unfilled > 0 && !leftovers.isEmpty()) {
+            Collections.sort(leftovers, Collections.reverseOrder());
+            chosen.addAll(leftovers.subList(0, Math.min(unfilled, leftovers.size())));
+        }
+
+        Collections.sort(chosen, Collections.reverseOrder());
+        List<String> ids = new ArrayList<>();
+        for (ReservoirSampler.Keyed item : chosen) {
+            ids.add(item.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Splits {@code seats} across strata in proportion to {@code basis} using the
+     * largest-remainder method; ties go to the stratum whose key sorts first.
+     */
+    static Map<String, Integer> allocate(int seats, Map<String, Double> basis) {
+        Map<String, Integer> quotas = new LinkedHashMap<>();
+        double total = 0;
+        for (double value : basis.values()) {
+            total += Math.max(0, value);
+        }
+        if (total <= 0 || seats <= 0) {
+            for (String stratum : basis.keySet()) quotas.put(stratum, 0);
+            return quotas;
+        }
+
+        List<Map.Entry<String, Double>> remainders = new ArrayList<>();
+        int assigned = 0;
+        for (Map.Entry<String, Double> entry : basis.entrySet()) {
+            double exact = seats * Math.max(0, entry.getValue()) / total;
+            int floor = (int) Math.floor(exact);
+            quotas.put(entry.getKey(), floor);
+            assigned += floor;
+            remainders.add(new AbstractMap.SimpleEntry<>(entry.getKey(), exact - floor));
+        }
+
+        remainders.sort((a, b) -> {
+            int byRemainder = Double.compare(b.getValue(), a.getValue());
+            return byRemainder != 0 ? byRemainder : a.getKey().compareTo(b.getKey());
+        });
+        for (int i = 0; assigned < seats && i < remainders.size(); i++, assigned++) {
+            String stratum = remainders.get(i).getKey();
+            quotas.put(stratum, quotas.get(stratum) + 1);
+        }
+        return quotas;
+    }
+}
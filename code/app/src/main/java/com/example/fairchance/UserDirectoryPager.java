@@ -0,0 +1,126 @@
+package com.example.fairchance;
+
+import com.example.fairchance.models.AdminUserItem;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.List;
+
+/**
+ * Drives the paged admin user directory for one role. Keeps the query cursor,
+ * loads one page at a time as the list scrolls, and restarts from the first
+ * page when the search text changes. Results of a page requested before the
+ * last {@link #search} are dropped, so fast typing never mixes two queries.
+ * <p>
+ * Must be used from the main thread.
+ */
+public class UserDirectoryPager {
+
+    /** Number of user documents read per page. */
+    public static final int PAGE_SIZE = 50;
+
+    /**
+     * Loads one page of users; implemented by {@link AuthRepository#fetchUserPage}.
+     */
+    interface PageSource {
+        void fetchUserPage(String role, String namePrefix, DocumentSnapshot startAfter,
+                           int limit, AuthRepository.UserPageCallback callback);
+    }
+
+    /**
+     * Receives loaded pages.
+     */
+    public interface Listener {
+        /**
+         * @param users     users on the new page
+         * @param firstPage {@code true} if the list should be replaced rather than extended
+         */
+        void onPageLoaded(List<AdminUserItem> users, boolean firstPage);
+
+        void onError(String message);
+    }
+
+    private final PageSource source;
+    private final String role;
+    private final int pageSize;
+    private final Listener listener;
+
+    private String query = "";
+    private DocumentSnapshot cursor;
+    private boolean hasMore = true;
+    private boolean loading = false;
+    private boolean firstPagePending = true;
+    private int generation = 0;
+
+    /**
+     * @param repository repository used to read pages
+     * @param role       role to list, or {@code null} for every role
+     * @param listener   receives pages and errors
+     */
+    public UserDirectoryPager(AuthRepository repository, String role, Listener listener) {
+        this(repository::fetchUserPage, role, PAGE_SIZE, listener);
+    }
+
+    UserDirectoryPager(PageSource source, String role, int pageSize, Listener listener) {
+        this.source = source;
+        this.role = role;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Restarts the directory for a new search text and loads its first page.
+     * Does nothing if the normalized text has not changed and a page was
+     * already requested.
+     *
+     * @param text name prefix typed by the admin
+     */
+    public void search(String text) {
+        String normalized = AuthRepository.nameSearchKey(text);
+        if (normalized.equals(query) && (loading || !firstPagePending)) return;
+
+        query = normalized;
+        cursor = null;
+        hasMore = true;
+        loading = false;
+        firstPagePending = true;
+        generation++;
+        loadNextPage();
+    }
+
+    /**
+     * Loads the next page unless one is already loading or the end was reached.
+     */
+    public void loadNextPage() {
+        if (loading || !hasMore) return;
+        loading = true;
+
+        int requested = generation;
+        source.fetchUserPage(role, query, cursor, pageSize, new AuthRepository.UserPageCallback() {
+            @Override
+            public void onSuccess(List<AdminUserItem> users, DocumentSnapshot lastDocument, boolean more) {
+                if (requested != generation) return;
+                loading = false;
+                boolean first = firstPagePending;
+                firstPagePending = false;
+                if (lastDocument != null) cursor = lastDocument;
+                hasMore = more;
+                listener.onPageLoaded(users, first);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (requested != generation) return;
+                loading = false;
+                listener.onError(message);
+            }
+        });
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+}
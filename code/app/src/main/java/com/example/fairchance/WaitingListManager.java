@@ -1,43 +1,67 @@
 package com.example.fairchance;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * Simple manager for handling an event's waiting list in memory.
  * Supports adding/removing users and selecting a replacement.
+ * <p>
+ * Users are kept in an insertion-ordered hash index that maps each ID to its
+ * slot in an array-backed list. Membership checks, joins and leaves are O(1):
+ * leaving moves the last slot into the freed one (swap-remove), so random draws
+ * can pick a slot directly instead of walking the list.
  */
 public class WaitingListManager {
 
-    private final List<String> waitingList;
+    /** Random picks tried before a draw with exclusions falls back to a scan. */
+    private static final int RANDOM_DRAW_ATTEMPTS = 32;
+
+    private final LinkedHashMap<String, Integer> slotById = new LinkedHashMap<>();
+    private final ArrayList<String> slots = new ArrayList<>();
 
     /**
      * Creates an empty waiting list.
      */
     public WaitingListManager() {
-        this.waitingList = new ArrayList<>();
     }
 
     /**
      * Creates a waiting list initialized with existing user IDs.
      */
     public WaitingListManager(List<String> initialList) {
-        this.waitingList = new ArrayList<>(initialList);
+        for (String userId : initialList) {
+            join(userId);
+        }
     }
 
     /**
-     * Returns the current waiting list.
+     * Returns the current waiting list in the order users joined.
+     * The returned list is a read-only snapshot.
      */
     public List<String> getWaitingList() {
-        return waitingList;
+        return Collections.unmodifiableList(new ArrayList<>(slotById.keySet()));
+    }
+
+    /**
+     * Returns whether the user is on the waiting list.
+     */
+    public boolean contains(String userId) {
+        return slotById.containsKey(userId);
     }
 
     /**
      * Adds a user if they are not already on the waiting list.
      */
     public void join(String userId) {
-        if (!waitingList.contains(userId)) {
-            waitingList.add(userId);
+        if (!slotById.containsKey(userId)) {
+            slotById.put(userId, slots.size());
+            slots.add(userId);
         }
     }
 
@@ -45,14 +69,23 @@ public class WaitingListManager {
      * Removes a user from the waiting list.
      */
     public void leave(String userId) {
-        waitingList.remove(userId);
+        Integer slot = slotById.remove(userId);
+        if (slot == null) return;
+
+        int last = slots.size() - 1;
+        if (slot != last) {
+            String moved = slots.get(last);
+            slots.set(slot, moved);
+            slotById.put(moved, slot);
+        }
+        slots.remove(last);
     }
 
     /**
      * Returns how many users are currently on the waiting list.
      */
     public int count() {
-        return waitingList.size();
+        return slots.size();
     }
 
     /**
@@ -60,11 +93,53 @@ public class WaitingListManager {
      * or null if no such replacement exists.
      */
     public String drawReplacement(List<String> alreadySelected) {
-        for (String id : waitingList) {
+        return drawReplacement(new HashSet<>(alreadySelected));
+    }
+
+    /**
+     * Returns the earliest-joined user who is not in {@code alreadySelected},
+     * or null if there is none. Each check is a hash lookup.
+     */
+    public String drawReplacement(Set<String> alreadySelected) {
+        for (String id : slotById.keySet()) {
             if (!alreadySelected.contains(id)) {
                 return id;
             }
         }
         return null;
     }
+
+    /**
+     * Returns a uniformly random user who is not in {@code excluded}, or null if
+     * there is none. Expected O(1) while most of the list is eligible; falls back
+     * to a scan after a few excluded picks.
+     */
+    public String drawRandom(Set<String> excluded, Random random) {
+        if (slots.isEmpty()) return null;
+
+        for (int i = 0; i < RANDOM_DRAW_ATTEMPTS; i++) {
+            String candidate = slots.get(random.nextInt(slots.size()));
+            if (!excluded.contains(candidate)) {
+                return candidate;
+            }
+        }
+
+        List<String> eligible = new ArrayList<>();
+        for (String id : slots) {
+            if (!excluded.contains(id)) {
+                eligible.add(id);
+            }
+        }
+        return eligible.isEmpty() ? null : eligible.get(random.nextInt(eligible.size()));
+    }
+
+    /**
+     * Removes and returns a uniformly random user in O(1), or null if the list is empty.
+     */
+    public String drawAndRemove(Random random) {
+        if (slots.isEmpty()) return null;
+        String drawn = slots.get(random.nextInt(slots.size()));
+        leave(drawn);
+        return drawn;
+    }
 }
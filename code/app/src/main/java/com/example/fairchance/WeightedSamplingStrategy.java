@@ -0,0 +1,52 @@
+package com.example.fairchance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws {@code k} entrants with probability proportional to their weight, using
+ * A-Res weighted reservoir sampling. Used to give entrants who lost earlier draws
+ * a better chance in the next one.
+ */
+public class WeightedSamplingStrategy implements SamplingStrategy {
+
+    /** Identifies this strategy in persisted draw records. */
+    public static final String ALGORITHM = "splitmix64-a-res-v1";
+
+    private final ReservoirSampler reservoir;
+
+    /**
+     * @param seed seed of the draw; the same seed and offers give the same result
+     * @param k    number of entrants to draw
+     */
+    public WeightedSamplingStrategy(long seed, int k) {
+        this.reservoir = new ReservoirSampler(k, new LotteryEngine.SplitMix64(seed));
+    }
+
+    /**
+     * Weight for an entrant who has lost {@code lostDraws} earlier draws:
+     * one chance, plus one more for every draw lost.
+     */
+    public static double weightForLostDraws(long lostDraws) {
+        return 1.0 + Math.max(0, lostDraws);
+    }
+
+    @Override
+    public void offer(Entrant entrant) {
+        reservoir.offer(entrant.userId, entrant.weight);
+    }
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public List<String> drawn() {
+        List<String> ids = new ArrayList<>();
+        for (ReservoirSampler.Keyed item : reservoir.sample()) {
+            ids.add(item.id);
+        }
+        return ids;
+    }
+}
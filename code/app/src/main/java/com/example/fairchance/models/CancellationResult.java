@@ -0,0 +1,47 @@
+package com.example.fairchance.models;
+
+/**
+ * Summary of a bulk cancellation of pending entrants (US 02.06.04).
+ * Counts entrants that were cancelled by this run, entrants that had already
+ * been cancelled before it, and entrants whose writes failed.
+ */
+public class CancellationResult {
+
+    private final int cancelled;
+    private final int alreadyCancelled;
+    private final int failed;
+
+    public CancellationResult(int cancelled, int alreadyCancelled, int failed) {
+        this.cancelled = cancelled;
+        this.alreadyCancelled = alreadyCancelled;
+        this.failed = failed;
+    }
+
+    public int getCancelled() {
+        return cancelled;
+    }
+
+    public int getAlreadyCancelled() {
+        return alreadyCancelled;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns a copy of this result with another page's counts added.
+     */
+    public CancellationResult plus(int moreCancelled, int moreAlreadyCancelled, int moreFailed) {
+        return new CancellationResult(cancelled + moreCancelled,
+                alreadyCancelled + moreAlreadyCancelled,
+                failed + moreFailed);
+    }
+
+    /**
+     * Returns {@code true} if every pending entrant was cancelled.
+     */
+    public boolean isComplete() {
+        return failed == 0;
+    }
+}
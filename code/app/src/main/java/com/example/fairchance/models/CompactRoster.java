@@ -0,0 +1,244 @@
+package com.example.fairchance.models;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memory-compact, read-only copy of one of an event's entrant rosters
+ * ({@code waitingList}, {@code selected} or {@code cancelled}).
+ * <p>
+ * Entrants are stored column by column: user IDs as {@link UserIdDictionary}
+ * codes, timestamps as epoch milliseconds in a {@code long[]}, locations as
+ * packed {@code float} latitude/longitude pairs ({@code NaN} when missing) and
+ * the status and flags as one-byte codes. The columns take 22 bytes per
+ * entrant; on top of that the dictionary holds each distinct user ID once, at
+ * roughly 60 bytes of map and list bookkeeping plus the string itself. That
+ * comes to about 150 bytes per entrant instead of a document snapshot with its
+ * field map, so a 100k-entrant roster needs around 15 megabytes.
+ */
+public final class CompactRoster {
+
+    public static final byte STATUS_WAITING = 0;
+    public static final byte STATUS_PENDING = 1;
+    public static final byte STATUS_ACCEPTED = 2;
+    public static final byte STATUS_DECLINED = 3;
+    public static final byte STATUS_CANCELLED = 4;
+    public static final byte STATUS_OTHER = 5;
+
+    /** Set on cancelled selections that already had a replacement drawn. */
+    public static final byte FLAG_REPLACEMENT_DRAWN = 1;
+
+    private static final CompactRoster EMPTY = new Builder(new UserIdDictionary(), 0).build();
+
+    private final UserIdDictionary dictionary;
+    private final int size;
+    private final int[] userCodes;
+    private final long[] timestamps;
+    private final float[] coordinates;
+    private final byte[] statuses;
+    private final byte[] flags;
+
+    private CompactRoster(Builder builder) {
+        this.dictionary = builder.dictionary;
+        this.size = builder.size;
+        this.userCodes = Arrays.copyOf(builder.userCodes, size);
+        this.timestamps = Arrays.copyOf(builder.timestamps, size);
+        this.coordinates = Arrays.copyOf(builder.coordinates, size * 2);
+        this.statuses = Arrays.copyOf(builder.statuses, size);
+        this.flags = Arrays.copyOf(builder.flags, size);
+    }
+
+    /**
+     * Returns a roster with no entrants.
+     */
+    public static CompactRoster empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Decodes roster documents into a compact roster.
+     *
+     * @param docs           documents of a roster subcollection; IDs are user IDs
+     * @param dictionary     encodes the user IDs; reuse one per roster listener
+     * @param timestampField field holding the entrant's time on this roster
+     *                       ({@code joinedAt}, {@code sampledAt} or {@code cancelledAt})
+     * @param defaultStatus  status for documents without a {@code status} field
+     */
+    public static CompactRoster fromDocuments(List<? extends DocumentSnapshot> docs,
+                                              UserIdDictionary dictionary,
+                                              String timestampField,
+                                              byte defaultStatus) {
+        Builder builder = new Builder(dictionary, docs.size());
+        for (DocumentSnapshot doc : docs) {
+            Timestamp time = doc.getTimestamp(timestampField);
+            GeoPoint location = doc.getGeoPoint("location");
+            String status = doc.getString("status");
+            boolean replacementDrawn = Boolean.TRUE.equals(doc.getBoolean("replacementDrawn"));
+            builder.add(doc.getId(),
+                    time != null ? time.toDate().getTime() : 0L,
+                    location != null ? location.getLatitude() : null,
+                    location != null ? location.getLongitude() : null,
+                    status != null ? statusCode(status) : defaultStatus,
+                    replacementDrawn ? FLAG_REPLACEMENT_DRAWN : 0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Maps a Firestore roster status string to its byte code.
+     */
+    public static byte statusCode(String status) {
+        switch (status) {
+            case "waiting":
+                return STATUS_WAITING;
+            case "pending":
+                return STATUS_PENDING;
+            case "accepted":
+                return STATUS_ACCEPTED;
+            case "declined":
+                return STATUS_DECLINED;
+            case "cancelled":
+                return STATUS_CANCELLED;
+            default:
+                return STATUS_OTHER;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String userIdAt(int index) {
+        return dictionary.decode(userCodes[checkIndex(index)]);
+    }
+
+    /**
+     * Returns the entrant's roster timestamp in epoch milliseconds, or 0 if unknown.
+     */
+    public long timestampAt(int index) {
+        return timestamps[checkIndex(index)];
+    }
+
+    public boolean hasLocation(int index) {
+        return !Float.isNaN(coordinates[checkIndex(index) * 2]);
+    }
+
+    public double latitudeAt(int index) {
+        return coordinates[checkIndex(index) * 2];
+    }
+
+    public double longitudeAt(int index) {
+        return coordinates[checkIndex(index) * 2 + 1];
+    }
+
+    public byte statusAt(int index) {
+        return statuses[checkIndex(index)];
+    }
+
+    public boolean hasFlag(int index, byte flag) {
+        return (flags[checkIndex(index)] & flag) != 0;
+    }
+
+    /**
+     * Returns how many entrants have the given status.
+     */
+    public int countWithStatus(byte status) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == status) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a read-only list view of the user IDs in roster order. The view
+     * decodes on access and does not copy the roster.
+     */
+    public List<String> userIds() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return userIdAt(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Accumulates entrants into growable primitive arrays.
+     */
+    public static final class Builder {
+        private final UserIdDictionary dictionary;
+        private int size;
+        private int[] userCodes;
+        private long[] timestamps;
+        private float[] coordinates;
+        private byte[] statuses;
+        private byte[] flags;
+
+        public Builder(UserIdDictionary dictionary, int expectedSize) {
+            int capacity = Math.max(expectedSize, 8);
+            this.dictionary = dictionary;
+            this.userCodes = new int[capacity];
+            this.timestamps = new long[capacity];
+            this.coordinates = new float[capacity * 2];
+            this.statuses = new byte[capacity];
+            this.flags = new byte[capacity];
+        }
+
+        /**
+         * Appends an entrant; {@code lat}/{@code lng} may be {@code null} when unknown.
+         */
+        public Builder add(String userId, long timestampMillis, Double lat, Double lng, byte status) {
+            return add(userId, timestampMillis, lat, lng, status, (byte) 0);
+        }
+
+        /**
+         * Appends an entrant with a bit set of {@code FLAG_*} values.
+         */
+        public Builder add(String userId, long timestampMillis, Double lat, Double lng,
+                           byte status, byte entrantFlags) {
+            if (size == userCodes.length) {
+                int capacity = size * 2;
+                userCodes = Arrays.copyOf(userCodes, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                coordinates = Arrays.copyOf(coordinates, capacity * 2);
+                statuses = Arrays.copyOf(statuses, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+            boolean located = lat != null && lng != null;
+            userCodes[size] = dictionary.encode(userId);
+            timestamps[size] = timestampMillis;
+            coordinates[size * 2] = located ? lat.floatValue() : Float.NaN;
+            coordinates[size * 2 + 1] = located ? lng.floatValue() : Float.NaN;
+            statuses[size] = status;
+            flags[size] = entrantFlags;
+            size++;
+            return this;
+        }
+
+        public CompactRoster build() {
+            return new CompactRoster(this);
+        }
+    }
+}
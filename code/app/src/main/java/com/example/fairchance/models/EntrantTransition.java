@@ -0,0 +1,51 @@
+package com.example.fairchance.models;
+
+import java.util.Date;
+
+/**
+ * One step of an entrant through an event's rosters, e.g. from
+ * {@code waiting} to {@code pending} in a draw, as recorded in the event's
+ * transition log and in the user's timeline.
+ */
+public class EntrantTransition {
+
+    private final String from;
+    private final String to;
+    private final String reason;
+    private final Date at;
+
+    public EntrantTransition(String from, String to, String reason, Date at) {
+        this.from = from;
+        this.to = to;
+        this.reason = reason;
+        this.at = at;
+    }
+
+    /**
+     * Returns the status before the step; {@code "none"} when the user joined.
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the status after the step; {@code "none"} when the user left.
+     */
+    public String getTo() {
+        return to;
+    }
+
+    /**
+     * Returns why the step happened, e.g. {@code "draw"} or {@code "organizer_timeout"}.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Returns when the step was committed; {@code null} until the server has set it.
+     */
+    public Date getAt() {
+        return at;
+    }
+}
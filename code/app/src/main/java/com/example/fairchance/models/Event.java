@@ -12,6 +12,13 @@ import java.util.Date;
  */
 public class Event {
 
+    /** Every entrant has the same chance (the default). */
+    public static final String DRAW_MODE_UNIFORM = "uniform";
+    /** Entrants who lost earlier draws get proportionally more chances. */
+    public static final String DRAW_MODE_WEIGHTED = "weighted";
+    /** Seats are split across regions in proportion to each region's entrants. */
+    public static final String DRAW_MODE_STRATIFIED = "stratified";
+
     private String organizerId;
     private String name;
     private String description;
@@ -27,9 +34,18 @@ public class Event {
     private String category;
     private String location;
 
-    @Exclude
+    /** Denormalized copy of the organizer's display name, kept in sync by a Cloud Function. */
     private String organizerName;
 
+    /** How the lottery picks entrants; one of the {@code DRAW_MODE_*} constants, uniform if unset. */
+    private String drawMode;
+
+    /**
+     * Whether entrants are kept in one {@code entrants} subcollection with a
+     * status field instead of separate roster subcollections (see {@code EntrantRoster}).
+     */
+    private boolean unifiedRoster;
+
     @Exclude
     private String eventId;
 
@@ -151,7 +167,6 @@ public class Event {
         this.location = location;
     }
 
-    @Exclude
     public String getOrganizerName() {
         return organizerName;
     }
@@ -160,6 +175,22 @@ public class Event {
         this.organizerName = organizerName;
     }
 
+    public String getDrawMode() {
+        return drawMode;
+    }
+
+    public void setDrawMode(String drawMode) {
+        this.drawMode = drawMode;
+    }
+
+    public boolean isUnifiedRoster() {
+        return unifiedRoster;
+    }
+
+    public void setUnifiedRoster(boolean unifiedRoster) {
+        this.unifiedRoster = unifiedRoster;
+    }
+
     @Exclude
     public String getEventId() {
         return eventId;
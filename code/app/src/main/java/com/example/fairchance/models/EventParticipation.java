@@ -0,0 +1,50 @@
+package com.example.fairchance.models;
+
+import java.util.Date;
+
+/**
+ * One roster entry of a user on one event, as found by
+ * {@code EventRepository.getUserParticipation}. A user can appear on several
+ * rosters of the same event (e.g. {@code selected} and {@code confirmedAttendees}).
+ */
+public class EventParticipation {
+
+    private final String eventId;
+    private final String roster;
+    private final String status;
+    private final Date since;
+
+    public EventParticipation(String eventId, String roster, String status, Date since) {
+        this.eventId = eventId;
+        this.roster = roster;
+        this.status = status;
+        this.since = since;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Returns the roster subcollection, e.g. {@code waitingList} or {@code selected}.
+     */
+    public String getRoster() {
+        return roster;
+    }
+
+    /**
+     * Returns the entry's {@code status} field, or {@code null} for rosters
+     * that do not store one.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns when the user joined, was sampled, cancelled or confirmed,
+     * depending on the roster; {@code null} if unknown.
+     */
+    public Date getSince() {
+        return since;
+    }
+}
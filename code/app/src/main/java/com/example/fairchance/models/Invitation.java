@@ -1,6 +1,7 @@
 package com.example.fairchance.models;
 
 import java.util.Date;
+import java.util.Objects;
 
 /**
  * Represents a specific event invitation status for a user.
@@ -47,4 +48,16 @@ public class Invitation {
     public void setEventId(String eventId) {
         this.eventId = eventId;
     }
+
+    /**
+     * Returns whether {@code other} would display the same as this invitation,
+     * so a list update can leave its row untouched.
+     */
+    public boolean hasSameContent(Invitation other) {
+        return other != null
+                && Objects.equals(eventId, other.eventId)
+                && Objects.equals(eventName, other.eventName)
+                && Objects.equals(eventDate, other.eventDate)
+                && Objects.equals(status, other.status);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.fairchance.models;
 
+import com.google.firebase.firestore.Exclude;
+
 import java.util.Date;
 import java.util.List;
 
@@ -8,12 +10,15 @@ import java.util.List;
  * Maps to the "notificationLogs" collection in Firestore.
  * Used for auditing purposes to track communication between organizers and entrants,
  * including message content, recipients, and timestamps.
+ * Recipient IDs are not stored on the log document itself; they live in the
+ * "notificationLogs/{id}/recipients" subcollection and only recipientCount is kept here.
  */
 public class NotificationLog {
 
     private String id;
     private String senderId;
     private String senderName;
+    @Exclude
     private List<String> recipientIds;
     private long recipientCount;
     private String messageType;
@@ -70,6 +75,7 @@ public class NotificationLog {
         this.senderName = senderName;
     }
 
+    @Exclude
     public List<String> getRecipientIds() {
         return recipientIds;
     }
@@ -0,0 +1,99 @@
+package com.example.fairchance.models;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Domain model for a daily per-event summary of notification logs.
+ * Maps to the "notificationLogRollups" collection in Firestore, which the
+ * retention job fills as it removes logs older than the retention window.
+ */
+public class NotificationLogRollup {
+
+    private String id;
+    private String eventId;
+    private String eventName;
+    private String day;
+    private Date dayStart;
+    private long logCount;
+    private long recipientCount;
+    private Map<String, Long> countsByMessageType = new HashMap<>();
+
+    public NotificationLogRollup() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public Date getDayStart() {
+        return dayStart;
+    }
+
+    public void setDayStart(Date dayStart) {
+        this.dayStart = dayStart;
+    }
+
+    public long getLogCount() {
+        return logCount;
+    }
+
+    public void setLogCount(long logCount) {
+        this.logCount = logCount;
+    }
+
+    public long getRecipientCount() {
+        return recipientCount;
+    }
+
+    public void setRecipientCount(long recipientCount) {
+        this.recipientCount = recipientCount;
+    }
+
+    public Map<String, Long> getCountsByMessageType() {
+        return countsByMessageType;
+    }
+
+    public void setCountsByMessageType(Map<String, Long> countsByMessageType) {
+        this.countsByMessageType = countsByMessageType != null
+                ? countsByMessageType
+                : new HashMap<>();
+    }
+
+    /**
+     * Returns how many logs of the given message type were rolled into this summary.
+     */
+    public long getCountForType(String messageType) {
+        Long count = countsByMessageType.get(messageType);
+        return count != null ? count : 0;
+    }
+}
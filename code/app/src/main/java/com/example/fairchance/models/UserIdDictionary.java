@@ -0,0 +1,50 @@
+package com.example.fairchance.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary that assigns each user ID a small integer code. Rosters store
+ * codes instead of strings, so successive snapshots of one roster share a
+ * single string instance per user.
+ * <p>
+ * Codes are never reclaimed, so a dictionary only grows; scope each one to a
+ * single roster listener and let it go with that listener.
+ */
+public final class UserIdDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+
+    public UserIdDictionary() {
+    }
+
+    /**
+     * Returns the code for a user ID, assigning the next free code on first use.
+     */
+    public synchronized int encode(String userId) {
+        Integer code = codes.get(userId);
+        if (code == null) {
+            code = ids.size();
+            codes.put(userId, code);
+            ids.add(userId);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the user ID for a code produced by {@link #encode}.
+     */
+    public synchronized String decode(int code) {
+        return ids.get(code);
+    }
+
+    /**
+     * Returns how many distinct user IDs have been encoded.
+     */
+    public synchronized int size() {
+        return ids.size();
+    }
+}
@@ -133,13 +133,17 @@ public class EventDetailsActivity extends AppCompatActivity {
      */
     private void loadEventDetails() {
         setLoading(true);
-        eventRepository.getEvent(currentEventId, new EventRepository.EventCallback() {
+        eventRepository.getEventCacheFirst(currentEventId, new EventRepository.EventCallback() {
             @Override
             public void onSuccess(Event event) {
+                // Called again if the server copy differs from the cached one
+                boolean firstLoad = currentEvent == null;
                 currentEvent = event;
                 populateUi(event);
-                loadWaitlistCount();
-                checkUserStatus();
+                if (firstLoad) {
+                    loadWaitlistCount();
+                    checkUserStatus();
+                }
             }
 
             @Override
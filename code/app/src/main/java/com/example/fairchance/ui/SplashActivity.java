@@ -15,6 +15,10 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.fairchance.MainActivity;
 import com.example.fairchance.R;
 import com.example.fairchance.AuthRepository;
+import com.example.fairchance.StartupOrchestrator;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.messaging.FirebaseMessaging;
 
@@ -22,13 +26,21 @@ import com.google.firebase.messaging.FirebaseMessaging;
  * The main entry point (launcher) activity for the app.
  * It displays a splash screen, checks the user's current authentication state,
  * and routes them to the appropriate activity (MainActivity or RoleSelectionActivity).
- * It also handles requesting notification permissions and saving the FCM token.
+ * Signed-in users are routed from their cached role without waiting for Firestore.
+ * Start-up steps run through {@link StartupOrchestrator}: independent work runs
+ * concurrently and the FCM token upload waits for MainActivity's first frame.
  */
 public class SplashActivity extends AppCompatActivity {
 
     private static final long SPLASH_SCREEN_DELAY = 1500L;
     private static final String TAG = "SplashActivity";
+    private static final String STEP_ROLE = "role";
+    private static final String STEP_FCM_TOKEN = "fcmToken";
+    private static final String STEP_FCM_TOKEN_UPLOAD = "fcmTokenUpload";
+    private static final String MARK_ROUTED = "routed";
+
     private AuthRepository authRepository;
+    private StartupOrchestrator startup;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -36,19 +48,79 @@ public class SplashActivity extends AppCompatActivity {
         setContentView(R.layout.activity_splash);
 
         authRepository = new AuthRepository();
+        startup = StartupOrchestrator.getInstance();
+        startup.begin();
+
+        FirebaseUser currentUser = authRepository.getCurrentUser();
+        if (currentUser != null) {
+            // MainActivity asks for the notification permission once it is on screen
+            startSignedInPipeline();
+        } else {
+            requestNotificationPermission();
+            new Handler().postDelayed(this::goToRoleSelection, SPLASH_SCREEN_DELAY);
+        }
+    }
+
+    /**
+     * Starts the signed-in start-up steps together instead of one after another:
+     * <ul>
+     *     <li>{@code role} (critical): routing waits only for this.</li>
+     *     <li>{@code fcmToken} (background): fetched in parallel with the role.</li>
+     *     <li>{@code fcmTokenUpload} (deferred): written once MainActivity has drawn
+     *     its first frame, so the upload does not compete with the first screen.</li>
+     * </ul>
+     */
+    private void startSignedInPipeline() {
+        AuthRepository repository = authRepository;
+
+        Task<String> token = startup.background(STEP_FCM_TOKEN,
+                () -> FirebaseMessaging.getInstance().getToken());
+        startup.deferUntilFirstFrame(STEP_FCM_TOKEN_UPLOAD,
+                () -> token.onSuccessTask(Runnable::run, repository::saveFcmToken));
+
+        // Not activity-scoped: a scoped listener is dropped in onStop, which would
+        // leave the splash stuck if the user backgrounds the app mid-lookup
+        startup.critical(STEP_ROLE, this::resolveRole)
+                .addOnCompleteListener(task -> {
+                    if (!task.isSuccessful()) {
+                        Log.w(TAG, "Could not resolve role, signing out", task.getException());
+                        authRepository.signOut();
+                    }
+                    if (isFinishing() || isDestroyed()) return;
+                    if (task.isSuccessful()) {
+                        startup.mark(MARK_ROUTED);
+                        goToMainApp();
+                    } else {
+                        goToRoleSelection();
+                    }
+                });
+    }
 
-        requestNotificationPermission();
+    /**
+     * Resolves the signed-in user's role. A role cached on the device
+     * completes immediately, and {@link MainActivity} re-checks it in the
+     * background; otherwise this waits for one read of the user document,
+     * which fills the cache.
+     */
+    private Task<String> resolveRole() {
+        String cached = authRepository.getCachedUserRole();
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
 
-        new Handler().postDelayed(() -> {
-            FirebaseUser currentUser = authRepository.getCurrentUser();
-            if (currentUser != null) {
+        TaskCompletionSource<String> source = new TaskCompletionSource<>();
+        authRepository.getUserRole(new AuthRepository.RoleCallback() {
+            @Override
+            public void onRoleFetched(String role) {
+                source.trySetResult(role);
+            }
 
-                getAndSaveFcmToken();
-                goToMainApp();
-            } else {
-                goToRoleSelection();
+            @Override
+            public void onError(String message) {
+                source.trySetException(new Exception(message));
             }
-        }, SPLASH_SCREEN_DELAY);
+        });
+        return source.getTask();
     }
 
     /**
@@ -67,23 +139,6 @@ public class SplashActivity extends AppCompatActivity {
         }
     }
 
-    /**
-     * Gets the current FCM registration token and saves it to the user's profile in Firestore.
-     * This ensures the user can receive targeted push notifications.
-     */
-    private void getAndSaveFcmToken() {
-        FirebaseMessaging.getInstance().getToken()
-                .addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        Log.w(TAG, "Fetching FCM registration token failed", task.getException());
-                        return;
-                    }
-                    String token = task.getResult();
-                    Log.d(TAG, "FCM Token: " + token);
-                    authRepository.saveFcmToken(token);
-                });
-    }
-
     /**
      * Navigates to the MainActivity.
      */
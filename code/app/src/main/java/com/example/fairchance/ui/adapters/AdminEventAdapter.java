@@ -20,13 +20,10 @@ import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
 import com.example.fairchance.models.Event;
 import com.example.fairchance.ui.fragments.EventDetailsFragment;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for the Admin Event Management interface.
@@ -38,10 +35,6 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
     private final List<Event> events = new ArrayList<>();
     private final EventRepository repo = new EventRepository();
 
-    // For looking up organizer names
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
-    private final Map<String, String> organizerNameCache = new HashMap<>();
-
     public void setEvents(List<Event> newEvents) {
         events.clear();
         if (newEvents != null) {
@@ -100,26 +93,31 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
                     .error(R.drawable.fairchance_logo_with_words___transparent)
                     .into(ivEventImage);
 
-            // Organizer name lookup
+            // Organizer name: denormalized on newer events, cached lookup for older ones
             String organizerId = event.getOrganizerId();
-            if (organizerId == null || organizerId.isEmpty()) {
+            tvOrganizer.setTag(organizerId);
+            if (event.getOrganizerName() != null && !event.getOrganizerName().isEmpty()) {
+                tvOrganizer.setText("Organizer: " + event.getOrganizerName());
+            } else if (organizerId == null || organizerId.isEmpty()) {
                 tvOrganizer.setText("Organizer: Unknown");
-            } else if (organizerNameCache.containsKey(organizerId)) {
-                tvOrganizer.setText("Organizer: " + organizerNameCache.get(organizerId));
             } else {
                 tvOrganizer.setText("Organizer: loading…");
-                db.collection("users").document(organizerId).get()
-                        .addOnSuccessListener((DocumentSnapshot doc) -> {
-                            String name = doc.getString("name");
-                            if (name == null || name.trim().isEmpty()) {
-                                name = organizerId; // fall back to id
-                            }
-                            organizerNameCache.put(organizerId, name);
-                            tvOrganizer.setText("Organizer: " + name);
-                        })
-                        .addOnFailureListener(e -> {
+                repo.getOrganizerName(organizerId, new EventRepository.OrganizerNameCallback() {
+                    @Override
+                    public void onSuccess(String organizerName) {
+                        // Skip if this holder was rebound to another event meanwhile
+                        if (organizerId.equals(tvOrganizer.getTag())) {
+                            tvOrganizer.setText("Organizer: " + organizerName);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        if (organizerId.equals(tvOrganizer.getTag())) {
                             tvOrganizer.setText("Organizer: " + organizerId);
-                        });
+                        }
+                    }
+                });
             }
 
             View.OnClickListener openDetails = v -> {
@@ -136,19 +134,40 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
             btnViewDetails.setOnClickListener(openDetails);
             itemView.setOnClickListener(openDetails);
 
+            btnRemoveEvent.setEnabled(true);
+            btnRemoveEvent.setText("Remove");
             btnRemoveEvent.setOnClickListener(v -> {
                 new AlertDialog.Builder(ctx)
                         .setTitle("Remove Event")
                         .setMessage("Are you sure you want to remove this event and its associated data?")
                         .setPositiveButton("Remove", (dialog, which) -> {
+                            btnRemoveEvent.setEnabled(false);
+                            btnRemoveEvent.setText("Removing…");
+
+                            // Large events take a while server-side; show which phase is running
+                            ListenerRegistration progress = repo.listenToEventDeletionProgress(
+                                    event.getEventId(), new EventRepository.DeletionProgressCallback() {
+                                        @Override
+                                        public void onProgress(String phase, long entrantCount, long historyDeleted) {
+                                            btnRemoveEvent.setText("Removing… (" + phase + ")");
+                                        }
+
+                                        @Override
+                                        public void onError(String message) { }
+                                    });
+
                             repo.deleteEvent(event.getEventId(), new EventRepository.EventTaskCallback() {
                                 @Override
                                 public void onSuccess() {
+                                    progress.remove();
                                     Toast.makeText(ctx, "Event removed.", Toast.LENGTH_SHORT).show();
                                 }
 
                                 @Override
                                 public void onError(String message) {
+                                    progress.remove();
+                                    btnRemoveEvent.setEnabled(true);
+                                    btnRemoveEvent.setText("Remove");
                                     Toast.makeText(ctx, "Error: " + message, Toast.LENGTH_LONG).show();
                                 }
                             });
@@ -18,9 +18,10 @@ import java.util.List;
 import java.util.Locale;
 
 /**
- * Adapter for the Admin interface to browse and filter user profiles.
- * Supports searching by name, email, or role, enabling the Admin to find
- * and remove profiles as per US 03.05.01 and US 03.02.01.
+ * Adapter for the Admin interface to browse user profiles.
+ * Rows arrive page by page from the user directory (searched by name on the
+ * server), enabling the Admin to find and remove profiles as per US 03.05.01
+ * and US 03.02.01.
  */
 public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.UserViewHolder> {
 
@@ -28,8 +29,7 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.User
         void onUserClick(AdminUserItem user);
     }
 
-    private final List<AdminUserItem> fullList = new ArrayList<>();
-    private final List<AdminUserItem> filteredList = new ArrayList<>();
+    private final List<AdminUserItem> users = new ArrayList<>();
     private final OnUserClickListener listener;
     private final SimpleDateFormat dateFormat =
             new SimpleDateFormat("MMM d, yyyy", Locale.getDefault());
@@ -38,31 +38,25 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.User
         this.listener = listener;
     }
 
-    public void submitList(List<AdminUserItem> users) {
-        fullList.clear();
-        filteredList.clear();
-        if (users != null) {
-            fullList.addAll(users);
-            filteredList.addAll(users);
+    /**
+     * Replaces the list, e.g. with the first page of a new search.
+     */
+    public void submitList(List<AdminUserItem> newUsers) {
+        users.clear();
+        if (newUsers != null) {
+            users.addAll(newUsers);
         }
         notifyDataSetChanged();
     }
 
-    public void filter(String query) {
-        filteredList.clear();
-        if (query == null || query.trim().isEmpty()) {
-            filteredList.addAll(fullList);
-        } else {
-            String lower = query.toLowerCase(Locale.getDefault());
-            for (AdminUserItem u : fullList) {
-                if (u.getName().toLowerCase(Locale.getDefault()).contains(lower)
-                        || u.getEmail().toLowerCase(Locale.getDefault()).contains(lower)
-                        || u.getRole().toLowerCase(Locale.getDefault()).contains(lower)) {
-                    filteredList.add(u);
-                }
-            }
-        }
-        notifyDataSetChanged();
+    /**
+     * Appends the next page of the directory without rebinding existing rows.
+     */
+    public void appendUsers(List<AdminUserItem> page) {
+        if (page == null || page.isEmpty()) return;
+        int start = users.size();
+        users.addAll(page);
+        notifyItemRangeInserted(start, page.size());
     }
 
     @NonNull
@@ -75,12 +69,12 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.User
 
     @Override
     public void onBindViewHolder(@NonNull UserViewHolder holder, int position) {
-        holder.bind(filteredList.get(position));
+        holder.bind(users.get(position));
     }
 
     @Override
     public int getItemCount() {
-        return filteredList.size();
+        return users.size();
     }
 
     class UserViewHolder extends RecyclerView.ViewHolder {
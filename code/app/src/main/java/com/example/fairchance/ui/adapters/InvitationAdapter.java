@@ -14,6 +14,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.EventRepository;
@@ -21,19 +22,27 @@ import com.example.fairchance.R;
 import com.example.fairchance.models.Invitation;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Adapter for displaying pending invitations where the user has been selected.
  * Handles the logic for Entrants to "Accept" (US 01.05.02) or "Decline" (US 01.05.03)
  * an invitation to an event.
+ * <p>
+ * The list is fed by a live query through {@link #submitList(List)}, which
+ * only rebinds rows whose invitation actually changed.
  */
 public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.InvitationViewHolder> {
 
     private List<Invitation> invitationList;
     private EventRepository eventRepository;
     private Context context;
+    /** Invitations answered here that the live query may not have dropped yet. */
+    private final Set<String> answeredIds = new HashSet<>();
 
     public InvitationAdapter(Context context, List<Invitation> invitationList, EventRepository eventRepository) {
         this.context = context;
@@ -41,6 +50,54 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
         this.eventRepository = eventRepository;
     }
 
+    /**
+     * Replaces the shown invitations with {@code invitations}, dispatching
+     * only the inserts, removals, moves and changes between the two lists.
+     * Invitations the user has just answered stay hidden until the server
+     * stops listing them.
+     *
+     * @param invitations the current pending invitations, in display order
+     */
+    public void submitList(List<Invitation> invitations) {
+        Set<String> listedIds = new HashSet<>();
+        List<Invitation> newList = new ArrayList<>();
+        for (Invitation invitation : invitations) {
+            listedIds.add(invitation.getEventId());
+            if (!answeredIds.contains(invitation.getEventId())) {
+                newList.add(invitation);
+            }
+        }
+        answeredIds.retainAll(listedIds);
+
+        List<Invitation> oldList = new ArrayList<>(invitationList);
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                String oldId = oldList.get(oldPosition).getEventId();
+                return oldId != null && oldId.equals(newList.get(newPosition).getEventId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return oldList.get(oldPosition).hasSameContent(newList.get(newPosition));
+            }
+        });
+
+        invitationList.clear();
+        invitationList.addAll(newList);
+        diff.dispatchUpdatesTo(this);
+    }
+
     @NonNull
     @Override
     public InvitationViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -51,7 +108,7 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
     @Override
     public void onBindViewHolder(@NonNull InvitationViewHolder holder, int position) {
         Invitation item = invitationList.get(position);
-        holder.bind(item, position);
+        holder.bind(item);
     }
 
     @Override
@@ -76,7 +133,7 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             progressBar = itemView.findViewById(R.id.action_progress_bar);
         }
 
-        void bind(Invitation item, int position) {
+        void bind(Invitation item) {
             tvEventTitle.setText(item.getEventName());
             tvStatus.setText("You've been selected!");
 
@@ -87,13 +144,13 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
                 tvEventDateTime.setText("Date not set");
             }
 
-            btnAccept.setOnClickListener(v -> handleResponse(item, position, true));
+            btnAccept.setOnClickListener(v -> handleResponse(item, true));
 
             // CHANGED: Show confirmation dialog instead of declining immediately
-            btnDecline.setOnClickListener(v -> showDeclineConfirmationDialog(item, position));
+            btnDecline.setOnClickListener(v -> showDeclineConfirmationDialog(item));
         }
 
-        private void showDeclineConfirmationDialog(Invitation item, int position) {
+        private void showDeclineConfirmationDialog(Invitation item) {
             AlertDialog.Builder builder = new AlertDialog.Builder(context);
             LayoutInflater inflater = LayoutInflater.from(context);
             View dialogView = inflater.inflate(R.layout.dialog_confirm_action, null);
@@ -117,7 +174,7 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             btnConfirm.setBackgroundColor(Color.RED);
 
             btnConfirm.setOnClickListener(v -> {
-                handleResponse(item, position, false);
+                handleResponse(item, false);
                 dialog.dismiss();
             });
 
@@ -126,7 +183,7 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             dialog.show();
         }
 
-        private void handleResponse(Invitation item, int position, boolean accepted) {
+        private void handleResponse(Invitation item, boolean accepted) {
             setLoading(true);
 
             eventRepository.respondToInvitation(item.getEventId(), accepted, new EventRepository.EventTaskCallback() {
@@ -135,9 +192,13 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
                     setLoading(false);
                     Toast.makeText(context, accepted ? "Invitation Accepted!" : "Invitation Declined.", Toast.LENGTH_SHORT).show();
 
-                    invitationList.remove(position);
-                    notifyItemRemoved(position);
-                    notifyItemRangeChanged(position, invitationList.size());
+                    // Rows may have moved since binding; look the item up again
+                    answeredIds.add(item.getEventId());
+                    int position = invitationList.indexOf(item);
+                    if (position >= 0) {
+                        invitationList.remove(position);
+                        notifyItemRemoved(position);
+                    }
                 }
 
                 @Override
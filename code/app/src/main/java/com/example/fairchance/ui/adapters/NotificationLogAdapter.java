@@ -26,8 +26,21 @@ public class NotificationLogAdapter extends RecyclerView.Adapter<NotificationLog
         void onLogClick(NotificationLog log);
     }
 
+    /**
+     * Notified when the list is scrolled close to its end and another page should be fetched.
+     */
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
+    /** Start loading the next page when this many items are left below the bound item. */
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     private final List<NotificationLog> logs = new ArrayList<>();
     private final OnLogClickListener listener;
+    private OnLoadMoreListener loadMoreListener;
+    private boolean hasMore = false;
+    private boolean loading = false;
     private final DateFormat dateFormat = DateFormat.getDateTimeInstance(
             DateFormat.MEDIUM, DateFormat.SHORT
     );
@@ -42,6 +55,28 @@ public class NotificationLogAdapter extends RecyclerView.Adapter<NotificationLog
         notifyDataSetChanged();
     }
 
+    /**
+     * Appends the next page of logs to the end of the list.
+     */
+    public void appendLogs(List<NotificationLog> moreLogs) {
+        if (moreLogs == null || moreLogs.isEmpty()) return;
+        int start = logs.size();
+        logs.addAll(moreLogs);
+        notifyItemRangeInserted(start, moreLogs.size());
+    }
+
+    public void setOnLoadMoreListener(OnLoadMoreListener loadMoreListener) {
+        this.loadMoreListener = loadMoreListener;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public void setLoading(boolean loading) {
+        this.loading = loading;
+    }
+
     @NonNull
     @Override
     public LogViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -72,6 +107,12 @@ public class NotificationLogAdapter extends RecyclerView.Adapter<NotificationLog
         holder.itemView.setOnClickListener(v -> {
             if (listener != null) listener.onLogClick(log);
         });
+
+        if (loadMoreListener != null && hasMore && !loading
+                && position >= logs.size() - LOAD_MORE_THRESHOLD) {
+            loading = true;
+            holder.itemView.post(loadMoreListener::onLoadMore);
+        }
     }
 
     @Override
@@ -0,0 +1,91 @@
+package com.example.fairchance.ui.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.fairchance.R;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter for the recipient IDs of a single notification log.
+ * Recipients are appended page by page as the admin scrolls (US 03.08.01).
+ */
+public class RecipientIdAdapter extends RecyclerView.Adapter<RecipientIdAdapter.RecipientViewHolder> {
+
+    /**
+     * Notified when the list is scrolled close to its end and another page should be fetched.
+     */
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
+    /** Start loading the next page when this many items are left below the bound item. */
+    private static final int LOAD_MORE_THRESHOLD = 10;
+
+    private final List<String> recipientIds = new ArrayList<>();
+    private final OnLoadMoreListener loadMoreListener;
+    private boolean hasMore = false;
+    private boolean loading = false;
+
+    public RecipientIdAdapter(OnLoadMoreListener loadMoreListener) {
+        this.loadMoreListener = loadMoreListener;
+    }
+
+    /**
+     * Appends the next page of recipient IDs to the end of the list.
+     */
+    public void appendRecipients(List<String> moreIds) {
+        if (moreIds == null || moreIds.isEmpty()) return;
+        int start = recipientIds.size();
+        recipientIds.addAll(moreIds);
+        notifyItemRangeInserted(start, moreIds.size());
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public void setLoading(boolean loading) {
+        this.loading = loading;
+    }
+
+    @NonNull
+    @Override
+    public RecipientViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View v = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_recipient, parent, false);
+        return new RecipientViewHolder(v);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecipientViewHolder holder, int position) {
+        holder.tvRecipientId.setText("- " + recipientIds.get(position));
+
+        if (loadMoreListener != null && hasMore && !loading
+                && position >= recipientIds.size() - LOAD_MORE_THRESHOLD) {
+            loading = true;
+            holder.itemView.post(loadMoreListener::onLoadMore);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return recipientIds.size();
+    }
+
+    static class RecipientViewHolder extends RecyclerView.ViewHolder {
+        TextView tvRecipientId;
+
+        public RecipientViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvRecipientId = itemView.findViewById(R.id.tvRecipientId);
+        }
+    }
+}
@@ -28,7 +28,7 @@ public class SelectedParticipantAdapter
         void onParticipantButtonClick(String entrantId);
     }
 
-    private final List<String> participantIds;
+    private List<String> participantIds;
     private String eventName;
     private String buttonText = "";
     private final OnParticipantButtonClickListener listener;
@@ -45,6 +45,14 @@ public class SelectedParticipantAdapter
         this.listener = listener;
     }
 
+    /**
+     * Replaces the listed entrants, e.g. with a freshly loaded roster.
+     */
+    public void setParticipantIds(List<String> participantIds) {
+        this.participantIds = participantIds;
+        notifyDataSetChanged();
+    }
+
     public void setEventName(String eventName) {
         this.eventName = eventName;
         notifyDataSetChanged();
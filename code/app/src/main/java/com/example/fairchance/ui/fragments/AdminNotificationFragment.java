@@ -22,9 +22,9 @@ import com.example.fairchance.R;
 import com.example.fairchance.SimpleTextWatcher;
 import com.example.fairchance.models.NotificationLog;
 import com.example.fairchance.ui.adapters.NotificationLogAdapter;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.text.DateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -32,6 +32,7 @@ import java.util.List;
 /**
  * Fragment that displays the administrative log of all notifications sent within the system.
  * Allows the Admin to filter logs by date range and event name to audit communication.
+ * The name filter matches the start of the event name, case-insensitively.
  *
  * Implements User Story:
  * - US 03.08.01 (Review logs of all notifications sent to entrants)
@@ -42,13 +43,18 @@ public class AdminNotificationFragment extends Fragment
     private NotificationLogRepository logRepository;
     private NotificationLogAdapter adapter;
 
-    private final List<NotificationLog> allLogs = new ArrayList<>();
+    private DocumentSnapshot lastVisible = null;
+    private int loadGeneration = 0;
 
     private TextView tvStartDate, tvEndDate, tvEmptyState;
     private EditText etFilterEvent;
     private Date startDateFilter = null;
     private Date endDateFilter = null;
 
+    /** Pause after the last keystroke before the event filter is applied. */
+    private static final long FILTER_DEBOUNCE_MS = 300L;
+    private final Runnable filterRunnable = this::reloadLogs;
+
     private final DateFormat dateFormat =
             DateFormat.getDateInstance(DateFormat.MEDIUM);
 
@@ -98,6 +104,7 @@ public class AdminNotificationFragment extends Fragment
         RecyclerView rvLogs = view.findViewById(R.id.rvNotificationLogs);
         rvLogs.setLayoutManager(new LinearLayoutManager(requireContext()));
         adapter = new NotificationLogAdapter(this);
+        adapter.setOnLoadMoreListener(this::loadNextPage);
         rvLogs.setAdapter(adapter);
 
         tvEmptyState = view.findViewById(R.id.tvEmptyState);
@@ -116,29 +123,71 @@ public class AdminNotificationFragment extends Fragment
             tvStartDate.setText("Start date");
             tvEndDate.setText("End date");
             etFilterEvent.setText("");
-            applyFilters();
+            etFilterEvent.removeCallbacks(filterRunnable);
+            reloadLogs();
         });
 
-        etFilterEvent.addTextChangedListener(new SimpleTextWatcher(this::applyFilters));
+        etFilterEvent.addTextChangedListener(new SimpleTextWatcher(() -> {
+            etFilterEvent.removeCallbacks(filterRunnable);
+            etFilterEvent.postDelayed(filterRunnable, FILTER_DEBOUNCE_MS);
+        }));
+
+        reloadLogs();
+    }
+
+    /**
+     * Stops a pending debounced filter reload when the view goes away.
+     */
+    @Override
+    public void onDestroyView() {
+        if (etFilterEvent != null) {
+            etFilterEvent.removeCallbacks(filterRunnable);
+        }
+        super.onDestroyView();
+    }
 
-        loadLogs();
+    /**
+     * Clears the current list and fetches the first page of notification logs
+     * matching the selected date range and event name.
+     */
+    private void reloadLogs() {
+        loadGeneration++;
+        lastVisible = null;
+        adapter.setLogs(null);
+        adapter.setHasMore(false);
+        loadNextPage();
     }
 
     /**
-     * Fetches all notification logs from the repository asynchronously.
-     * On success, populates the local list and applies any existing filters.
+     * Fetches the next page of notification logs from the repository asynchronously
+     * and appends it to the list. Results of a superseded filter are ignored.
      */
-    private void loadLogs() {
-        logRepository.fetchAllLogs(new NotificationLogRepository.LogListCallback() {
+    private void loadNextPage() {
+        final int generation = loadGeneration;
+        String eventName = etFilterEvent.getText() != null
+                ? etFilterEvent.getText().toString().trim()
+                : "";
+
+        adapter.setLoading(true);
+        logRepository.fetchLogsFiltered(startDateFilter, endDateFilter, eventName, lastVisible,
+                NotificationLogRepository.DEFAULT_PAGE_SIZE,
+                new NotificationLogRepository.LogPageCallback() {
             @Override
-            public void onSuccess(List<NotificationLog> logs) {
-                allLogs.clear();
-                allLogs.addAll(logs);
-                applyFilters();
+            public void onSuccess(List<NotificationLog> logs, DocumentSnapshot last, boolean hasMore) {
+                if (generation != loadGeneration || getView() == null) return;
+                if (last != null) {
+                    lastVisible = last;
+                }
+                adapter.appendLogs(logs);
+                adapter.setHasMore(hasMore);
+                adapter.setLoading(false);
+                tvEmptyState.setVisibility(adapter.getItemCount() == 0 ? View.VISIBLE : View.GONE);
             }
 
             @Override
             public void onError(String message) {
+                if (generation != loadGeneration) return;
+                adapter.setLoading(false);
                 if (getContext() != null) {
                     Toast.makeText(getContext(),
                             "Failed to load logs: " + message,
@@ -169,7 +218,7 @@ public class AdminNotificationFragment extends Fragment
                         endDateFilter = calendar.getTime();
                         tvEndDate.setText(dateFormat.format(chosen));
                     }
-                    applyFilters();
+                    reloadLogs();
                 },
                 calendar.get(Calendar.YEAR),
                 calendar.get(Calendar.MONTH),
@@ -179,41 +228,6 @@ public class AdminNotificationFragment extends Fragment
         dialog.show();
     }
 
-    /**
-     * Filters the local list of logs based on the selected date range and event name query.
-     * Updates the adapter with the filtered results.
-     */
-    private void applyFilters() {
-        String eventQuery = etFilterEvent.getText() != null
-                ? etFilterEvent.getText().toString().trim().toLowerCase()
-                : "";
-
-        List<NotificationLog> filtered = new ArrayList<>();
-        for (NotificationLog log : allLogs) {
-            Date ts = log.getTimestamp();
-            if (startDateFilter != null && (ts == null || ts.before(startDateFilter))) {
-                continue;
-            }
-            if (endDateFilter != null && (ts == null || ts.after(endDateFilter))) {
-                continue;
-            }
-
-            if (!eventQuery.isEmpty()) {
-                String eventName = log.getEventName() != null
-                        ? log.getEventName().toLowerCase()
-                        : "";
-                if (!eventName.contains(eventQuery)) {
-                    continue;
-                }
-            }
-
-            filtered.add(log);
-        }
-
-        adapter.setLogs(filtered);
-        tvEmptyState.setVisibility(filtered.isEmpty() ? View.VISIBLE : View.GONE);
-    }
-
     /**
      * Callback method when a notification log item is clicked.
      * Opens the detailed view of that log entry.
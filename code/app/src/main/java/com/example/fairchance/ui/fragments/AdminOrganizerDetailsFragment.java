@@ -16,10 +16,8 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
 import com.example.fairchance.AuthRepository;
-import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
 import com.google.firebase.Timestamp;
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
@@ -59,7 +57,6 @@ public class AdminOrganizerDetailsFragment extends Fragment {
     private ProgressBar progressBar;
 
     private AuthRepository authRepository;
-    private EventRepository eventRepository;
 
     /**
      * Inflates the organizer details layout.
@@ -96,7 +93,6 @@ public class AdminOrganizerDetailsFragment extends Fragment {
         }
 
         authRepository = new AuthRepository();
-        eventRepository = new EventRepository();
 
         tvName = view.findViewById(R.id.tvDetailName);
         tvEmail = view.findViewById(R.id.tvDetailEmail);
@@ -199,40 +195,14 @@ public class AdminOrganizerDetailsFragment extends Fragment {
     private void performRemoval(String reason) {
         progressBar.setVisibility(View.VISIBLE);
 
-        String adminId = FirebaseAuth.getInstance().getCurrentUser() != null
-                ? FirebaseAuth.getInstance().getCurrentUser().getUid()
-                : "unknown";
-
         authRepository.deactivateOrganizer(organizerId, reason, new AuthRepository.TaskCallback() {
             @Override
             public void onSuccess() {
-
-                eventRepository.deactivateEventsByOrganizer(
-                        organizerId,
-                        adminId,
-                        reason,
-                        new EventRepository.EventTaskCallback() {
-
-                            @Override
-                            public void onSuccess() {
-                                progressBar.setVisibility(View.GONE);
-                                Toast.makeText(requireContext(),
-                                        "Organizer and their events deactivated.",
-                                        Toast.LENGTH_LONG).show();
-                                requireActivity().getOnBackPressedDispatcher().onBackPressed();
-                            }
-
-                            @Override
-                            public void onError(String message) {
-                                progressBar.setVisibility(View.GONE);
-                                Toast.makeText(requireContext(),
-                                        "Organizer removed but failed to deactivate some events: "
-                                                + message,
-                                        Toast.LENGTH_LONG).show();
-                                requireActivity().getOnBackPressedDispatcher().onBackPressed();
-                            }
-                        }
-                );
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(requireContext(),
+                        "Organizer and their events deactivated.",
+                        Toast.LENGTH_LONG).show();
+                requireActivity().getOnBackPressedDispatcher().onBackPressed();
             }
 
             @Override
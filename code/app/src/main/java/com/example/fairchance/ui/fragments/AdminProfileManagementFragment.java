@@ -18,13 +18,12 @@ import androidx.fragment.app.FragmentTransaction;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.fairchance.AuthRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.UserDirectoryPager;
 import com.example.fairchance.models.AdminUserItem;
 import com.example.fairchance.ui.adapters.AdminUserAdapter;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,8 +39,16 @@ public class AdminProfileManagementFragment extends Fragment
     private TextView tvEmpty;
     private EditText etSearch;
 
+    /** Pause after the last keystroke before a search query is sent. */
+    private static final long SEARCH_DEBOUNCE_MS = 300L;
+
+    /** Rows left below the viewport when the next page is requested. */
+    private static final int PREFETCH_DISTANCE = 10;
+
     private AdminUserAdapter adapter;
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private UserDirectoryPager pager;
+    private final Runnable searchRunnable = () ->
+            pager.search(etSearch.getText() != null ? etSearch.getText().toString() : "");
 
     /**
      * Inflates the layout for profile management.
@@ -81,75 +88,92 @@ public class AdminProfileManagementFragment extends Fragment
                     requireActivity().getOnBackPressedDispatcher().onBackPressed());
         }
 
-        rvUsers.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        rvUsers.setLayoutManager(layoutManager);
         adapter = new AdminUserAdapter(this);
         rvUsers.setAdapter(adapter);
 
+        pager = new UserDirectoryPager(new AuthRepository(), "organizer", new UserDirectoryPager.Listener() {
+            @Override
+            public void onPageLoaded(List<AdminUserItem> users, boolean firstPage) {
+                onUsersPage(users, firstPage);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (getView() == null) return;
+                setLoading(false);
+                if (adapter.getItemCount() == 0) {
+                    tvEmpty.setVisibility(View.VISIBLE);
+                    rvUsers.setVisibility(View.GONE);
+                }
+                if (getContext() == null) return;
+                Toast.makeText(requireContext(),
+                        "Error loading users: " + message,
+                        Toast.LENGTH_LONG).show();
+            }
+        });
+
+        rvUsers.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    pager.loadNextPage();
+                }
+            }
+        });
+
         etSearch.addTextChangedListener(new TextWatcher() {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override public void onTextChanged(CharSequence s, int start, int before, int count) {
-                adapter.filter(s.toString());
+                etSearch.removeCallbacks(searchRunnable);
+                etSearch.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
             }
             @Override public void afterTextChanged(Editable s) {}
         });
 
-        loadUsers();
+        setLoading(true);
+        pager.search("");
     }
 
     /**
-     * Fetches the list of all users from Firestore.
-     * filters data locally to exclude deactivated accounts, and updates the adapter.
+     * Stops a pending debounced search when the view goes away.
      */
-    private void loadUsers() {
-        setLoading(true);
-        db.collection("users")
-                .get()
-                .addOnSuccessListener(query -> {
-                    setLoading(false);
-                    List<AdminUserItem> list = new ArrayList<>();
-                    for (DocumentSnapshot doc : query) {
-                        String id = doc.getId();
-                        String name = doc.getString("name");
-                        String email = doc.getString("email");
-                        String role = doc.getString("role");
-
-                        if (role == null || !role.equalsIgnoreCase("organizer")) {
-                            continue;
-                        }
-
-                        Boolean isActive = doc.getBoolean("isActive");
-                        Boolean roleActive = doc.getBoolean("roleActive");
-                        if (isActive != null && !isActive) {
-                            continue;
-                        }
-                        if (roleActive != null && !roleActive) {
-                            continue;
-                        }
-
-                        com.google.firebase.Timestamp createdAt =
-                                doc.getTimestamp("timeCreated");
-
-                        list.add(new AdminUserItem(id, name, email, role, createdAt));
-                    }
-
-                    if (list.isEmpty()) {
-                        tvEmpty.setVisibility(View.VISIBLE);
-                        rvUsers.setVisibility(View.GONE);
-                    } else {
-                        tvEmpty.setVisibility(View.GONE);
-                        rvUsers.setVisibility(View.VISIBLE);
-                    }
-
-                    adapter.submitList(list);
-                })
-                .addOnFailureListener(e -> {
-                    setLoading(false);
-                    tvEmpty.setVisibility(View.VISIBLE);
-                    rvUsers.setVisibility(View.GONE);
-                    Toast.makeText(requireContext(),
-                            "Error loading users: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
-                });
+    @Override
+    public void onDestroyView() {
+        if (etSearch != null) {
+            etSearch.removeCallbacks(searchRunnable);
+        }
+        super.onDestroyView();
+    }
+
+    /**
+     * Shows a page of the directory: the first page of a search replaces the
+     * list, later pages are appended. Keeps loading while a page had only
+     * deactivated accounts and the list is still too short to scroll.
+     *
+     * @param users     active users on the page
+     * @param firstPage whether this is the first page of the current search
+     */
+    private void onUsersPage(List<AdminUserItem> users, boolean firstPage) {
+        if (getView() == null) return;
+        setLoading(false);
+        if (firstPage) {
+            adapter.submitList(users);
+            rvUsers.scrollToPosition(0);
+        } else {
+            adapter.appendUsers(users);
+        }
+
+        boolean empty = adapter.getItemCount() == 0;
+        tvEmpty.setVisibility(empty && !pager.hasMore() ? View.VISIBLE : View.GONE);
+        rvUsers.setVisibility(empty ? View.GONE : View.VISIBLE);
+
+        if (pager.hasMore() && adapter.getItemCount() < PREFETCH_DISTANCE) {
+            pager.loadNextPage();
+        }
     }
 
     /**
@@ -16,14 +16,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
+import com.example.fairchance.models.CompactRoster;
 import com.example.fairchance.models.Event;
 import com.example.fairchance.ui.adapters.SelectedParticipantAdapter;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.google.firebase.firestore.ListenerRegistration;
 
 /**
  * Organizer view for listing entrants who have cancelled or declined an invitation.
@@ -38,7 +36,8 @@ public class CancelledEntrantsFragment extends Fragment {
 
     private RecyclerView rvCancelledEntrants;
     private SelectedParticipantAdapter adapter;
-    private final List<String> cancelledIds = new ArrayList<>();
+    private CompactRoster cancelledRoster = CompactRoster.empty();
+    private ListenerRegistration cancelledRegistration;
 
     /**
      * Required empty public constructor for Fragment instantiation.
@@ -93,7 +92,7 @@ public class CancelledEntrantsFragment extends Fragment {
         rvCancelledEntrants.setLayoutManager(new LinearLayoutManager(getContext()));
 
         adapter = new SelectedParticipantAdapter(
-                cancelledIds,
+                cancelledRoster.userIds(),
                 "",
                 "",
                 false,
@@ -109,7 +108,6 @@ public class CancelledEntrantsFragment extends Fragment {
             Toast.makeText(getContext(), "Missing event id.", Toast.LENGTH_SHORT).show();
         } else {
             loadEventMeta();
-            loadCancelledEntrants();
         }
 
         Button btnNotify = view.findViewById(R.id.btnNotifyCancelledEntrants);
@@ -154,28 +152,49 @@ public class CancelledEntrantsFragment extends Fragment {
     }
 
     /**
-     * Fetches the list of user IDs from the 'cancelled' sub-collection in Firestore.
+     * Starts listening to the cancelled roster while the fragment is visible.
+     */
+    @Override
+    public void onStart() {
+        super.onStart();
+        if (eventId != null && !eventId.isEmpty()) {
+            listenToCancelledEntrants();
+        }
+    }
+
+    /**
+     * Releases the shared roster subscription.
      */
-    private void loadCancelledEntrants() {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("events")
-                .document(eventId)
-                .collection("cancelled")
-                .get()
-                .addOnSuccessListener(snapshot -> {
-                    cancelledIds.clear();
-                    for (QueryDocumentSnapshot doc : snapshot) {
-                        cancelledIds.add(doc.getId());
+    @Override
+    public void onStop() {
+        if (cancelledRegistration != null) {
+            cancelledRegistration.remove();
+            cancelledRegistration = null;
+        }
+        super.onStop();
+    }
+
+    /**
+     * Subscribes to the shared roster of the 'cancelled' sub-collection in Firestore.
+     */
+    private void listenToCancelledEntrants() {
+        cancelledRegistration = repository.listenToRoster(eventId, RosterStore.CANCELLED,
+                new RosterStore.RosterListener() {
+                    @Override
+                    public void onRoster(CompactRoster roster) {
+                        cancelledRoster = roster;
+                        adapter.setParticipantIds(cancelledRoster.userIds());
                     }
-                    adapter.notifyDataSetChanged();
-                })
-                .addOnFailureListener(e ->
+
+                    @Override
+                    public void onError(String message) {
                         Toast.makeText(
                                 getContext(),
-                                "Failed to load cancelled entrants: " + e.getMessage(),
+                                "Failed to load cancelled entrants: " + message,
                                 Toast.LENGTH_LONG
-                        ).show()
-                );
+                        ).show();
+                    }
+                });
     }
 
     /**
@@ -16,17 +16,16 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
+import com.example.fairchance.models.CancellationResult;
+import com.example.fairchance.models.CompactRoster;
 import com.example.fairchance.ui.adapters.SelectedParticipantAdapter;
 import com.google.android.gms.tasks.Task;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.functions.HttpsCallableResult;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,7 +44,8 @@ public class ChosenEntrantsFragment extends Fragment {
 
     private RecyclerView rvChosenEntrants;
     private SelectedParticipantAdapter adapter;
-    private final List<String> chosenIds = new ArrayList<>();
+    private CompactRoster chosenRoster = CompactRoster.empty();
+    private ListenerRegistration chosenRegistration;
 
     /**
      * Required empty public constructor.
@@ -108,7 +108,7 @@ public class ChosenEntrantsFragment extends Fragment {
         rvChosenEntrants.setLayoutManager(new LinearLayoutManager(getContext()));
 
         adapter = new SelectedParticipantAdapter(
-                chosenIds,
+                chosenRoster.userIds(),
                 eventName,
                 "",
                 false,
@@ -122,42 +122,62 @@ public class ChosenEntrantsFragment extends Fragment {
 
         Button btnCancelPending = view.findViewById(R.id.btnCancelPending);
         btnCancelPending.setOnClickListener(v -> onCancelPendingClicked());
+    }
+
+    /**
+     * Starts listening to the selected roster while the fragment is visible.
+     */
+    @Override
+    public void onStart() {
+        super.onStart();
+        listenToChosenEntrants();
+    }
 
-        loadChosenEntrants();
+    /**
+     * Releases the shared roster subscription.
+     */
+    @Override
+    public void onStop() {
+        if (chosenRegistration != null) {
+            chosenRegistration.remove();
+            chosenRegistration = null;
+        }
+        super.onStop();
     }
 
     /**
-     * Fetches the 'selected' sub-collection for the event.
+     * Subscribes to the shared roster of the event's 'selected' sub-collection.
+     * Status changes made from this screen arrive through the same listener.
      */
-    private void loadChosenEntrants() {
+    private void listenToChosenEntrants() {
         if (eventId == null || eventId.isEmpty()) return;
 
-        FirebaseFirestore.getInstance()
-                .collection("events")
-                .document(eventId)
-                .collection("selected")
-                .get()
-                .addOnSuccessListener(this::onChosenLoaded)
-                .addOnFailureListener(e -> {
-                    if (getContext() == null) return;
-                    Toast.makeText(getContext(),
-                            "Failed to load chosen entrants: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
+        chosenRegistration = repository.listenToRoster(eventId, RosterStore.SELECTED,
+                new RosterStore.RosterListener() {
+                    @Override
+                    public void onRoster(CompactRoster roster) {
+                        onChosenLoaded(roster);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        if (getContext() == null) return;
+                        Toast.makeText(getContext(),
+                                "Failed to load chosen entrants: " + message,
+                                Toast.LENGTH_LONG).show();
+                    }
                 });
     }
 
     /**
-     * Updates the adapter with the list of user IDs retrieved from Firestore.
+     * Updates the adapter with the list of user IDs from the roster.
      *
-     * @param snap The query snapshot containing entrant documents.
+     * @param roster The decoded 'selected' roster.
      */
-    private void onChosenLoaded(QuerySnapshot snap) {
-        chosenIds.clear();
-        for (DocumentSnapshot doc : snap.getDocuments()) {
-            chosenIds.add(doc.getId());
-        }
+    private void onChosenLoaded(CompactRoster roster) {
+        chosenRoster = roster;
         if (adapter != null) {
-            adapter.notifyDataSetChanged();
+            adapter.setParticipantIds(chosenRoster.userIds());
         }
     }
 
@@ -201,8 +221,6 @@ public class ChosenEntrantsFragment extends Fragment {
             String msg = "Notifications sent: " + sent +
                     " success, " + failed + " failed.";
             Toast.makeText(getContext(), msg, Toast.LENGTH_LONG).show();
-
-            loadChosenEntrants();
         });
 
         task.addOnFailureListener(e -> {
@@ -223,12 +241,15 @@ public class ChosenEntrantsFragment extends Fragment {
                 .setTitle("Cancel Pending Entrants")
                 .setMessage("Are you sure you want to cancel all entrants who have not yet signed up? This action moves them to the Cancelled list and cannot be undone.")
                 .setPositiveButton("Yes, Cancel All", (dialog, which) -> {
-                    repository.cancelPendingEntrants(eventId, new EventRepository.EventTaskCallback() {
+                    repository.cancelPendingEntrants(eventId, new EventRepository.CancelPendingCallback() {
                         @Override
-                        public void onSuccess() {
+                        public void onSuccess(CancellationResult result) {
                             if (getContext() == null) return;
-                            Toast.makeText(getContext(), "All pending entrants cancelled.", Toast.LENGTH_SHORT).show();
-                            loadChosenEntrants();
+                            String message = result.isComplete()
+                                    ? "Cancelled " + result.getCancelled() + " pending entrants."
+                                    : "Cancelled " + result.getCancelled() + " pending entrants; "
+                                            + result.getFailed() + " could not be cancelled. Try again.";
+                            Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
                         }
 
                         @Override
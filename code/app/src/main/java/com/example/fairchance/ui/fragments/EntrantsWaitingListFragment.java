@@ -16,13 +16,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
+import com.example.fairchance.models.CompactRoster;
 import com.example.fairchance.ui.adapters.SelectedParticipantAdapter;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.google.firebase.firestore.ListenerRegistration;
 
 /**
  * Displays the waiting list for an event.
@@ -44,7 +42,9 @@ public class EntrantsWaitingListFragment extends Fragment {
     private Button btnViewWaitingListMap;
 
     private SelectedParticipantAdapter adapter;
-    private final List<String> waitingIds = new ArrayList<>();
+    private CompactRoster waitingRoster = CompactRoster.empty();
+    private ListenerRegistration waitingListRegistration;
+    private boolean emptyNoticeShown = false;
 
     private EventRepository repository;
 
@@ -92,7 +92,7 @@ public class EntrantsWaitingListFragment extends Fragment {
 
         // Adapter shows a list of entrant IDs with NO action button
         adapter = new SelectedParticipantAdapter(
-                waitingIds,
+                waitingRoster.userIds(),
                 eventName,
                 "",
                 false,
@@ -100,8 +100,6 @@ public class EntrantsWaitingListFragment extends Fragment {
         );
         rvWaitingList.setAdapter(adapter);
 
-        loadWaitingList();
-
         // Sends a custom message to all waiting entrants
         btnSendNotification.setOnClickListener(v -> showWaitingNotificationDialog());
 
@@ -127,12 +125,27 @@ public class EntrantsWaitingListFragment extends Fragment {
         });
     }
 
+    @Override
+    public void onStart() {
+        super.onStart();
+        listenToWaitingList();
+    }
+
+    @Override
+    public void onStop() {
+        if (waitingListRegistration != null) {
+            waitingListRegistration.remove();
+            waitingListRegistration = null;
+        }
+        super.onStop();
+    }
+
     /**
-     * Loads the waiting list from Firestore:
+     * Subscribes to the shared waiting list roster:
      * events/{eventId}/waitingList
      * Each document ID = userId of an entrant.
      */
-    private void loadWaitingList() {
+    private void listenToWaitingList() {
         if (eventId == null || eventId.isEmpty()) {
             Toast.makeText(getContext(),
                     "No event id provided for waiting list.",
@@ -140,34 +153,32 @@ public class EntrantsWaitingListFragment extends Fragment {
             return;
         }
 
-        FirebaseFirestore.getInstance()
-                .collection("events")
-                .document(eventId)
-                .collection("waitingList")
-                .get()
-                .addOnSuccessListener(snapshot -> {
-                    waitingIds.clear();
-
-                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
-                        waitingIds.add(doc.getId());
-                    }
+        waitingListRegistration = repository.listenToRoster(eventId, RosterStore.WAITING_LIST,
+                new RosterStore.RosterListener() {
+                    @Override
+                    public void onRoster(CompactRoster roster) {
+                        waitingRoster = roster;
 
-                    adapter.setEventName(eventName);
-                    adapter.notifyDataSetChanged();
+                        adapter.setEventName(eventName);
+                        adapter.setParticipantIds(waitingRoster.userIds());
 
-                    if (waitingIds.isEmpty()) {
-                        Toast.makeText(getContext(),
-                                "No entrants on the waiting list yet.",
-                                Toast.LENGTH_SHORT).show();
+                        if (waitingRoster.isEmpty() && !emptyNoticeShown) {
+                            emptyNoticeShown = true;
+                            Toast.makeText(getContext(),
+                                    "No entrants on the waiting list yet.",
+                                    Toast.LENGTH_SHORT).show();
+                        }
                     }
-                })
-                .addOnFailureListener(e ->
+
+                    @Override
+                    public void onError(String message) {
                         Toast.makeText(
                                 getContext(),
-                                "Failed to load waiting list: " + e.getMessage(),
+                                "Failed to load waiting list: " + message,
                                 Toast.LENGTH_LONG
-                        ).show()
-                );
+                        ).show();
+                    }
+                });
     }
 
     /**
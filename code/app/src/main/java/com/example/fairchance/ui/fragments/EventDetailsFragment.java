@@ -262,9 +262,10 @@ public class EventDetailsFragment extends Fragment {
      * @param eventId the event ID to load
      */
     private void loadEventDetails(String eventId) {
-        repository.getEvent(eventId, new EventRepository.EventCallback() {
+        repository.getEventCacheFirst(eventId, new EventRepository.EventCallback() {
             @Override
             public void onSuccess(Event event) {
+                if (!isAdded()) return;
                 loadedEvent = event;
                 populateUI(event);
             }
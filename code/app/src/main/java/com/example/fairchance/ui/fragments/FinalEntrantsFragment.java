@@ -13,7 +13,9 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
 import com.example.fairchance.ui.adapters.SelectedParticipantAdapter;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
@@ -51,6 +53,7 @@ public class FinalEntrantsFragment extends Fragment {
     private final List<String> finalIds = new ArrayList<>();
 
     private FirebaseFirestore db;
+    private EventRepository repository;
 
     public FinalEntrantsFragment() {
         // Required empty public constructor
@@ -73,6 +76,7 @@ public class FinalEntrantsFragment extends Fragment {
         super.onCreate(savedInstanceState);
         // Single Firestore instance for this fragment
         db = FirebaseFirestore.getInstance();
+        repository = new EventRepository();
     }
 
     @Nullable
@@ -118,7 +122,7 @@ public class FinalEntrantsFragment extends Fragment {
     }
 
     /**
-     * Loads all confirmed attendees from events/{eventId}/confirmedAttendees.
+     * Loads all confirmed attendees of the event (the confirmedAttendees roster).
      * If none, keeps Export button disabled.
      */
     private void loadFinalEntrants() {
@@ -130,10 +134,7 @@ public class FinalEntrantsFragment extends Fragment {
             return;
         }
 
-        db.collection("events")
-                .document(eventId)
-                .collection("confirmedAttendees")
-                .get()
+        repository.fetchRoster(eventId, RosterStore.CONFIRMED_ATTENDEES)
                 .addOnSuccessListener(snapshot -> {
                     finalIds.clear();
                     for (DocumentSnapshot doc : snapshot.getDocuments()) {
@@ -175,10 +176,7 @@ public class FinalEntrantsFragment extends Fragment {
         }
 
         // Reload confirmedAttendees to get the latest data before export
-        db.collection("events")
-                .document(eventId)
-                .collection("confirmedAttendees")
-                .get()
+        repository.fetchRoster(eventId, RosterStore.CONFIRMED_ATTENDEES)
                 .addOnSuccessListener(this::buildCsvFromConfirmedAttendees)
                 .addOnFailureListener(e -> Toast.makeText(
                         getContext(),
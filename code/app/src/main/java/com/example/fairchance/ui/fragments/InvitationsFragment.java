@@ -19,6 +19,7 @@ import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
 import com.example.fairchance.models.Invitation;
 import com.example.fairchance.ui.adapters.InvitationAdapter;
+import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,8 @@ import java.util.List;
  * This fragment displays a list of pending event invitations for the entrant.
  * It shows events where the user's status is "Selected" (i.e., they won the lottery)
  * and allows them to "Accept" or "Decline" the invitation (US 01.05.02, 01.05.03).
+ * The list is a live query: it shows cached invitations immediately and
+ * follows new draws and responses while the tab is open.
  */
 public class InvitationsFragment extends Fragment {
 
@@ -34,8 +37,8 @@ public class InvitationsFragment extends Fragment {
 
     private RecyclerView invitationsRecyclerView;
     private InvitationAdapter invitationAdapter;
-    private List<Invitation> invitationList = new ArrayList<>();
     private EventRepository eventRepository;
+    private ListenerRegistration invitationsRegistration;
 
     private ProgressBar progressBar;
     private TextView emptyView;
@@ -59,30 +62,36 @@ public class InvitationsFragment extends Fragment {
 
 
         invitationsRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        invitationAdapter = new InvitationAdapter(getContext(), invitationList, eventRepository);
+        invitationAdapter = new InvitationAdapter(getContext(), new ArrayList<>(), eventRepository);
         invitationsRecyclerView.setAdapter(invitationAdapter);
 
-        loadInvitations();
+        listenToInvitations();
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (invitationsRegistration != null) {
+            invitationsRegistration.remove();
+            invitationsRegistration = null;
+        }
     }
 
     /**
-     * Fetches the list of pending invitations from the EventRepository
-     * (where status == "Selected") and populates the RecyclerView.
+     * Subscribes to the pending invitations in the EventRepository
+     * (where status == "Selected") and diffs each update into the RecyclerView.
+     * The first snapshot ends the loading state even if it is an empty cached
+     * one, so an offline user sees the empty view instead of a spinner; the
+     * list updates in place once the server answers.
      */
-    private void loadInvitations() {
+    private void listenToInvitations() {
         showLoading(true);
-        eventRepository.getPendingInvitations(new EventRepository.InvitationListCallback() {
+        invitationsRegistration = eventRepository.listenToPendingInvitations(new EventRepository.InvitationStreamCallback() {
             @Override
-            public void onSuccess(List<Invitation> items) {
+            public void onInvitations(List<Invitation> invitations, boolean fromCache) {
+                invitationAdapter.submitList(invitations);
                 showLoading(false);
-                if (items.isEmpty()) {
-                    showEmptyView(true);
-                } else {
-                    showEmptyView(false);
-                    invitationList.clear();
-                    invitationList.addAll(items);
-                    invitationAdapter.notifyDataSetChanged();
-                }
+                showEmptyView(invitations.isEmpty());
             }
 
             @Override
@@ -2,6 +2,8 @@ package com.example.fairchance.ui.fragments;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -17,6 +19,7 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 
 import com.example.fairchance.AuthRepository;
+import com.example.fairchance.ProfileUpdateQueue;
 import com.example.fairchance.R;
 import com.example.fairchance.models.User;
 import com.example.fairchance.ui.RoleSelectionActivity;
@@ -33,12 +36,24 @@ import java.util.Map;
  * 2. Update their notification preferences (US 01.04.03).
  * 3. Log out of the application (Organizers/Admins only).
  * 4. Delete their profile and all associated data (US 01.02.04).
+ * <p>
+ * Edits go through {@link ProfileUpdateQueue}: they show up immediately, the
+ * notification switches save as soon as they are flipped, and everything is
+ * written to Firestore in one coalesced update shortly afterwards.
  */
 public class ProfileFragment extends Fragment {
 
     private static final String TAG = "ProfileFragment";
 
+    /** How long logout waits for queued profile edits to be written. */
+    private static final long LOGOUT_FLUSH_TIMEOUT_MS = 3_000L;
+
     private AuthRepository authRepository;
+    private ProfileUpdateQueue profileQueue;
+    private String uid;
+    /** Field values as last saved (including edits not yet written), keyed like the queue. */
+    private final Map<String, Object> savedState = new HashMap<>();
+    private boolean bindingViews = false;
     private TextInputEditText etName, etEmail, etPhoneNumber, etRole;
     private Button btnSaveChanges, btnLogout, btnDeleteProfile;
     private ProgressBar progressBar;
@@ -56,6 +71,8 @@ public class ProfileFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         authRepository = new AuthRepository();
+        profileQueue = ProfileUpdateQueue.getInstance();
+        uid = authRepository.getCurrentUser() != null ? authRepository.getCurrentUser().getUid() : null;
 
         etName = view.findViewById(R.id.etName);
         etEmail = view.findViewById(R.id.etEmail);
@@ -75,6 +92,15 @@ public class ProfileFragment extends Fragment {
         btnLogout.setOnClickListener(v -> logout());
         btnSaveChanges.setOnClickListener(v -> saveChanges());
         btnDeleteProfile.setOnClickListener(v -> confirmDeleteProfile());
+        switchLotteryResults.setOnCheckedChangeListener((button, checked) -> onNotificationSwitchChanged());
+        switchOrganizerUpdates.setOnCheckedChangeListener((button, checked) -> onNotificationSwitchChanged());
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        // Leaving the screen is a natural point to stop waiting for more edits
+        if (profileQueue != null) profileQueue.flush();
     }
 
     /**
@@ -86,9 +112,22 @@ public class ProfileFragment extends Fragment {
         authRepository.getUserProfile(new AuthRepository.UserProfileCallback() {
             @Override
             public void onSuccess(User user) {
-                etName.setText(user.getName());
-                etEmail.setText(user.getEmail());
-                etPhoneNumber.setText(user.getPhone());
+                bindingViews = true;
+                savedState.clear();
+                savedState.put(ProfileUpdateQueue.FIELD_NAME, user.getName());
+                savedState.put(ProfileUpdateQueue.FIELD_EMAIL, user.getEmail());
+                savedState.put(ProfileUpdateQueue.FIELD_PHONE, user.getPhone());
+                Map<String, Boolean> prefs = user.getNotificationPreferences();
+                savedState.put(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS,
+                        prefs != null ? prefs.getOrDefault("lotteryResults", true) : true);
+                savedState.put(ProfileUpdateQueue.FIELD_ORGANIZER_UPDATES,
+                        prefs != null ? prefs.getOrDefault("organizerUpdates", true) : true);
+                // Show edits that are still on their way to Firestore
+                savedState.putAll(profileQueue.pendingFields(uid));
+
+                etName.setText((String) savedState.get(ProfileUpdateQueue.FIELD_NAME));
+                etEmail.setText((String) savedState.get(ProfileUpdateQueue.FIELD_EMAIL));
+                etPhoneNumber.setText((String) savedState.get(ProfileUpdateQueue.FIELD_PHONE));
 
                 String role = user.getRole();
                 if (role != null && !role.isEmpty()) {
@@ -117,14 +156,9 @@ public class ProfileFragment extends Fragment {
                 }
 
                 // Load switch preferences
-                if (user.getNotificationPreferences() != null) {
-                    Map<String, Boolean> prefs = user.getNotificationPreferences();
-                    switchLotteryResults.setChecked(prefs.getOrDefault("lotteryResults", true));
-                    switchOrganizerUpdates.setChecked(prefs.getOrDefault("organizerUpdates", true));
-                } else {
-                    switchLotteryResults.setChecked(true);
-                    switchOrganizerUpdates.setChecked(true);
-                }
+                switchLotteryResults.setChecked(Boolean.TRUE.equals(savedState.get(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS)));
+                switchOrganizerUpdates.setChecked(Boolean.TRUE.equals(savedState.get(ProfileUpdateQueue.FIELD_ORGANIZER_UPDATES)));
+                bindingViews = false;
 
                 setLoading(false);
             }
@@ -139,8 +173,9 @@ public class ProfileFragment extends Fragment {
     }
 
     /**
-     * Validates input fields and saves all changes (name, email, phone, notifications)
-     * to Firestore via the AuthRepository.
+     * Validates the text fields and queues the changed ones, together with any
+     * notification switch changes, in {@link ProfileUpdateQueue}. The UI does
+     * not wait for Firestore.
      */
     private void saveChanges() {
         String name = etName.getText().toString().trim();
@@ -153,47 +188,63 @@ public class ProfileFragment extends Fragment {
             return;
         }
 
+        Map<String, Object> edits = new HashMap<>();
+        edits.put(ProfileUpdateQueue.FIELD_NAME, name);
+        edits.put(ProfileUpdateQueue.FIELD_EMAIL, email);
+        edits.put(ProfileUpdateQueue.FIELD_PHONE, phone);
+        putNotificationEdits(edits);
 
-        Map<String, Object> notificationPrefs = new HashMap<>();
-        boolean lotteryResultsEnabled = switchLotteryResults.isChecked();
-        boolean organizerUpdatesEnabled = switchOrganizerUpdates.isChecked();
-
-        notificationPrefs.put("lotteryResults", lotteryResultsEnabled);
-        notificationPrefs.put("organizerUpdates", organizerUpdatesEnabled);
-
-
-        boolean notificationsGloballyEnabled = lotteryResultsEnabled || organizerUpdatesEnabled;
-
+        queueChanges(edits);
+        Toast.makeText(getContext(), "Profile updated successfully!", Toast.LENGTH_SHORT).show();
+    }
 
-        setLoading(true);
+    /**
+     * Saves notification preferences as soon as a switch is flipped.
+     */
+    private void onNotificationSwitchChanged() {
+        if (bindingViews) return;
+        Map<String, Object> edits = new HashMap<>();
+        putNotificationEdits(edits);
+        queueChanges(edits);
+    }
 
-        authRepository.updateUserProfile(name, email, phone, notificationPrefs, new AuthRepository.TaskCallback() {
-            @Override
-            public void onSuccess() {
+    /**
+     * Adds the switch states to a set of edits. Turning both switches off
+     * clears the FCM token, turning one back on stores it again.
+     */
+    private void putNotificationEdits(Map<String, Object> edits) {
+        boolean lotteryResultsEnabled = switchLotteryResults.isChecked();
+        boolean organizerUpdatesEnabled = switchOrganizerUpdates.isChecked();
+        edits.put(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS, lotteryResultsEnabled);
+        edits.put(ProfileUpdateQueue.FIELD_ORGANIZER_UPDATES, organizerUpdatesEnabled);
+
+        boolean wasEnabled = Boolean.TRUE.equals(savedState.get(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS))
+                || Boolean.TRUE.equals(savedState.get(ProfileUpdateQueue.FIELD_ORGANIZER_UPDATES));
+        boolean enabled = lotteryResultsEnabled || organizerUpdatesEnabled;
+        if (enabled != wasEnabled) {
+            edits.put(ProfileUpdateQueue.FIELD_NOTIFICATIONS_ENABLED, enabled);
+        }
+    }
 
-                authRepository.updateNotificationStatus(notificationsGloballyEnabled, new AuthRepository.TaskCallback() {
-                    @Override
-                    public void onSuccess() {
-                        setLoading(false);
-                        Toast.makeText(getContext(), "Profile updated successfully!", Toast.LENGTH_SHORT).show();
-                    }
-
-                    @Override
-                    public void onError(String message) {
-                        setLoading(false);
-                        Log.e(TAG, "Error updating notification status/token: " + message);
-                        Toast.makeText(getContext(), "Profile updated, but notification status failed: " + message, Toast.LENGTH_LONG).show();
-                    }
-                });
+    /**
+     * Queues the edits that differ from the last saved state.
+     */
+    private void queueChanges(Map<String, Object> edits) {
+        if (uid == null) {
+            Toast.makeText(getContext(), "Failed to update: No user is logged in.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Map<String, Object> changed = new HashMap<>();
+        for (Map.Entry<String, Object> edit : edits.entrySet()) {
+            Object previous = savedState.get(edit.getKey());
+            if (previous == null || !previous.equals(edit.getValue())) {
+                changed.put(edit.getKey(), edit.getValue());
             }
+        }
+        if (changed.isEmpty()) return;
 
-            @Override
-            public void onError(String message) {
-                setLoading(false);
-                Log.e(TAG, "Error updating profile: " + message);
-                Toast.makeText(getContext(), "Failed to update: " + message, Toast.LENGTH_SHORT).show();
-            }
-        });
+        savedState.putAll(changed);
+        profileQueue.enqueue(uid, changed);
     }
 
     /**
@@ -235,9 +286,33 @@ public class ProfileFragment extends Fragment {
      * Signs the user out and navigates back to the RoleSelectionActivity.
      */
     private void logout() {
-        authRepository.signOut();
-        Toast.makeText(getContext(), "Logged out.", Toast.LENGTH_SHORT).show();
-        goToRoleSelection();
+        // Queued edits can only be written while still signed in. Offline the
+        // write never completes, so give up on it after a short wait.
+        setLoading(true);
+        Handler handler = new Handler(Looper.getMainLooper());
+        boolean[] done = {false};
+        Runnable finish = () -> {
+            if (done[0]) return;
+            done[0] = true;
+            authRepository.signOut();
+            if (!isAdded()) return;
+            setLoading(false);
+            Toast.makeText(getContext(), "Logged out.", Toast.LENGTH_SHORT).show();
+            goToRoleSelection();
+        };
+        Runnable timeout = () -> {
+            Log.w(TAG, "Profile changes not written in time, dropped on logout");
+            finish.run();
+        };
+        handler.postDelayed(timeout, LOGOUT_FLUSH_TIMEOUT_MS);
+        profileQueue.flush().addOnCompleteListener(task -> {
+            if (done[0]) return;
+            handler.removeCallbacks(timeout);
+            if (!task.isSuccessful()) {
+                Log.w(TAG, "Unsaved profile changes dropped on logout", task.getException());
+            }
+            finish.run();
+        });
     }
 
     /**
@@ -17,12 +17,14 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
+import com.example.fairchance.models.CompactRoster;
 import com.example.fairchance.ui.adapters.SelectedParticipantAdapter;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.android.gms.tasks.Task;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.functions.HttpsCallableResult;
 
@@ -59,6 +61,8 @@ public class SamplingReplacementFragment extends Fragment {
 
     private TextView tvSummary;
 
+    private ListenerRegistration selectedRegistration;
+
     private FirebaseFunctions functions;
 
     public SamplingReplacementFragment() { }
@@ -124,11 +128,26 @@ public class SamplingReplacementFragment extends Fragment {
 
         if (eventId != null && !eventId.isEmpty()) {
             loadEventName();
-            loadSelectedParticipants(0);
-            loadReplacementPool();
         }
     }
 
+    @Override
+    public void onStart() {
+        super.onStart();
+        if (eventId != null && !eventId.isEmpty()) {
+            listenToSelected();
+        }
+    }
+
+    @Override
+    public void onStop() {
+        if (selectedRegistration != null) {
+            selectedRegistration.remove();
+            selectedRegistration = null;
+        }
+        super.onStop();
+    }
+
     /** Load the event's name so the cards can show it. */
     private void loadEventName() {
         if (eventId == null || eventId.isEmpty()) return;
@@ -186,8 +205,14 @@ public class SamplingReplacementFragment extends Fragment {
                     @Override
                     public void onSuccess() {
                         if (getContext() == null) return;
-                        loadSelectedParticipants(requested);
-                        loadReplacementPool();
+                        // The selected roster listener has already seen the local writes
+                        int selectedCount = selectedIds.size();
+                        String msg = "Selected " + selectedCount +
+                                " entrant(s) (requested " + requested + ").";
+                        Toast.makeText(getContext(), msg, Toast.LENGTH_LONG).show();
+
+                        tvSummary.setText("Last draw: requested " + requested +
+                                ", selected " + selectedCount + " entrant(s).");
                     }
 
                     @Override
@@ -200,75 +225,39 @@ public class SamplingReplacementFragment extends Fragment {
                 });
     }
 
-    /** Load all currently selected entrants (any status). */
-    private void loadSelectedParticipants(int requested) {
-        if (eventId == null || eventId.isEmpty()) return;
-
-        FirebaseFirestore.getInstance()
-                .collection("events")
-                .document(eventId)
-                .collection("selected")
-                .get()
-                .addOnSuccessListener(query -> {
-                    if (getContext() == null) return;
-
-                    selectedIds.clear();
-                    for (DocumentSnapshot doc : query.getDocuments()) {
-                        selectedIds.add(doc.getId()); // doc ID is userId
-                    }
-                    selectedAdapter.notifyDataSetChanged();
-
-                    int selectedCount = selectedIds.size();
-
-                    if (requested > 0) {
-                        String msg = "Selected " + selectedCount +
-                                " entrant(s) (requested " + requested + ").";
-                        Toast.makeText(getContext(), msg, Toast.LENGTH_LONG).show();
-
-                        tvSummary.setText("Last draw: requested " + requested +
-                                ", selected " + selectedCount + " entrant(s).");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    if (getContext() == null) return;
-                    Toast.makeText(getContext(),
-                            "Failed to load selected entrants: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
-                });
-    }
-
     /**
-     * Replacement pool = all entries in "selected" where status == "cancelled".
-     * These are the people who gave up their spot and need replacements.
+     * Subscribes to the shared roster of the event's "selected" sub-collection.
+     * The same snapshot feeds both lists:
+     * - all selected entrants (any status)
+     * - the replacement pool: entries with status == "cancelled" that have not
+     *   had a replacement drawn yet
      */
-    private void loadReplacementPool() {
-        if (eventId == null || eventId.isEmpty()) return;
-
-        FirebaseFirestore.getInstance()
-                .collection("events")
-                .document(eventId)
-                .collection("selected")
-                .get()
-                .addOnSuccessListener(snap -> {
-                    if (getContext() == null) return;
-
-                    replacementIds.clear();
-
-                    for (DocumentSnapshot doc : snap.getDocuments()) {
-                        String status = doc.getString("status");
-                        Boolean replacementDrawn = doc.getBoolean("replacementDrawn");
-                        if ("cancelled".equals(status) && (replacementDrawn == null || !replacementDrawn)) {
-                            replacementIds.add(doc.getId());
+    private void listenToSelected() {
+        selectedRegistration = repository.listenToRoster(eventId, RosterStore.SELECTED,
+                new RosterStore.RosterListener() {
+                    @Override
+                    public void onRoster(CompactRoster roster) {
+                        selectedIds.clear();
+                        replacementIds.clear();
+                        for (int i = 0; i < roster.size(); i++) {
+                            String userId = roster.userIdAt(i); // doc ID is userId
+                            selectedIds.add(userId);
+                            if (roster.statusAt(i) == CompactRoster.STATUS_CANCELLED
+                                    && !roster.hasFlag(i, CompactRoster.FLAG_REPLACEMENT_DRAWN)) {
+                                replacementIds.add(userId);
+                            }
                         }
+                        selectedAdapter.notifyDataSetChanged();
+                        replacementAdapter.notifyDataSetChanged();
                     }
 
-                    replacementAdapter.notifyDataSetChanged();
-                })
-                .addOnFailureListener(e -> {
-                    if (getContext() == null) return;
-                    Toast.makeText(getContext(),
-                            "Failed to load replacement pool: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
+                    @Override
+                    public void onError(String message) {
+                        if (getContext() == null) return;
+                        Toast.makeText(getContext(),
+                                "Failed to load selected entrants: " + message,
+                                Toast.LENGTH_LONG).show();
+                    }
                 });
     }
 
@@ -313,8 +302,6 @@ public class SamplingReplacementFragment extends Fragment {
             String msg = "Notification for " + entrantId +
                     ": " + sent + " success, " + failed + " failed.";
             Toast.makeText(getContext(), msg, Toast.LENGTH_LONG).show();
-
-            loadSelectedParticipants(0);
         });
 
         task.addOnFailureListener(e -> {
@@ -332,7 +319,7 @@ public class SamplingReplacementFragment extends Fragment {
 
     /**
      * Called when the organizer taps "Draw Replacement" on a cancelled entrant.
-     * For now this simply calls sampleAttendees(eventId, 1) to fill the open spot,
+     * Draws the next entrant from the event's standby order to fill the open spot,
      * then hides this cancelled entry from the Replacement Pool.
      */
     private void drawReplacementForCancelled(String cancelledEntrantId) {
@@ -345,26 +332,18 @@ public class SamplingReplacementFragment extends Fragment {
             return;
         }
 
-        repository.sampleAttendees(eventId, 1,
+        repository.drawReplacement(eventId,
                 new EventRepository.EventTaskCallback() {
                     @Override
                     public void onSuccess() {
                         if (getContext() == null) return;
 
                         // Mark this cancelled entrant as already handled so it disappears
-                        FirebaseFirestore.getInstance()
-                                .collection("events")
-                                .document(eventId)
-                                .collection("selected")
-                                .document(cancelledEntrantId)
-                                .update("replacementDrawn", true);
+                        repository.markReplacementDrawn(eventId, cancelledEntrantId);
 
                         Toast.makeText(getContext(),
                                 "Replacement drawn for cancelled entrant.",
                                 Toast.LENGTH_LONG).show();
-
-                        loadSelectedParticipants(0);
-                        loadReplacementPool();
                     }
 
                     @Override
@@ -11,7 +11,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
+import com.example.fairchance.EventRepository;
 import com.example.fairchance.R;
+import com.example.fairchance.RosterStore;
+import com.example.fairchance.models.CompactRoster;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.MapView;
@@ -19,15 +22,12 @@ import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.MarkerOptions;
-import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.GeoPoint;
 import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
@@ -36,7 +36,7 @@ import java.util.Locale;
  * - Pins for entrants with a 'location' GeoPoint in events/{eventId}/waitingList
  * - Tapping a pin shows entrant name + registration timestamp
  * - "No Location" text list for entrants without geolocation
- * - Uses a real-time listener so it updates when the waiting list changes
+ * - Subscribes to the shared waiting list roster so it updates when the list changes
  */
 public class WaitingListMapFragment extends Fragment implements OnMapReadyCallback {
 
@@ -53,8 +53,7 @@ public class WaitingListMapFragment extends Fragment implements OnMapReadyCallba
 
     private ListenerRegistration waitingListListener;
 
-
-    private List<DocumentSnapshot> cachedWaitingListDocs = new ArrayList<>();
+    private CompactRoster cachedRoster = CompactRoster.empty();
 
     private final SimpleDateFormat timeFormat =
             new SimpleDateFormat("MMM dd, yyyy • HH:mm", Locale.getDefault());
@@ -103,9 +102,8 @@ public class WaitingListMapFragment extends Fragment implements OnMapReadyCallba
         googleMap = map;
         googleMap.getUiSettings().setZoomControlsEnabled(true);
 
-
-        if (!cachedWaitingListDocs.isEmpty()) {
-            renderFromWaitingListDocs(cachedWaitingListDocs);
+        if (!cachedRoster.isEmpty()) {
+            renderRoster(cachedRoster);
         }
     }
 
@@ -160,43 +158,32 @@ public class WaitingListMapFragment extends Fragment implements OnMapReadyCallba
             return;
         }
 
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        waitingListListener = new EventRepository().listenToRoster(eventId, RosterStore.WAITING_LIST,
+                new RosterStore.RosterListener() {
+                    @Override
+                    public void onRoster(CompactRoster roster) {
+                        cachedRoster = roster;
+
+                        if (googleMap != null) {
+                            renderRoster(cachedRoster);
+                        }
+                    }
 
-        waitingListListener = db.collection("events")
-                .document(eventId)
-                .collection("waitingList")
-                .addSnapshotListener((snapshot, error) -> {
-                    if (error != null) {
+                    @Override
+                    public void onError(String message) {
                         Toast.makeText(
                                 getContext(),
-                                "Error loading waiting list locations: " + error.getMessage(),
+                                "Error loading waiting list locations: " + message,
                                 Toast.LENGTH_LONG
                         ).show();
-                        return;
-                    }
-
-                    if (snapshot == null) {
-                        return;
                     }
-
-                    List<DocumentSnapshot> docs = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : snapshot) {
-                        docs.add(doc);
-                    }
-
-                    cachedWaitingListDocs = docs;  // keep a copy
-
-                    if (googleMap != null) {
-                        renderFromWaitingListDocs(docs);
-                    }
-
                 });
     }
 
     /**
-     * Render pins on the map + update "No Location" list from the given docs.
+     * Render pins on the map + update "No Location" list from the given roster.
      */
-    private void renderFromWaitingListDocs(List<DocumentSnapshot> docs) {
+    private void renderRoster(CompactRoster roster) {
         if (googleMap == null) return;
 
         googleMap.clear();
@@ -205,27 +192,26 @@ public class WaitingListMapFragment extends Fragment implements OnMapReadyCallba
         LatLngBounds.Builder boundsBuilder = new LatLngBounds.Builder();
         boolean hasAnyLocation = false;
 
-        for (DocumentSnapshot doc : docs) {
-            String userId = doc.getId();
-            GeoPoint gp = doc.getGeoPoint("location");
-            Timestamp joinedAt = doc.getTimestamp("joinedAt");
+        for (int i = 0; i < roster.size(); i++) {
+            String userId = roster.userIdAt(i);
+            long joinedAt = roster.timestampAt(i);
 
             // Format joinedAt
             String joinedText;
-            if (joinedAt != null) {
-                joinedText = timeFormat.format(joinedAt.toDate());
+            if (joinedAt != 0) {
+                joinedText = timeFormat.format(new Date(joinedAt));
             } else {
                 joinedText = "Unknown time";
             }
 
-            if (gp == null) {
+            if (!roster.hasLocation(i)) {
                 // No location → add to "No Location" list
                 noLocationLines.add(userId + " • " + joinedText);
                 continue;
             }
 
             hasAnyLocation = true;
-            LatLng latLng = new LatLng(gp.getLatitude(), gp.getLongitude());
+            LatLng latLng = new LatLng(roster.latitudeAt(i), roster.longitudeAt(i));
             boundsBuilder.include(latLng);
 
             // For the marker title, we want entrant name if possible:
@@ -0,0 +1,125 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ChunkedBatchCommitterTest {
+
+    private final List<Long> retryDelays = new ArrayList<>();
+
+    /** Runs retries at once, recording the delay they asked for. */
+    private final ChunkedBatchCommitter.Scheduler immediate = (task, delayMs) -> {
+        retryDelays.add(delayMs);
+        task.run();
+    };
+
+    private static List<Integer> range(int n) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) items.add(i);
+        return items;
+    }
+
+    @Test
+    public void items_areSplitIntoChunks() {
+        List<List<Integer>> written = new ArrayList<>();
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(3, 2, 1, chunk -> {
+            written.add(chunk);
+            return Tasks.forResult(null);
+        });
+
+        Task<ChunkedBatchCommitter.Result> task = committer.commitAll(range(7));
+
+        assertTrue(task.isComplete());
+        assertEquals(7, task.getResult().committed);
+        assertEquals(0, task.getResult().failed);
+        assertEquals(Arrays.asList(
+                Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Collections.singletonList(6)), written);
+    }
+
+    @Test
+    public void emptyInput_completesImmediately() {
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(3, 2, 1,
+                chunk -> { throw new AssertionError("should not write"); });
+
+        Task<ChunkedBatchCommitter.Result> task = committer.commitAll(Collections.emptyList());
+
+        assertTrue(task.isComplete());
+        assertEquals(0, task.getResult().committed);
+    }
+
+    @Test
+    public void parallelCommits_areBounded() {
+        List<TaskCompletionSource<Void>> inFlight = new ArrayList<>();
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(1, 2, 1, chunk -> {
+            TaskCompletionSource<Void> source = new TaskCompletionSource<>();
+            inFlight.add(source);
+            return source.getTask();
+        });
+
+        Task<ChunkedBatchCommitter.Result> task = committer.commitAll(range(5));
+        assertEquals(2, inFlight.size());
+
+        inFlight.get(0).setResult(null);
+        assertEquals(3, inFlight.size());
+
+        for (int i = 1; i < 5; i++) {
+            inFlight.get(i).setResult(null);
+        }
+        assertTrue(task.isComplete());
+        assertEquals(5, task.getResult().committed);
+    }
+
+    @Test
+    public void failedChunk_isRetried() {
+        int[] calls = {0};
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(10, 1, 3, chunk -> {
+            calls[0]++;
+            return calls[0] < 3
+                    ? Tasks.forException(new Exception("unavailable"))
+                    : Tasks.forResult(null);
+        }, immediate);
+
+        Task<ChunkedBatchCommitter.Result> task = committer.commitAll(range(4));
+
+        assertEquals(3, calls[0]);
+        assertEquals(2, retryDelays.size());
+        assertEquals(4, task.getResult().committed);
+        assertEquals(0, task.getResult().failed);
+    }
+
+    @Test
+    public void chunkFailingEveryAttempt_isCountedAsFailed() {
+        ChunkedBatchCommitter<Integer> committer = new ChunkedBatchCommitter<>(2, 1, 2, chunk ->
+                chunk.contains(0)
+                        ? Tasks.forException(new Exception("denied"))
+                        : Tasks.forResult(null), immediate);
+
+        Task<ChunkedBatchCommitter.Result> task = committer.commitAll(range(5));
+
+        assertTrue(task.isSuccessful());
+        assertEquals(3, task.getResult().committed);
+        assertEquals(2, task.getResult().failed);
+    }
+
+    @Test
+    public void backoff_growsWithAttemptsAndIsCapped() {
+        assertEquals(ChunkedBatchCommitter.BASE_BACKOFF_MS / 2,
+                ChunkedBatchCommitter.backoffDelayMs(1, 0.0));
+        assertEquals(ChunkedBatchCommitter.BASE_BACKOFF_MS,
+                ChunkedBatchCommitter.backoffDelayMs(2, 0.0));
+        assertTrue(ChunkedBatchCommitter.backoffDelayMs(2, 0.99) < 2 * ChunkedBatchCommitter.BASE_BACKOFF_MS);
+        assertTrue(ChunkedBatchCommitter.backoffDelayMs(30, 0.99) <= ChunkedBatchCommitter.MAX_BACKOFF_MS);
+        assertEquals(ChunkedBatchCommitter.MAX_BACKOFF_MS / 2,
+                ChunkedBatchCommitter.backoffDelayMs(30, 0.0));
+    }
+}
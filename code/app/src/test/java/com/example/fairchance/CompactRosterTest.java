@@ -0,0 +1,107 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.example.fairchance.models.CompactRoster;
+import com.example.fairchance.models.UserIdDictionary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CompactRosterTest {
+
+    private static CompactRoster.Builder builder() {
+        return new CompactRoster.Builder(new UserIdDictionary(), 2);
+    }
+
+    @Test
+    public void storesEntrantFields() {
+        CompactRoster roster = builder()
+                .add("alice", 1000L, 53.5, -113.5, CompactRoster.STATUS_PENDING)
+                .add("bob", 2000L, null, null, CompactRoster.STATUS_ACCEPTED)
+                .build();
+
+        assertEquals(2, roster.size());
+        assertEquals("alice", roster.userIdAt(0));
+        assertEquals(1000L, roster.timestampAt(0));
+        assertTrue(roster.hasLocation(0));
+        assertEquals(53.5, roster.latitudeAt(0), 1e-4);
+        assertEquals(-113.5, roster.longitudeAt(0), 1e-4);
+        assertEquals(CompactRoster.STATUS_PENDING, roster.statusAt(0));
+
+        assertEquals("bob", roster.userIdAt(1));
+        assertFalse(roster.hasLocation(1));
+        assertEquals(CompactRoster.STATUS_ACCEPTED, roster.statusAt(1));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        CompactRoster.Builder builder = builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add("user" + i, i, null, null, CompactRoster.STATUS_WAITING);
+        }
+        CompactRoster roster = builder.build();
+
+        assertEquals(100, roster.size());
+        assertEquals("user99", roster.userIdAt(99));
+        assertEquals(99L, roster.timestampAt(99));
+    }
+
+    @Test
+    public void userIds_isListViewInRosterOrder() {
+        CompactRoster roster = builder()
+                .add("c", 0, null, null, CompactRoster.STATUS_WAITING)
+                .add("a", 0, null, null, CompactRoster.STATUS_WAITING)
+                .build();
+
+        List<String> ids = roster.userIds();
+
+        assertEquals(Arrays.asList("c", "a"), ids);
+        assertTrue(ids.contains("a"));
+    }
+
+    @Test
+    public void sameUserOnTwoRosters_sharesDictionaryEntry() {
+        CompactRoster waiting = builder().add("shared-user", 0, null, null, CompactRoster.STATUS_WAITING).build();
+        CompactRoster selected = builder().add("shared-user", 0, null, null, CompactRoster.STATUS_PENDING).build();
+
+        assertSame(waiting.userIdAt(0), selected.userIdAt(0));
+    }
+
+    @Test
+    public void countWithStatus_countsMatchingEntrants() {
+        CompactRoster roster = builder()
+                .add("a", 0, null, null, CompactRoster.STATUS_PENDING)
+                .add("b", 0, null, null, CompactRoster.STATUS_CANCELLED)
+                .add("c", 0, null, null, CompactRoster.STATUS_PENDING)
+                .build();
+
+        assertEquals(2, roster.countWithStatus(CompactRoster.STATUS_PENDING));
+        assertEquals(1, roster.countWithStatus(CompactRoster.STATUS_CANCELLED));
+    }
+
+    @Test
+    public void flags_areStoredPerEntrant() {
+        CompactRoster roster = builder()
+                .add("a", 0, null, null, CompactRoster.STATUS_CANCELLED, CompactRoster.FLAG_REPLACEMENT_DRAWN)
+                .add("b", 0, null, null, CompactRoster.STATUS_CANCELLED)
+                .build();
+
+        assertTrue(roster.hasFlag(0, CompactRoster.FLAG_REPLACEMENT_DRAWN));
+        assertFalse(roster.hasFlag(1, CompactRoster.FLAG_REPLACEMENT_DRAWN));
+    }
+
+    @Test
+    public void statusCode_mapsKnownStatuses() {
+        assertEquals(CompactRoster.STATUS_PENDING, CompactRoster.statusCode("pending"));
+        assertEquals(CompactRoster.STATUS_DECLINED, CompactRoster.statusCode("declined"));
+        assertEquals(CompactRoster.STATUS_OTHER, CompactRoster.statusCode("something-new"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfRangeIndex_throws() {
+        CompactRoster.empty().userIdAt(0);
+    }
+}
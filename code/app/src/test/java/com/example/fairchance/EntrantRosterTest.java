@@ -0,0 +1,60 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class EntrantRosterTest {
+
+    @Test
+    public void statusesFor_mapsLegacyRostersToStatusViews() {
+        assertEquals(Collections.singletonList(EntrantRoster.STATUS_WAITING),
+                EntrantRoster.statusesFor(RosterStore.WAITING_LIST));
+        assertEquals(Collections.singletonList(EntrantRoster.STATUS_CANCELLED),
+                EntrantRoster.statusesFor(RosterStore.CANCELLED));
+        assertEquals(Collections.singletonList(EntrantRoster.STATUS_ACCEPTED),
+                EntrantRoster.statusesFor(RosterStore.CONFIRMED_ATTENDEES));
+    }
+
+    @Test
+    public void selectedView_coversEveryoneSampled() {
+        assertEquals(Arrays.asList(EntrantRoster.STATUS_PENDING, EntrantRoster.STATUS_ACCEPTED,
+                        EntrantRoster.STATUS_DECLINED, EntrantRoster.STATUS_CANCELLED),
+                EntrantRoster.statusesFor(RosterStore.SELECTED));
+        assertFalse(EntrantRoster.statusesFor(RosterStore.SELECTED).contains(EntrantRoster.STATUS_WAITING));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statusesFor_rejectsUnknownRoster() {
+        EntrantRoster.statusesFor("lotteryDraws");
+    }
+
+    @Test
+    public void historyStatus_matchesLegacyHistoryValues() {
+        assertEquals("Waiting", EntrantRoster.historyStatus(EntrantRoster.STATUS_WAITING));
+        assertEquals("Selected", EntrantRoster.historyStatus(EntrantRoster.STATUS_PENDING));
+        assertEquals("Confirmed", EntrantRoster.historyStatus(EntrantRoster.STATUS_ACCEPTED));
+        assertEquals("Declined", EntrantRoster.historyStatus(EntrantRoster.STATUS_DECLINED));
+        assertEquals("Cancelled", EntrantRoster.historyStatus(EntrantRoster.STATUS_CANCELLED));
+        assertEquals("Waiting", EntrantRoster.historyStatus(null));
+    }
+
+    @Test
+    public void cachedLayout_expiresAfterTtl() {
+        EntrantRoster.remember("layoutTtl", true, 1_000L);
+
+        assertEquals(Boolean.TRUE, EntrantRoster.cachedLayout("layoutTtl", 1_000L + EntrantRoster.LAYOUT_TTL_MS - 1));
+        assertNull(EntrantRoster.cachedLayout("layoutTtl", 1_000L + EntrantRoster.LAYOUT_TTL_MS));
+    }
+
+    @Test
+    public void forget_dropsCachedLayout() {
+        EntrantRoster.remember("layoutForget", false, 1_000L);
+        EntrantRoster.forget("layoutForget");
+
+        assertNull(EntrantRoster.cachedLayout("layoutForget", 1_000L));
+    }
+}
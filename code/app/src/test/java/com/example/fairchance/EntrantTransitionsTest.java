@@ -0,0 +1,121 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.example.fairchance.models.EntrantTransition;
+import com.google.firebase.Timestamp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EntrantTransitionsTest {
+
+    private static Map<String, Object> timelineEntry(String from, String to, String reason, Object at) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("from", from);
+        entry.put("to", to);
+        entry.put("reason", reason);
+        entry.put("at", at);
+        return entry;
+    }
+
+    @Test
+    public void entry_recordsStepAndActor() {
+        Map<String, Object> entry = EntrantTransitions.entry("u1", EntrantRoster.STATUS_WAITING,
+                EntrantRoster.STATUS_PENDING, EntrantTransitions.REASON_DRAW, "org1", "draw1");
+
+        assertEquals("u1", entry.get(EventRepository.FIELD_USER_ID));
+        assertEquals(EntrantRoster.STATUS_WAITING, entry.get("from"));
+        assertEquals(EntrantRoster.STATUS_PENDING, entry.get("to"));
+        assertEquals(EntrantTransitions.REASON_DRAW, entry.get("reason"));
+        assertEquals("org1", entry.get("actorId"));
+        assertEquals("draw1", entry.get("drawId"));
+    }
+
+    @Test
+    public void entry_withoutDraw_hasNoDrawId() {
+        Map<String, Object> entry = EntrantTransitions.entry("u1", EntrantTransitions.NONE,
+                EntrantRoster.STATUS_WAITING, EntrantTransitions.REASON_JOIN, "u1", null);
+
+        assertFalse(entry.containsKey("drawId"));
+    }
+
+    @Test
+    public void parseTimeline_sortsOldestFirst() {
+        List<EntrantTransition> timeline = EntrantTransitions.parseTimeline(Arrays.asList(
+                timelineEntry("pending", "declined", "decline", new Timestamp(new Date(3_000L))),
+                timelineEntry("none", "waiting", "join", new Timestamp(new Date(1_000L))),
+                timelineEntry("waiting", "pending", "draw", new Date(2_000L))));
+
+        assertEquals(3, timeline.size());
+        assertEquals("join", timeline.get(0).getReason());
+        assertEquals("draw", timeline.get(1).getReason());
+        assertEquals("declined", timeline.get(2).getTo());
+        assertEquals(new Date(1_000L), timeline.get(0).getAt());
+    }
+
+    @Test
+    public void parseTimeline_putsUntimedEntriesLastAndSkipsJunk() {
+        List<EntrantTransition> timeline = EntrantTransitions.parseTimeline(Arrays.asList(
+                timelineEntry("waiting", "pending", "draw", null),
+                "not an entry",
+                timelineEntry("none", "waiting", "join", new Date(1_000L))));
+
+        assertEquals(2, timeline.size());
+        assertEquals("join", timeline.get(0).getReason());
+        assertNull(timeline.get(1).getAt());
+    }
+
+    @Test
+    public void parseTimeline_missingEntries_isEmpty() {
+        assertTrue(EntrantTransitions.parseTimeline(null).isEmpty());
+        assertTrue(EntrantTransitions.parseTimeline("entries").isEmpty());
+    }
+
+    @Test
+    public void parseCounts_clampsNegativeAndIgnoresNonNumbers() {
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("waiting", 12L);
+        raw.put("pending", -1L);
+        raw.put("accepted", "3");
+
+        Map<String, Long> counts = EntrantTransitions.parseCounts(raw);
+
+        assertEquals(Long.valueOf(12L), counts.get("waiting"));
+        assertEquals(Long.valueOf(0L), counts.get("pending"));
+        assertFalse(counts.containsKey("accepted"));
+        assertTrue(EntrantTransitions.parseCounts(null).isEmpty());
+    }
+
+    @Test
+    public void sumCounts_addsShardDeltasBeforeClamping() {
+        Map<String, Object> baseline = new HashMap<>();
+        baseline.put("waiting", 10L);
+        baseline.put("pending", 0L);
+        Map<String, Object> shard = new HashMap<>();
+        shard.put("waiting", -3L);
+        shard.put("pending", 3L);
+        Map<String, Object> otherShard = new HashMap<>();
+        otherShard.put("pending", -1L);
+        otherShard.put("declined", -1L);
+
+        Map<String, Long> counts = EntrantTransitions.sumCounts(Arrays.asList(baseline, shard, otherShard, null));
+
+        assertEquals(Long.valueOf(7L), counts.get("waiting"));
+        assertEquals(Long.valueOf(2L), counts.get("pending"));
+        assertEquals(Long.valueOf(0L), counts.get("declined"));
+    }
+
+    @Test
+    public void documentId_combinesUserAndOperation() {
+        Map<String, Object> entry = EntrantTransitions.entry("u1", EntrantRoster.STATUS_WAITING,
+                EntrantRoster.STATUS_PENDING, EntrantTransitions.REASON_DRAW, "org1", "draw1");
+
+        assertEquals("u1_draw1", EntrantTransitions.documentId(entry, "draw1"));
+    }
+}
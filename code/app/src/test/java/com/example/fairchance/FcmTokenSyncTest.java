@@ -0,0 +1,161 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FcmTokenSyncTest {
+
+    private final List<TaskCompletionSource<Void>> writes = new ArrayList<>();
+    private final List<String> written = new ArrayList<>();
+    private final List<Runnable> retries = new ArrayList<>();
+    private final List<Long> retryDelays = new ArrayList<>();
+    private long now;
+    private FcmTokenSync sync;
+
+    @Before
+    public void setUp() {
+        now = 1_000_000L;
+        sync = new FcmTokenSync(
+                (uid, token) -> {
+                    written.add(uid + ":" + token);
+                    TaskCompletionSource<Void> write = new TaskCompletionSource<>();
+                    writes.add(write);
+                    return write.getTask();
+                },
+                new FcmTokenSync.MemoryStore(),
+                (task, delayMs) -> {
+                    retries.add(task);
+                    retryDelays.add(delayMs);
+                },
+                () -> now);
+    }
+
+    @Test
+    public void sameToken_isWrittenOnce() {
+        sync.save("u1", "tokenA");
+        writes.get(0).setResult(null);
+
+        Task<Void> second = sync.save("u1", "tokenA");
+
+        assertEquals(1, written.size());
+        assertTrue(second.isSuccessful());
+    }
+
+    @Test
+    public void changedTokenOrUser_isWrittenAgain() {
+        sync.save("u1", "tokenA");
+        writes.get(0).setResult(null);
+
+        sync.save("u1", "tokenB");
+        writes.get(1).setResult(null);
+        sync.save("u2", "tokenB");
+
+        assertEquals(3, written.size());
+        assertEquals("u2:tokenB", written.get(2));
+    }
+
+    @Test
+    public void ledgerEntry_expires() {
+        sync.save("u1", "tokenA");
+        writes.get(0).setResult(null);
+
+        now += FcmTokenSync.LEDGER_TTL_MS;
+        sync.save("u1", "tokenA");
+
+        assertEquals(2, written.size());
+    }
+
+    @Test
+    public void failedWrite_isRetriedWithBackoff() {
+        Task<Void> result = sync.save("u1", "tokenA");
+        writes.get(0).setException(new Exception("offline"));
+        assertEquals(1, retries.size());
+        assertFalse(result.isComplete());
+
+        retries.get(0).run();
+        writes.get(1).setException(new Exception("offline"));
+        retries.get(1).run();
+        writes.get(2).setResult(null);
+
+        assertEquals(3, written.size());
+        assertEquals(FcmTokenSync.RETRY_BASE_DELAY_MS, (long) retryDelays.get(0));
+        assertEquals(2 * FcmTokenSync.RETRY_BASE_DELAY_MS, (long) retryDelays.get(1));
+        assertTrue(result.isSuccessful());
+        assertTrue(sync.isPersisted("u1", "tokenA"));
+    }
+
+    @Test
+    public void saveWhilePending_sharesTheUpload() {
+        Task<Void> first = sync.save("u1", "tokenA");
+        Task<Void> second = sync.save("u1", "tokenA");
+
+        assertSame(first, second);
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    public void newerToken_supersedesPendingRetry() {
+        Task<Void> old = sync.save("u1", "tokenA");
+        writes.get(0).setException(new Exception("offline"));
+
+        sync.save("u1", "tokenB");
+        retries.get(0).run();
+
+        assertTrue(old.isComplete());
+        assertFalse(old.isSuccessful());
+        assertEquals(2, written.size());
+        assertEquals("u1:tokenB", written.get(1));
+    }
+
+    @Test
+    public void givesUp_afterMaxAttempts() {
+        Task<Void> result = sync.save("u1", "tokenA");
+        for (int i = 0; i < FcmTokenSync.MAX_ATTEMPTS; i++) {
+            writes.get(i).setException(new Exception("offline"));
+            if (i < FcmTokenSync.MAX_ATTEMPTS - 1) retries.get(i).run();
+        }
+
+        assertEquals(FcmTokenSync.MAX_ATTEMPTS, written.size());
+        assertEquals(FcmTokenSync.MAX_ATTEMPTS - 1, retries.size());
+        assertFalse(result.isSuccessful());
+        assertFalse(sync.isPersisted("u1", "tokenA"));
+    }
+
+    @Test
+    public void recordWritten_dropsPendingRetryAndUpdatesLedger() {
+        sync.save("u1", "tokenA");
+        writes.get(0).setException(new Exception("offline"));
+
+        sync.recordWritten("u1", null);
+        retries.get(0).run();
+
+        assertEquals(1, written.size());
+        assertFalse(sync.isPersisted("u1", "tokenA"));
+        assertTrue(sync.isPersisted("u1", null));
+    }
+
+    @Test
+    public void retryDelay_isCapped() {
+        assertEquals(FcmTokenSync.RETRY_BASE_DELAY_MS, FcmTokenSync.retryDelayMs(1));
+        assertEquals(FcmTokenSync.RETRY_MAX_DELAY_MS, FcmTokenSync.retryDelayMs(30));
+    }
+
+    @Test
+    public void clear_forcesNextWrite() {
+        sync.save("u1", "tokenA");
+        writes.get(0).setResult(null);
+
+        sync.clear();
+        sync.save("u1", "tokenA");
+
+        assertEquals(2, written.size());
+    }
+}
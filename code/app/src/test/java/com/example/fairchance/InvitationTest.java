@@ -56,4 +56,35 @@ public class InvitationTest {
         assertNull(inv.getEventId());
     }
 
+    @Test
+    public void hasSameContent_matchesEqualFieldsInAnotherInstance() {
+        Invitation copy = new Invitation();
+        copy.setEventName("Charity Gala");
+        copy.setEventDate(new Date(date.getTime()));
+        copy.setStatus("Selected");
+        copy.setEventId("event123");
+
+        assertTrue(invitation.hasSameContent(copy));
+        assertTrue(copy.hasSameContent(invitation));
+    }
+
+    @Test
+    public void hasSameContent_detectsChangedFields() {
+        Invitation renamed = new Invitation();
+        renamed.setEventName("Spring Gala");
+        renamed.setEventDate(date);
+        renamed.setStatus("Selected");
+        renamed.setEventId("event123");
+
+        Invitation rescheduled = new Invitation();
+        rescheduled.setEventName("Charity Gala");
+        rescheduled.setEventDate(null);
+        rescheduled.setStatus("Selected");
+        rescheduled.setEventId("event123");
+
+        assertFalse(invitation.hasSameContent(renamed));
+        assertFalse(invitation.hasSameContent(rescheduled));
+        assertFalse(invitation.hasSameContent(null));
+    }
+
 }
@@ -0,0 +1,70 @@
+package com.example.fairchance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for {@link LotteryEngine}. Not part of the unit test run;
+ * start {@link #main} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LotteryEngineBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int entrants;
+
+    @Param({"1000"})
+    public int k;
+
+    private List<String> ids;
+    private List<String> canonical;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        ids = new ArrayList<>(entrants);
+        for (int i = 0; i < entrants; i++) {
+            ids.add("user" + i);
+        }
+        canonical = LotteryEngine.canonicalOrder(ids);
+    }
+
+    /** Draw only, inputs already canonical. */
+    @Benchmark
+    public List<String> drawFromCanonical() {
+        return LotteryEngine.drawFromCanonical(seed++, canonical, k);
+    }
+
+    /** Full draw including sorting the raw inputs. */
+    @Benchmark
+    public List<String> drawWithCanonicalization() {
+        return LotteryEngine.draw(seed++, ids, k);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LotteryEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
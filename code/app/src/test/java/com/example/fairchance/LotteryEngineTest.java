@@ -0,0 +1,102 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class LotteryEngineTest {
+
+    private static List<String> users(int n) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) ids.add("user" + i);
+        return ids;
+    }
+
+    @Test
+    public void sameSeed_givesSameDraw_regardlessOfInputOrder() {
+        List<String> ids = users(200);
+        List<String> reversed = new ArrayList<>(ids);
+        Collections.reverse(reversed);
+
+        assertEquals(LotteryEngine.draw(7L, ids, 20), LotteryEngine.draw(7L, reversed, 20));
+    }
+
+    @Test
+    public void differentSeeds_giveDifferentDraws() {
+        List<String> ids = users(200);
+
+        assertNotEquals(LotteryEngine.draw(1L, ids, 20), LotteryEngine.draw(2L, ids, 20));
+    }
+
+    @Test
+    public void draw_returnsDistinctEntrantsFromInput() {
+        List<String> ids = users(50);
+
+        List<String> drawn = LotteryEngine.draw(3L, ids, 10);
+
+        assertEquals(10, drawn.size());
+        assertEquals(10, new HashSet<>(drawn).size());
+        assertTrue(ids.containsAll(drawn));
+    }
+
+    @Test
+    public void draw_isCappedAtPoolSize() {
+        assertEquals(3, LotteryEngine.draw(3L, Arrays.asList("a", "b", "c"), 10).size());
+    }
+
+    @Test
+    public void smallerDraw_isPrefixOfFullShuffle() {
+        // Covers both the sparse path (small k) and the array path (full shuffle)
+        List<String> canonical = LotteryEngine.canonicalOrder(users(5000));
+
+        for (long seed = 0; seed < 20; seed++) {
+            List<String> full = LotteryEngine.drawFromCanonical(seed, canonical, canonical.size());
+            List<String> small = LotteryEngine.drawFromCanonical(seed, canonical, 100);
+            assertEquals(full.subList(0, 100), small);
+        }
+    }
+
+    @Test
+    public void canonicalOrder_sortsAndRemovesDuplicates() {
+        assertEquals(Arrays.asList("a", "b", "c"),
+                LotteryEngine.canonicalOrder(Arrays.asList("c", "a", "b", "a")));
+    }
+
+    @Test
+    public void knownSeed_matchesReplayTool() {
+        // Same vector is produced by functions/lottery.js
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) ids.add("u" + (i * 7919 % 1000));
+
+        assertEquals(Arrays.asList("u734", "u180", "u348", "u560", "u700",
+                        "u973", "u486", "u727", "u23", "u441"),
+                LotteryEngine.draw(42L, ids, 10));
+        assertEquals("d5f2153f503d0ba605f4c0343b5a34f91dde96e0316c98f107a2927ce5868763",
+                LotteryEngine.inputDigest(ids));
+    }
+
+    @Test
+    public void verify_detectsTamperedResult() {
+        List<String> ids = users(100);
+        List<String> drawn = LotteryEngine.draw(11L, ids, 5);
+
+        assertTrue(LotteryEngine.verify(11L, ids, drawn));
+
+        List<String> tampered = new ArrayList<>(drawn);
+        Collections.swap(tampered, 0, 1);
+        assertFalse(LotteryEngine.verify(11L, ids, tampered));
+    }
+
+    @Test
+    public void standbySeed_isDerivedFromDrawSeed() {
+        assertEquals(LotteryEngine.standbySeed(42L), LotteryEngine.standbySeed(42L));
+        assertNotEquals(42L, LotteryEngine.standbySeed(42L));
+        assertNotEquals(LotteryEngine.standbySeed(42L), LotteryEngine.standbySeed(43L));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fairchance;
+
+import com.example.fairchance.models.NotificationLogRollup;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NotificationLogRollupTest {
+
+    @Test
+    public void getCountForType_returnsStoredCount() {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("waitingList", 4L);
+        counts.put("cancelled", 1L);
+
+        NotificationLogRollup rollup = new NotificationLogRollup();
+        rollup.setCountsByMessageType(counts);
+
+        assertEquals(4, rollup.getCountForType("waitingList"));
+        assertEquals(1, rollup.getCountForType("cancelled"));
+    }
+
+    @Test
+    public void getCountForType_unknownTypeIsZero() {
+        NotificationLogRollup rollup = new NotificationLogRollup();
+        assertEquals(0, rollup.getCountForType("chosen"));
+    }
+
+    @Test
+    public void setCountsByMessageType_nullBecomesEmpty() {
+        NotificationLogRollup rollup = new NotificationLogRollup();
+        rollup.setCountsByMessageType(null);
+
+        assertNotNull(rollup.getCountsByMessageType());
+        assertTrue(rollup.getCountsByMessageType().isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrganizerNameCacheTest {
+
+    private final List<String> loads = new ArrayList<>();
+    private final List<Boolean> refreshes = new ArrayList<>();
+    private final List<TaskCompletionSource<String>> sources = new ArrayList<>();
+    private long now = 0;
+    private OrganizerNameCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new OrganizerNameCache((organizerId, refresh) -> {
+            loads.add(organizerId);
+            refreshes.add(refresh);
+            TaskCompletionSource<String> source = new TaskCompletionSource<>();
+            sources.add(source);
+            return source.getTask();
+        }, () -> now);
+    }
+
+    @Test
+    public void concurrentLookups_shareOneLoad() {
+        Task<String> first = cache.get("org1");
+        Task<String> second = cache.get("org1");
+
+        assertSame(first, second);
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void resolvedName_isServedFromMemory() {
+        cache.get("org1");
+        sources.get(0).setResult("Alice");
+
+        Task<String> cached = cache.get("org1");
+
+        assertTrue(cached.isComplete());
+        assertEquals("Alice", cached.getResult());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void expiredEntry_isReloadedFromServer() {
+        cache.get("org1");
+        sources.get(0).setResult("Alice");
+
+        now += OrganizerNameCache.TTL_MS;
+        Task<String> reloaded = cache.get("org1");
+        sources.get(1).setResult("Alice Smith");
+
+        assertEquals(2, loads.size());
+        assertFalse(refreshes.get(0));
+        assertTrue(refreshes.get(1));
+        assertEquals("Alice Smith", reloaded.getResult());
+        assertEquals("Alice Smith", cache.get("org1").getResult());
+    }
+
+    @Test
+    public void failedRefresh_servesExpiredName() {
+        cache.get("org1");
+        sources.get(0).setResult("Alice");
+
+        now += OrganizerNameCache.TTL_MS;
+        Task<String> reloaded = cache.get("org1");
+        sources.get(1).setException(new Exception("offline"));
+
+        assertEquals("Alice", reloaded.getResult());
+    }
+
+    @Test
+    public void failedLoad_isNotCached() {
+        Task<String> failed = cache.get("org1");
+        sources.get(0).setException(new Exception("offline"));
+
+        cache.get("org1");
+
+        assertFalse(failed.isSuccessful());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void cache_evictsLeastRecentlyUsed() {
+        for (int i = 0; i <= OrganizerNameCache.MAX_ENTRIES; i++) {
+            cache.get("org" + i);
+            sources.get(i).setResult("Name " + i);
+        }
+
+        assertEquals(OrganizerNameCache.MAX_ENTRIES, cache.size());
+        cache.get("org0");
+        assertEquals(OrganizerNameCache.MAX_ENTRIES + 2, loads.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProfileUpdateQueueTest {
+
+    private final List<Map<String, Object>> writes = new ArrayList<>();
+    private final List<TaskCompletionSource<Void>> results = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+    private Runnable scheduled;
+    private ProfileUpdateQueue.MemoryJournal journal;
+    private ProfileUpdateQueue queue;
+
+    @Before
+    public void setUp() {
+        journal = new ProfileUpdateQueue.MemoryJournal();
+        queue = newQueue();
+    }
+
+    private ProfileUpdateQueue newQueue() {
+        return new ProfileUpdateQueue(
+                (uid, fields) -> {
+                    writes.add(new HashMap<>(fields));
+                    TaskCompletionSource<Void> result = new TaskCompletionSource<>();
+                    results.add(result);
+                    return result.getTask();
+                },
+                journal,
+                new ProfileUpdateQueue.Scheduler() {
+                    @Override
+                    public void postDelayed(Runnable task, long delayMs) {
+                        scheduled = task;
+                        delays.add(delayMs);
+                    }
+
+                    @Override
+                    public void cancel(Runnable task) {
+                        if (scheduled == task) scheduled = null;
+                    }
+                });
+    }
+
+    private static Map<String, Object> edit(String field, Object value) {
+        return Collections.singletonMap(field, value);
+    }
+
+    private void runScheduled() {
+        Runnable task = scheduled;
+        scheduled = null;
+        task.run();
+    }
+
+    @Test
+    public void rapidEdits_areCoalescedIntoOneWrite() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Ann"));
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS, false));
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Anna"));
+
+        runScheduled();
+
+        assertEquals(1, writes.size());
+        assertEquals("Anna", writes.get(0).get(ProfileUpdateQueue.FIELD_NAME));
+        assertEquals(false, writes.get(0).get(ProfileUpdateQueue.FIELD_LOTTERY_RESULTS));
+        assertEquals(ProfileUpdateQueue.FLUSH_DELAY_MS, (long) delays.get(0));
+    }
+
+    @Test
+    public void pendingFields_showEditsUntilAcknowledged() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_PHONE, "555"));
+        queue.flush();
+
+        assertEquals("555", queue.pendingFields("u1").get(ProfileUpdateQueue.FIELD_PHONE));
+        assertTrue(queue.pendingFields("u2").isEmpty());
+
+        results.get(0).setResult(null);
+
+        assertTrue(queue.pendingFields("u1").isEmpty());
+        assertFalse(queue.hasPendingChanges());
+    }
+
+    @Test
+    public void journal_survivesProcessDeath() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_EMAIL, "a@b.c"));
+        queue.flush();
+
+        // Process dies before the write is acknowledged
+        ProfileUpdateQueue restarted = newQueue();
+
+        assertEquals("a@b.c", restarted.pendingFields("u1").get(ProfileUpdateQueue.FIELD_EMAIL));
+        restarted.flush();
+        assertEquals(2, writes.size());
+    }
+
+    @Test
+    public void failedWrite_keepsNewerEditsAndRetries() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Ann"));
+        Task<Void> flushed = queue.flush();
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Bea"));
+
+        results.get(0).setException(new Exception("offline"));
+
+        assertFalse(flushed.isSuccessful());
+        assertEquals("Bea", queue.pendingFields("u1").get(ProfileUpdateQueue.FIELD_NAME));
+        assertEquals(ProfileUpdateQueue.retryDelayMs(1), (long) delays.get(delays.size() - 1));
+
+        runScheduled();
+        assertEquals("Bea", writes.get(1).get(ProfileUpdateQueue.FIELD_NAME));
+    }
+
+    @Test
+    public void editsDuringWrite_areWrittenAfterIt() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Ann"));
+        queue.flush();
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_PHONE, "555"));
+        Task<Void> drained = queue.flush();
+
+        assertEquals(1, writes.size());
+        results.get(0).setResult(null);
+
+        assertEquals(2, writes.size());
+        assertEquals(edit(ProfileUpdateQueue.FIELD_PHONE, "555"), writes.get(1));
+        assertFalse(drained.isComplete());
+
+        results.get(1).setResult(null);
+        assertTrue(drained.isSuccessful());
+        assertNull(journal.uid());
+    }
+
+    @Test
+    public void discard_dropsEditsAndIgnoresLateResult() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Ann"));
+        queue.flush();
+
+        queue.discard();
+        results.get(0).setException(new Exception("offline"));
+
+        assertFalse(queue.hasPendingChanges());
+        assertNull(scheduled);
+        assertTrue(journal.read().isEmpty());
+    }
+
+    @Test
+    public void otherUser_replacesQueuedEdits() {
+        queue.enqueue("u1", edit(ProfileUpdateQueue.FIELD_NAME, "Ann"));
+        queue.enqueue("u2", edit(ProfileUpdateQueue.FIELD_PHONE, "555"));
+
+        assertTrue(queue.pendingFields("u1").isEmpty());
+        assertEquals(edit(ProfileUpdateQueue.FIELD_PHONE, "555"), queue.pendingFields("u2"));
+    }
+
+    @Test
+    public void flush_withNothingPending_writesNothing() {
+        assertTrue(queue.flush().isSuccessful());
+        assertTrue(writes.isEmpty());
+    }
+}
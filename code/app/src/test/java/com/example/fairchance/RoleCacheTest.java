@@ -0,0 +1,62 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoleCacheTest {
+
+    private long now;
+    private RoleCache cache;
+
+    @Before
+    public void setUp() {
+        now = 1_000_000L;
+        cache = new RoleCache(new RoleCache.MemoryStore(), () -> now);
+    }
+
+    @Test
+    public void emptyCache_hasNoRole() {
+        assertNull(cache.get("u1"));
+    }
+
+    @Test
+    public void entryYoungerThanMaxAge_isServed() {
+        cache.put("u1", "organizer");
+        now += RoleCache.MAX_AGE_MS - 1;
+
+        assertEquals("organizer", cache.get("u1"));
+    }
+
+    @Test
+    public void expiredEntry_isNotServed() {
+        cache.put("u1", "admin");
+        now += RoleCache.MAX_AGE_MS;
+
+        assertNull(cache.get("u1"));
+    }
+
+    @Test
+    public void otherUsersEntry_isIgnored() {
+        cache.put("u1", "admin");
+
+        assertNull(cache.get("u2"));
+    }
+
+    @Test
+    public void clockMovingBackwards_isTreatedAsStale() {
+        cache.put("u1", "entrant");
+        now -= 1;
+
+        assertNull(cache.get("u1"));
+    }
+
+    @Test
+    public void clear_forgetsRole() {
+        cache.put("u1", "entrant");
+        cache.clear();
+
+        assertNull(cache.get("u1"));
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.example.fairchance.models.CompactRoster;
+import com.example.fairchance.models.UserIdDictionary;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RosterStoreTest {
+
+    /** Fake Firestore: records open listeners so tests can push rosters. */
+    private static class FakeSource implements RosterStore.Source {
+        final Map<String, RosterStore.RosterListener> open = new HashMap<>();
+        int listenCalls = 0;
+        int removeCalls = 0;
+
+        @Override
+        public ListenerRegistration listen(String eventId, String subcollection,
+                                           RosterStore.RosterListener sink) {
+            String key = eventId + "/" + subcollection;
+            listenCalls++;
+            open.put(key, sink);
+            return () -> {
+                removeCalls++;
+                open.remove(key);
+            };
+        }
+
+        void push(String key, CompactRoster roster) {
+            open.get(key).onRoster(roster);
+        }
+
+        void fail(String key, String message) {
+            open.get(key).onError(message);
+        }
+    }
+
+    /** Holds delayed tasks until the test runs them. */
+    private static class FakeScheduler implements RosterStore.Scheduler {
+        final List<Runnable> pending = new ArrayList<>();
+
+        @Override
+        public void postDelayed(Runnable task, long delayMs) {
+            pending.add(task);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            pending.remove(task);
+        }
+
+        void runAll() {
+            List<Runnable> tasks = new ArrayList<>(pending);
+            pending.clear();
+            for (Runnable task : tasks) task.run();
+        }
+    }
+
+    private static class RecordingListener implements RosterStore.RosterListener {
+        final List<CompactRoster> rosters = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onRoster(CompactRoster roster) {
+            rosters.add(roster);
+        }
+
+        @Override
+        public void onError(String message) {
+            errors.add(message);
+        }
+    }
+
+    private FakeSource source;
+    private FakeScheduler scheduler;
+    private RosterStore store;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        scheduler = new FakeScheduler();
+        store = new RosterStore(source, scheduler);
+    }
+
+    private static CompactRoster roster(String... ids) {
+        CompactRoster.Builder builder = new CompactRoster.Builder(new UserIdDictionary(), ids.length);
+        for (String id : ids) {
+            builder.add(id, 0, null, null, CompactRoster.STATUS_WAITING);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void twoSubscribers_shareOneListenerAndOneRoster() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+
+        store.subscribe("e1", RosterStore.WAITING_LIST, first);
+        store.subscribe("e1", RosterStore.WAITING_LIST, second);
+        CompactRoster update = roster("a", "b");
+        source.push("e1/waitingList", update);
+
+        assertEquals(1, source.listenCalls);
+        assertSame(update, first.rosters.get(0));
+        assertSame(update, second.rosters.get(0));
+    }
+
+    @Test
+    public void differentSubcollections_getSeparateListeners() {
+        store.subscribe("e1", RosterStore.WAITING_LIST, new RecordingListener());
+        store.subscribe("e1", RosterStore.SELECTED, new RecordingListener());
+        store.subscribe("e2", RosterStore.WAITING_LIST, new RecordingListener());
+
+        assertEquals(3, source.listenCalls);
+        assertEquals(3, store.activeListenerCount());
+    }
+
+    @Test
+    public void lateSubscriber_receivesLatestRosterImmediately() {
+        store.subscribe("e1", RosterStore.SELECTED, new RecordingListener());
+        CompactRoster update = roster("a");
+        source.push("e1/selected", update);
+
+        RecordingListener late = new RecordingListener();
+        store.subscribe("e1", RosterStore.SELECTED, late);
+
+        assertEquals(1, late.rosters.size());
+        assertSame(update, late.rosters.get(0));
+        assertSame(update, store.peek("e1", RosterStore.SELECTED));
+    }
+
+    @Test
+    public void lastRelease_detachesOnlyAfterGracePeriod() {
+        ListenerRegistration first = store.subscribe("e1", RosterStore.WAITING_LIST, new RecordingListener());
+        ListenerRegistration second = store.subscribe("e1", RosterStore.WAITING_LIST, new RecordingListener());
+
+        first.remove();
+        assertTrue(scheduler.pending.isEmpty());
+
+        second.remove();
+        assertEquals(0, source.removeCalls);
+        assertEquals(1, scheduler.pending.size());
+
+        scheduler.runAll();
+        assertEquals(1, source.removeCalls);
+        assertEquals(0, store.activeListenerCount());
+    }
+
+    @Test
+    public void resubscribeWithinGracePeriod_reusesListener() {
+        ListenerRegistration registration = store.subscribe("e1", RosterStore.CANCELLED, new RecordingListener());
+        source.push("e1/cancelled", roster("a"));
+        registration.remove();
+
+        RecordingListener again = new RecordingListener();
+        store.subscribe("e1", RosterStore.CANCELLED, again);
+        scheduler.runAll();
+
+        assertEquals(1, source.listenCalls);
+        assertEquals(0, source.removeCalls);
+        assertEquals(1, again.rosters.size());
+    }
+
+    @Test
+    public void releasedSubscriber_stopsReceivingUpdates() {
+        RecordingListener kept = new RecordingListener();
+        RecordingListener released = new RecordingListener();
+        store.subscribe("e1", RosterStore.WAITING_LIST, kept);
+        store.subscribe("e1", RosterStore.WAITING_LIST, released).remove();
+
+        source.push("e1/waitingList", roster("a"));
+
+        assertEquals(1, kept.rosters.size());
+        assertTrue(released.rosters.isEmpty());
+    }
+
+    @Test
+    public void doubleRelease_countsOnce() {
+        ListenerRegistration first = store.subscribe("e1", RosterStore.WAITING_LIST, new RecordingListener());
+        store.subscribe("e1", RosterStore.WAITING_LIST, new RecordingListener());
+
+        first.remove();
+        first.remove();
+
+        assertTrue(scheduler.pending.isEmpty());
+    }
+
+    @Test
+    public void listenerError_notifiesSubscribersAndReattachesOnNextSubscribe() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        ListenerRegistration registration = store.subscribe("e1", RosterStore.WAITING_LIST, first);
+        store.subscribe("e1", RosterStore.WAITING_LIST, second);
+
+        source.fail("e1/waitingList", "permission denied");
+
+        assertEquals(1, first.errors.size());
+        assertEquals(1, second.errors.size());
+        assertEquals(1, source.removeCalls);
+        assertEquals(0, store.activeListenerCount());
+
+        registration.remove();
+        assertTrue(scheduler.pending.isEmpty());
+
+        RecordingListener retry = new RecordingListener();
+        store.subscribe("e1", RosterStore.WAITING_LIST, retry);
+        CompactRoster update = roster("a");
+        source.push("e1/waitingList", update);
+
+        assertEquals(2, source.listenCalls);
+        assertSame(update, retry.rosters.get(0));
+        assertTrue(first.rosters.isEmpty());
+    }
+
+    @Test
+    public void subcollectionSettings_matchRosterFields() {
+        assertEquals("joinedAt", RosterStore.timestampField(RosterStore.WAITING_LIST));
+        assertEquals("sampledAt", RosterStore.timestampField(RosterStore.SELECTED));
+        assertEquals(CompactRoster.STATUS_CANCELLED, RosterStore.defaultStatus(RosterStore.CANCELLED));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SamplingStrategyTest {
+
+    private static void offer(SamplingStrategy strategy, String prefix, int n, double weight, String stratum) {
+        for (int i = 0; i < n; i++) {
+            strategy.offer(new SamplingStrategy.Entrant(prefix + i, weight, stratum));
+        }
+    }
+
+    @Test
+    public void weighted_drawsDistinctEntrants() {
+        WeightedSamplingStrategy strategy = new WeightedSamplingStrategy(1L, 10);
+        offer(strategy, "u", 100, 1.0, null);
+
+        List<String> drawn = strategy.drawn();
+
+        assertEquals(10, drawn.size());
+        assertEquals(10, new HashSet<>(drawn).size());
+    }
+
+    @Test
+    public void weighted_sameSeed_isRepeatable() {
+        WeightedSamplingStrategy first = new WeightedSamplingStrategy(9L, 5);
+        WeightedSamplingStrategy second = new WeightedSamplingStrategy(9L, 5);
+        offer(first, "u", 50, 2.0, null);
+        offer(second, "u", 50, 2.0, null);
+
+        assertEquals(first.drawn(), second.drawn());
+    }
+
+    @Test
+    public void weighted_favoursHeavierEntrants() {
+        int heavyWins = 0;
+        int runs = 4000;
+        for (long seed = 0; seed < runs; seed++) {
+            WeightedSamplingStrategy strategy = new WeightedSamplingStrategy(seed, 1);
+            strategy.offer(new SamplingStrategy.Entrant("heavy", 3.0, null));
+            strategy.offer(new SamplingStrategy.Entrant("light", 1.0, null));
+            if ("heavy".equals(strategy.drawn().get(0))) heavyWins++;
+        }
+        // Expected 3/4 of runs
+        assertTrue(heavyWins > runs * 0.70 && heavyWins < runs * 0.80);
+    }
+
+    @Test
+    public void weighted_skipsNonPositiveWeights() {
+        WeightedSamplingStrategy strategy = new WeightedSamplingStrategy(1L, 5);
+        strategy.offer(new SamplingStrategy.Entrant("zero", 0.0, null));
+        strategy.offer(new SamplingStrategy.Entrant("ok", 1.0, null));
+
+        assertEquals(1, strategy.drawn().size());
+        assertEquals("ok", strategy.drawn().get(0));
+    }
+
+    @Test
+    public void weightForLostDraws_addsOnePerLoss() {
+        assertEquals(1.0, WeightedSamplingStrategy.weightForLostDraws(0), 0.0);
+        assertEquals(4.0, WeightedSamplingStrategy.weightForLostDraws(3), 0.0);
+    }
+
+    @Test
+    public void allocate_usesLargestRemainder() {
+        Map<String, Double> basis = new LinkedHashMap<>();
+        basis.put("a", 5.0);
+        basis.put("b", 3.0);
+        basis.put("c", 2.0);
+
+        Map<String, Integer> quotas = StratifiedSamplingStrategy.allocate(4, basis);
+
+        // Exact shares 2.0, 1.2, 0.8 -> 2, 1, 1
+        assertEquals(Integer.valueOf(2), quotas.get("a"));
+        assertEquals(Integer.valueOf(1), quotas.get("b"));
+        assertEquals(Integer.valueOf(1), quotas.get("c"));
+    }
+
+    @Test
+    public void stratified_splitsSeatsInProportion() {
+        StratifiedSamplingStrategy strategy = new StratifiedSamplingStrategy(5L, 10);
+        offer(strategy, "north", 700, 1.0, "N");
+        offer(strategy, "south", 300, 1.0, "S");
+
+        List<String> drawn = strategy.drawn();
+
+        long north = drawn.stream().filter(id -> id.startsWith("north")).count();
+        assertEquals(10, drawn.size());
+        assertEquals(7, north);
+    }
+
+    @Test
+    public void stratified_refillsSeatsAStratumCannotUse() {
+        Map<String, Double> shares = new HashMap<>();
+        shares.put("N", 0.5);
+        shares.put("S", 0.5);
+        StratifiedSamplingStrategy strategy = new StratifiedSamplingStrategy(5L, 10, shares);
+        offer(strategy, "north", 100, 1.0, "N");
+        offer(strategy, "south", 2, 1.0, "S");
+
+        List<String> drawn = strategy.drawn();
+
+        assertEquals(10, drawn.size());
+        assertEquals(2, drawn.stream().filter(id -> id.startsWith("south")).count());
+    }
+
+    @Test
+    public void regionKey_groupsByGridCell() {
+        assertEquals("53:-114", StratifiedSamplingStrategy.regionKey(53.5, -113.5));
+        assertEquals(StratifiedSamplingStrategy.regionKey(53.1, -113.9),
+                StratifiedSamplingStrategy.regionKey(53.9, -113.1));
+        assertEquals(StratifiedSamplingStrategy.UNKNOWN_REGION,
+                StratifiedSamplingStrategy.regionKey(null, null));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class StartupOrchestratorTest {
+
+    private long now;
+    private StartupOrchestrator startup;
+
+    @Before
+    public void setUp() {
+        now = 5_000L;
+        startup = new StartupOrchestrator(() -> now);
+        startup.begin();
+    }
+
+    @Test
+    public void independentSteps_startTogether() {
+        TaskCompletionSource<String> role = new TaskCompletionSource<>();
+        TaskCompletionSource<String> token = new TaskCompletionSource<>();
+        int[] started = {0};
+
+        startup.critical("role", () -> {
+            started[0]++;
+            return role.getTask();
+        });
+        startup.background("fcmToken", () -> {
+            started[0]++;
+            return token.getTask();
+        });
+
+        assertEquals(2, started[0]);
+    }
+
+    @Test
+    public void trace_recordsPerStepTimings() {
+        TaskCompletionSource<String> role = new TaskCompletionSource<>();
+        TaskCompletionSource<String> token = new TaskCompletionSource<>();
+        now += 10;
+        startup.critical("role", role::getTask);
+        startup.background("fcmToken", token::getTask);
+
+        now += 30;
+        role.setResult("entrant");
+        now += 50;
+        token.setResult("abc");
+
+        StartupOrchestrator.Span roleSpan = startup.findSpan("role");
+        StartupOrchestrator.Span tokenSpan = startup.findSpan("fcmToken");
+        assertEquals(StartupOrchestrator.PHASE_CRITICAL, roleSpan.phase);
+        assertEquals(10, roleSpan.startMs);
+        assertEquals(30, roleSpan.durationMs());
+        assertEquals(StartupOrchestrator.PHASE_BACKGROUND, tokenSpan.phase);
+        assertEquals(80, tokenSpan.durationMs());
+        assertTrue(tokenSpan.successful);
+    }
+
+    @Test
+    public void criticalStepsDone_waitsForEveryCriticalStep() {
+        TaskCompletionSource<String> first = new TaskCompletionSource<>();
+        TaskCompletionSource<String> second = new TaskCompletionSource<>();
+        startup.critical("a", first::getTask);
+        startup.critical("b", second::getTask);
+        Task<Void> done = startup.criticalStepsDone();
+
+        first.setResult("x");
+        assertFalse(done.isComplete());
+
+        second.setException(new Exception("offline"));
+        assertTrue(done.isComplete());
+        assertFalse(startup.findSpan("b").successful);
+    }
+
+    @Test
+    public void criticalStepsDone_withoutSteps_isComplete() {
+        assertTrue(startup.criticalStepsDone().isComplete());
+    }
+
+    @Test
+    public void deferredStep_waitsForFirstFrame() {
+        int[] ran = {0};
+        startup.deferUntilFirstFrame("fcmTokenUpload", () -> {
+            ran[0]++;
+            return Tasks.forResult(null);
+        });
+        assertEquals(0, ran[0]);
+
+        now += 120;
+        startup.onFirstFrame();
+        startup.onFirstFrame();
+
+        assertEquals(1, ran[0]);
+        StartupOrchestrator.Span mark = startup.findSpan(StartupOrchestrator.MARK_FIRST_FRAME);
+        assertEquals(120, mark.startMs);
+        assertEquals(StartupOrchestrator.PHASE_DEFERRED, startup.findSpan("fcmTokenUpload").phase);
+    }
+
+    @Test
+    public void deferredStep_afterFirstFrame_runsImmediately() {
+        startup.onFirstFrame();
+        int[] ran = {0};
+
+        startup.deferUntilFirstFrame("late", () -> {
+            ran[0]++;
+            return Tasks.forResult(null);
+        });
+
+        assertEquals(1, ran[0]);
+    }
+
+    @Test
+    public void throwingStep_isRecordedAsFailed() {
+        Task<Object> task = startup.background("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertFalse(task.isSuccessful());
+        assertFalse(startup.findSpan("broken").successful);
+    }
+
+    @Test
+    public void begin_clearsPreviousRun() {
+        startup.mark("routed");
+        startup.deferUntilFirstFrame("stale", () -> Tasks.forResult(null));
+
+        startup.begin();
+        startup.onFirstFrame();
+
+        assertNull(startup.findSpan("routed"));
+        assertNull(startup.findSpan("stale"));
+    }
+}
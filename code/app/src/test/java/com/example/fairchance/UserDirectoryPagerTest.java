@@ -0,0 +1,152 @@
+package com.example.fairchance;
+
+import static org.junit.Assert.*;
+
+import com.example.fairchance.models.AdminUserItem;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class UserDirectoryPagerTest {
+
+    /** Records page requests; the test answers them explicitly. */
+    private static class FakeSource implements UserDirectoryPager.PageSource {
+        final List<String> prefixes = new ArrayList<>();
+        final List<AuthRepository.UserPageCallback> pending = new ArrayList<>();
+        String lastRole;
+        int lastLimit;
+
+        @Override
+        public void fetchUserPage(String role, String namePrefix,
+                                  DocumentSnapshot startAfter,
+                                  int limit, AuthRepository.UserPageCallback callback) {
+            lastRole = role;
+            lastLimit = limit;
+            prefixes.add(namePrefix);
+            pending.add(callback);
+        }
+
+        void answer(int index, List<AdminUserItem> users, boolean hasMore) {
+            pending.get(index).onSuccess(users, null, hasMore);
+        }
+    }
+
+    private static class RecordingListener implements UserDirectoryPager.Listener {
+        final List<Boolean> firstPageFlags = new ArrayList<>();
+        final List<List<AdminUserItem>> pages = new ArrayList<>();
+        String error;
+
+        @Override
+        public void onPageLoaded(List<AdminUserItem> users, boolean firstPage) {
+            pages.add(users);
+            firstPageFlags.add(firstPage);
+        }
+
+        @Override
+        public void onError(String message) {
+            error = message;
+        }
+    }
+
+    private FakeSource source;
+    private RecordingListener listener;
+    private UserDirectoryPager pager;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        listener = new RecordingListener();
+        pager = new UserDirectoryPager(source, "organizer", 2, listener);
+    }
+
+    private static List<AdminUserItem> users(String... names) {
+        List<AdminUserItem> list = new ArrayList<>();
+        for (String name : names) {
+            list.add(new AdminUserItem(name, name, name + "@example.com", "organizer", null));
+        }
+        return list;
+    }
+
+    @Test
+    public void search_requestsFirstPageWithRoleAndNormalizedPrefix() {
+        pager.search("  AnNa ");
+
+        assertEquals("organizer", source.lastRole);
+        assertEquals(2, source.lastLimit);
+        assertEquals(Collections.singletonList("anna"), source.prefixes);
+    }
+
+    @Test
+    public void loadNextPage_whileLoading_doesNotRequestTwice() {
+        pager.search("");
+        pager.loadNextPage();
+        pager.loadNextPage();
+
+        assertEquals(1, source.pending.size());
+        assertTrue(pager.isLoading());
+    }
+
+    @Test
+    public void pages_areMarkedFirstThenAppended() {
+        pager.search("");
+        source.answer(0, users("a", "b"), true);
+        pager.loadNextPage();
+        source.answer(1, users("c"), false);
+
+        assertEquals(2, listener.pages.size());
+        assertTrue(listener.firstPageFlags.get(0));
+        assertFalse(listener.firstPageFlags.get(1));
+        assertFalse(pager.hasMore());
+    }
+
+    @Test
+    public void exhaustedDirectory_stopsRequesting() {
+        pager.search("");
+        source.answer(0, users("a"), false);
+
+        pager.loadNextPage();
+
+        assertEquals(1, source.pending.size());
+    }
+
+    @Test
+    public void staleResults_fromPreviousSearch_areDropped() {
+        pager.search("a");
+        pager.search("ab");
+
+        source.answer(0, users("alice"), true);
+        assertTrue(listener.pages.isEmpty());
+
+        source.answer(1, users("abby"), false);
+        assertEquals(1, listener.pages.size());
+        assertEquals("abby", listener.pages.get(0).get(0).getName());
+        assertTrue(listener.firstPageFlags.get(0));
+    }
+
+    @Test
+    public void sameSearchText_isNotResent() {
+        pager.search("Bo");
+        source.answer(0, users("bob"), false);
+
+        pager.search("bo ");
+
+        assertEquals(1, source.pending.size());
+    }
+
+    @Test
+    public void error_clearsLoadingSoRetryIsPossible() {
+        pager.search("");
+        source.pending.get(0).onError("offline");
+
+        assertEquals("offline", listener.error);
+        assertFalse(pager.isLoading());
+
+        pager.loadNextPage();
+        assertEquals(2, source.pending.size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.fairchance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for {@link WaitingListManager} operations on large lists.
+ * Not part of the unit test run; start {@link #main} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitingListManagerBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int entrants;
+
+    private WaitingListManager waitingList;
+    private Set<String> selected;
+    private Random random;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        waitingList = new WaitingListManager();
+        for (int i = 0; i < entrants; i++) {
+            waitingList.join("user" + i);
+        }
+        // A typical event selects a small fraction of its waiting list
+        selected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            selected.add("user" + i);
+        }
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return waitingList.contains("user" + random.nextInt(entrants));
+    }
+
+    /** Leaves and re-joins the same user, so the list size stays constant. */
+    @Benchmark
+    public int leaveAndJoin() {
+        String id = "user" + (next++ % entrants);
+        waitingList.leave(id);
+        waitingList.join(id);
+        return waitingList.count();
+    }
+
+    @Benchmark
+    public String drawReplacementWithSet() {
+        return waitingList.drawReplacement(selected);
+    }
+
+    @Benchmark
+    public String drawRandom() {
+        return waitingList.drawRandom(selected, random);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WaitingListManagerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
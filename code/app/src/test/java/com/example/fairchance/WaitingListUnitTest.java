@@ -6,7 +6,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 public class WaitingListUnitTest {
 
@@ -61,4 +65,65 @@ public class WaitingListUnitTest {
         assertTrue(waitingList.getWaitingList().contains(replacement));
         assertFalse(selected.contains(replacement));
     }
+
+    @Test
+    public void leave_keepsJoinOrderOfRemainingEntrants() {
+        waitingList.join("u1");
+        waitingList.join("u2");
+        waitingList.join("u3");
+        waitingList.join("u4");
+
+        waitingList.leave("u2");
+
+        assertEquals(Arrays.asList("u1", "u3", "u4"), waitingList.getWaitingList());
+        assertTrue(waitingList.contains("u4"));
+        assertFalse(waitingList.contains("u2"));
+    }
+
+    @Test
+    public void leave_unknownEntrant_isIgnored() {
+        waitingList.join("u1");
+        waitingList.leave("nobody");
+        assertEquals(1, waitingList.count());
+    }
+
+    @Test
+    public void drawReplacement_withSet_returnsEarliestEligible() {
+        waitingList.join("u1");
+        waitingList.join("u2");
+        waitingList.join("u3");
+
+        Set<String> selected = new HashSet<>(Arrays.asList("u1", "u2"));
+
+        assertEquals("u3", waitingList.drawReplacement(selected));
+        selected.add("u3");
+        assertNull(waitingList.drawReplacement(selected));
+    }
+
+    @Test
+    public void drawRandom_neverReturnsExcluded() {
+        for (int i = 0; i < 100; i++) waitingList.join("u" + i);
+        Set<String> excluded = new HashSet<>();
+        for (int i = 0; i < 99; i++) excluded.add("u" + i);
+
+        assertEquals("u99", waitingList.drawRandom(excluded, new Random(1)));
+    }
+
+    @Test
+    public void drawAndRemove_removesDrawnEntrant() {
+        for (int i = 0; i < 10; i++) waitingList.join("u" + i);
+        Random random = new Random(3);
+
+        Set<String> drawn = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            String id = waitingList.drawAndRemove(random);
+            assertFalse(waitingList.contains(id));
+            drawn.add(id);
+        }
+
+        assertEquals(10, drawn.size());
+        assertEquals(0, waitingList.count());
+        assertNull(waitingList.drawAndRemove(random));
+        assertEquals(Collections.emptyList(), waitingList.getWaitingList());
+    }
 }
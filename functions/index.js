@@ -1,16 +1,99 @@
 // functions/index.js
 
 const { onCall, HttpsError } = require("firebase-functions/v2/https");
+const { onSchedule } = require("firebase-functions/v2/scheduler");
+const {
+  onDocumentCreated,
+  onDocumentUpdated,
+  onDocumentWritten,
+} = require("firebase-functions/v2/firestore");
+const { defineInt } = require("firebase-functions/params");
 const { initializeApp } = require("firebase-admin/app");
-const { getFirestore, FieldValue } = require("firebase-admin/firestore");
+const { getFirestore, FieldValue, Timestamp } = require("firebase-admin/firestore");
 const { getMessaging } = require("firebase-admin/messaging");
+const { getStorage } = require("firebase-admin/storage");
+const { foldRollupPage } = require("./rollup");
 
 initializeApp();
 
+/**
+ * ROSTER LAYOUT
+ *  - Events with unifiedRoster: true keep one events/{eventId}/entrants/{uid}
+ *    doc per entrant with a status field instead of the waitingList,
+ *    selected, cancelled and confirmedAttendees subcollections.
+ *  - The legacy roster names are still used as views; ROSTER_STATUSES maps
+ *    each one to entrant statuses (same mapping as EntrantRoster.java).
+ */
+const ROSTER_STATUSES = {
+  waitingList: ["waiting"],
+  selected: ["pending", "accepted", "declined", "cancelled"],
+  cancelled: ["cancelled"],
+  confirmedAttendees: ["accepted"],
+};
+
+function rosterQuery(eventRef, event, roster) {
+  if (!event.unifiedRoster) return eventRef.collection(roster);
+  return eventRef.collection("entrants").where("status", "in", ROSTER_STATUSES[roster]);
+}
+
+function rosterDoc(eventRef, event, roster, userId) {
+  return eventRef.collection(event.unifiedRoster ? "entrants" : roster).doc(userId);
+}
+
+/**
+ * ADMIN NOTIFICATION LOG
+ *  - Each send callable records one notificationLogs/{id} doc in the layout
+ *    NotificationLogRepository reads: recipientCount on the log and one
+ *    recipients/{uid} doc per notified user.
+ *  - Recipient docs are committed before the log doc, so the admin browser
+ *    never lists a log whose recipients are only partly written. A failed
+ *    write is logged; it does not fail a send that already went out.
+ *  - eventNameLower holds nameSearchKey(eventName); the admin browser's
+ *    event filter is a prefix range over it.
+ */
+const LOG_RECIPIENT_CHUNK = 500;
+
+async function writeNotificationLog(db, request, { messageType, messageBody, eventId, eventName, recipientIds }) {
+  try {
+    const senderId = request.auth ? request.auth.uid : null;
+    let senderName = null;
+    if (senderId) {
+      const senderSnap = await db.collection("users").doc(senderId).get();
+      senderName = senderSnap.exists ? senderSnap.get("name") || null : null;
+    }
+
+    const logRef = db.collection("notificationLogs").doc();
+    for (let i = 0; i < recipientIds.length; i += LOG_RECIPIENT_CHUNK) {
+      const batch = db.batch();
+      recipientIds.slice(i, i + LOG_RECIPIENT_CHUNK).forEach((userId) => {
+        batch.set(logRef.collection("recipients").doc(userId), { userId });
+      });
+      await batch.commit();
+    }
+
+    await logRef.set({
+      id: logRef.id,
+      senderId,
+      senderName,
+      messageType,
+      messageBody,
+      eventId,
+      eventName,
+      eventNameLower: nameSearchKey(eventName),
+      recipientCount: recipientIds.length,
+      timestamp: FieldValue.serverTimestamp(),
+    });
+  } catch (err) {
+    console.error(`Failed to write notification log for ${eventId}`, err);
+  }
+}
+
 /**
  * CHOSEN ENTRANTS
  *  - If only eventId: notify all docs in events/{eventId}/selected
  *  - If eventId + entrantId: only that doc
+ *  - On unified rosters the entrant keeps its "pending" status; only
+ *    notifiedAt and the invitation details are added.
  */
 exports.sendChosenNotifications = onCall(async (request) => {
   const data = request.data || {};
@@ -44,15 +127,12 @@ exports.sendChosenNotifications = onCall(async (request) => {
 
   let selectedDocs = [];
   if (singleEntrantId) {
-    const docSnap = await eventRef
-      .collection("selected")
-      .doc(singleEntrantId)
-      .get();
+    const docSnap = await rosterDoc(eventRef, event, "selected", singleEntrantId).get();
     if (docSnap.exists) {
       selectedDocs = [docSnap];
     }
   } else {
-    const selectedSnap = await eventRef.collection("selected").get();
+    const selectedSnap = await rosterQuery(eventRef, event, "selected").get();
     selectedDocs = selectedSnap.docs;
   }
 
@@ -67,6 +147,7 @@ exports.sendChosenNotifications = onCall(async (request) => {
   let failureCount = 0;
 
   const tokens = [];
+  const recipientIds = [];
   const docsToMarkNotified = [];
 
   for (const doc of selectedDocs) {
@@ -90,6 +171,7 @@ exports.sendChosenNotifications = onCall(async (request) => {
     if (prefs.lotteryResults === false && prefs.organizerUpdates === false) {
       continue;
     }
+    recipientIds.push(userId);
 
     const token = user.fcmToken;
     if (!token) {
@@ -107,6 +189,7 @@ exports.sendChosenNotifications = onCall(async (request) => {
       data: {
         eventId,
         eventName,
+        status: "Selected",
         eventDate: eventDateText,
         confirmationInstructions:
           "Please open the app and confirm your participation.",
@@ -120,7 +203,7 @@ exports.sendChosenNotifications = onCall(async (request) => {
 
   docsToMarkNotified.forEach((ref) => {
     batch.update(ref, {
-      status: "notified",
+      ...(event.unifiedRoster ? {} : { status: "notified" }),
       notifiedAt: FieldValue.serverTimestamp(),
       eventName,
       eventDate: eventDateText,
@@ -130,6 +213,13 @@ exports.sendChosenNotifications = onCall(async (request) => {
   });
 
   await batch.commit();
+  await writeNotificationLog(db, request, {
+    messageType: "chosen",
+    messageBody: body,
+    eventId,
+    eventName,
+    recipientIds,
+  });
 
   return { sentCount, failureCount };
 });
@@ -161,13 +251,14 @@ exports.sendWaitingListNotifications = onCall(async (request) => {
     customMessage ||
     `There is an update regarding the waiting list for ${eventName}. Please open the app for details.`;
 
-  const waitingSnap = await eventRef.collection("waitingList").get();
+  const waitingSnap = await rosterQuery(eventRef, event, "waitingList").get();
   if (waitingSnap.empty) {
     return { sentCount: 0, failureCount: 0 };
   }
 
   const messaging = getMessaging();
   const tokens = [];
+  const recipientIds = [];
 
   let sentCount = 0;
   let failureCount = 0;
@@ -181,6 +272,7 @@ exports.sendWaitingListNotifications = onCall(async (request) => {
     if (prefs.organizerUpdates === false) {
       continue;
     }
+    recipientIds.push(userId);
 
     const token = user.fcmToken;
     if (!token) {
@@ -216,6 +308,13 @@ exports.sendWaitingListNotifications = onCall(async (request) => {
     failureCount,
     createdAt: FieldValue.serverTimestamp(),
   });
+  await writeNotificationLog(db, request, {
+    messageType: "waitingList",
+    messageBody: body,
+    eventId,
+    eventName,
+    recipientIds,
+  });
 
   return { sentCount, failureCount };
 });
@@ -247,13 +346,14 @@ exports.sendCancelledNotifications = onCall(async (request) => {
     customMessage ||
     `There is an update regarding your cancelled entry for ${eventName}. Please open the app for details.`;
 
-  const cancelledSnap = await eventRef.collection("cancelled").get();
+  const cancelledSnap = await rosterQuery(eventRef, event, "cancelled").get();
   if (cancelledSnap.empty) {
     return { sentCount: 0, failureCount: 0 };
   }
 
   const messaging = getMessaging();
   const tokens = [];
+  const recipientIds = [];
 
   let sentCount = 0;
   let failureCount = 0;
@@ -267,6 +367,7 @@ exports.sendCancelledNotifications = onCall(async (request) => {
     if (prefs.organizerUpdates === false) {
       continue;
     }
+    recipientIds.push(userId);
 
     const token = user.fcmToken;
     if (!token) {
@@ -302,6 +403,1046 @@ exports.sendCancelledNotifications = onCall(async (request) => {
     failureCount,
     createdAt: FieldValue.serverTimestamp(),
   });
+  await writeNotificationLog(db, request, {
+    messageType: "cancelled",
+    messageBody: body,
+    eventId,
+    eventName,
+    recipientIds,
+  });
 
   return { sentCount, failureCount };
 });
+
+/**
+ * NOTIFICATION LOG RETENTION
+ *  - Logs older than NOTIFICATION_LOG_RETENTION_DAYS are folded into one
+ *    summary doc per (event, UTC day) in notificationLogRollups, with
+ *    counts by messageType, and the original logs are deleted. The
+ *    per-page counting is foldRollupPage in rollup.js.
+ *  - Each page is rolled up and deleted in the same batch, so a retry
+ *    never counts a log twice.
+ */
+const NOTIFICATION_LOG_RETENTION_DAYS = defineInt("NOTIFICATION_LOG_RETENTION_DAYS", {
+  default: 90,
+});
+const ROLLUP_PAGE_SIZE = 200; // 200 deletes + at most 200 rollup writes per batch
+
+exports.rollupNotificationLogs = onSchedule(
+  { schedule: "every day 03:00", timeZone: "UTC", timeoutSeconds: 540 },
+  async () => {
+    const db = getFirestore();
+    const retentionDays = NOTIFICATION_LOG_RETENTION_DAYS.value();
+    const cutoff = Timestamp.fromMillis(
+      Date.now() - retentionDays * 24 * 60 * 60 * 1000
+    );
+
+    let rolledUp = 0;
+
+    while (true) {
+      const page = await db
+        .collection("notificationLogs")
+        .where("timestamp", "<", cutoff)
+        .orderBy("timestamp")
+        .limit(ROLLUP_PAGE_SIZE)
+        .get();
+
+      if (page.empty) break;
+
+      const rollups = foldRollupPage(page.docs.map((doc) => doc.data() || {}));
+
+      // Recipient docs are not covered by the batch below; remove them first.
+      await Promise.all(
+        page.docs.map((doc) => db.recursiveDelete(doc.ref.collection("recipients")))
+      );
+
+      const batch = db.batch();
+      for (const [key, rollup] of rollups) {
+        const countsUpdate = {};
+        for (const [type, count] of Object.entries(rollup.countsByMessageType)) {
+          countsUpdate[type] = FieldValue.increment(count);
+        }
+        const update = {
+          eventId: rollup.eventId,
+          day: rollup.day,
+          dayStart: Timestamp.fromDate(new Date(`${rollup.day}T00:00:00Z`)),
+          logCount: FieldValue.increment(rollup.logCount),
+          recipientCount: FieldValue.increment(rollup.recipientCount),
+          countsByMessageType: countsUpdate,
+          updatedAt: FieldValue.serverTimestamp(),
+        };
+        if (rollup.eventName) update.eventName = rollup.eventName;
+        batch.set(db.collection("notificationLogRollups").doc(key), update, { merge: true });
+      }
+      page.docs.forEach((doc) => batch.delete(doc.ref));
+      await batch.commit();
+
+      rolledUp += page.size;
+    }
+
+    console.log(
+      `Rolled up ${rolledUp} notification logs older than ${retentionDays} days`
+    );
+  }
+);
+
+/**
+ * ORGANIZER RENAME
+ *  - events carry a denormalized organizerName; when an organizer's
+ *    display name changes, copy it onto every event they own.
+ *  - Uses the same fallback order as EventRepository.getOrganizerName.
+ */
+function resolveOrganizerName(user, userId) {
+  return user.fullName || user.name || user.email || userId;
+}
+
+exports.syncOrganizerName = onDocumentUpdated("users/{userId}", async (event) => {
+  const before = event.data.before.data() || {};
+  const after = event.data.after.data() || {};
+  const userId = event.params.userId;
+
+  const oldName = resolveOrganizerName(before, userId);
+  const newName = resolveOrganizerName(after, userId);
+  if (oldName === newName) return;
+
+  const db = getFirestore();
+  const eventsSnap = await db
+    .collection("events")
+    .where("organizerId", "==", userId)
+    .get();
+  if (eventsSnap.empty) return;
+
+  const writer = db.bulkWriter();
+  eventsSnap.docs.forEach((doc) => {
+    writer.update(doc.ref, { organizerName: newName });
+  });
+  await writer.close();
+
+  console.log(`Updated organizerName on ${eventsSnap.size} events for ${userId}`);
+});
+
+/**
+ * USER NAME INDEX
+ *  - Keeps users/{userId}.nameLower equal to the trimmed, lower-cased name.
+ *  - The admin user directory orders and prefix-searches on this field
+ *    (see AuthRepository.nameSearchKey), so every user needs it, including
+ *    accounts edited outside the app.
+ */
+function nameSearchKey(name) {
+  return typeof name === "string" ? name.trim().toLowerCase() : "";
+}
+
+exports.syncUserNameIndex = onDocumentWritten("users/{userId}", async (event) => {
+  const after = event.data.after;
+  if (!after.exists) return;
+
+  const user = after.data() || {};
+  const key = nameSearchKey(user.name);
+  if (user.nameLower === key) return;
+
+  await after.ref.update({ nameLower: key });
+});
+
+/**
+ * UNIFIED ROSTER HISTORY
+ *  - Keeps users/{uid}/eventHistory/{eventId} in step with
+ *    events/{eventId}/entrants/{uid}, so the app writes each roster
+ *    transition once.
+ *  - Mirrors the entrant doc as it is now rather than the change that fired,
+ *    so triggers delivered late or out of order still converge.
+ */
+const HISTORY_STATUS = {
+  pending: "Selected",
+  accepted: "Confirmed",
+  declined: "Declined",
+  cancelled: "Cancelled",
+};
+
+exports.mirrorEntrantHistory = onDocumentWritten(
+  "events/{eventId}/entrants/{userId}",
+  async (event) => {
+    const { eventId, userId } = event.params;
+    const before = event.data.before;
+    const after = event.data.after;
+    if (before.exists && after.exists && before.get("status") === after.get("status")) return;
+
+    const db = getFirestore();
+    const historyRef = db.collection("users").doc(userId).collection("eventHistory").doc(eventId);
+    const entrantSnap = await after.ref.get();
+    if (!entrantSnap.exists) {
+      await historyRef.delete();
+      return;
+    }
+
+    const update = {
+      status: HISTORY_STATUS[entrantSnap.get("status")] || "Waiting",
+      updatedAt: FieldValue.serverTimestamp(),
+    };
+    if (!before.exists) {
+      const eventSnap = await db.collection("events").doc(eventId).get();
+      const eventData = eventSnap.data() || {};
+      update.eventName = eventData.name || null;
+      update.eventDate = eventData.eventDate || null;
+    }
+    await historyRef.set(update, { merge: true });
+  }
+);
+
+/**
+ * LOST DRAWS
+ *  - A draw tags every entrant it leaves on standby with lostDrawId (see
+ *    EventRepository.persistStandbyOrder). The first time an entry carries a
+ *    given lostDrawId, lostDraws goes up by one on the entry and on
+ *    users/{uid}; lossCountedDrawId on the entry records that, so a retried
+ *    chunk or a redelivered trigger counts each draw once.
+ *  - Being drawn (a new selected doc, or an entrant going from waiting to
+ *    pending) resets the user's lostDraws to 0.
+ *  - The user doc is only updated, never created, so a deleted account is
+ *    not brought back.
+ */
+async function countLostDraw(db, entryRef, userId) {
+  const userRef = db.collection("users").doc(userId);
+  await db.runTransaction(async (tx) => {
+    const entrySnap = await tx.get(entryRef);
+    const userSnap = await tx.get(userRef);
+    if (!entrySnap.exists) return;
+    const drawId = entrySnap.get("lostDrawId");
+    if (!drawId || entrySnap.get("lossCountedDrawId") === drawId) return;
+    tx.update(entryRef, { lossCountedDrawId: drawId, lostDraws: FieldValue.increment(1) });
+    if (userSnap.exists) {
+      tx.update(userRef, { lostDraws: FieldValue.increment(1) });
+    }
+  });
+}
+
+async function resetLostDraws(db, userId) {
+  const userRef = db.collection("users").doc(userId);
+  const userSnap = await userRef.get();
+  if (userSnap.exists && userSnap.get("lostDraws")) {
+    await userRef.update({ lostDraws: 0 });
+  }
+}
+
+// The lostDrawId an entry carries but has not been counted for yet, if any.
+function uncountedLostDrawId(after) {
+  if (!after.exists) return null;
+  const drawId = after.get("lostDrawId");
+  return drawId && drawId !== after.get("lossCountedDrawId") ? drawId : null;
+}
+
+exports.countLostDrawsWaitingList = onDocumentWritten(
+  { document: "events/{eventId}/waitingList/{userId}", retry: true },
+  async (event) => {
+    if (!uncountedLostDrawId(event.data.after)) return;
+    await countLostDraw(getFirestore(), event.data.after.ref, event.params.userId);
+  }
+);
+
+exports.countLostDrawsEntrants = onDocumentWritten(
+  { document: "events/{eventId}/entrants/{userId}", retry: true },
+  async (event) => {
+    const db = getFirestore();
+    const before = event.data.before;
+    const after = event.data.after;
+    if (before.exists && after.exists
+        && before.get("status") === "waiting" && after.get("status") === "pending") {
+      await resetLostDraws(db, event.params.userId);
+      return;
+    }
+    if (!uncountedLostDrawId(after) || after.get("status") !== "waiting") return;
+    await countLostDraw(db, after.ref, event.params.userId);
+  }
+);
+
+exports.resetLostDrawsOnSelection = onDocumentCreated(
+  { document: "events/{eventId}/selected/{userId}", retry: true },
+  async (event) => {
+    await resetLostDraws(getFirestore(), event.params.userId);
+  }
+);
+
+/**
+ * ENTRANT TRANSITION VIEWS
+ *  - Every roster status change appends one doc to
+ *    events/{eventId}/transitions (see EntrantTransitions.java). Each new
+ *    entry is folded into two views that reporting reads instead of rosters:
+ *      events/{eventId}/views/statusCounts   { counts: { waiting, pending, ... } }
+ *      users/{uid}/timeline/{eventId}        { status, entries: [...] }
+ *  - statusCounts holds a baseline; changes after it go to one of
+ *    STATUS_COUNT_SHARDS docs under statusCounts/shards, so a busy event does
+ *    not funnel every join into one document. Readers add them up.
+ *  - The timeline records which entry IDs it has applied, in the same
+ *    transaction as the counts, so an entry is never applied twice: not on a
+ *    retried trigger, not when the sweep picks it up, and not when a client
+ *    rewrites an entry under its deterministic ID.
+ *  - Entries carry pendingAt until applied. The trigger retries on failure,
+ *    and sweepEntrantTransitions re-applies anything still pending after
+ *    TRANSITION_SWEEP_DELAY_MS.
+ *  - An event without a counts view gets one counted from its rosters at a
+ *    fixed read time first; entries committed by then are part of the count
+ *    and every later one is applied on top.
+ */
+const ENTRANT_STATUSES = ["waiting", "pending", "accepted", "declined", "cancelled"];
+const STATUS_COUNT_SHARDS = 10;
+const TRANSITION_SWEEP_DELAY_MS = 10 * 60 * 1000;
+const TRANSITION_SWEEP_PAGE = 200;
+
+async function countEntrants(tx, query) {
+  const snap = await tx.get(query.count());
+  return snap.data().count;
+}
+
+async function countRosterStatuses(tx, eventRef, event) {
+  const counts = {};
+  if (event.unifiedRoster) {
+    const entrants = eventRef.collection("entrants");
+    for (const status of ENTRANT_STATUSES) {
+      counts[status] = await countEntrants(tx, entrants.where("status", "==", status));
+    }
+    return counts;
+  }
+  const selected = eventRef.collection("selected");
+  counts.waiting = await countEntrants(tx, eventRef.collection("waitingList"));
+  // Invited but not answered yet, whether or not the invite went out
+  counts.pending = await countEntrants(
+    tx,
+    selected.where("status", "in", ["pending", "selected", "notified"])
+  );
+  for (const status of ["accepted", "declined", "cancelled"]) {
+    counts[status] = await countEntrants(tx, selected.where("status", "==", status));
+  }
+  return counts;
+}
+
+// Creates the counts view from the rosters if the event has none yet.
+// Returns false if the event no longer exists.
+async function ensureCountsBaseline(db, eventRef, countsRef) {
+  if ((await countsRef.get()).exists) return true;
+  const eventSnap = await eventRef.get();
+  if (!eventSnap.exists) return false;
+
+  // A second in the past, so the read time is never ahead of the server
+  const baselineAt = Timestamp.fromMillis(Date.now() - 1000);
+  const counts = await db.runTransaction(
+    (tx) => countRosterStatuses(tx, eventRef, eventSnap.data() || {}),
+    { readOnly: true, readTime: baselineAt }
+  );
+  try {
+    await countsRef.create({ counts, baselineAt, updatedAt: FieldValue.serverTimestamp() });
+  } catch (err) {
+    // Another invocation created it first; its baseline is just as good
+    if (err.code !== 6) throw err; // ALREADY_EXISTS
+  }
+  return true;
+}
+
+async function applyTransition(db, entryRef) {
+  const eventRef = entryRef.parent.parent;
+  const eventId = eventRef.id;
+  const countsRef = eventRef.collection("views").doc("statusCounts");
+
+  if (!(await ensureCountsBaseline(db, eventRef, countsRef))) {
+    // Event deleted; nothing left to count
+    await entryRef.update({ pendingAt: FieldValue.delete() }).catch(() => {});
+    return;
+  }
+
+  await db.runTransaction(async (tx) => {
+    const entrySnap = await tx.get(entryRef);
+    if (!entrySnap.exists) return;
+    const entry = entrySnap.data() || {};
+    // Applied before pendingAt existed
+    if (entry.appliedAt && !entry.pendingAt) return;
+
+    const timelineRef = db
+      .collection("users")
+      .doc(entry.userId)
+      .collection("timeline")
+      .doc(eventId);
+    const countsSnap = await tx.get(countsRef);
+    const timelineSnap = await tx.get(timelineRef);
+    const now = FieldValue.serverTimestamp();
+    const markApplied = () => tx.update(entryRef, { appliedAt: now, pendingAt: FieldValue.delete() });
+
+    const appliedIds = timelineSnap.exists ? timelineSnap.get("appliedIds") || [] : [];
+    if (appliedIds.includes(entryRef.id)) {
+      markApplied();
+      return;
+    }
+
+    const at = entry.at || Timestamp.now();
+    const baselineAt = countsSnap.get("baselineAt");
+    if ((!baselineAt || at.toMillis() > baselineAt.toMillis()) && entry.from !== entry.to) {
+      const delta = {};
+      if (entry.from && entry.from !== "none") delta[entry.from] = FieldValue.increment(-1);
+      if (entry.to && entry.to !== "none") delta[entry.to] = FieldValue.increment(1);
+      const shard = Math.floor(Math.random() * STATUS_COUNT_SHARDS);
+      tx.set(
+        countsRef.collection("shards").doc(String(shard)),
+        { counts: delta, updatedAt: now },
+        { merge: true }
+      );
+    }
+
+    const timeline = {
+      eventId,
+      appliedIds: FieldValue.arrayUnion(entryRef.id),
+      entries: FieldValue.arrayUnion({
+        from: entry.from || null,
+        to: entry.to || null,
+        reason: entry.reason || null,
+        at,
+      }),
+    };
+    // Triggers can arrive out of order; the newest entry sets the status
+    const latest = timelineSnap.exists ? timelineSnap.get("updatedAt") : null;
+    if (!latest || at.toMillis() >= latest.toMillis()) {
+      timeline.status = entry.to || null;
+      timeline.updatedAt = at;
+    }
+    tx.set(timelineRef, timeline, { merge: true });
+    markApplied();
+  });
+}
+
+exports.applyEntrantTransition = onDocumentCreated(
+  { document: "events/{eventId}/transitions/{transitionId}", retry: true },
+  async (event) => {
+    await applyTransition(getFirestore(), event.data.ref);
+  }
+);
+
+exports.sweepEntrantTransitions = onSchedule(
+  { schedule: "every 15 minutes", timeoutSeconds: 540 },
+  async () => {
+    const db = getFirestore();
+    const cutoff = Timestamp.fromMillis(Date.now() - TRANSITION_SWEEP_DELAY_MS);
+
+    let swept = 0;
+    let failed = 0;
+    let last = null;
+    while (true) {
+      let query = db
+        .collectionGroup("transitions")
+        .where("pendingAt", "<", cutoff)
+        .orderBy("pendingAt")
+        .limit(TRANSITION_SWEEP_PAGE);
+      if (last) query = query.startAfter(last);
+
+      const page = await query.get();
+      if (page.empty) break;
+
+      for (const doc of page.docs) {
+        try {
+          await applyTransition(db, doc.ref);
+          swept++;
+        } catch (err) {
+          failed++;
+          console.warn(`Could not apply transition ${doc.ref.path}`, err);
+        }
+      }
+      last = page.docs[page.docs.length - 1];
+      if (page.size < TRANSITION_SWEEP_PAGE) break;
+    }
+
+    if (swept || failed) {
+      console.log(`Swept ${swept} pending entrant transitions, ${failed} failed`);
+    }
+  }
+);
+
+/**
+ * ENTRANT TRANSITION COMPACTION
+ *  - Applied transitions older than TRANSITION_RETENTION_DAYS are deleted.
+ *    Their effect stays in the statusCounts views and their content in the
+ *    per-user timelines, so only the raw log shrinks.
+ *  - Entries that were never applied are kept for inspection.
+ */
+const TRANSITION_RETENTION_DAYS = defineInt("TRANSITION_RETENTION_DAYS", {
+  default: 180,
+});
+const COMPACTION_PAGE_SIZE = 450;
+
+exports.compactEntrantTransitions = onSchedule(
+  { schedule: "every day 04:00", timeZone: "UTC", timeoutSeconds: 540 },
+  async () => {
+    const db = getFirestore();
+    const retentionDays = TRANSITION_RETENTION_DAYS.value();
+    const cutoff = Timestamp.fromMillis(
+      Date.now() - retentionDays * 24 * 60 * 60 * 1000
+    );
+
+    let compacted = 0;
+
+    while (true) {
+      const page = await db
+        .collectionGroup("transitions")
+        .where("appliedAt", "<", cutoff)
+        .orderBy("appliedAt")
+        .limit(COMPACTION_PAGE_SIZE)
+        .get();
+
+      if (page.empty) break;
+
+      const batch = db.batch();
+      page.docs.forEach((doc) => batch.delete(doc.ref));
+      await batch.commit();
+
+      compacted += page.size;
+      if (page.size < COMPACTION_PAGE_SIZE) break;
+    }
+
+    console.log(
+      `Compacted ${compacted} entrant transitions older than ${retentionDays} days`
+    );
+  }
+);
+
+/**
+ * EVENT DELETION
+ *  - Deletes an event together with all of its subcollections, the matching
+ *    users/{uid}/eventHistory/{eventId} entries, and its poster objects in
+ *    Storage: everything under event_posters/{eventId}/ (edit uploads) plus
+ *    the object posterImageUrl points at (creation uploads live under the
+ *    organizer's folder).
+ *  - Pages through every collection and writes through a BulkWriter, so it
+ *    is not bound by the 500-write batch limit.
+ *  - Progress is mirrored to eventDeletionJobs/{eventId} for admin screens.
+ */
+const EVENT_SUBCOLLECTIONS = [
+  "waitingList",
+  "selected",
+  "cancelled",
+  "confirmedAttendees",
+  "entrants",
+  "transitions",
+  "views",
+  "notificationLogs",
+  "lotteryDraws",
+];
+const ENTRANT_SUBCOLLECTIONS = [
+  "waitingList",
+  "selected",
+  "cancelled",
+  "confirmedAttendees",
+  "entrants",
+];
+const PAGE_SIZE = 500;
+
+async function callerCanManageEvent(db, request, event) {
+  const uid = request.auth && request.auth.uid;
+  if (!uid) return false;
+  if (event.organizerId === uid) return true;
+  const callerSnap = await db.collection("users").doc(uid).get();
+  return callerSnap.exists && (callerSnap.data() || {}).role === "admin";
+}
+
+/**
+ * Returns the Storage path of a poster download URL or gs:// URL, or null if
+ * the URL does not point into event_posters/ of the given bucket.
+ */
+function posterPathFromUrl(url, bucketName) {
+  if (!url || typeof url !== "string") return null;
+  let path = null;
+  const gsPrefix = `gs://${bucketName}/`;
+  if (url.startsWith(gsPrefix)) {
+    path = url.slice(gsPrefix.length);
+  } else {
+    const match = url.match(/\/b\/([^/]+)\/o\/([^?]+)/);
+    if (match && match[1] === bucketName) {
+      path = decodeURIComponent(match[2]);
+    }
+  }
+  return path && path.startsWith("event_posters/") ? path : null;
+}
+
+async function collectEntrantIds(eventRef) {
+  const ids = new Set();
+  for (const sub of ENTRANT_SUBCOLLECTIONS) {
+    let last = null;
+    while (true) {
+      let query = eventRef.collection(sub).orderBy("__name__").select().limit(PAGE_SIZE);
+      if (last) query = query.startAfter(last);
+      const page = await query.get();
+      if (page.empty) break;
+      page.docs.forEach((doc) => ids.add(doc.id));
+      last = page.docs[page.docs.length - 1];
+      if (page.size < PAGE_SIZE) break;
+    }
+  }
+  return ids;
+}
+
+exports.deleteEventCascade = onCall({ timeoutSeconds: 540 }, async (request) => {
+  const data = request.data || {};
+  const eventId = data.eventId;
+
+  if (!eventId || typeof eventId !== "string") {
+    throw new HttpsError("invalid-argument", "eventId is required");
+  }
+
+  const db = getFirestore();
+  const eventRef = db.collection("events").doc(eventId);
+  const eventSnap = await eventRef.get();
+  if (!eventSnap.exists) {
+    throw new HttpsError("not-found", "Event not found");
+  }
+  if (!(await callerCanManageEvent(db, request, eventSnap.data() || {}))) {
+    throw new HttpsError("permission-denied", "Not allowed to delete this event");
+  }
+
+  const jobRef = db.collection("eventDeletionJobs").doc(eventId);
+  const progress = async (phase, extra = {}) =>
+    jobRef.set(
+      { eventId, phase, updatedAt: FieldValue.serverTimestamp(), ...extra },
+      { merge: true }
+    );
+
+  await progress("collecting", {
+    requestedBy: request.auth.uid,
+    startedAt: FieldValue.serverTimestamp(),
+  });
+
+  // 1) Per-user history entries, found through the event's rosters.
+  const entrantIds = await collectEntrantIds(eventRef);
+  await progress("history", { entrantCount: entrantIds.size });
+
+  const writer = db.bulkWriter();
+  let historyDeleted = 0;
+  for (const uid of entrantIds) {
+    writer
+      .delete(db.collection("users").doc(uid).collection("eventHistory").doc(eventId))
+      .then(() => historyDeleted++)
+      .catch((err) => console.warn(`History delete failed for ${uid}`, err));
+  }
+  await writer.close();
+
+  // 2) Event subcollections, deleted in parallel.
+  await progress("subcollections", { historyDeleted });
+  await Promise.all(
+    EVENT_SUBCOLLECTIONS.map((sub) => db.recursiveDelete(eventRef.collection(sub)))
+  );
+
+  // 3) Poster objects under event_posters/{eventId}/ and the current poster.
+  await progress("storage");
+  let postersDeleted = true;
+  try {
+    const bucket = getStorage().bucket();
+    await bucket.deleteFiles({ prefix: `event_posters/${eventId}/` });
+    const posterPath = posterPathFromUrl(eventSnap.get("posterImageUrl"), bucket.name);
+    if (posterPath && !posterPath.startsWith(`event_posters/${eventId}/`)) {
+      await bucket.file(posterPath).delete({ ignoreNotFound: true });
+    }
+  } catch (err) {
+    postersDeleted = false;
+    console.warn(`Poster cleanup failed for ${eventId}`, err);
+  }
+
+  // 4) The event itself.
+  await eventRef.delete();
+
+  const result = {
+    entrantCount: entrantIds.size,
+    historyDeleted,
+    postersDeleted,
+  };
+  await progress("done", { ...result, finishedAt: FieldValue.serverTimestamp() });
+
+  return result;
+});
+
+/**
+ * ORGANIZER DEACTIVATION
+ *  - Admin-only. Marks the organizer inactive, then pages through their
+ *    events, deactivating each one and cancelling its pending selected
+ *    entrants. Writes are committed in chunks, well under the batch limit.
+ *  - After every page a checkpoint is stored in
+ *    organizerDeactivationJobs/{organizerId}; calling again resumes after
+ *    the last finished event instead of starting over.
+ *  - One summary document with counts and timing goes to
+ *    organizerDeactivationLogs when the job finishes.
+ */
+const DEACTIVATION_EVENT_PAGE = 100;
+const CANCEL_CHUNK = 120; // up to 4 writes per entrant -> 480 writes per batch
+// A legacy invitation is still open while "selected" or, once
+// sendChosenNotifications has run, "notified"
+const LEGACY_PENDING_STATUSES = ["pending", "selected", "notified"];
+
+async function cancelPendingSelected(db, eventRef, reason, unified) {
+  let cancelled = 0;
+  while (true) {
+    const page = await eventRef
+      .collection(unified ? "entrants" : "selected")
+      .where("status", "in", unified ? ["pending"] : LEGACY_PENDING_STATUSES)
+      .limit(CANCEL_CHUNK)
+      .get();
+    if (page.empty) break;
+
+    const now = FieldValue.serverTimestamp();
+    const batch = db.batch();
+    // Each entrant is updated only if unchanged since the query, so an
+    // entrant who just answered is not cancelled or logged twice
+    const unchanged = (doc) => ({ lastUpdateTime: doc.updateTime });
+    page.docs.forEach((doc) => {
+      batch.set(eventRef.collection("transitions").doc(), {
+        userId: doc.id,
+        from: "pending",
+        to: "cancelled",
+        reason,
+        actorId: null,
+        at: now,
+        pendingAt: now,
+      });
+      if (unified) {
+        // mirrorEntrantHistory updates the history entry
+        batch.update(doc.ref, { status: "cancelled", cancelledAt: now, reason }, unchanged(doc));
+        return;
+      }
+      batch.update(doc.ref, { userId: doc.id, status: "cancelled", cancelledAt: now }, unchanged(doc));
+      batch.set(eventRef.collection("cancelled").doc(doc.id), {
+        userId: doc.id,
+        cancelledAt: now,
+        reason,
+      });
+      batch.set(
+        db.collection("users").doc(doc.id).collection("eventHistory").doc(eventRef.id),
+        { status: "Cancelled", updatedAt: now },
+        { merge: true }
+      );
+    });
+    try {
+      await batch.commit();
+    } catch (err) {
+      // FAILED_PRECONDITION: someone answered meanwhile; query the page again
+      if (err.code === 9) continue;
+      throw err;
+    }
+    cancelled += page.size;
+  }
+  return cancelled;
+}
+
+exports.deactivateOrganizerCascade = onCall({ timeoutSeconds: 540 }, async (request) => {
+  const data = request.data || {};
+  const organizerId = data.organizerId;
+  const reason = (data.reason || "Policy violation").toString();
+
+  if (!organizerId || typeof organizerId !== "string") {
+    throw new HttpsError("invalid-argument", "organizerId is required");
+  }
+
+  const db = getFirestore();
+  const adminId = request.auth && request.auth.uid;
+  const adminSnap = adminId ? await db.collection("users").doc(adminId).get() : null;
+  if (!adminSnap || !adminSnap.exists || (adminSnap.data() || {}).role !== "admin") {
+    throw new HttpsError("permission-denied", "Only admins can deactivate organizers");
+  }
+
+  const jobRef = db.collection("organizerDeactivationJobs").doc(organizerId);
+  const jobSnap = await jobRef.get();
+  const job = jobSnap.exists && jobSnap.data().status === "running" ? jobSnap.data() : null;
+
+  const startedAtMs = job ? job.startedAtMs : Date.now();
+  let lastEventId = job ? job.lastEventId || null : null;
+  let eventsDeactivated = job ? job.eventsDeactivated || 0 : 0;
+  let entrantsCancelled = job ? job.entrantsCancelled || 0 : 0;
+
+  await db.collection("users").doc(organizerId).update({
+    isActive: false,
+    roleActive: false,
+    deactivatedAt: FieldValue.serverTimestamp(),
+    deactivatedByAdminId: adminId,
+    deactivationReason: reason,
+  });
+
+  await jobRef.set({
+    organizerId,
+    adminId,
+    reason,
+    status: "running",
+    startedAtMs,
+    lastEventId,
+    eventsDeactivated,
+    entrantsCancelled,
+  });
+
+  while (true) {
+    let query = db
+      .collection("events")
+      .where("organizerId", "==", organizerId)
+      .orderBy("__name__")
+      .limit(DEACTIVATION_EVENT_PAGE);
+    if (lastEventId) query = query.startAfter(lastEventId);
+
+    const page = await query.get();
+    if (page.empty) break;
+
+    const batch = db.batch();
+    page.docs.forEach((doc) => {
+      batch.set(
+        doc.ref,
+        {
+          isActive: false,
+          deactivatedAt: FieldValue.serverTimestamp(),
+          deactivatedByAdminId: adminId,
+          deactivationReason: reason,
+        },
+        { merge: true }
+      );
+    });
+    await batch.commit();
+
+    const cancelledCounts = await Promise.all(
+      page.docs.map((doc) =>
+        cancelPendingSelected(db, doc.ref, "organizer_deactivated", (doc.data() || {}).unifiedRoster)
+      )
+    );
+    entrantsCancelled += cancelledCounts.reduce((a, b) => a + b, 0);
+    eventsDeactivated += page.size;
+    lastEventId = page.docs[page.docs.length - 1].id;
+
+    await jobRef.update({ lastEventId, eventsDeactivated, entrantsCancelled });
+
+    if (page.size < DEACTIVATION_EVENT_PAGE) break;
+  }
+
+  const finishedAtMs = Date.now();
+  const summary = {
+    organizerId,
+    adminId,
+    reason,
+    eventsDeactivated,
+    entrantsCancelled,
+    durationMs: finishedAtMs - startedAtMs,
+    startedAt: Timestamp.fromMillis(startedAtMs),
+    finishedAt: Timestamp.fromMillis(finishedAtMs),
+    timestamp: FieldValue.serverTimestamp(),
+  };
+  await db.collection("organizerDeactivationLogs").add(summary);
+  await jobRef.update({ status: "done", finishedAtMs });
+
+  return { eventsDeactivated, entrantsCancelled, durationMs: summary.durationMs };
+});
+
+/**
+ * USER DELETION
+ *  - Removes everything a deleted account leaves behind: the user's entries
+ *    in every event's rosters and transition logs, their eventHistory, and
+ *    finally users/{userId}.
+ *  - users/{userId}/eventHistory is the per-user index of joined events. It
+ *    is consumed USER_DELETION_CHUNK events at a time, one batch per chunk;
+ *    each history entry is deleted in the same batch as the roster entries it
+ *    points to, so calling again after a failure resumes where it stopped.
+ *  - Roster entries the history lost track of are then found through the
+ *    userId collection-group indexes and removed as well.
+ *  - Each removed roster entry is taken off the event's statusCounts view
+ *    in the same batch. Every batch also updates the running totals in
+ *    userDeletionJobs/{userId}, so a resumed call continues from committed
+ *    counts; the final totals go into one summary document in
+ *    adminRemovalLogs.
+ *  - Callable by the user themselves or by an admin.
+ */
+const MAX_BATCH_WRITES = 500;
+// Worst case per event: a delete for every roster and the history entry, plus
+// a statusCounts update for each counted roster (waitingList, selected,
+// entrants). One write per batch is left for the job update.
+const USER_DELETION_WRITES_PER_EVENT =
+  ENTRANT_SUBCOLLECTIONS.length + 1 + ENTRANT_SUBCOLLECTIONS.filter((sub) => countedStatus(sub)).length;
+const USER_DELETION_CHUNK = Math.floor((MAX_BATCH_WRITES - 1) / USER_DELETION_WRITES_PER_EVENT); // 55
+const UNTRACKED_PAGE = USER_DELETION_CHUNK * 4; // 1 delete + 1 count update per entry, plus the job update
+
+function emptyRosterCounts() {
+  return ENTRANT_SUBCOLLECTIONS.reduce((counts, sub) => ({ ...counts, [sub]: 0 }), {});
+}
+
+// Status a roster entry is counted under in views/statusCounts; cancelled and
+// confirmedAttendees entries repeat a selected entry and are not counted.
+function countedStatus(sub, status) {
+  if (sub === "waitingList") return "waiting";
+  if (sub !== "selected" && sub !== "entrants") return null;
+  const value = status || (sub === "selected" ? "pending" : "waiting");
+  return value === "selected" || value === "notified" ? "pending" : value;
+}
+
+function statusCountsRef(rosterRef) {
+  return rosterRef.parent.parent.collection("views").doc("statusCounts");
+}
+
+async function existingPaths(db, refs) {
+  const unique = [...new Map(refs.map((ref) => [ref.path, ref])).values()];
+  if (!unique.length) return new Set();
+  const snaps = await db.getAll(...unique);
+  return new Set(snaps.filter((snap) => snap.exists).map((snap) => snap.ref.path));
+}
+
+function uncount(batch, viewPaths, rosterSnap, sub) {
+  const status = countedStatus(sub, rosterSnap.get("status"));
+  const viewRef = statusCountsRef(rosterSnap.ref);
+  if (!status || !viewPaths.has(viewRef.path)) return;
+  batch.update(viewRef, { [`counts.${status}`]: FieldValue.increment(-1) });
+}
+
+// Job progress is written in the same batch as the chunk it describes, so
+// the counters in userDeletionJobs/{userId} never lag or double-count.
+function recordProgress(batch, jobRef, progress) {
+  batch.update(jobRef, {
+    eventsProcessed: progress.eventsProcessed,
+    rosterEntriesRemoved: progress.rosterEntriesRemoved,
+    transitionsRemoved: progress.transitionsRemoved,
+  });
+}
+
+async function removeUserFromEvents(db, userRef, jobRef, progress) {
+  while (true) {
+    const page = await userRef.collection("eventHistory").limit(USER_DELETION_CHUNK).get();
+    if (page.empty) break;
+
+    const rosterRefs = [];
+    page.docs.forEach((historyDoc) => {
+      const eventRef = db.collection("events").doc(historyDoc.id);
+      ENTRANT_SUBCOLLECTIONS.forEach((sub) =>
+        rosterRefs.push({ sub, ref: eventRef.collection(sub).doc(userRef.id) })
+      );
+    });
+    const rosterSnaps = await db.getAll(...rosterRefs.map((r) => r.ref));
+    const viewPaths = await existingPaths(
+      db,
+      rosterSnaps.filter((snap) => snap.exists).map((snap) => statusCountsRef(snap.ref))
+    );
+
+    const counts = { ...progress.rosterEntriesRemoved };
+    const batch = db.batch();
+    rosterSnaps.forEach((snap, i) => {
+      if (!snap.exists) return;
+      batch.delete(snap.ref);
+      uncount(batch, viewPaths, snap, rosterRefs[i].sub);
+      counts[rosterRefs[i].sub]++;
+    });
+    page.docs.forEach((historyDoc) => batch.delete(historyDoc.ref));
+    const next = {
+      ...progress,
+      eventsProcessed: progress.eventsProcessed + page.size,
+      rosterEntriesRemoved: counts,
+    };
+    recordProgress(batch, jobRef, next);
+    await batch.commit();
+    Object.assign(progress, next);
+
+    if (page.size < USER_DELETION_CHUNK) break;
+  }
+}
+
+async function removeUntrackedRosterEntries(db, userId, jobRef, progress) {
+  for (const sub of ENTRANT_SUBCOLLECTIONS) {
+    while (true) {
+      const page = await db
+        .collectionGroup(sub)
+        .where("userId", "==", userId)
+        .select("status")
+        .limit(UNTRACKED_PAGE)
+        .get();
+      if (page.empty) break;
+
+      const viewPaths = await existingPaths(db, page.docs.map((doc) => statusCountsRef(doc.ref)));
+      const batch = db.batch();
+      page.docs.forEach((doc) => {
+        batch.delete(doc.ref);
+        uncount(batch, viewPaths, doc, sub);
+      });
+      const counts = { ...progress.rosterEntriesRemoved };
+      counts[sub] += page.size;
+      const next = { ...progress, rosterEntriesRemoved: counts };
+      recordProgress(batch, jobRef, next);
+      await batch.commit();
+      Object.assign(progress, next);
+      if (page.size < UNTRACKED_PAGE) break;
+    }
+  }
+}
+
+async function removeUserTransitions(db, userId, jobRef, progress) {
+  while (true) {
+    const page = await db
+      .collectionGroup("transitions")
+      .where("userId", "==", userId)
+      .select()
+      .limit(USER_DELETION_CHUNK * 5)
+      .get();
+    if (page.empty) break;
+
+    const batch = db.batch();
+    page.docs.forEach((doc) => batch.delete(doc.ref));
+    const next = { ...progress, transitionsRemoved: progress.transitionsRemoved + page.size };
+    recordProgress(batch, jobRef, next);
+    await batch.commit();
+    Object.assign(progress, next);
+    if (page.size < USER_DELETION_CHUNK * 5) break;
+  }
+}
+
+exports.deleteUserCascade = onCall({ timeoutSeconds: 540 }, async (request) => {
+  const data = request.data || {};
+  const userId = data.userId;
+
+  if (!userId || typeof userId !== "string") {
+    throw new HttpsError("invalid-argument", "userId is required");
+  }
+
+  const db = getFirestore();
+  const callerId = request.auth && request.auth.uid;
+  let byAdmin = false;
+  if (callerId && callerId !== userId) {
+    const callerSnap = await db.collection("users").doc(callerId).get();
+    byAdmin = callerSnap.exists && (callerSnap.data() || {}).role === "admin";
+  }
+  if (!callerId || (callerId !== userId && !byAdmin)) {
+    throw new HttpsError("permission-denied", "Not allowed to delete this user");
+  }
+
+  const jobRef = db.collection("userDeletionJobs").doc(userId);
+  const jobSnap = await jobRef.get();
+  const job = jobSnap.exists && jobSnap.data().status === "running" ? jobSnap.data() : null;
+
+  const startedAtMs = job ? job.startedAtMs : Date.now();
+  const progress = {
+    eventsProcessed: job ? job.eventsProcessed || 0 : 0,
+    rosterEntriesRemoved: { ...emptyRosterCounts(), ...(job ? job.rosterEntriesRemoved || {} : {}) },
+    transitionsRemoved: job ? job.transitionsRemoved || 0 : 0,
+  };
+
+  await jobRef.set({
+    userId,
+    requestedBy: callerId,
+    byAdmin,
+    status: "running",
+    startedAtMs,
+    ...progress,
+  });
+
+  const userRef = db.collection("users").doc(userId);
+  await removeUserFromEvents(db, userRef, jobRef, progress);
+  await removeUntrackedRosterEntries(db, userId, jobRef, progress);
+  await removeUserTransitions(db, userId, jobRef, progress);
+  const { eventsProcessed, rosterEntriesRemoved: counts, transitionsRemoved } = progress;
+
+  // Anything else stored under the user, then the profile itself.
+  await db.recursiveDelete(userRef);
+
+  const finishedAtMs = Date.now();
+  const summary = {
+    removedUserId: userId,
+    removedByAdminId: byAdmin ? callerId : null,
+    selfDeletion: !byAdmin,
+    eventsProcessed,
+    rosterEntriesRemoved: counts,
+    transitionsRemoved,
+    durationMs: finishedAtMs - startedAtMs,
+    startedAt: Timestamp.fromMillis(startedAtMs),
+    finishedAt: Timestamp.fromMillis(finishedAtMs),
+    timestamp: FieldValue.serverTimestamp(),
+  };
+  await db.collection("adminRemovalLogs").add(summary);
+  await jobRef.update({ status: "done", finishedAtMs });
+
+  return { eventsProcessed, rosterEntriesRemoved: counts, durationMs: summary.durationMs };
+});
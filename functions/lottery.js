@@ -0,0 +1,54 @@
+/**
+ * Port of com.example.fairchance.LotteryEngine used to replay and verify
+ * recorded draws. Must stay bit-for-bit identical to the Java engine for
+ * each ALGORITHM id; all 64-bit arithmetic is done with BigInt.
+ */
+const crypto = require("crypto");
+
+const ALGORITHM = "splitmix64-partial-fisher-yates-v1";
+const MASK64 = (1n << 64n) - 1n;
+const MAX_SIGNED63 = 1n << 63n;
+
+function splitMix64(seed) {
+  let state = BigInt.asUintN(64, BigInt(seed));
+  return {
+    nextLong() {
+      state = (state + 0x9e3779b97f4a7c15n) & MASK64;
+      let z = state;
+      z = ((z ^ (z >> 30n)) * 0xbf58476d1ce4e5b9n) & MASK64;
+      z = ((z ^ (z >> 27n)) * 0x94d049bb133111ebn) & MASK64;
+      return z ^ (z >> 31n);
+    },
+    nextIndex(bound) {
+      const b = BigInt(bound);
+      while (true) {
+        const r = this.nextLong() >> 1n;
+        const m = r % b;
+        // Java checks for signed overflow of r - m + (bound - 1)
+        if (r - m + (b - 1n) < MAX_SIGNED63) return Number(m);
+      }
+    },
+  };
+}
+
+/** Sorted, de-duplicated copy; compares UTF-16 code units like String.compareTo. */
+function canonicalOrder(ids) {
+  return Array.from(new Set(ids)).sort((a, b) => (a < b ? -1 : a > b ? 1 : 0));
+}
+
+function draw(seed, ids, k) {
+  const pool = canonicalOrder(ids);
+  const take = Math.min(k, pool.length);
+  const rng = splitMix64(seed);
+  for (let i = 0; i < take; i++) {
+    const j = i + rng.nextIndex(pool.length - i);
+    [pool[i], pool[j]] = [pool[j], pool[i]];
+  }
+  return pool.slice(0, take);
+}
+
+function inputDigest(ids) {
+  return crypto.createHash("sha256").update(canonicalOrder(ids).join("\n"), "utf8").digest("hex");
+}
+
+module.exports = { ALGORITHM, canonicalOrder, draw, inputDigest };
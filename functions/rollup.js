@@ -0,0 +1,63 @@
+/**
+ * Folds notification logs into daily per-event summaries for the
+ * rollupNotificationLogs job. Kept free of Firestore calls so the counting
+ * can be tested on plain log objects.
+ */
+
+function utcDayKey(date) {
+  return date.toISOString().slice(0, 10);
+}
+
+/**
+ * Recipient count of one log. Logs written before the recipients
+ * subcollection have no recipientCount and list their recipients inline.
+ */
+function recipientCount(log) {
+  if (log.recipientCount !== undefined) {
+    return Number(log.recipientCount) || 0;
+  }
+  return Array.isArray(log.recipientIds) ? log.recipientIds.length : 0;
+}
+
+/**
+ * Groups a page of log data by (eventId, UTC day) and counts logs,
+ * recipients and logs per messageType.
+ *
+ * @param {object[]} logs log document data; timestamp may be any object
+ *     with toDate(), or missing
+ * @returns {Map<string, object>} rollups keyed by "{eventId}_{day}"
+ */
+function foldRollupPage(logs) {
+  const rollups = new Map();
+
+  for (const log of logs) {
+    const ts = log.timestamp && typeof log.timestamp.toDate === "function"
+      ? log.timestamp.toDate()
+      : new Date(0);
+    const day = utcDayKey(ts);
+    const eventId = log.eventId || "none";
+    const key = `${eventId}_${day}`;
+
+    let rollup = rollups.get(key);
+    if (!rollup) {
+      rollup = {
+        eventId,
+        eventName: log.eventName || null,
+        day,
+        logCount: 0,
+        recipientCount: 0,
+        countsByMessageType: {},
+      };
+      rollups.set(key, rollup);
+    }
+
+    const type = log.messageType || "unknown";
+    rollup.logCount++;
+    rollup.recipientCount += recipientCount(log);
+    rollup.countsByMessageType[type] = (rollup.countsByMessageType[type] || 0) + 1;
+  }
+
+  return rollups;
+}
+
+module.exports = { utcDayKey, recipientCount, foldRollupPage };
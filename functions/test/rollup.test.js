@@ -0,0 +1,60 @@
+const test = require("node:test");
+const assert = require("node:assert/strict");
+
+const { utcDayKey, recipientCount, foldRollupPage } = require("../rollup");
+
+function at(iso) {
+  const date = new Date(iso);
+  return { toDate: () => date };
+}
+
+test("utcDayKey uses the UTC calendar day", () => {
+  assert.equal(utcDayKey(new Date("2025-03-01T23:59:59Z")), "2025-03-01");
+  assert.equal(utcDayKey(new Date("2025-03-02T00:00:00Z")), "2025-03-02");
+});
+
+test("recipientCount prefers the stored count", () => {
+  assert.equal(recipientCount({ recipientCount: 7, recipientIds: ["a"] }), 7);
+  assert.equal(recipientCount({ recipientCount: 0 }), 0);
+});
+
+test("recipientCount falls back to legacy recipientIds", () => {
+  assert.equal(recipientCount({ recipientIds: ["a", "b", "c"] }), 3);
+  assert.equal(recipientCount({}), 0);
+});
+
+test("foldRollupPage groups logs by event and UTC day", () => {
+  const rollups = foldRollupPage([
+    { eventId: "e1", eventName: "Swim", messageType: "chosen", recipientCount: 2,
+      timestamp: at("2025-03-01T08:00:00Z") },
+    { eventId: "e1", messageType: "cancelled", recipientIds: ["a", "b", "c"],
+      timestamp: at("2025-03-01T22:00:00Z") },
+    { eventId: "e1", messageType: "chosen", recipientCount: 1,
+      timestamp: at("2025-03-02T01:00:00Z") },
+    { eventId: "e2", messageType: "chosen", recipientCount: 4,
+      timestamp: at("2025-03-01T09:00:00Z") },
+  ]);
+
+  assert.deepEqual([...rollups.keys()].sort(), ["e1_2025-03-01", "e1_2025-03-02", "e2_2025-03-01"]);
+  assert.deepEqual(rollups.get("e1_2025-03-01"), {
+    eventId: "e1",
+    eventName: "Swim",
+    day: "2025-03-01",
+    logCount: 2,
+    recipientCount: 5,
+    countsByMessageType: { chosen: 1, cancelled: 1 },
+  });
+  assert.equal(rollups.get("e1_2025-03-02").recipientCount, 1);
+  assert.equal(rollups.get("e2_2025-03-01").recipientCount, 4);
+});
+
+test("foldRollupPage files logs without event, type or timestamp under defaults", () => {
+  const rollups = foldRollupPage([{ recipientCount: 1 }, {}]);
+
+  const rollup = rollups.get("none_1970-01-01");
+  assert.equal(rollups.size, 1);
+  assert.equal(rollup.eventName, null);
+  assert.equal(rollup.logCount, 2);
+  assert.equal(rollup.recipientCount, 1);
+  assert.deepEqual(rollup.countsByMessageType, { unknown: 2 });
+});
@@ -0,0 +1,69 @@
+#!/usr/bin/env node
+/**
+ * One-off backfill of the lower-cased name keys that server-side prefix
+ * search runs on, for documents written before those keys existed:
+ *   - users/{userId}.nameLower (admin user directory)
+ *   - notificationLogs/{logId}.eventNameLower (admin log event filter)
+ *
+ *   node tools/backfill-name-index.js [--dry-run]
+ *
+ * Pages through each collection with application default credentials
+ * and writes the key only where it is missing or stale. Safe to re-run.
+ */
+const { initializeApp } = require("firebase-admin/app");
+const { getFirestore } = require("firebase-admin/firestore");
+
+const PAGE_SIZE = 500;
+
+const TARGETS = [
+  { collection: "users", field: "name", key: "nameLower" },
+  { collection: "notificationLogs", field: "eventName", key: "eventNameLower" },
+];
+
+function nameSearchKey(name) {
+  return typeof name === "string" ? name.trim().toLowerCase() : "";
+}
+
+async function backfill(db, writer, { collection, field, key }) {
+  let scanned = 0;
+  let updated = 0;
+  let last = null;
+  while (true) {
+    let query = db.collection(collection).orderBy("__name__").select(field, key).limit(PAGE_SIZE);
+    if (last) query = query.startAfter(last);
+    const page = await query.get();
+    if (page.empty) break;
+
+    for (const doc of page.docs) {
+      scanned++;
+      const value = nameSearchKey(doc.get(field));
+      if (doc.get(key) === value) continue;
+      updated++;
+      if (writer) writer.update(doc.ref, { [key]: value });
+    }
+
+    last = page.docs[page.docs.length - 1];
+    if (page.size < PAGE_SIZE) break;
+  }
+  return { scanned, updated };
+}
+
+async function main() {
+  const dryRun = process.argv.includes("--dry-run");
+
+  initializeApp();
+  const db = getFirestore();
+  const writer = dryRun ? null : db.bulkWriter();
+
+  for (const target of TARGETS) {
+    const { scanned, updated } = await backfill(db, writer, target);
+    console.log(`${dryRun ? "Would update" : "Updated"} ${updated} of ${scanned} ${target.collection}`);
+  }
+
+  if (writer) await writer.close();
+}
+
+main().catch((err) => {
+  console.error(err.message || err);
+  process.exit(1);
+});
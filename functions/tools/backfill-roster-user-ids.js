@@ -0,0 +1,59 @@
+#!/usr/bin/env node
+/**
+ * One-off backfill of the userId field on roster entries written before
+ * rosters were searchable by user (EventRepository.getUserParticipation,
+ * deleteUserCascade).
+ *
+ *   node tools/backfill-roster-user-ids.js [--dry-run]
+ *
+ * Pages through every waitingList, selected, cancelled and confirmedAttendees
+ * collection group with application default credentials and sets userId to
+ * the document ID where it is missing. Safe to re-run.
+ */
+const { initializeApp } = require("firebase-admin/app");
+const { getFirestore, FieldPath } = require("firebase-admin/firestore");
+
+const ROSTERS = ["waitingList", "selected", "cancelled", "confirmedAttendees"];
+const PAGE_SIZE = 500;
+
+async function main() {
+  const dryRun = process.argv.includes("--dry-run");
+
+  initializeApp();
+  const db = getFirestore();
+  const writer = dryRun ? null : db.bulkWriter();
+
+  for (const roster of ROSTERS) {
+    let scanned = 0;
+    let updated = 0;
+    let last = null;
+    while (true) {
+      let query = db
+        .collectionGroup(roster)
+        .orderBy(FieldPath.documentId())
+        .select("userId")
+        .limit(PAGE_SIZE);
+      if (last) query = query.startAfter(last);
+      const page = await query.get();
+      if (page.empty) break;
+
+      for (const doc of page.docs) {
+        scanned++;
+        if (doc.get("userId") === doc.id) continue;
+        updated++;
+        if (writer) writer.update(doc.ref, { userId: doc.id });
+      }
+
+      last = page.docs[page.docs.length - 1];
+      if (page.size < PAGE_SIZE) break;
+    }
+    console.log(`${roster}: ${dryRun ? "would update" : "updated"} ${updated} of ${scanned} entries`);
+  }
+
+  if (writer) await writer.close();
+}
+
+main().catch((err) => {
+  console.error(err.message || err);
+  process.exit(1);
+});
@@ -0,0 +1,142 @@
+#!/usr/bin/env node
+/**
+ * Moves events to the unified roster layout: one
+ * events/{eventId}/entrants/{uid} document per entrant with a status field
+ * (see EntrantRoster.java) instead of the waitingList, selected, cancelled and
+ * confirmedAttendees subcollections.
+ *
+ *   node tools/migrate-unified-roster.js <eventId | --all> [--dry-run] [--delete-legacy]
+ *
+ * Entrant documents are built from all four legacy rosters, the furthest
+ * state winning (confirmed, then cancelled, then selected, then waiting), and
+ * the event is flagged unifiedRoster: true once they are written. Events
+ * already flagged are skipped, so re-running is safe. The legacy
+ * subcollections are kept unless --delete-legacy is given.
+ *
+ * Apps cache an event's layout per process, so migrate events while nobody is
+ * joining or drawing, e.g. before registration opens or after the draw closes.
+ */
+const { initializeApp } = require("firebase-admin/app");
+const { getFirestore } = require("firebase-admin/firestore");
+
+const LEGACY_ROSTERS = ["waitingList", "selected", "cancelled", "confirmedAttendees"];
+const STATUS_RANK = { waiting: 0, pending: 1, declined: 2, accepted: 2, cancelled: 3 };
+const PAGE_SIZE = 500;
+
+function entrantStatus(roster, data) {
+  switch (roster) {
+    case "confirmedAttendees":
+      return "accepted";
+    case "cancelled":
+      return "cancelled";
+    case "selected":
+      if (data.status === "accepted" || data.status === "declined" || data.status === "cancelled") {
+        return data.status;
+      }
+      return "pending"; // pending, selected or notified
+    default:
+      return "waiting";
+  }
+}
+
+function mergeEntrant(entrants, roster, doc) {
+  const data = doc.data() || {};
+  const status = entrantStatus(roster, data);
+  const existing = entrants.get(doc.id);
+  const fields = { ...(existing || {}), ...data, userId: doc.id };
+  const keep = existing && STATUS_RANK[existing.status] >= STATUS_RANK[status];
+  fields.status = keep ? existing.status : status;
+  entrants.set(doc.id, fields);
+}
+
+async function readRoster(eventRef, roster, entrants) {
+  let last = null;
+  while (true) {
+    let query = eventRef.collection(roster).orderBy("__name__").limit(PAGE_SIZE);
+    if (last) query = query.startAfter(last);
+    const page = await query.get();
+    if (page.empty) break;
+    page.docs.forEach((doc) => mergeEntrant(entrants, roster, doc));
+    last = page.docs[page.docs.length - 1];
+    if (page.size < PAGE_SIZE) break;
+  }
+}
+
+async function migrateEvent(db, eventSnap, { dryRun, deleteLegacy }) {
+  const eventRef = eventSnap.ref;
+  // Entrants of a migrated event may have moved on; never overwrite them
+  if (eventSnap.get("unifiedRoster") === true) {
+    console.log(`${eventRef.id}: already unified`);
+    if (deleteLegacy && !dryRun) {
+      await Promise.all(LEGACY_ROSTERS.map((roster) => db.recursiveDelete(eventRef.collection(roster))));
+    }
+    return;
+  }
+
+  const entrants = new Map();
+  for (const roster of LEGACY_ROSTERS) {
+    await readRoster(eventRef, roster, entrants);
+  }
+
+  const byStatus = {};
+  entrants.forEach((fields) => {
+    byStatus[fields.status] = (byStatus[fields.status] || 0) + 1;
+  });
+  console.log(`${eventRef.id}: ${entrants.size} entrants ${JSON.stringify(byStatus)}`);
+  if (dryRun) return;
+
+  const writer = db.bulkWriter();
+  entrants.forEach((fields, uid) => {
+    writer.set(eventRef.collection("entrants").doc(uid), fields, { merge: true });
+  });
+  await writer.close();
+  await eventRef.update({ unifiedRoster: true });
+
+  if (deleteLegacy) {
+    await Promise.all(LEGACY_ROSTERS.map((roster) => db.recursiveDelete(eventRef.collection(roster))));
+  }
+}
+
+async function main() {
+  const args = process.argv.slice(2);
+  const options = {
+    dryRun: args.includes("--dry-run"),
+    deleteLegacy: args.includes("--delete-legacy"),
+  };
+  const all = args.includes("--all");
+  const eventId = args.find((arg) => !arg.startsWith("--"));
+  if (!all && !eventId) {
+    console.error("Usage: node tools/migrate-unified-roster.js <eventId | --all> [--dry-run] [--delete-legacy]");
+    process.exit(2);
+  }
+
+  initializeApp();
+  const db = getFirestore();
+
+  if (!all) {
+    const eventSnap = await db.collection("events").doc(eventId).get();
+    if (!eventSnap.exists) {
+      throw new Error(`Event ${eventId} not found`);
+    }
+    await migrateEvent(db, eventSnap, options);
+    return;
+  }
+
+  let last = null;
+  while (true) {
+    let query = db.collection("events").orderBy("__name__").limit(PAGE_SIZE);
+    if (last) query = query.startAfter(last);
+    const page = await query.get();
+    if (page.empty) break;
+    for (const doc of page.docs) {
+      await migrateEvent(db, doc, options);
+    }
+    last = page.docs[page.docs.length - 1];
+    if (page.size < PAGE_SIZE) break;
+  }
+}
+
+main().catch((err) => {
+  console.error(err.message || err);
+  process.exit(1);
+});
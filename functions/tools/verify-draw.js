@@ -0,0 +1,77 @@
+#!/usr/bin/env node
+/**
+ * Offline replay of a recorded lottery draw.
+ *
+ *   node tools/verify-draw.js <eventId> [drawId]
+ *
+ * Reads events/{eventId}/lotteryDraws/{drawId} (the event's lastLotteryDrawId
+ * when drawId is omitted) with application default credentials, checks the
+ * stored inputs against their digest, re-runs the draw from the stored seed and
+ * compares it with the recorded result. Exits non-zero on any mismatch.
+ */
+const { initializeApp } = require("firebase-admin/app");
+const { getFirestore } = require("firebase-admin/firestore");
+const lottery = require("../lottery");
+
+async function main() {
+  const [eventId, drawIdArg] = process.argv.slice(2);
+  if (!eventId) {
+    console.error("usage: node tools/verify-draw.js <eventId> [drawId]");
+    process.exit(2);
+  }
+
+  initializeApp();
+  const db = getFirestore();
+  const eventRef = db.collection("events").doc(eventId);
+
+  let drawId = drawIdArg;
+  if (!drawId) {
+    const eventSnap = await eventRef.get();
+    drawId = eventSnap.exists ? eventSnap.get("lastLotteryDrawId") : null;
+    if (!drawId) throw new Error(`Event ${eventId} has no recorded draw`);
+  }
+
+  const drawRef = eventRef.collection("lotteryDraws").doc(drawId);
+  const drawSnap = await drawRef.get();
+  if (!drawSnap.exists) throw new Error(`Draw ${drawId} not found`);
+  const record = drawSnap.data();
+
+  if (record.algorithm !== lottery.ALGORITHM) {
+    // Weighted and stratified draws are recorded but have no replay port yet
+    throw new Error(`Cannot replay ${record.algorithm} draws; only ${lottery.ALGORITHM} is supported`);
+  }
+
+  const inputSnap = await drawRef.collection("inputs").orderBy("index").get();
+  const inputs = inputSnap.docs.flatMap((doc) => doc.get("ids") || []);
+
+  const problems = [];
+  if (inputSnap.size !== record.inputDocCount) {
+    problems.push(`expected ${record.inputDocCount} input docs, found ${inputSnap.size}`);
+  }
+  if (inputs.length !== record.inputCount) {
+    problems.push(`expected ${record.inputCount} inputs, found ${inputs.length}`);
+  }
+  if (lottery.inputDigest(inputs) !== record.inputDigest) {
+    problems.push("input digest does not match");
+  }
+
+  const replayed = lottery.draw(record.seed, inputs, record.drawCount);
+  const recorded = record.drawn || [];
+  const firstDiff = replayed.findIndex((id, i) => id !== recorded[i]);
+  if (replayed.length !== recorded.length || firstDiff !== -1) {
+    problems.push(`drawn entrants differ (first difference at position ${firstDiff})`);
+  }
+
+  console.log(`event ${eventId} draw ${drawId}: seed ${record.seed}, ` +
+    `${record.drawCount} of ${record.inputCount} entrants`);
+  if (problems.length) {
+    problems.forEach((p) => console.error(`  MISMATCH: ${p}`));
+    process.exit(1);
+  }
+  console.log("  OK: replay matches the recorded draw");
+}
+
+main().catch((err) => {
+  console.error(err.message || err);
+  process.exit(1);
+});